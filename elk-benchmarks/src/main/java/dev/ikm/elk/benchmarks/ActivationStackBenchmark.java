@@ -0,0 +1,136 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.config.ActivationStackType;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+
+/**
+ * Compares the {@link ActivationStackType}s used for the queues of unprocessed
+ * inferences of the contexts: in bursts of insertions followed by removals, and
+ * in classification. Run with {@code -prof gc} to see the allocation per
+ * operation.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ActivationStackBenchmark {
+
+	private static final int OPERATIONS = 1024;
+
+	@State(Scope.Thread)
+	public static class Stack {
+
+		@Param({ "SYNCHRONIZED_ARRAY_LIST", "CHUNKED_ARRAY" })
+		public ActivationStackType toDo;
+
+		@Param({ "8", "64" })
+		public int burst;
+
+		ActivationStack<Integer> stack;
+
+		@Setup
+		public void setup() {
+			stack = toDo.create();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Classification {
+
+		@Param({ "SYNCHRONIZED_ARRAY_LIST", "CHUNKED_ARRAY" })
+		public ActivationStackType toDo;
+
+		Reasoner reasoner;
+
+		@Setup(Level.Invocation)
+		public void setup(BenchmarkInput input) {
+			ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+			config.setParameter(ReasonerConfiguration.STAGE_LOGGING, "false");
+			config.setParameter(ReasonerConfiguration.SATURATION_ACTIVATION_STACK, toDo.name());
+			reasoner = new ReasonerFactory().createReasoner(new ElkObjectEntityRecyclingFactory(), config);
+			reasoner.registerAxiomLoader(new ChangesLoader().add(input.getAxioms()));
+		}
+
+		@TearDown(Level.Invocation)
+		public void tearDown() throws InterruptedException {
+			reasoner.shutdown();
+		}
+
+	}
+
+	/**
+	 * Pushes and pops {@value #OPERATIONS} elements, {@link Stack#burst} at a
+	 * time; the stack is cleared after every burst as in the saturation
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@OperationsPerInvocation(OPERATIONS)
+	public int pushPop(Stack state) {
+		ActivationStack<Integer> stack = state.stack;
+		int sum = 0;
+		for (int i = 0; i < OPERATIONS; i += state.burst) {
+			for (int j = 0; j < state.burst; j++) {
+				stack.push(j);
+			}
+			for (;;) {
+				Integer element = stack.pop();
+				if (element == null)
+					break;
+				sum += element;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Taxonomy<?> classify(Classification state) throws ElkException {
+		return Incompleteness.getValue(state.reasoner.getTaxonomy());
+	}
+
+}
@@ -0,0 +1,127 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+
+/**
+ * The ontology used by the reasoner benchmarks: a {@link SyntheticOntology} with
+ * {@link #concepts} concepts, or the OWL functional syntax file {@link #file},
+ * e.g., a SNOMED release converted with the SNOMED OWL toolkit, if one is given
+ * with {@code -p file=...}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkInput {
+
+	@Param({ "10000", "100000" })
+	public int concepts;
+
+	@Param({ "50" })
+	public int roleTypes;
+
+	@Param({ "1" })
+	public long seed;
+
+	@Param({ "" })
+	public String file;
+
+	private byte[] functionalSyntax;
+
+	private List<ElkAxiom> axioms;
+
+	private SyntheticOntology synthetic;
+
+	@Setup
+	public void setup() throws IOException, Owl2ParseException {
+		ElkObject.Factory factory = new ElkObjectEntityRecyclingFactory();
+		if (file.isEmpty()) {
+			synthetic = new SyntheticOntology(concepts, roleTypes, seed);
+			functionalSyntax = synthetic.getFunctionalSyntax(factory).getBytes();
+			axioms = synthetic.getAxioms(factory);
+		} else {
+			Path path = Paths.get(file);
+			functionalSyntax = Files.readAllBytes(path);
+			axioms = parse(factory);
+		}
+	}
+
+	private List<ElkAxiom> parse(ElkObject.Factory factory) throws Owl2ParseException {
+		List<ElkAxiom> ret = new ArrayList<>();
+		new Owl2FunctionalStyleParserFactory(factory).getParser(new ByteArrayInputStream(functionalSyntax))
+				.accept(new Owl2ParserAxiomProcessor() {
+
+					@Override
+					public void visit(ElkAxiom elkAxiom) {
+						ret.add(elkAxiom);
+					}
+
+					@Override
+					public void visit(ElkPrefix elkPrefix) {
+					}
+
+					@Override
+					public void finish() {
+					}
+				});
+		return ret;
+	}
+
+	public boolean isSynthetic() {
+		return synthetic != null;
+	}
+
+	/**
+	 * @return the synthetic ontology, or null if the input is a file
+	 */
+	public SyntheticOntology getSynthetic() {
+		return synthetic;
+	}
+
+	public byte[] getFunctionalSyntax() {
+		return functionalSyntax;
+	}
+
+	/**
+	 * @return the axioms of the ontology, parsed once
+	 */
+	public List<ElkAxiom> getAxioms() {
+		return axioms;
+	}
+
+}
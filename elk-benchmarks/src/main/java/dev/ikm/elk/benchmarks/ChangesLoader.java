@@ -0,0 +1,88 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+import org.semanticweb.elk.loading.AbstractAxiomLoader;
+import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
+
+/**
+ * An {@link AxiomLoader} for axioms that are already in memory, so that the
+ * benchmarks do not measure parsing. Axioms added or removed after the
+ * reasoner is created are loaded as incremental changes.
+ */
+public class ChangesLoader extends AbstractAxiomLoader implements AxiomLoader.Factory {
+
+	// the axioms with true for additions and false for deletions
+	private final Queue<ElkAxiom> axioms_ = new ArrayDeque<>();
+	private final Queue<Boolean> changes_ = new ArrayDeque<>();
+
+	public ChangesLoader() {
+		super(DummyInterruptMonitor.INSTANCE);
+	}
+
+	public synchronized ChangesLoader add(Collection<? extends ElkAxiom> axioms) {
+		for (ElkAxiom axiom : axioms) {
+			axioms_.add(axiom);
+			changes_.add(true);
+		}
+		return this;
+	}
+
+	public synchronized ChangesLoader remove(Collection<? extends ElkAxiom> axioms) {
+		for (ElkAxiom axiom : axioms) {
+			axioms_.add(axiom);
+			changes_.add(false);
+		}
+		return this;
+	}
+
+	@Override
+	public synchronized void load(ElkAxiomProcessor axiomInserter, ElkAxiomProcessor axiomDeleter) {
+		for (;;) {
+			ElkAxiom axiom = axioms_.poll();
+			if (axiom == null)
+				break;
+			if (changes_.poll())
+				axiomInserter.visit(axiom);
+			else
+				axiomDeleter.visit(axiom);
+		}
+	}
+
+	@Override
+	public synchronized boolean isLoadingFinished() {
+		return axioms_.isEmpty();
+	}
+
+	@Override
+	public AxiomLoader getAxiomLoader(InterruptMonitor interrupter) {
+		return this;
+	}
+
+}
@@ -0,0 +1,103 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClassAxiom;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Incremental classification: each invocation deletes a random sample of the
+ * class axioms and classifies, then adds them back and classifies again. The
+ * times of the incremental deletion and addition stages are reported as
+ * auxiliary counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalBenchmark {
+
+	@Param({ "0" })
+	public int workers;
+
+	@Param({ "100", "1000" })
+	public int changes;
+
+	private Reasoner reasoner;
+
+	private ChangesLoader loader;
+
+	private List<ElkAxiom> sample;
+
+	@Setup
+	public void setup(BenchmarkInput input, StageTimes times) throws ElkException {
+		reasoner = ReasonerBenchmark.createReasoner(input, workers);
+		loader = new ChangesLoader();
+		reasoner.registerAxiomLoader(loader);
+		reasoner.getTaxonomy();
+		reasoner.getExecutionContext().addStageListener(times);
+		List<ElkAxiom> class_axioms = new ArrayList<>();
+		for (ElkAxiom axiom : input.getAxioms()) {
+			if (axiom instanceof ElkClassAxiom)
+				class_axioms.add(axiom);
+		}
+		Collections.shuffle(class_axioms, new Random(input.seed));
+		sample = class_axioms.subList(0, Math.min(changes, class_axioms.size()));
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		reasoner.shutdown();
+	}
+
+	@Benchmark
+	public Taxonomy<?> deleteAndAdd() throws ElkException {
+		loader.remove(sample);
+		Incompleteness.getValue(reasoner.getTaxonomy());
+		loader.add(sample);
+		return Incompleteness.getValue(reasoner.getTaxonomy());
+	}
+
+}
@@ -0,0 +1,125 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.ikm.elk.snomed.LongDag;
+import dev.ikm.elk.snomed.NecessaryNormalFormBuilder;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.RoleType;
+import dev.ikm.elk.snomed.owl.OwlTransformer;
+import dev.ikm.elk.snomed.owl.SnomedOwlOntology;
+
+/**
+ * {@link NecessaryNormalFormBuilder#generate()} and
+ * {@link NecessaryNormalFormBuilder#generateParallel(int, dev.ikm.elk.snomed.SnomedRoles, dev.ikm.elk.snomed.SnomedConcreteRoles)}
+ * on a classified {@link SyntheticOntology}, or on a SNOMED OWL expression
+ * refset file given with {@code -p snomedAxiomsFile=...}. Classification is
+ * done once in the setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NecessaryNormalFormBenchmark {
+
+	@Param({ "10000", "100000" })
+	public int concepts;
+
+	@Param({ "50" })
+	public int roleTypes;
+
+	@Param({ "1" })
+	public long seed;
+
+	@Param({ "" })
+	public String snomedAxiomsFile;
+
+	@Param({ "4" })
+	public int parallelism;
+
+	private NecessaryNormalFormBuilder nnfb;
+
+	@Setup
+	public void setup() throws Exception {
+		if (snomedAxiomsFile.isEmpty()) {
+			SnomedOntology snomedOntology = new SyntheticOntology(concepts, roleTypes, seed).getSnomedOntology();
+			SnomedOntologyReasoner reasoner = SnomedOntologyReasoner.create(snomedOntology);
+			nnfb = new NecessaryNormalFormBuilder(snomedOntology, reasoner.getSuperConcepts(),
+					getSuperRoleTypes(snomedOntology));
+		} else {
+			SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+			ontology.loadOntology(Paths.get(snomedAxiomsFile));
+			ontology.classify();
+			SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+			nnfb = new NecessaryNormalFormBuilder(snomedOntology, ontology.getSuperClasses(),
+					ontology.getSuperObjectProperties(false));
+		}
+		nnfb.init();
+	}
+
+	// all the super role types, as for SnomedOwlOntology.getSuperObjectProperties(false)
+	private static LongDag getSuperRoleTypes(SnomedOntology snomedOntology) {
+		LongDag.Builder told = LongDag.builder();
+		for (RoleType rt : snomedOntology.getRoleTypes()) {
+			told.addNode(rt.getId());
+			for (RoleType sup : rt.getSuperRoleTypes())
+				told.addEdge(rt.getId(), sup.getId());
+		}
+		LongDag told_dag = told.build();
+		LongDag.Builder all = LongDag.builder();
+		for (RoleType rt : snomedOntology.getRoleTypes()) {
+			all.addNode(rt.getId());
+			told_dag.forEachAncestor(rt.getId(), sup -> all.addEdge(rt.getId(), sup));
+		}
+		return all.build();
+	}
+
+	@Benchmark
+	public NecessaryNormalFormBuilder generate() {
+		nnfb.generate();
+		return nnfb;
+	}
+
+	@Benchmark
+	public NecessaryNormalFormBuilder generateParallel() {
+		nnfb.generateParallel(parallelism, null, null);
+		return nnfb;
+	}
+
+}
@@ -0,0 +1,76 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+
+/**
+ * Parsing of OWL functional syntax with {@link Owl2FunctionalStyleParserFactory}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParsingBenchmark {
+
+	@Benchmark
+	public int parse(BenchmarkInput input) throws Owl2ParseException {
+		AxiomCounter counter = new AxiomCounter();
+		new Owl2FunctionalStyleParserFactory().getParser(new ByteArrayInputStream(input.getFunctionalSyntax()))
+				.accept(counter);
+		return counter.axioms;
+	}
+
+	private static class AxiomCounter implements Owl2ParserAxiomProcessor {
+
+		int axioms = 0;
+
+		@Override
+		public void visit(ElkAxiom elkAxiom) {
+			axioms++;
+		}
+
+		@Override
+		public void visit(ElkPrefix elkPrefix) {
+		}
+
+		@Override
+		public void finish() {
+		}
+
+	}
+
+}
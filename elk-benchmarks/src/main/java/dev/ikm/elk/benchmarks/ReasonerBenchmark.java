@@ -0,0 +1,106 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Loading and indexing of the axioms, and classification. The times of the
+ * loading and taxonomy stages are reported as auxiliary counters of
+ * {@link #classify()}. The number of workers is a parameter, 0 for
+ * the default; to see how classification scales, compare several numbers of
+ * workers with and without {@link #workStealing}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ReasonerBenchmark {
+
+	@Param({ "0" })
+	public int workers;
+
+	@Param({ "false", "true" })
+	public boolean workStealing;
+
+	private Reasoner reasoner;
+
+	static Reasoner createReasoner(BenchmarkInput input, int workers) {
+		return createReasoner(input, workers, false);
+	}
+
+	static Reasoner createReasoner(BenchmarkInput input, int workers, boolean workStealing) {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		if (workers > 0)
+			config.setParameter(ReasonerConfiguration.NUM_OF_WORKING_THREADS, "" + workers);
+		config.setParameter(ReasonerConfiguration.SATURATION_WORK_STEALING, "" + workStealing);
+		config.setParameter(ReasonerConfiguration.STAGE_LOGGING, "false");
+		Reasoner reasoner = new ReasonerFactory().createReasoner(new ElkObjectEntityRecyclingFactory(), config);
+		reasoner.registerAxiomLoader(new ChangesLoader().add(input.getAxioms()));
+		return reasoner;
+	}
+
+	@Setup(Level.Invocation)
+	public void setup(BenchmarkInput input, StageTimes times) {
+		reasoner = createReasoner(input, workers, workStealing);
+		reasoner.getExecutionContext().addStageListener(times);
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDown() throws InterruptedException {
+		reasoner.shutdown();
+	}
+
+	@Benchmark
+	public Reasoner index() throws ElkException {
+		reasoner.ensureLoading();
+		return reasoner;
+	}
+
+	@Benchmark
+	public Taxonomy<?> classify() throws ElkException {
+		return Incompleteness.getValue(reasoner.getTaxonomy());
+	}
+
+}
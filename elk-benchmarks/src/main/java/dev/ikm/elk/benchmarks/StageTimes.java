@@ -0,0 +1,102 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.semanticweb.elk.reasoner.stages.ClassSaturationStage;
+import org.semanticweb.elk.reasoner.stages.ClassTaxonomyComputationStage;
+import org.semanticweb.elk.reasoner.stages.IncrementalAdditionStage;
+import org.semanticweb.elk.reasoner.stages.IncrementalDeletionStage;
+import org.semanticweb.elk.reasoner.stages.InputLoadingStage;
+import org.semanticweb.elk.reasoner.stages.ReasonerExecutionContext;
+import org.semanticweb.elk.reasoner.stages.ReasonerStage;
+
+/**
+ * Reports the average time in milliseconds of the main reasoner stages per
+ * benchmark invocation, next to the time of the whole invocation. During
+ * classification the classes are saturated by
+ * {@link ClassTaxonomyComputationStage}, so its time includes the saturation
+ * and the time of {@link ClassSaturationStage}, which classification does not
+ * run, stays 0. Register it as a listener on the
+ * {@link org.semanticweb.elk.reasoner.Reasoner#getExecutionContext()} of each
+ * reasoner in a {@link Setup} method; the benchmark method should not take it
+ * as a parameter, otherwise JMH reports the counters twice.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StageTimes implements ReasonerExecutionContext.StageListener {
+
+	public double loadingMs;
+
+	public double saturationMs;
+
+	public double taxonomyMs;
+
+	public double incrementalAdditionMs;
+
+	public double incrementalDeletionMs;
+
+	private long loadingNanos, saturationNanos, taxonomyNanos, additionNanos, deletionNanos;
+
+	private int invocations;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		loadingNanos = saturationNanos = taxonomyNanos = additionNanos = deletionNanos = 0;
+		invocations = 0;
+		loadingMs = saturationMs = taxonomyMs = incrementalAdditionMs = incrementalDeletionMs = 0;
+	}
+
+	@Override
+	public void stageStarted(ReasonerStage stage) {
+	}
+
+	@Override
+	public void stageFinished(ReasonerStage stage, long elapsedNanos) {
+		if (stage instanceof InputLoadingStage) {
+			loadingNanos += elapsedNanos;
+		} else if (stage instanceof ClassSaturationStage) {
+			saturationNanos += elapsedNanos;
+		} else if (stage instanceof ClassTaxonomyComputationStage) {
+			taxonomyNanos += elapsedNanos;
+		} else if (stage instanceof IncrementalAdditionStage) {
+			additionNanos += elapsedNanos;
+		} else if (stage instanceof IncrementalDeletionStage) {
+			deletionNanos += elapsedNanos;
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void invocationFinished() {
+		invocations++;
+		loadingMs = loadingNanos / 1e6 / invocations;
+		saturationMs = saturationNanos / 1e6 / invocations;
+		taxonomyMs = taxonomyNanos / 1e6 / invocations;
+		incrementalAdditionMs = additionNanos / 1e6 / invocations;
+		incrementalDeletionMs = deletionNanos / 1e6 / invocations;
+	}
+
+}
@@ -0,0 +1,181 @@
+package dev.ikm.elk.benchmarks;
+
+/*-
+ * #%L
+ * ELK Benchmarks
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleGroup;
+import dev.ikm.elk.snomed.model.RoleType;
+
+/**
+ * A random EL ontology shaped like SNOMED: a concept hierarchy under
+ * {@link SnomedIds#root} where some concepts have several parents, ungrouped
+ * roles and role groups, some fully defined concepts, and a small role
+ * hierarchy with a transitive role. The same seed gives the same ontology.
+ */
+public class SyntheticOntology {
+
+	private static final String IRI_PREFIX = "http://snomed.info/id/";
+
+	private static final long CONCEPT_BASE_ID = 100000000L;
+
+	private static final long ROLE_BASE_ID = 200000000L;
+
+	private final SnomedOntology snomedOntology;
+
+	public SyntheticOntology(int conceptCount, int roleTypeCount, long seed) {
+		Random random = new Random(seed);
+		List<RoleType> role_types = new ArrayList<>();
+		for (int i = 0; i < roleTypeCount; i++) {
+			RoleType rt = new RoleType(ROLE_BASE_ID + i);
+			if (i == 0)
+				rt.setTransitive(true);
+			if (i > 0 && random.nextInt(10) < 3)
+				rt.addSuperRoleType(role_types.get(random.nextInt(i)));
+			role_types.add(rt);
+		}
+		List<Concept> concepts = new ArrayList<>();
+		concepts.add(new Concept(SnomedIds.root));
+		for (int i = 1; i < conceptCount; i++) {
+			Concept con = new Concept(CONCEPT_BASE_ID + i);
+			Definition def = new Definition();
+			def.setDefinitionType(
+					i > 100 && random.nextInt(10) < 2 ? DefinitionType.EquivalentConcept : DefinitionType.SubConcept);
+			def.addSuperConcept(concepts.get(random.nextInt(i)));
+			if (random.nextInt(10) < 3)
+				def.addSuperConcept(concepts.get(random.nextInt(i)));
+			if (i > 1 && random.nextInt(10) < 5)
+				def.addUngroupedRole(randomRole(random, role_types, concepts));
+			if (i > 1 && random.nextInt(10) < 4) {
+				RoleGroup rg = new RoleGroup();
+				int roles = 1 + random.nextInt(3);
+				for (int j = 0; j < roles; j++)
+					rg.addRole(randomRole(random, role_types, concepts));
+				def.addRoleGroup(rg);
+			}
+			con.addDefinition(def);
+			concepts.add(con);
+		}
+		snomedOntology = new SnomedOntology(concepts, role_types, List.of());
+	}
+
+	private static Role randomRole(Random random, List<RoleType> role_types, List<Concept> concepts) {
+		// fillers are taken from the upper part of the hierarchy, like most
+		// SNOMED attribute values
+		int filler = random.nextInt(Math.max(1, concepts.size() / 4));
+		return new Role(role_types.get(random.nextInt(role_types.size())), concepts.get(filler));
+	}
+
+	public SnomedOntology getSnomedOntology() {
+		return snomedOntology;
+	}
+
+	/**
+	 * @return the ontology as ELK axioms, translated the same way as
+	 *         {@link dev.ikm.elk.snomed.SnomedOntologyReasoner} does
+	 */
+	public List<ElkAxiom> getAxioms(ElkObject.Factory factory) {
+		List<ElkAxiom> axioms = new ArrayList<>();
+		for (RoleType rt : snomedOntology.getRoleTypes()) {
+			for (RoleType sup : rt.getSuperRoleTypes()) {
+				axioms.add(factory.getSubObjectPropertyOfAxiom(factory.getObjectProperty(iri(rt.getId())),
+						factory.getObjectProperty(iri(sup.getId()))));
+			}
+			if (rt.isTransitive())
+				axioms.add(factory.getTransitiveObjectPropertyAxiom(factory.getObjectProperty(iri(rt.getId()))));
+		}
+		for (Concept con : snomedOntology.getConcepts()) {
+			for (Definition def : con.getDefinitions()) {
+				axioms.add(getAxiom(factory, con, def));
+			}
+		}
+		return axioms;
+	}
+
+	private ElkAxiom getAxiom(ElkObject.Factory factory, Concept con, Definition def) {
+		List<ElkClassExpression> exprs = new ArrayList<>();
+		for (Concept sup : def.getSuperConcepts())
+			exprs.add(factory.getClass(iri(sup.getId())));
+		for (Role role : def.getUngroupedRoles())
+			exprs.add(getExpression(factory, role));
+		for (RoleGroup rg : def.getRoleGroups()) {
+			List<ElkClassExpression> roles = rg.getRoles().stream().map(role -> getExpression(factory, role))
+					.toList();
+			exprs.add(factory.getObjectSomeValuesFrom(factory.getObjectProperty(iri(SnomedIds.role_group)),
+					intersection(factory, roles)));
+		}
+		ElkClassExpression expr = intersection(factory, exprs);
+		return switch (def.getDefinitionType()) {
+		case EquivalentConcept -> factory.getEquivalentClassesAxiom(factory.getClass(iri(con.getId())), expr);
+		case SubConcept -> factory.getSubClassOfAxiom(factory.getClass(iri(con.getId())), expr);
+		};
+	}
+
+	private static ElkClassExpression getExpression(ElkObject.Factory factory, Role role) {
+		return factory.getObjectSomeValuesFrom(factory.getObjectProperty(iri(role.getRoleType().getId())),
+				factory.getClass(iri(role.getConcept().getId())));
+	}
+
+	private static ElkClassExpression intersection(ElkObject.Factory factory, List<ElkClassExpression> exprs) {
+		if (exprs.size() == 1)
+			return exprs.getFirst();
+		return factory.getObjectIntersectionOf(exprs);
+	}
+
+	private static ElkFullIri iri(long id) {
+		return new ElkFullIri(IRI_PREFIX + id);
+	}
+
+	/**
+	 * @return the ontology in OWL functional syntax
+	 */
+	public String getFunctionalSyntax(ElkObject.Factory factory) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Ontology(<http://snomed.info/synthetic>\n");
+		try {
+			for (ElkAxiom axiom : getAxioms(factory)) {
+				OwlFunctionalStylePrinter.append(sb, axiom);
+				sb.append('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		sb.append(")\n");
+		return sb.toString();
+	}
+
+}
@@ -23,7 +23,7 @@
  */
 
 import java.lang.ref.ReferenceQueue;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.semanticweb.elk.owl.implementation.ElkObjectBaseFactory;
 import org.semanticweb.elk.owl.interfaces.ElkAnnotationProperty;
@@ -43,6 +43,7 @@
  * That is, any two structurally equivalent {@link ElkEntity}s (i.e., with the
  * same {@link ElkIri}s) entities will be the same object. For other types of
  * {@link ElkObject}s this is not the case: every time a new object is created.
+ * The factory can be used concurrently, e.g., by several parsers.
  * 
  * @author Frantisek Simancik
  * @author "Yevgeny Kazakov"
@@ -71,7 +72,7 @@ protected <C extends ElkObject> C filter(C candidate) {
 			return candidate;
 	}
 
-	private HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>> cache = new HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>>();
+	private ConcurrentHashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>> cache = new ConcurrentHashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>>();
 
 	private ReferenceQueue<ElkEntity> referenceQueue = new ReferenceQueue<ElkEntity>();
 
@@ -124,16 +125,17 @@ private ElkEntity getCanonicalElkEntity(ElkEntity entity) {
 			return null;
 
 		WeakWrapper<? extends ElkEntity> key = entity.accept(wrapper);
-		WeakWrapper<? extends ElkEntity> value = cache.get(key);
 
-		if (value != null) {
+		for (;;) {
+			WeakWrapper<? extends ElkEntity> value = cache.putIfAbsent(key,
+					key);
+			if (value == null)
+				return entity;
 			ElkEntity result = value.get();
 			if (result != null)
 				return result;
+			// else the value was cleared and is not equal to the key any more
 		}
-
-		cache.put(key, key);
-		return entity;
 	}
 
 	private final void processQueue() {
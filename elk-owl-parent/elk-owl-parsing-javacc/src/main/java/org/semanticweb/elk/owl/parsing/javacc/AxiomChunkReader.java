@@ -0,0 +1,315 @@
+package org.semanticweb.elk.owl.parsing.javacc;
+
+/*-
+ * #%L
+ * ELK OWL JavaCC Parser
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits an ontology document in the OWL 2 functional-style syntax into the
+ * header, which consists of the prefix declarations, the ontology IRIs, the
+ * imports and the ontology annotations, and chunks of the ontology body that
+ * consist of complete axioms. The input is only scanned for brackets, full
+ * IRIs, quoted strings and comments, so that the chunks can be parsed
+ * independently by separate parsers.
+ */
+class AxiomChunkReader {
+
+	private static final int BUFFER_SIZE_ = 1 << 16;
+
+	private static final int DEFAULT_ = 0, FULL_IRI_ = 1, QUOTED_STRING_ = 2,
+			ESCAPE_ = 3, COMMENT_ = 4;
+
+	private final Reader reader_;
+
+	/**
+	 * the number of axioms after which a chunk is complete
+	 */
+	private final int chunkSize_;
+
+	private final char[] buffer_ = new char[BUFFER_SIZE_];
+
+	private int length_ = 0, pos_ = 0;
+
+	/**
+	 * the text read since the last returned header or chunk
+	 */
+	private StringBuilder text_ = new StringBuilder();
+
+	private int state_ = DEFAULT_;
+
+	/**
+	 * the number of currently open brackets
+	 */
+	private int depth_ = 0;
+
+	/**
+	 * the line and the column of the last read character, counted in the same
+	 * way as by {@link SimpleCharStream}
+	 */
+	private int line_ = 1, column_ = 0;
+
+	private boolean prevCharIsCR_ = false, prevCharIsLF_ = false;
+
+	/**
+	 * the positions in {@link #text_} and in the document of the last word,
+	 * which should be a keyword if followed by a bracket
+	 */
+	private int wordStart_ = 0, wordEnd_ = 0, wordLine_ = 1, wordColumn_ = 1;
+
+	private boolean inWord_ = false;
+
+	/**
+	 * {@code true} if the bracket after "Ontology" is open
+	 */
+	private boolean inOntology_ = false;
+
+	/**
+	 * {@code true} if the end of the ontology or of the input is reached
+	 */
+	private boolean finished_ = false;
+
+	/**
+	 * {@code true} if the header is followed by at least one axiom
+	 */
+	private boolean hasAxioms_ = false;
+
+	/**
+	 * the position in the document where the last returned chunk starts and
+	 * where the next one starts
+	 */
+	private int chunkLine_ = 1, chunkColumn_ = 1, nextChunkLine_ = 1,
+			nextChunkColumn_ = 1;
+
+	AxiomChunkReader(Reader reader, int chunkSize) {
+		this.reader_ = reader;
+		this.chunkSize_ = chunkSize;
+	}
+
+	/**
+	 * Reads the header of the ontology document. If the document has axioms,
+	 * the bracket closing the ontology is not included.
+	 *
+	 * @return the text of the header
+	 * @throws IOException
+	 *
+	 * @see #hasAxioms()
+	 */
+	String readHeader() throws IOException {
+		int c;
+		while ((c = read()) >= 0) {
+			if (c != '(' || depth_ != 2 || !inOntology_)
+				continue;
+			// an item of the ontology
+			String keyword = getLastWord();
+			if (keyword.equals("Import") || keyword.equals("Annotation"))
+				continue;
+			// the first axiom
+			hasAxioms_ = true;
+			String header = text_.substring(0, wordStart_);
+			text_.delete(0, wordStart_);
+			nextChunkLine_ = wordLine_;
+			nextChunkColumn_ = wordColumn_;
+			return header;
+		}
+		// no axioms
+		String header = text_.toString();
+		text_ = new StringBuilder();
+		return header;
+	}
+
+	/**
+	 * @return {@code true} if the header returned by {@link #readHeader()} is
+	 *         followed by axioms that should be read using
+	 *         {@link #nextChunk()}
+	 */
+	boolean hasAxioms() {
+		return hasAxioms_;
+	}
+
+	/**
+	 * @return the text of the next chunk of axioms or {@code null} if there are
+	 *         no more axioms in the ontology
+	 * @throws IOException
+	 */
+	String nextChunk() throws IOException {
+		if (!hasAxioms_ || finished_ && text_.length() == 0)
+			return null;
+		int axiomCount = 0;
+		int c;
+		while ((c = read()) >= 0) {
+			if (c != ')')
+				continue;
+			if (depth_ == 1 && ++axiomCount >= chunkSize_)
+				break;
+			if (depth_ == 0) {
+				// the end of the ontology
+				text_.setLength(text_.length() - 1);
+				break;
+			}
+		}
+		String chunk = text_.toString();
+		text_ = new StringBuilder(chunk.length());
+		chunkLine_ = nextChunkLine_;
+		chunkColumn_ = nextChunkColumn_;
+		// the next chunk starts after the last read character
+		nextChunkLine_ = line_;
+		nextChunkColumn_ = column_ + 1;
+		return chunk;
+	}
+
+	/**
+	 * @return {@code true} if the input ended before the end of the ontology
+	 */
+	boolean isIncomplete() {
+		return finished_ && depth_ > 0;
+	}
+
+	/**
+	 * @return the line of the document where the last chunk returned by
+	 *         {@link #nextChunk()} starts
+	 */
+	int getChunkLine() {
+		return chunkLine_;
+	}
+
+	/**
+	 * @return the column of the document where the last chunk returned by
+	 *         {@link #nextChunk()} starts
+	 */
+	int getChunkColumn() {
+		return chunkColumn_;
+	}
+
+	/**
+	 * Updates the position of the last read character like
+	 * {@link SimpleCharStream} does: a line terminator belongs to the line it
+	 * ends and "\r\n" is one line terminator.
+	 */
+	private void updateLineColumn(char c) {
+		column_++;
+		if (prevCharIsLF_) {
+			prevCharIsLF_ = false;
+			line_++;
+			column_ = 1;
+		} else if (prevCharIsCR_) {
+			prevCharIsCR_ = false;
+			if (c == '\n') {
+				prevCharIsLF_ = true;
+				return;
+			}
+			line_++;
+			column_ = 1;
+		}
+		if (c == '\r')
+			prevCharIsCR_ = true;
+		else if (c == '\n')
+			prevCharIsLF_ = true;
+	}
+
+	private String getLastWord() {
+		return text_.substring(wordStart_, wordEnd_);
+	}
+
+	/**
+	 * Appends the next character to {@link #text_} and updates the state of the
+	 * scanner.
+	 *
+	 * @return the next character of the input that is not part of a full IRI,
+	 *         a quoted string, or a comment, or {@code 0} if the character is
+	 *         part of those, or {@code -1} if the end of the ontology or of
+	 *         the input is reached
+	 * @throws IOException
+	 */
+	private int read() throws IOException {
+		if (finished_)
+			return -1;
+		if (pos_ == length_) {
+			length_ = reader_.read(buffer_);
+			pos_ = 0;
+			if (length_ < 0) {
+				length_ = 0;
+				finished_ = true;
+				return -1;
+			}
+		}
+		char c = buffer_[pos_++];
+		text_.append(c);
+		updateLineColumn(c);
+		switch (state_) {
+		case FULL_IRI_:
+			if (c == '>')
+				state_ = DEFAULT_;
+			return 0;
+		case QUOTED_STRING_:
+			if (c == '\\')
+				state_ = ESCAPE_;
+			else if (c == '"')
+				state_ = DEFAULT_;
+			return 0;
+		case ESCAPE_:
+			state_ = QUOTED_STRING_;
+			return 0;
+		case COMMENT_:
+			if (c == '\r' || c == '\n')
+				state_ = DEFAULT_;
+			return 0;
+		default:
+			break;
+		}
+		if (Character.isLetterOrDigit(c) || c == '_' || c == ':' || c == '-'
+				|| c == '.') {
+			if (!inWord_) {
+				inWord_ = true;
+				wordStart_ = text_.length() - 1;
+				wordLine_ = line_;
+				wordColumn_ = column_;
+			}
+			return c;
+		}
+		if (inWord_) {
+			inWord_ = false;
+			wordEnd_ = text_.length() - 1;
+		}
+		switch (c) {
+		case '<':
+			state_ = FULL_IRI_;
+			return 0;
+		case '"':
+			state_ = QUOTED_STRING_;
+			return 0;
+		case '#':
+			state_ = COMMENT_;
+			return 0;
+		case '(':
+			if (depth_++ == 0 && !inOntology_)
+				inOntology_ = getLastWord().equals("Ontology");
+			return c;
+		case ')':
+			if (--depth_ == 0 && inOntology_)
+				finished_ = true;
+			return c;
+		default:
+			return c;
+		}
+	}
+
+}
@@ -76,7 +76,7 @@ public Owl2Parser getParser(Reader reader) {
 	 *
 	 * pavel.klinov@uni-ulm.de
 	 */
-	private static class Owl2FunctionalStyleParser extends AbstractOwl2FunctionalStyleParser {
+	static class Owl2FunctionalStyleParser extends AbstractOwl2FunctionalStyleParser {
 
 		private final ElkObject.Factory objectFactory_;
 
@@ -114,6 +114,24 @@ private Owl2FunctionalStyleParser(InputStream stream,
 			wrapLexer();
 		}
 
+		/**
+		 * Creates a parser for a part of a document that starts at the given
+		 * line and column, so that the positions of the tokens and of the
+		 * errors refer to the whole document.
+		 */
+		Owl2FunctionalStyleParser(Reader reader, int line, int column,
+				ElkObject.Factory objectFactory,
+				ElkPrefixDeclarations prefixDeclarations,
+				JavaCCLexerFactory<AbstractOwl2FunctionalStyleParserTokenManager> factory) {
+			super(new AbstractOwl2FunctionalStyleParserTokenManager(
+					new SimpleCharStream(reader, line, column)));
+			this.objectFactory_ = objectFactory;
+			this.prefixDeclarations_ = prefixDeclarations;
+			this.lexerFactory_ = factory;
+
+			wrapLexer();
+		}
+
 		Owl2FunctionalStyleParser(Reader reader,
 				ElkObject.Factory objectFactory, JavaCCLexerFactory<AbstractOwl2FunctionalStyleParserTokenManager> lexerFactory) {
 			this(reader, objectFactory, new ElkPrefixDeclarationsImpl(),
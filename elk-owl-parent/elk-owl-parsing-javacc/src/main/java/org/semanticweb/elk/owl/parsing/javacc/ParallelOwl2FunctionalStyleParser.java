@@ -0,0 +1,241 @@
+package org.semanticweb.elk.owl.parsing.javacc;
+
+/*-
+ * #%L
+ * ELK OWL JavaCC Parser
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.iris.ElkPrefixDeclarations;
+import org.semanticweb.elk.owl.iris.ElkPrefixDeclarationsImpl;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2Parser;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+
+/**
+ * An {@link Owl2Parser} that parses the axioms of an ontology document in
+ * parallel. The header of the document is parsed first; the rest of the
+ * document is split by {@link AxiomChunkReader} into chunks of axioms, which
+ * are parsed by independent parsers on worker threads. The parsed axioms are
+ * passed to the {@link Owl2ParserAxiomProcessor} in the order in which they
+ * appear in the document, from the thread calling
+ * {@link #accept(Owl2ParserAxiomProcessor)}.
+ *
+ * @see ParallelOwl2FunctionalStyleParserFactory
+ */
+class ParallelOwl2FunctionalStyleParser implements Owl2Parser {
+
+	/**
+	 * the result of the chunk reader after the last chunk
+	 */
+	private static final Future<List<ElkAxiom>> END_ = CompletableFuture
+			.completedFuture(null);
+
+	private final Reader reader_;
+
+	private final ElkObject.Factory objectFactory_;
+
+	private final int parallelism_;
+
+	private final int chunkSize_;
+
+	/**
+	 * the prefixes declared for the parser and in the header of the document
+	 */
+	private final List<ElkPrefix> prefixes_ = new ArrayList<ElkPrefix>();
+
+	ParallelOwl2FunctionalStyleParser(Reader reader,
+			ElkObject.Factory objectFactory, int parallelism, int chunkSize) {
+		this.reader_ = reader;
+		this.objectFactory_ = objectFactory;
+		this.parallelism_ = parallelism;
+		this.chunkSize_ = chunkSize;
+	}
+
+	@Override
+	public void declarePrefix(ElkPrefix prefix) {
+		prefixes_.add(prefix);
+	}
+
+	@Override
+	public void accept(Owl2ParserAxiomProcessor axiomProcessor)
+			throws Owl2ParseException {
+		try {
+			AxiomChunkReader chunkReader = new AxiomChunkReader(reader_,
+					chunkSize_);
+			String header = chunkReader.readHeader();
+			if (chunkReader.hasAxioms()) {
+				parseHeader(header + ")", axiomProcessor);
+				parseAxioms(chunkReader, axiomProcessor);
+			} else {
+				parseHeader(header, axiomProcessor);
+			}
+		} catch (IOException e) {
+			throw new Owl2ParseException("Cannot read the ontology!", e);
+		} finally {
+			axiomProcessor.finish();
+		}
+	}
+
+	/**
+	 * @return a parser for the text that starts at the given line and column
+	 *         of the document
+	 */
+	private AbstractOwl2FunctionalStyleParser createParser(String text,
+			int line, int column) {
+		ElkPrefixDeclarations prefixDeclarations = new ElkPrefixDeclarationsImpl();
+		for (ElkPrefix prefix : prefixes_)
+			prefixDeclarations.addPrefix(prefix);
+		return new Owl2FunctionalStyleParserFactory.Owl2FunctionalStyleParser(
+				new StringReader(text), line, column, objectFactory_,
+				prefixDeclarations, null);
+	}
+
+	private void parseHeader(String header,
+			final Owl2ParserAxiomProcessor axiomProcessor)
+			throws Owl2ParseException {
+		createParser(header, 1, 1).accept(new Owl2ParserAxiomProcessor() {
+
+			@Override
+			public void visit(ElkAxiom elkAxiom) throws Owl2ParseException {
+				axiomProcessor.visit(elkAxiom);
+			}
+
+			@Override
+			public void visit(ElkPrefix elkPrefix) throws Owl2ParseException {
+				prefixes_.add(elkPrefix);
+				axiomProcessor.visit(elkPrefix);
+			}
+
+			@Override
+			public void finish() {
+				// the axioms are not yet parsed
+			}
+
+		});
+	}
+
+	private List<ElkAxiom> parseChunk(String chunk, int line, int column)
+			throws Owl2ParseException {
+		final List<ElkAxiom> axioms = new ArrayList<ElkAxiom>(chunkSize_);
+		// the errors report the positions in the document
+		createParser(chunk, line, column)
+				.acceptAxioms(new Owl2ParserAxiomProcessor() {
+
+					@Override
+					public void visit(ElkAxiom elkAxiom) {
+						axioms.add(elkAxiom);
+					}
+
+					@Override
+					public void visit(ElkPrefix elkPrefix) {
+						// prefixes are not declared in chunks
+					}
+
+					@Override
+					public void finish() {
+						// nothing to do
+					}
+
+				});
+		return axioms;
+	}
+
+	private void parseAxioms(final AxiomChunkReader chunkReader,
+			Owl2ParserAxiomProcessor axiomProcessor)
+			throws Owl2ParseException {
+		final ExecutorService workers = Executors.newFixedThreadPool(
+				parallelism_, runnable -> {
+					Thread worker = new Thread(runnable, "elk-parser-thread");
+					worker.setDaemon(true);
+					return worker;
+				});
+		// the parsed chunks in the order of the document
+		final BlockingQueue<Future<List<ElkAxiom>>> chunks = new ArrayBlockingQueue<Future<List<ElkAxiom>>>(
+				2 * parallelism_);
+		Thread chunkReaderThread = new Thread(() -> {
+			Future<List<ElkAxiom>> last = END_;
+			try {
+				String chunk;
+				while ((chunk = chunkReader.nextChunk()) != null) {
+					final String text = chunk;
+					final int line = chunkReader.getChunkLine();
+					final int column = chunkReader.getChunkColumn();
+					chunks.put(workers
+							.submit(() -> parseChunk(text, line, column)));
+				}
+				if (chunkReader.isIncomplete())
+					last = CompletableFuture.failedFuture(
+							new Owl2ParseException(
+									"Unexpected end of the ontology document!"));
+			} catch (InterruptedException e) {
+				// parsing is aborted
+				return;
+			} catch (Throwable e) {
+				last = CompletableFuture.failedFuture(e);
+			}
+			try {
+				chunks.put(last);
+			} catch (InterruptedException e) {
+				// parsing is aborted
+			}
+		}, "elk-chunk-reader-thread");
+		chunkReaderThread.setDaemon(true);
+		chunkReaderThread.start();
+		try {
+			for (;;) {
+				List<ElkAxiom> axioms = chunks.take().get();
+				if (axioms == null)
+					break;
+				for (ElkAxiom axiom : axioms)
+					axiomProcessor.visit(axiom);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new Owl2ParseException("Parsing was interrupted!", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Owl2ParseException)
+				throw (Owl2ParseException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new Owl2ParseException("Cannot read the ontology!", cause);
+		} finally {
+			chunkReaderThread.interrupt();
+			workers.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.semanticweb.elk.owl.parsing.javacc;
+
+/*-
+ * #%L
+ * ELK OWL JavaCC Parser
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.parsing.Owl2Parser;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+
+/**
+ * An {@link Owl2ParserFactory} for parsers of the OWL 2 functional-style
+ * syntax that parse the axioms of the ontology in parallel. Unlike the parsers
+ * created by {@link Owl2FunctionalStyleParserFactory}, in which one lexer
+ * thread feeds one parser thread, the body of the ontology is split into
+ * chunks of complete axioms that are parsed by several workers, so the parsing
+ * speed of large ontologies, such as SNOMED CT with one axiom per line, scales
+ * with the number of cores. The {@link ElkObject.Factory} is shared by the
+ * workers, so it must be thread-safe.
+ */
+public class ParallelOwl2FunctionalStyleParserFactory
+		implements Owl2ParserFactory {
+
+	/**
+	 * the default number of axioms parsed by a worker at once
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	private final ElkObject.Factory objectFactory_;
+
+	private final int parallelism_;
+
+	private final int chunkSize_;
+
+	public ParallelOwl2FunctionalStyleParserFactory(
+			ElkObject.Factory objectFactory, int parallelism, int chunkSize) {
+		if (parallelism < 1 || chunkSize < 1)
+			throw new IllegalArgumentException(
+					"parallelism and chunk size should be positive");
+		this.objectFactory_ = objectFactory;
+		this.parallelism_ = parallelism;
+		this.chunkSize_ = chunkSize;
+	}
+
+	public ParallelOwl2FunctionalStyleParserFactory(
+			ElkObject.Factory objectFactory, int parallelism) {
+		this(objectFactory, parallelism, DEFAULT_CHUNK_SIZE);
+	}
+
+	public ParallelOwl2FunctionalStyleParserFactory(
+			ElkObject.Factory objectFactory) {
+		this(objectFactory, Runtime.getRuntime().availableProcessors());
+	}
+
+	public ParallelOwl2FunctionalStyleParserFactory() {
+		this(new ElkObjectEntityRecyclingFactory());
+	}
+
+	@Override
+	public Owl2Parser getParser(InputStream stream) {
+		return getParser(new InputStreamReader(stream, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public Owl2Parser getParser(Reader reader) {
+		return new ParallelOwl2FunctionalStyleParser(reader, objectFactory_,
+				parallelism_, chunkSize_);
+	}
+
+}
@@ -0,0 +1,158 @@
+package org.semanticweb.elk.owl.parsing.javacc;
+
+/*-
+ * #%L
+ * ELK OWL JavaCC Parser
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2Parser;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+
+public class ParallelOwl2FunctionalSyntaxParseTest
+		extends AbstractOwl2FunctionalSyntaxParseTest {
+
+	// small chunks so that the test ontologies are split
+	private final ParallelOwl2FunctionalStyleParserFactory factory_ = new ParallelOwl2FunctionalStyleParserFactory(
+			new ElkObjectEntityRecyclingFactory(), 2, 3);
+
+	@Override
+	protected Owl2Parser instantiateParser(InputStream stream) {
+		return factory_.getParser(stream);
+	}
+
+	@Override
+	protected Owl2Parser instantiateParser(Reader reader) {
+		return factory_.getParser(reader);
+	}
+
+	private static List<String> parse(Owl2Parser parser)
+			throws Owl2ParseException {
+		final List<String> result = new ArrayList<String>();
+		parser.accept(new Owl2ParserAxiomProcessor() {
+
+			@Override
+			public void visit(ElkAxiom elkAxiom) throws Owl2ParseException {
+				StringBuilder builder = new StringBuilder();
+				try {
+					OwlFunctionalStylePrinter.append(builder, elkAxiom);
+				} catch (IOException e) {
+					throw new Owl2ParseException(e);
+				}
+				result.add(builder.toString());
+			}
+
+			@Override
+			public void visit(ElkPrefix elkPrefix) {
+				result.add(elkPrefix.getName());
+			}
+
+			@Override
+			public void finish() {
+				result.add("finish");
+			}
+
+		});
+		return result;
+	}
+
+	@Test
+	public void testSameAsSequential() throws Exception {
+		try (InputStream sequential = getInputOntology("owl2primer.owl");
+				InputStream parallel = getInputOntology("owl2primer.owl")) {
+			assertEquals(
+					parse(new Owl2FunctionalStyleParserFactory()
+							.getParser(sequential)),
+					parse(instantiateParser(parallel)));
+		}
+	}
+
+	@Test
+	public void testUnclosedOntology() {
+		String testString = "Prefix(:=<http://www.example.org/>)"
+				+ "Ontology(SubClassOf(:A :B) SubClassOf(:B :C)"
+				+ "SubClassOf(:C :D) SubClassOf(:D :E)";
+
+		assertThrows(Owl2ParseException.class, () -> parseOntology(testString));
+	}
+
+	@Test
+	public void testWrongAxiom() {
+		String testString = "Prefix(:=<http://www.example.org/>)"
+				+ "Ontology(SubClassOf(:A :B) SubClassOf(:B :C)"
+				+ "SubClassOf(:C :D) SubClassOf(:D :E :F))";
+
+		assertThrows(Owl2ParseException.class, () -> parseOntology(testString));
+	}
+
+	/**
+	 * The position of an error in a chunk refers to the document and is the
+	 * same as reported by the sequential parser
+	 */
+	@Test
+	public void testErrorPosition() throws Exception {
+		String prefix = "Prefix(:=<http://www.example.org/>)\n" //
+				+ "Ontology(\n" //
+				+ "SubClassOf(:A :B)\n" //
+				+ "SubClassOf(:B :C)\n" //
+				+ "SubClassOf(:C :D)\n" //
+				+ "SubClassOf(:D :E)\r\n" //
+				+ "SubClassOf(:E :F)\n";
+		// the error in the first line of the third chunk
+		assertErrorPosition(
+				prefix + "SubClassOf(:F :G) SubClassOf(:G :H :I)\n)", 8, 36);
+		// the error in the third line of the second chunk
+		assertErrorPosition(
+				prefix + "SubClassOf(:F :G :H)\nSubClassOf(:G :H)\n)", 8, 18);
+	}
+
+	private void assertErrorPosition(String testString, int line,
+			int column) {
+		ParseException expected = getParseException(
+				new Owl2FunctionalStyleParserFactory()
+						.getParser(new StringReader(testString)));
+		ParseException actual = getParseException(
+				instantiateParser(new StringReader(testString)));
+		assertEquals(line, expected.currentToken.next.beginLine);
+		assertEquals(column, expected.currentToken.next.beginColumn);
+		assertEquals(line, actual.currentToken.next.beginLine);
+		assertEquals(column, actual.currentToken.next.beginColumn);
+	}
+
+	private static ParseException getParseException(Owl2Parser parser) {
+		Owl2ParseException e = assertThrows(Owl2ParseException.class,
+				() -> parser.accept(new ElkTestAxiomProcessor()));
+		return (ParseException) e.getCause();
+	}
+
+}
@@ -21,16 +21,24 @@
  */
 package org.semanticweb.elk.owlapi.proofs;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.liveontologies.puli.DynamicProof;
 import org.liveontologies.puli.Proofs;
 import org.semanticweb.elk.owlapi.ElkProver;
 import org.semanticweb.elk.owlapi.OWLAPITestUtils;
 import org.semanticweb.elk.testing4.PolySuite4;
 import org.semanticweb.elk.testing.TestManifest;
 import org.semanticweb.elk.testing.UrlTestInput;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -103,4 +111,42 @@ public void visit(OWLClassExpression subsumee,
 		}
 	}
 
+	@Test
+	public void batchProofTest() throws Exception {
+		final OWLDataFactory factory = manager_.getOWLDataFactory();
+		final OWLOntology ontology = loadOntology(
+				manifest_.getInput().getUrl().openStream());
+		final ElkProver prover = OWLAPITestUtils.createProver(ontology);
+
+		try {
+			prover.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		} catch (InconsistentOntologyException e) {
+			// we will explain it, too
+		}
+
+		try {
+			final List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+			ProofTestUtils.visitAllSubsumptionsForProofTests(
+					prover.getDelegate(), factory, new ProofTestVisitor() {
+
+						@Override
+						public void visit(OWLClassExpression subsumee,
+								OWLClassExpression subsumer) {
+							axioms.add(factory.getOWLSubClassOfAxiom(subsumee,
+									subsumer));
+						}
+
+					});
+			final Map<OWLAxiom, DynamicProof<ElkOwlInference>> proofs = prover
+					.getProofs(axioms);
+			assertEquals(new HashSet<OWLAxiom>(axioms), proofs.keySet());
+			for (final OWLAxiom axiom : axioms) {
+				assertTrue(String.format("Entailment %s not derivable!", axiom),
+						Proofs.isDerivable(proofs.get(axiom), axiom));
+			}
+		} finally {
+			prover.dispose();
+		}
+	}
+
 }
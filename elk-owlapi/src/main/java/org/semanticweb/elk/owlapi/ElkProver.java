@@ -21,6 +21,8 @@
  */
 package org.semanticweb.elk.owlapi;
 
+import java.util.Map;
+
 import org.liveontologies.owlapi.proof.OWLProver;
 import org.liveontologies.puli.DynamicProof;
 import org.semanticweb.elk.owlapi.proofs.ElkOwlInference;
@@ -39,4 +41,24 @@ public DynamicProof<ElkOwlInference> getProof(OWLAxiom entailment) throws Unsupp
 		return ElkOwlProof.create(getDelegate(), entailment);
 	}
 
+	/**
+	 * Returns the proofs for several entailments, e.g., for all new
+	 * subsumptions after an ontology change. The contexts needed for all
+	 * proofs are traced in one run and the inferences of all proofs are
+	 * generated together, instead of tracing and generating them separately
+	 * for each entailment as {@link #getProof(OWLAxiom)} does.
+	 * 
+	 * @param entailments
+	 *            the axioms for which to return the proofs
+	 * @return the map from each of the given axioms to its proof
+	 * @throws UnsupportedEntailmentTypeException
+	 *             if the entailment of some of the axioms cannot be checked
+	 * @see ElkOwlProof#create(ElkReasoner, Iterable)
+	 */
+	public Map<OWLAxiom, DynamicProof<ElkOwlInference>> getProofs(
+			Iterable<? extends OWLAxiom> entailments)
+			throws UnsupportedEntailmentTypeException {
+		return ElkOwlProof.create(getDelegate(), entailments);
+	}
+
 }
@@ -21,7 +21,11 @@
  */
 package org.semanticweb.elk.owlapi.proofs;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.liveontologies.puli.BaseProof;
 import org.liveontologies.puli.DynamicProof;
@@ -55,14 +59,31 @@ public class ElkOwlProof extends BaseProof<ElkOwlInference>
 	 */
 	private boolean inSync_ = false;
 
+	/**
+	 * the inferences generated for several entailments at once by
+	 * {@link #create(ElkReasoner, Iterable)}, which are used instead of the
+	 * inferences in this set until the ontology changes; {@code null} if the
+	 * inferences in this set are used
+	 */
+	private BaseProof<ElkOwlInference> batchInferences_ = null;
+
+	/**
+	 * true while the inferences of a proof created by
+	 * {@link #create(ElkReasoner, Iterable)} are generated and the ontology
+	 * has not changed since this proof was created
+	 */
+	private boolean batchPending_;
+
 	/**
 	 * use {@link #create(ElkReasoner, OWLAxiom)}
 	 * 
 	 * @param elkReasoner
 	 */
-	private ElkOwlProof(ElkReasoner elkReasoner, OWLAxiom elkEntailment) {
+	private ElkOwlProof(ElkReasoner elkReasoner, OWLAxiom elkEntailment,
+			boolean batchPending) {
 		this.elkReasoner_ = elkReasoner;
 		this.owlEntailment_ = elkEntailment;
+		this.batchPending_ = batchPending;
 		elkReasoner.addListener(this);
 	}
 
@@ -70,6 +91,10 @@ private ElkOwlProof(ElkReasoner elkReasoner, OWLAxiom elkEntailment) {
 	public synchronized Collection<? extends ElkOwlInference> getInferences(
 			Object conclusion) {
 		ensureSync();
+		if (batchInferences_ != null) {
+			return batchInferences_.getInferences(conclusion);
+		}
+		// else
 		return super.getInferences(conclusion);
 	}
 
@@ -84,6 +109,8 @@ synchronized void ensureSync() {
 	@Override
 	public synchronized void ontologyChanged() {
 		inSync_ = false;
+		batchInferences_ = null;
+		batchPending_ = false;
 		fireChanged();
 	}
 
@@ -128,10 +155,100 @@ public static DynamicProof<ElkOwlInference> create(ElkReasoner reasoner,
 			return Proofs.emptyProof();
 		}
 		// else
-		final ElkOwlProof proof = new ElkOwlProof(reasoner, entailment);
+		final ElkOwlProof proof = new ElkOwlProof(reasoner, entailment,
+				false);
 		// If the entailment is not supported, throw the exceptions now.
 		proof.ensureSync();
 		return proof;
 	}
 
+	/**
+	 * Creates the proofs for several entailments at once. The contexts needed
+	 * for all entailments are traced in one run, and the inferences of all
+	 * proofs are generated together, so that the inferences shared by
+	 * several proofs are generated only once. The proofs use these
+	 * inferences until the ontology changes, after which each proof is
+	 * generated separately like a proof created by
+	 * {@link #create(ElkReasoner, OWLAxiom)}. The proof of each entailment may
+	 * therefore also contain inferences of conclusions used only in the
+	 * proofs of other entailments.
+	 * 
+	 * @param reasoner
+	 *            the reasoner that entails the axioms
+	 * @param entailments
+	 *            the axioms for which to create the proofs
+	 * @return the map from each of the given axioms to its proof
+	 * @throws UnsupportedEntailmentTypeException
+	 *             if the entailment of some of the axioms cannot be checked
+	 */
+	public static Map<OWLAxiom, DynamicProof<ElkOwlInference>> create(
+			final ElkReasoner reasoner,
+			final Iterable<? extends OWLAxiom> entailments)
+			throws UnsupportedEntailmentTypeException {
+		final Map<OWLAxiom, DynamicProof<ElkOwlInference>> proofs = new LinkedHashMap<OWLAxiom, DynamicProof<ElkOwlInference>>();
+		if (reasoner == null) {
+			for (final OWLAxiom entailment : entailments) {
+				proofs.put(entailment, Proofs.<ElkOwlInference> emptyProof());
+			}
+			return proofs;
+		}
+		// else
+		final List<ElkOwlProof> created = new ArrayList<ElkOwlProof>();
+		for (final OWLAxiom entailment : entailments) {
+			if (proofs.containsKey(entailment)) {
+				continue;
+			}
+			// else the listener is registered before the inferences are
+			// generated, so that changes in between are not missed
+			final ElkOwlProof proof = new ElkOwlProof(reasoner, entailment,
+					true);
+			created.add(proof);
+			proofs.put(entailment, proof);
+		}
+		final BaseProof<ElkOwlInference> batchInferences;
+		try {
+			batchInferences = generate(reasoner, entailments);
+		} catch (final RuntimeException e) {
+			for (final ElkOwlProof proof : created) {
+				proof.dispose();
+			}
+			throw e;
+		}
+		for (final ElkOwlProof proof : created) {
+			synchronized (proof) {
+				if (proof.batchPending_) {
+					proof.batchInferences_ = batchInferences;
+					proof.inSync_ = true;
+					proof.batchPending_ = false;
+				}
+			}
+		}
+		return proofs;
+	}
+
+	private static BaseProof<ElkOwlInference> generate(
+			final ElkReasoner reasoner,
+			final Iterable<? extends OWLAxiom> entailments)
+			throws UnsupportedEntailmentTypeException {
+		final OwlConverter owlConverter = OwlConverter.getInstance();
+		final ElkConverter elkConverter = ElkConverter.getInstance();
+		final BaseProof<ElkOwlInference> inferences = new BaseProof<ElkOwlInference>();
+		try {
+			final List<ElkAxiom> elkAxioms = new ArrayList<ElkAxiom>();
+			for (final OWLAxiom entailment : entailments) {
+				elkAxioms.add(owlConverter.convert(entailment));
+			}
+			ElkProofGenerator.generate(reasoner.getInternalReasoner(),
+					elkAxioms,
+					new ElkInferenceOptimizedProducingFactory(
+							new ElkInferenceConvertingProducer(inferences)),
+					null);
+		} catch (final ElkException e) {
+			throw elkConverter.convert(e);
+		} catch (final ElkRuntimeException e) {
+			throw elkConverter.convert(e);
+		}
+		return inferences;
+	}
+
 }
@@ -21,23 +21,29 @@
  */
 package org.semanticweb.elk.owl.inferences;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assume.assumeTrue;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.liveontologies.puli.DynamicProof;
+import org.liveontologies.puli.InferenceDerivabilityChecker;
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.loading.TestLoader;
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
 import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
 import org.semanticweb.elk.owl.parsing.Owl2ParseException;
 import org.semanticweb.elk.reasoner.Reasoner;
@@ -104,6 +110,67 @@ public void provabilityTest() throws Exception {
 		}
 	}
 
+	@Test
+	public void batchProvabilityTest() throws Exception {
+		final Collection<ElkAxiom> ontology = TestReasonerUtils
+				.loadAxioms(manifest.getInput().getUrl().openStream());
+		final TestLoader loader = new TestLoader(ontology);
+
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+
+		try {
+			final ElkObject.Factory factory = new ElkObjectEntityRecyclingFactory();
+			final List<ElkAxiom> goals = new ArrayList<ElkAxiom>();
+			getProvabilityTests(reasoner).accept(new TracingTestVisitor() {
+
+				@Override
+				public void testSubsumption(ElkClass subsumee,
+						ElkClass subsumer) {
+					goals.add(factory.getSubClassOfAxiom(subsumee, subsumer));
+				}
+
+				@Override
+				public void testEquivalence(
+						List<? extends ElkClass> equivalent) {
+					goals.add(factory.getEquivalentClassesAxiom(equivalent));
+				}
+
+			});
+			// a goal that is not entailed unless the ontology is inconsistent
+			goals.add(factory.getSubClassOfAxiom(factory.getOwlThing(),
+					factory.getClass(new ElkFullIri(
+							"http://example.org/ProofTest#Fresh"))));
+			// duplicate goals and goals that are not entailed are not reported
+			final List<ElkAxiom> expected = new ArrayList<ElkAxiom>();
+			for (final ElkAxiom goal : new LinkedHashSet<ElkAxiom>(goals)) {
+				if (reasoner.isEntailed(goal)) {
+					expected.add(goal);
+				}
+			}
+			goals.addAll(new ArrayList<ElkAxiom>(goals));
+			final List<ElkAxiom> generated = new ArrayList<ElkAxiom>();
+			ReasonerElkProof.create(reasoner, goals, factory,
+					new ReasonerElkProof.Listener() {
+
+						@Override
+						public void proofGenerated(ElkAxiom goal,
+								DynamicProof<ElkInference> proof) {
+							generated.add(goal);
+							InferenceDerivabilityChecker<ElkAxiom, ElkInference> checker = new InferenceDerivabilityChecker<ElkAxiom, ElkInference>(
+									proof);
+							if (!checker.isDerivable(goal)) {
+								throw new AssertionError(String
+										.format("%s: not derivable", goal));
+							}
+						}
+
+					});
+			assertEquals(expected, generated);
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
 	private TracingTestVisitor getTestingVisitor(final Reasoner reasoner,
 			final Collection<ElkAxiom> ontology) {
 		return new TracingTestVisitor() {
@@ -21,9 +21,14 @@
  */
 package org.semanticweb.elk.owl.inferences;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
@@ -59,6 +64,7 @@
 import org.semanticweb.elk.reasoner.entailments.model.Entailment;
 import org.semanticweb.elk.reasoner.entailments.model.EntailmentInference;
 import org.semanticweb.elk.reasoner.entailments.model.EquivalentClassesAxiomEntailment;
+import org.semanticweb.elk.reasoner.entailments.model.HasReason;
 import org.semanticweb.elk.reasoner.entailments.model.IndividualInconsistencyEntailsOntologyInconsistency;
 import org.semanticweb.elk.reasoner.entailments.model.OntologyInconsistency;
 import org.semanticweb.elk.reasoner.entailments.model.OntologyInconsistencyEntailsAnyAxiom;
@@ -67,9 +73,11 @@
 import org.semanticweb.elk.reasoner.entailments.model.SubClassOfAxiomEntailment;
 import org.semanticweb.elk.reasoner.entailments.model.TopObjectPropertyInBottomEntailsOntologyInconsistency;
 import org.semanticweb.elk.reasoner.proof.ReasonerProof;
+import org.semanticweb.elk.reasoner.query.VerifiableQueryResult;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassInconsistency;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionComposed;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubPropertyChain;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 
 public class ElkProofGenerator implements EntailmentInference.Visitor<Void> {
 
@@ -81,6 +89,13 @@ public class ElkProofGenerator implements EntailmentInference.Visitor<Void> {
 
 	private final ElkInference.Factory inferenceFactory_;
 
+	/**
+	 * matches the conclusions of all goals, so that the inferences matched
+	 * for one goal are not matched again for other goals; created on demand
+	 * and valid only while the ontology of {@link #reasoner_} is not changed
+	 */
+	private Matcher matcher_ = null;
+
 	public ElkProofGenerator(final ReasonerProof<? extends EntailmentInference> evidence,
 			final Reasoner reasoner, final ElkObject.Factory elkFactory,
 			final ElkInference.Factory inferenceFactory) {
@@ -96,6 +111,110 @@ public ElkProofGenerator(final ReasonerProof<? extends EntailmentInference> evid
 		this(evidence, reasoner, reasoner.getElkFactory(), inferenceFactory);
 	}
 
+	/**
+	 * Traces the inferences of all conclusions of the reasoner from which the
+	 * given goals are entailed at once, so that the contexts needed for
+	 * several goals are traced only one time and in parallel. Calling this
+	 * method before {@link #generate(Entailment)} for each of the goals is
+	 * optional and only saves tracing time.
+	 * 
+	 * @param goalEntailments
+	 *            the entailments for which the proofs will be generated
+	 */
+	public void trace(final Iterable<? extends Entailment> goalEntailments) {
+		final Set<Object> reasons = new ArrayHashSet<Object>();
+		final Set<Entailment> visited = new ArrayHashSet<Entailment>();
+		final Queue<Entailment> toDo = new ArrayDeque<Entailment>();
+		for (final Entailment goal : goalEntailments) {
+			if (goal != null && visited.add(goal)) {
+				toDo.add(goal);
+			}
+		}
+		Entailment next;
+		while ((next = toDo.poll()) != null) {
+			for (final EntailmentInference inf : evidence_
+					.getInferences(next)) {
+				if (inf instanceof HasReason) {
+					reasons.add(((HasReason<?>) inf).getReason());
+				}
+				for (final Entailment premise : inf.getPremises()) {
+					if (visited.add(premise)) {
+						toDo.add(premise);
+					}
+				}
+			}
+		}
+		reasoner_.traceInferences(reasons);
+	}
+
+	/**
+	 * Generates the inferences of several goals at once. The entailment of
+	 * every distinct goal is checked once, the contexts needed for all proved
+	 * goals are traced together, and the inferences of the proved goals are
+	 * generated by one {@link ElkProofGenerator}, so that the inferences
+	 * shared by several goals are generated only once. Goals whose entailment
+	 * is not proved are skipped. The results of the entailment checks are
+	 * unlocked when done.
+	 * 
+	 * @param reasoner
+	 *            the reasoner that entails the goals
+	 * @param goals
+	 *            the axioms for which to generate the inferences
+	 * @param inferenceFactory
+	 *            the factory that produces the generated inferences
+	 * @param listener
+	 *            notified after the inferences of each proved goal are
+	 *            generated, may be {@code null}
+	 * @throws ElkException
+	 *             if the entailment of the goals could not be checked
+	 */
+	public static void generate(final Reasoner reasoner,
+			final Iterable<? extends ElkAxiom> goals,
+			final ElkInference.Factory inferenceFactory,
+			final GoalListener listener) throws ElkException {
+
+		// every goal is checked once, since every check locks its result
+		final Set<ElkAxiom> distinctGoals = new LinkedHashSet<ElkAxiom>();
+		for (final ElkAxiom goal : goals) {
+			distinctGoals.add(goal);
+		}
+		final Map<ElkAxiom, VerifiableQueryResult> results = reasoner
+				.checkEntailment(distinctGoals);
+		try {
+			final List<ElkAxiom> provedGoals = new ArrayList<ElkAxiom>(
+					results.size());
+			final List<ReasonerProof<EntailmentInference>> evidence = new ArrayList<ReasonerProof<EntailmentInference>>(
+					results.size());
+			final List<Entailment> entailments = new ArrayList<Entailment>(
+					results.size());
+			for (final ElkAxiom goal : distinctGoals) {
+				// the results are keyed by the goals passed for checking
+				final VerifiableQueryResult result = results.get(goal);
+				if (!result.entailmentProved()) {
+					continue;
+				}
+				// else
+				provedGoals.add(goal);
+				evidence.add(result.getEvidence(false));
+				entailments.add(result.getEntailment());
+			}
+			final ElkProofGenerator generator = new ElkProofGenerator(
+					ReasonerProof.union(evidence), reasoner, inferenceFactory);
+			generator.trace(entailments);
+			for (int i = 0; i < provedGoals.size(); i++) {
+				generator.generate(entailments.get(i));
+				if (listener != null) {
+					listener.goalGenerated(provedGoals.get(i));
+				}
+			}
+		} finally {
+			for (final VerifiableQueryResult result : results.values()) {
+				result.unlock();
+			}
+		}
+
+	}
+
 	public void generate(final Entailment goalEntailment) throws ElkException {
 		try {
 			for (final EntailmentInference inf : evidence_
@@ -120,9 +239,7 @@ public Void visit(
 		final ElkClassExpression nominal = elkFactory_.getObjectOneOf(instance);
 		final ElkClassExpression type = entailmentInference.getConclusion()
 				.getAxiom().getClassExpression();
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, nominal, type);
+		getMatcher().trace(conclusion, nominal, type);
 		inferenceFactory_.getElkClassAssertionOfClassInclusion(instance, type);
 		return null;
 	}
@@ -146,9 +263,7 @@ public Void visit(
 				.getObjectSomeValuesFrom(property,
 						elkFactory_.getObjectOneOf(object));
 
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, subClass, superClass);
+		getMatcher().trace(conclusion, subClass, superClass);
 
 		inferenceFactory_.getElkObjectPropertyAssertionOfClassInclusion(subject,
 				property, object);
@@ -171,9 +286,7 @@ public Void visit(
 		final ElkClassExpression subClass = elkFactory_
 				.getObjectSomeValuesFrom(property, elkFactory_.getOwlThing());
 
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, subClass, domain);
+		getMatcher().trace(conclusion, subClass, domain);
 
 		inferenceFactory_.getElkObjectPropertyDomainOfClassInclusion(property,
 				domain);
@@ -190,9 +303,7 @@ public Void visit(
 				.getAxiom().getSubClassExpression();
 		final ElkClassExpression superClass = entailmentInference
 				.getConclusion().getAxiom().getSuperClassExpression();
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, subClass, superClass);
+		getMatcher().trace(conclusion, subClass, superClass);
 		return null;
 	}
 
@@ -265,9 +376,7 @@ public Void visit(
 		final ClassInconsistency conclusion = entailmentInference.getReason();
 		final ElkIndividual entity = entailmentInference.getIndividual();
 
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, entity);
+		getMatcher().trace(conclusion, entity);
 
 		inferenceFactory_.getElkClassInclusionTopObjectHasValue(entity);
 
@@ -491,9 +600,7 @@ public Void visit(final ElkSubClassOfAxiom axiom) {
 	public Void visit(
 			final OwlThingInconsistencyEntailsOntologyInconsistency entailmentInference) {
 		final ClassInconsistency conclusion = entailmentInference.getReason();
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, elkFactory_.getOwlThing());
+		getMatcher().trace(conclusion, elkFactory_.getOwlThing());
 		inferenceFactory_.getElkClassInclusionHierarchy(
 				elkFactory_.getOwlThing(), elkFactory_.getOwlNothing());
 		return null;
@@ -507,9 +614,7 @@ public Void visit(
 				.getAxiom().getSubClassExpression();
 		final ElkClassExpression superClass = entailmentInference
 				.getConclusion().getAxiom().getSuperClassExpression();
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, subClass);
+		getMatcher().trace(conclusion, subClass);
 		inferenceFactory_.getElkClassInclusionOwlNothing(superClass);
 		inferenceFactory_.getElkClassInclusionHierarchy(subClass,
 				elkFactory_.getOwlNothing(), superClass);
@@ -521,9 +626,7 @@ public Void visit(
 			final TopObjectPropertyInBottomEntailsOntologyInconsistency entailmentInference) {
 		final SubPropertyChain conclusion = entailmentInference.getReason();
 
-		final Matcher matcher = new Matcher(reasoner_.getProof(), elkFactory_,
-				inferenceFactory_);
-		matcher.trace(conclusion, elkFactory_.getOwlTopObjectProperty(),
+		getMatcher().trace(conclusion, elkFactory_.getOwlTopObjectProperty(),
 				elkFactory_.getOwlBottomObjectProperty());
 
 		inferenceFactory_.getElkClassInclusionOwlTopObjectProperty();
@@ -547,6 +650,40 @@ public Void visit(
 		return null;
 	}
 
+	/**
+	 * The returned {@link Matcher} is created from the proof of the reasoner
+	 * at the first call and is reused by all later calls. It is therefore
+	 * valid only for the state of the reasoner in which this generator was
+	 * first used, just like the evidence passed to the constructor; after
+	 * the ontology of the reasoner is changed a new {@link ElkProofGenerator}
+	 * must be created.
+	 * 
+	 * @return the {@link Matcher} shared by all goals of this generator
+	 */
+	private Matcher getMatcher() {
+		if (matcher_ == null) {
+			matcher_ = new Matcher(reasoner_.getProof(), elkFactory_,
+					inferenceFactory_);
+		}
+		return matcher_;
+	}
+
+	/**
+	 * Receives the goals whose inferences are generated by
+	 * {@link ElkProofGenerator#generate(Reasoner, Iterable, ElkInference.Factory, GoalListener)}.
+	 */
+	public static interface GoalListener {
+
+		/**
+		 * Called when all inferences deriving the given goal are generated.
+		 * 
+		 * @param goal
+		 *            one of the proved goals
+		 */
+		void goalGenerated(ElkAxiom goal);
+
+	}
+
 	/**
 	 * A {@link RuntimeException} used for reporting {@link ElkException}s
 	 * thrown in the visit methods.
@@ -45,8 +45,7 @@ public class ReasonerElkProof extends ChronologicalProof<ElkInference>
 
 	private final ElkInference.Factory inferenceFactory_;
 
-	private ReasonerElkProof(Reasoner reasoner, ElkAxiom goal,
-			ElkObject.Factory elkFactory) throws ElkException {
+	private ReasonerElkProof(Reasoner reasoner, ElkObject.Factory elkFactory) {
 		this.reasoner_ = reasoner;
 		this.inferenceFactory_ = new ElkInferenceOptimizedProducingFactory(this,
 				elkFactory);
@@ -55,7 +54,7 @@ private ReasonerElkProof(Reasoner reasoner, ElkAxiom goal,
 	public static DynamicProof<ElkInference> create(
 			final Reasoner reasoner, final ElkAxiom goal,
 			final ElkObject.Factory elkFactory) throws ElkException {
-		final ReasonerElkProof proof = new ReasonerElkProof(reasoner, goal,
+		final ReasonerElkProof proof = new ReasonerElkProof(reasoner,
 				elkFactory);
 		synchronized (proof) {
 			proof.generateInferences(goal);
@@ -63,6 +62,40 @@ public static DynamicProof<ElkInference> create(
 		return proof;
 	}
 
+	/**
+	 * Generates one proof for all given goals. The contexts needed for the
+	 * goals are traced together, and the inferences shared by several goals
+	 * are generated only once. The goals are reported to the
+	 * {@code listener} one by one, as soon as all inferences deriving the
+	 * goal are in the proof, so that they can be processed before the proofs
+	 * of the remaining goals are generated. Every goal is reported once, even
+	 * if it is given several times; goals whose entailment is not proved by
+	 * the reasoner are not reported.
+	 * 
+	 * @param reasoner
+	 *            the reasoner that entails the goals
+	 * @param goals
+	 *            the axioms for which to generate the proof
+	 * @param elkFactory
+	 *            the factory used for creating the axioms of the proof
+	 * @param listener
+	 *            notified when the inferences for a goal are generated
+	 * @return the proof containing inferences for all goals
+	 * @throws ElkException
+	 *             if the entailment of the goals could not be checked
+	 */
+	public static DynamicProof<ElkInference> create(final Reasoner reasoner,
+			final Iterable<? extends ElkAxiom> goals,
+			final ElkObject.Factory elkFactory, final Listener listener)
+			throws ElkException {
+		final ReasonerElkProof proof = new ReasonerElkProof(reasoner,
+				elkFactory);
+		synchronized (proof) {
+			proof.generateInferences(goals, listener);
+		}
+		return proof;
+	}
+
 	private void generateInferences(final ElkAxiom goal) throws ElkException {
 
 		final VerifiableQueryResult result = reasoner_.checkEntailment(goal);
@@ -77,4 +110,38 @@ private void generateInferences(final ElkAxiom goal) throws ElkException {
 
 	}
 
+	private void generateInferences(final Iterable<? extends ElkAxiom> goals,
+			final Listener listener) throws ElkException {
+		ElkProofGenerator.generate(reasoner_, goals, inferenceFactory_,
+				new ElkProofGenerator.GoalListener() {
+
+					@Override
+					public void goalGenerated(final ElkAxiom goal) {
+						listener.proofGenerated(goal, ReasonerElkProof.this);
+					}
+
+				});
+	}
+
+	/**
+	 * Receives the goals of a proof created for several goals.
+	 * 
+	 * @see ReasonerElkProof#create(Reasoner, Iterable, ElkObject.Factory,
+	 *      Listener)
+	 */
+	public static interface Listener {
+
+		/**
+		 * Called when all inferences deriving the given goal are in the
+		 * given proof.
+		 * 
+		 * @param goal
+		 *            one of the goals of the proof
+		 * @param proof
+		 *            the proof of all goals
+		 */
+		void proofGenerated(ElkAxiom goal, DynamicProof<ElkInference> proof);
+
+	}
+
 }
@@ -21,6 +21,10 @@
 
 	requires com.google.common;
 
+	requires java.management;
+	requires jdk.jfr;
+	requires jdk.management;
+
 	requires org.slf4j;
 
 	requires org.semanticweb.elk.owl.implementation;
@@ -46,6 +50,7 @@
 	exports org.semanticweb.elk.reasoner.saturation.inferences;
 	exports org.semanticweb.elk.reasoner.saturation.properties.inferences;
 	exports org.semanticweb.elk.reasoner.stages;
+	exports org.semanticweb.elk.reasoner.taxonomy;
 	exports org.semanticweb.elk.reasoner.taxonomy.model;
 	exports org.semanticweb.elk.reasoner.tracing;
 
@@ -69,8 +69,6 @@ public class Reasoner extends AbstractReasonerState {
 	// logger for this class
 	private static final Logger LOGGER_ = LoggerFactory.getLogger(Reasoner.class);
 	
-	public static boolean processingNecessaryNormalForm = false;
-
 	public static boolean testing() {
 		try {
 			Class.forName("org.semanticweb.elk.testing.TestManifest");
@@ -83,11 +81,17 @@ public static boolean testing() {
 	private static boolean testing_p = Reasoner.testing();
 
 	/**
-	 * the executor used for concurrent tasks
+	 * the executor used for concurrent tasks by default; shared by all
+	 * reasoners
 	 */
 	private final static ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
 			.create("elk-reasoner");
 
+	/**
+	 * the executor used for concurrent tasks of this reasoner
+	 */
+	private ConcurrentExecutor executor_ = EXECUTOR_;
+
 	/**
 	 * The progress monitor that is used for reporting progress.
 	 */
@@ -211,11 +215,34 @@ public synchronized void setConfigurationOptions(
 		setAllowIncrementalMode(config.getParameterAsBoolean(
 				ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
 
+		setPublishTaxonomySnapshots(config.getParameterAsBoolean(
+				ReasonerConfiguration.TAXONOMY_SNAPSHOTS_PUBLISHED));
+
+		setRankedTransitiveReduction(config.getParameterAsBoolean(
+				ReasonerConfiguration.TAXONOMY_RANKED_REDUCTION));
+
+		getExecutionContext().setStageLogging(config
+				.getParameterAsBoolean(ReasonerConfiguration.STAGE_LOGGING));
+
+	}
+
+	/**
+	 * Sets the executor used for concurrent reasoner computations, e.g., one
+	 * created by {@link ConcurrentExecutors#create(java.util.concurrent.Executor)}
+	 * for a thread pool shared with other components. By default, all
+	 * reasoners use one executor with a thread pool of their own.
+	 * 
+	 * @param executor
+	 *            the {@link ConcurrentExecutor} to be used for reasoner
+	 *            computations
+	 */
+	public synchronized void setProcessExecutor(ConcurrentExecutor executor) {
+		executor_ = executor;
 	}
 
 	@Override
-	protected ConcurrentExecutor getProcessExecutor() {
-		return EXECUTOR_;
+	protected synchronized ConcurrentExecutor getProcessExecutor() {
+		return executor_;
 	}
 
 	@Override
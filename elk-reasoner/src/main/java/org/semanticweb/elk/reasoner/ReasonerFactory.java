@@ -50,14 +50,12 @@ public class ReasonerFactory {
 
 	final static ReasonerStageExecutor DEFAULT_STAGE_EXECUTOR = new LoggingStageExecutor();
 
-	final static ReasonerInterrupter DEFAULT_INTERRUPTER = new ReasonerInterrupter();
-
 	public Reasoner createReasoner(AxiomLoader.Factory axiomLoaderFactory) {
 		return createReasoner(axiomLoaderFactory, ReasonerConfiguration.getConfiguration());
 	}
 
 	public Reasoner createReasoner(AxiomLoader.Factory axiomLoaderFactory, ReasonerConfiguration config) {
-		return createReasoner(axiomLoaderFactory, DEFAULT_INTERRUPTER, DEFAULT_STAGE_EXECUTOR, config);
+		return createReasoner(axiomLoaderFactory, new ReasonerInterrupter(), DEFAULT_STAGE_EXECUTOR, config);
 	}
 
 	Reasoner createReasoner(AxiomLoader.Factory axiomLoaderFactory, final ReasonerInterrupter interrupter,
@@ -82,7 +80,7 @@ public Reasoner createReasoner(final Reasoner reasoner, final ElkObject.Factory
 
 	@SuppressWarnings("static-method")
 	public Reasoner createReasoner(final ReasonerConfiguration config) {
-		return createReasoner(DEFAULT_INTERRUPTER, DEFAULT_STAGE_EXECUTOR, config);
+		return createReasoner(new ReasonerInterrupter(), DEFAULT_STAGE_EXECUTOR, config);
 	}
 
 	static Reasoner createReasoner(final ReasonerInterrupter interrupter, final ReasonerStageExecutor stageExecutor,
@@ -96,7 +94,7 @@ static Reasoner createReasoner(final ElkObject.Factory elkFactory, final Reasone
 	}
 
 	public Reasoner createReasoner(ElkObject.Factory elkFactory, ReasonerConfiguration config) {
-		return createReasoner(elkFactory, DEFAULT_INTERRUPTER, DEFAULT_STAGE_EXECUTOR, config);
+		return createReasoner(elkFactory, new ReasonerInterrupter(), DEFAULT_STAGE_EXECUTOR, config);
 	}
 
 }
@@ -0,0 +1,62 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ChunkedArrayActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+
+/**
+ * The implementations of {@link ActivationStack} that can be used for the
+ * queues of unprocessed inferences of the saturation contexts.
+ */
+public enum ActivationStackType {
+
+	/**
+	 * {@link SynchronizedArrayListActivationStack}: an array list under a lock;
+	 * the list is released when the stack is cleared
+	 */
+	SYNCHRONIZED_ARRAY_LIST {
+		@Override
+		public <E> ActivationStack<E> create() {
+			return new SynchronizedArrayListActivationStack<E>();
+		}
+	},
+
+	/**
+	 * {@link ChunkedArrayActivationStack}: lock-free insertion into chunks of
+	 * {@value ChunkedArrayActivationStack#DEFAULT_CHUNK_SIZE} elements, which
+	 * are taken in insertion order; the chunks are released when the stack is
+	 * cleared
+	 */
+	CHUNKED_ARRAY {
+		@Override
+		public <E> ActivationStack<E> create() {
+			return new ChunkedArrayActivationStack<E>();
+		}
+	};
+
+	/**
+	 * @return a new cleared {@link ActivationStack} of this type
+	 */
+	public abstract <E> ActivationStack<E> create();
+
+}
@@ -49,6 +49,15 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "java.lang.Boolean", value = "true")
 	public static final String INCREMENTAL_MODE_ALLOWED = "elk.reasoner.incremental.allowed";
 
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String TAXONOMY_SNAPSHOTS_PUBLISHED = "elk.reasoner.taxonomy.snapshots";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String TAXONOMY_RANKED_REDUCTION = "elk.reasoner.taxonomy.ranked_reduction";
+
+	@Parameter(type = "java.lang.Boolean", value = "true")
+	public static final String STAGE_LOGGING = "elk.reasoner.stages.logging";
+
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(16896,0.75)")
 	public static final String TRACING_EVICTOR = "elk.reasoner.tracing.evictor";
 
@@ -58,6 +67,12 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(512,0.75)")
 	public static final String ENTAILMENT_QUERY_EVICTOR = "elk.reasoner.entailmentquery.evictor";
 
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ActivationStackType", value = "SYNCHRONIZED_ARRAY_LIST")
+	public static final String SATURATION_ACTIVATION_STACK = "elk.reasoner.saturation.activation_stack";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String SATURATION_WORK_STEALING = "elk.reasoner.saturation.work_stealing";
+
 	public final static String REASONER_CONFIG_PREFIX = "elk.reasoner";
 
 	public static ReasonerConfiguration getConfiguration() {
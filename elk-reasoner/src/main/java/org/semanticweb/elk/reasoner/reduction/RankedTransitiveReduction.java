@@ -0,0 +1,260 @@
+package org.semanticweb.elk.reasoner.reduction;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Computes the transitive reduction for {@link IndexedClass} roots using
+ * compact representations of the atomic subsumers of classes. Every
+ * {@link IndexedClass} gets a dense integer id, and its atomic subsumers are
+ * stored once as an array sorted by these ids. The length of this array is the
+ * rank of the class: a class has a higher rank than every class that strictly
+ * subsumes it. The direct subsumers of a root are then found by processing its
+ * atomic subsumers in the order of decreasing rank and skipping those that
+ * subsume an already found direct subsumer. The result is the same as computed
+ * by {@link TransitiveReductionFactory} using the pairwise comparison of
+ * subsumers, but the work per root is linear in the number of its subsumers
+ * for every direct subsumer.
+ * 
+ * The object can be used concurrently for different roots; it requires that
+ * the saturation of the root and of all its atomic subsumers is computed, see
+ * {@link #getUnsaturated(IndexedClass)}.
+ * 
+ * @see TransitiveReductionFactory
+ */
+class RankedTransitiveReduction {
+
+	private static final Comparator<RankedClass> BY_ID_ = new Comparator<RankedClass>() {
+		@Override
+		public int compare(final RankedClass first, final RankedClass second) {
+			return Integer.compare(first.id, second.id);
+		}
+	};
+
+	private final SaturationState<?> saturationState_;
+
+	private final IndexedClass owlThing_;
+
+	/**
+	 * The default equivalence classes for owl:Thing to be used when there are
+	 * no (direct) subsumers
+	 */
+	private final List<ElkClass> defaultTopOutput_;
+
+	private final ConcurrentMap<IndexedClass, RankedClass> rankedClasses_ = new ConcurrentHashMap<IndexedClass, RankedClass>();
+
+	private final AtomicInteger nextId_ = new AtomicInteger();
+
+	RankedTransitiveReduction(final SaturationState<?> saturationState,
+			final List<ElkClass> defaultTopOutput) {
+		this.saturationState_ = saturationState;
+		this.owlThing_ = saturationState.getOntologyIndex().getOwlThing();
+		this.defaultTopOutput_ = defaultTopOutput;
+	}
+
+	/**
+	 * An {@link IndexedClass} with a dense id and its atomic subsumers
+	 */
+	private static class RankedClass {
+
+		final IndexedClass indexed;
+
+		final int id;
+
+		/**
+		 * the atomic subsumers sorted by id, or {@code null} if not yet
+		 * computed
+		 */
+		volatile RankedClass[] subsumers = null;
+
+		RankedClass(final IndexedClass indexed, final int id) {
+			this.indexed = indexed;
+			this.id = id;
+		}
+
+	}
+
+	private RankedClass getRankedClass(final IndexedClass indexed) {
+		RankedClass result = rankedClasses_.get(indexed);
+		if (result != null) {
+			return result;
+		}
+		return rankedClasses_.computeIfAbsent(indexed,
+				key -> new RankedClass(key, nextId_.getAndIncrement()));
+	}
+
+	/**
+	 * @param cls
+	 * @return the atomic subsumers of the given class sorted by id or
+	 *         {@code null} if the saturation of the class is not yet computed
+	 */
+	private RankedClass[] getSubsumers(final RankedClass cls) {
+		RankedClass[] result = cls.subsumers;
+		if (result != null) {
+			return result;
+		}
+		final Context context = saturationState_.getContext(cls.indexed);
+		if (context == null || !context.isInitialized()
+				|| !context.isSaturated()) {
+			return null;
+		}
+		final Set<IndexedClassExpression> subsumers = context
+				.getComposedSubsumers();
+		result = new RankedClass[subsumers.size()];
+		int size = 0;
+		for (final IndexedClassExpression subsumer : subsumers) {
+			if (subsumer instanceof IndexedClass) {
+				result[size++] = getRankedClass((IndexedClass) subsumer);
+			}
+		}
+		result = Arrays.copyOf(result, size);
+		Arrays.sort(result, BY_ID_);
+		// computing the same array twice is harmless
+		cls.subsumers = result;
+		return result;
+	}
+
+	/**
+	 * Prepares the subsumers of the given root for the transitive reduction.
+	 * 
+	 * @param root
+	 * @return the root or one of its atomic subsumers for which the saturation
+	 *         is not yet computed, or {@code null} if there is no such class
+	 *         and {@link #reduce(IndexedClassExpression)} can be called for
+	 *         the root
+	 */
+	IndexedClass getUnsaturated(final IndexedClass root) {
+		final RankedClass[] subsumers = getSubsumers(getRankedClass(root));
+		if (subsumers == null) {
+			return root;
+		}
+		for (final RankedClass subsumer : subsumers) {
+			if (getSubsumers(subsumer) == null) {
+				return subsumer.indexed;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the transitive reduction for a satisfiable root
+	 * 
+	 * @param root
+	 *            an {@link IndexedClass} for which
+	 *            {@link #getUnsaturated(IndexedClass)} returns {@code null}
+	 * @return the equivalent classes and the direct subsumers of the root
+	 */
+	<R extends IndexedClassExpression> TransitiveReductionOutputEquivalentDirect<R> reduce(
+			final R root) {
+		final RankedClass[] subsumers = getRankedClass(
+				(IndexedClass) root).subsumers;
+		final int rank = subsumers.length;
+		final List<ElkClass> equivalent = new ArrayList<ElkClass>(1);
+		/*
+		 * the candidate direct subsumers are encoded with their negated rank in
+		 * the high bits and their position in the low bits so that sorting
+		 * puts more specific candidates first
+		 */
+		final long[] candidates = new long[rank];
+		int candidateCount = 0;
+		for (int i = 0; i < rank; i++) {
+			final RankedClass subsumer = subsumers[i];
+			final int subsumerRank = subsumer.subsumers.length;
+			if (subsumerRank == rank) {
+				equivalent.add(subsumer.indexed.getElkEntity());
+			} else if (subsumer.indexed != owlThing_ || subsumerRank > 1) {
+				/*
+				 * if subsumer is top and has no other subsumers, it can be
+				 * safely ignored; top will be automatically introduced if no
+				 * direct subsumers are found
+				 */
+				candidates[candidateCount++] = ((long) -subsumerRank << 32)
+						| i;
+			}
+		}
+		/*
+		 * if owl:Thing does not occur negatively, it does not appear in
+		 * composed subsumers and is equivalent only to itself
+		 */
+		if (equivalent.isEmpty() && owlThing_.equals(root)) {
+			equivalent.add(owlThing_.getElkEntity());
+		}
+		final TransitiveReductionOutputEquivalentDirect<R> output = new TransitiveReductionOutputEquivalentDirect<R>(
+				root, equivalent);
+		if (candidateCount == 0) {
+			if (!equivalent.contains(owlThing_.getElkEntity())) {
+				output.directSubsumers.add(defaultTopOutput_);
+			}
+			return output;
+		}
+		Arrays.sort(candidates, 0, candidateCount);
+		/*
+		 * the positions of subsumers that subsume some found direct subsumer
+		 */
+		final boolean[] covered = new boolean[rank];
+		for (int c = 0; c < candidateCount; c++) {
+			final int pos = (int) candidates[c];
+			if (covered[pos]) {
+				continue;
+			}
+			/*
+			 * the candidate is direct: every candidate strictly subsumed by it
+			 * has a higher rank, so it is already processed and is either
+			 * direct or covered; in both cases this candidate would be covered
+			 */
+			final RankedClass[] directSubsumers = subsumers[pos].subsumers;
+			final List<ElkClass> directEquivalent = new ArrayList<ElkClass>(1);
+			int i = 0;
+			for (final RankedClass subsumer : directSubsumers) {
+				while (i < rank && subsumers[i].id < subsumer.id) {
+					i++;
+				}
+				if (i == rank) {
+					break;
+				}
+				if (subsumers[i] != subsumer) {
+					continue;
+				}
+				covered[i] = true;
+				if (subsumer.subsumers.length == directSubsumers.length) {
+					directEquivalent.add(subsumer.indexed.getElkEntity());
+				}
+			}
+			output.directSubsumers.add(directEquivalent);
+		}
+		return output;
+	}
+
+}
@@ -132,6 +132,12 @@
 	 */
 	private final ClassInconsistency.Factory factory_ = new SaturationConclusionBaseFactory();
 
+	/**
+	 * If not {@code null}, used to compute the transitive reduction for
+	 * {@link IndexedClass} roots instead of comparing the subsumers pairwise
+	 */
+	private final RankedTransitiveReduction rankedReduction_;
+
 	/**
 	 * Creating a new transitive reduction engine for the input ontology index
 	 * and a listener for executing callback functions.
@@ -146,10 +152,14 @@
 	 * @param listener
 	 *            the listener object implementing callback functions for this
 	 *            engine
+	 * @param ranked
+	 *            if {@code true}, the transitive reduction for
+	 *            {@link IndexedClass} roots is computed using
+	 *            {@link RankedTransitiveReduction}
 	 */
 	public TransitiveReductionFactory(final InterruptMonitor interrupter,
-			SaturationState<?> saturationState,
-			int maxWorkers, TransitiveReductionListener<J> listener) {
+			SaturationState<?> saturationState, int maxWorkers,
+			TransitiveReductionListener<J> listener, boolean ranked) {
 		this.listener_ = listener;
 		this.auxJobQueue_ = new ConcurrentLinkedQueue<SaturationJobSuperClass<R, J>>();
 		this.jobsWithSaturatedRoot_ = new ConcurrentLinkedQueue<J>();
@@ -161,6 +171,31 @@ public TransitiveReductionFactory(final InterruptMonitor interrupter,
 		this.owlThing_ = saturationState.getOntologyIndex().getOwlThing();
 		this.defaultTopOutput_ = new ArrayList<ElkClass>(1);
 		defaultTopOutput_.add(owlThing_.getElkEntity());
+		this.rankedReduction_ = ranked
+				? new RankedTransitiveReduction(saturationState,
+						defaultTopOutput_)
+				: null;
+	}
+
+	/**
+	 * Creating a new transitive reduction engine for the input ontology index
+	 * and a listener for executing callback functions.
+	 * 
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that can signal interruption of
+	 *            computations
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can use this factory
+	 * @param listener
+	 *            the listener object implementing callback functions for this
+	 *            engine
+	 */
+	public TransitiveReductionFactory(final InterruptMonitor interrupter,
+			SaturationState<?> saturationState,
+			int maxWorkers, TransitiveReductionListener<J> listener) {
+		this(interrupter, saturationState, maxWorkers, listener, false);
 	}
 
 	@Override
@@ -237,7 +272,9 @@ public void visit(SaturationJobSuperClass<R, J> saturationJob)
 			 */
 			IndexedClass candidate = saturationJob.getInput();
 			TransitiveReductionState<R, J> state = saturationJob.state;
-			updateTransitiveReductionState(state, candidate);
+			if (rankedReduction_ == null) {
+				updateTransitiveReductionState(state, candidate);
+			}
 			processTransitiveReductionState(state);
 		}
 
@@ -306,6 +343,19 @@ private void processTransitiveReductionState(
 				TransitiveReductionState<R, J> state)
 						throws InterruptedException {
 
+			R root = state.initiatorJob.getInput();
+			if (rankedReduction_ != null && root instanceof IndexedClass) {
+				IndexedClass unsaturated = rankedReduction_
+						.getUnsaturated((IndexedClass) root);
+				if (unsaturated != null) {
+					auxJobQueue_.add(new SaturationJobSuperClass<R, J>(
+							unsaturated, state));
+					return;
+				}
+				setOutput(state, rankedReduction_.reduce(root));
+				return;
+			}
+
 			Iterator<IndexedClassExpression> subsumerIterator = state.subsumerIterator;
 
 			while (subsumerIterator.hasNext()) {
@@ -346,9 +396,20 @@ private void processTransitiveReductionState(
 			}
 			
 			/* When all candidates are processed, the output is computed */
-			TransitiveReductionOutputEquivalentDirect<R> output = computeOutput(
-					state);
+			setOutput(state, computeOutput(state));
+		}
 
+		/**
+		 * Sets the computed output for the initiator job of the state and
+		 * notifies the listener
+		 * 
+		 * @param state
+		 * @param output
+		 * @throws InterruptedException
+		 */
+		private void setOutput(TransitiveReductionState<R, J> state,
+				TransitiveReductionOutputEquivalentDirect<R> output)
+				throws InterruptedException {
 			state.initiatorJob.setOutput(output);
 			listener_.notifyFinished(state.initiatorJob);
 
@@ -64,7 +64,7 @@
 	 * The queue containing all activated contexts (whose todo queue is not
 	 * empty). Every activated context occurs exactly once.
 	 */
-	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
+	private final Queue<Context> activeContexts_;
 
 	/**
 	 * The queue containing all {@link Context}s of this {@link SaturationState}
@@ -104,8 +104,23 @@
 
 	public AbstractSaturationState(OntologyIndex index,
 			ContextFactory<EC> factory) {
+		this(index, factory, new ConcurrentLinkedQueue<Context>());
+	}
+
+	/**
+	 * @param index
+	 *            the {@link OntologyIndex} of this {@link SaturationState}
+	 * @param factory
+	 *            creates the {@link Context}s of this {@link SaturationState}
+	 * @param activeContexts
+	 *            an empty thread-safe {@link Queue} used for the activated
+	 *            {@link Context}s
+	 */
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, Queue<Context> activeContexts) {
 		this.ontologyIndex = index;
 		this.contextFactory = factory;
+		this.activeContexts_ = activeContexts;
 	}
 
 	@Override
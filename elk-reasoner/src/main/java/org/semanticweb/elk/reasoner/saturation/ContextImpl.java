@@ -155,8 +155,26 @@ public class ContextImpl implements ExtendedContext {
 	 * @see Context#getRoot()
 	 */
 	public ContextImpl(IndexedContextRoot root) {
+		this(root, new SynchronizedArrayListActivationStack<ClassInference>());
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that keeps unprocessed {@link ClassInference}s in the given
+	 * {@link ActivationStack}. Initially, the context is not active.
+	 * 
+	 * @param root
+	 *            the {@link IndexedContextRoot} for which to construct the
+	 *            {@link Context}
+	 * @param toDo
+	 *            a cleared {@link ActivationStack}, used only by this
+	 *            {@link Context}
+	 * @see Context#getRoot()
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			ActivationStack<ClassInference> toDo) {
 		this.root_ = root;
-		this.toDo_ = new SynchronizedArrayListActivationStack<ClassInference>();
+		this.toDo_ = toDo;
 		this.composedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(16);
 		this.decomposedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(8);
 	}
@@ -3,7 +3,9 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import org.semanticweb.elk.reasoner.config.ActivationStackType;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference;
 
 /*
  * #%L
@@ -36,9 +38,22 @@
  */
 public class MainContextFactory implements ContextFactory<ExtendedContext> {
 
+	/**
+	 * the type of the queues of unprocessed inferences of the created contexts
+	 */
+	private final ActivationStackType toDoType_;
+
+	public MainContextFactory(ActivationStackType toDoType) {
+		this.toDoType_ = toDoType;
+	}
+
+	public MainContextFactory() {
+		this(ActivationStackType.SYNCHRONIZED_ARRAY_LIST);
+	}
+
 	@Override
 	public ExtendedContext createContext(IndexedContextRoot root) {
-		return new ContextImpl(root);
+		return new ContextImpl(root, toDoType_.<ClassInference> create());
 	}
 
 }
@@ -29,6 +29,7 @@
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
@@ -59,7 +60,17 @@
 	 * @param index
 	 */
 	public ReferenceSaturationState(OntologyIndex index) {
-		super(index, new MainContextFactory());
+		this(index, new MainContextFactory());
+	}
+
+	public ReferenceSaturationState(OntologyIndex index,
+			MainContextFactory contextFactory) {
+		super(index, contextFactory);
+	}
+
+	public ReferenceSaturationState(OntologyIndex index,
+			MainContextFactory contextFactory, Queue<Context> activeContexts) {
+		super(index, contextFactory, activeContexts);
 	}
 
 	@Override
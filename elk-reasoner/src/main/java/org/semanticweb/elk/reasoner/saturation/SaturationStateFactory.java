@@ -25,8 +25,15 @@
  * #L%
  */
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.semanticweb.elk.reasoner.config.ActivationStackType;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.WorkStealingQueue;
 
 /**
  * A simple factory for creating saturation states
@@ -47,9 +54,60 @@ public class SaturationStateFactory {
 	 */
 	public static SaturationState<? extends Context> createSaturationState(
 			OntologyIndex ontologyIndex) {
-		return new ReferenceSaturationState(ontologyIndex);
+		return createSaturationState(ontologyIndex,
+				ActivationStackType.SYNCHRONIZED_ARRAY_LIST);
+	}
+
+	/**
+	 * Creates a new {@link SaturationState} whose {@link Context}s keep their
+	 * unprocessed inferences in {@link ActivationStack}s of the given type
+	 * 
+	 * @param ontologyIndex
+	 *            the {@link OntologyIndex} used by the new
+	 *            {@link SaturationState}
+	 * @param toDoType
+	 *            the type of the {@link ActivationStack}s for the unprocessed
+	 *            inferences
+	 * @return the new {@link SaturationState}
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ActivationStackType toDoType) {
+		return new ReferenceSaturationState(ontologyIndex,
+				new MainContextFactory(toDoType));
 		// return new MapSaturationState<ExtendedContext>(ontologyIndex, new
 		// MainContextFactory(),
 		// ontologyIndex.getIndexedClassExpressions().size());
 	}
+
+	/**
+	 * Creates a new {@link SaturationState} with the options of the given
+	 * {@link ReasonerConfiguration}. If
+	 * {@link ReasonerConfiguration#SATURATION_WORK_STEALING} is set, the
+	 * activated {@link Context}s are kept in a {@link WorkStealingQueue} with
+	 * one deque per worker.
+	 * 
+	 * @param ontologyIndex
+	 *            the {@link OntologyIndex} used by the new
+	 *            {@link SaturationState}
+	 * @param config
+	 *            the {@link ReasonerConfiguration} with the saturation options
+	 * @return the new {@link SaturationState}
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ReasonerConfiguration config) {
+		MainContextFactory contextFactory = new MainContextFactory(
+				(ActivationStackType) config.getParameter(
+						ReasonerConfiguration.SATURATION_ACTIVATION_STACK));
+		Queue<Context> activeContexts;
+		if (config.getParameterAsBoolean(
+				ReasonerConfiguration.SATURATION_WORK_STEALING)) {
+			activeContexts = new WorkStealingQueue<Context>(
+					config.getParameterAsInt(
+							ReasonerConfiguration.NUM_OF_WORKING_THREADS));
+		} else {
+			activeContexts = new ConcurrentLinkedQueue<Context>();
+		}
+		return new ReferenceSaturationState(ontologyIndex, contextFactory,
+				activeContexts);
+	}
 }
@@ -25,6 +25,7 @@
 import org.semanticweb.elk.reasoner.incremental.IncrementalChangesInitialization;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * The base stage for initializing additions and deletions
@@ -79,6 +80,16 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return stageStatistics;
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return initialization;
+	}
+
 	@Override
 	public void printInfo() {
 		// TODO
@@ -30,6 +30,7 @@
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.reasoner.Reasoner;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -144,17 +145,62 @@ public boolean postExecute() {
 
 	@Override
 	public void execute() throws ElkException {
-		if (!testing_p && !Reasoner.processingNecessaryNormalForm)
+		ReasonerExecutionContext context = reasoner.getExecutionContext();
+		if (!testing_p && context.isStageLogging())
 			LOGGER_.info(getName());
+		context.fireStageStarted(this);
+		StageExecutionEvent event = new StageExecutionEvent();
+		StageMetricsCollector metrics = event.isEnabled()
+				|| context.hasStageMetricsListeners()
+						? new StageMetricsCollector(getStageComputation(),
+								getStageStatistics())
+						: null;
+		event.begin();
 		reasoner.getProgressMonitor().start(getName());
+		long startTime = System.nanoTime();
+		StageMetrics.Outcome outcome = StageMetrics.Outcome.FAILED;
 
 		try {
 			executeStage();
 			checkInterrupt();
+			outcome = StageMetrics.Outcome.COMPLETED;
+		} catch (ElkInterruptedException e) {
+			outcome = StageMetrics.Outcome.INTERRUPTED;
+			throw e;
 		} finally {
 			reasoner.getProgressMonitor().finish();
+			long elapsedNanos = System.nanoTime() - startTime;
+			context.fireStageFinished(this, elapsedNanos);
+			if (metrics != null) {
+				event.end();
+				StageMetrics result = metrics.finish(this, outcome,
+						elapsedNanos, workerNo, getStageComputation(),
+						getStageStatistics());
+				if (event.shouldCommit()) {
+					event.set(result);
+					event.commit();
+				}
+				context.fireStageMeasured(result);
+			}
 		}
 	}
+
+	/**
+	 * @return the statistics of the rules and conclusions of the current
+	 *         execution of this stage, or {@code null} if the stage does not
+	 *         apply inference rules
+	 */
+	SaturationStatistics getStageStatistics() {
+		return null;
+	}
+
+	/**
+	 * @return the computation whose workers perform the current execution of
+	 *         this stage, or {@code null} if the stage does not use workers
+	 */
+	ConcurrentComputation<?> getStageComputation() {
+		return null;
+	}
 	
 	@Override
 	public String toString() {
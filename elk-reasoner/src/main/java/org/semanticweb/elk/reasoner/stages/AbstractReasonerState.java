@@ -22,11 +22,14 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
@@ -80,10 +83,14 @@
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTypeNode;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.SnapshotTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChange;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChangeRecorder;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNodeFactory;
+import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
 import org.semanticweb.elk.reasoner.tracing.Conclusion;
 import org.semanticweb.elk.reasoner.tracing.TraceState;
 import org.semanticweb.elk.reasoner.tracing.TracingInference;
@@ -191,6 +198,50 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	private boolean allowIncrementalMode_ = true;
 
+	/**
+	 * if {@code true}, a {@link SnapshotTaxonomy} is published every time the
+	 * class taxonomy is computed after it has been changed
+	 */
+	private boolean publishTaxonomySnapshots_ = false;
+
+	/**
+	 * if {@code true}, the direct super-classes in the class taxonomy are
+	 * computed by comparing ranked sets of atomic subsumers
+	 */
+	private boolean rankedTransitiveReduction_ = false;
+
+	/**
+	 * the last published copy of the class taxonomy or {@code null} if no
+	 * copy was published yet; can be read without synchronization
+	 */
+	private volatile SnapshotTaxonomy<ElkClass> taxonomySnapshot_ = null;
+
+	/**
+	 * {@code true} if the class taxonomy may have changed after
+	 * {@link #taxonomySnapshot_} was taken
+	 */
+	private boolean taxonomySnapshotOutdated_ = true;
+
+	/**
+	 * {@code true} if {@link #taxonomySnapshot_} was taken when the ontology
+	 * was inconsistent, i.e., it is the taxonomy returned by
+	 * {@link #getTaxonomyQuietly()} for inconsistent ontologies
+	 */
+	private boolean taxonomySnapshotInconsistent_ = false;
+
+	/**
+	 * records the classes whose position in the class taxonomy may change or
+	 * {@code null} if the changes are not recorded
+	 */
+	private TaxonomyChangeRecorder<ElkClass> classTaxonomyChanges_ = null;
+
+	/**
+	 * settings and hooks for execution of the stages of this reasoner;
+	 * created on first access, so that {@code this} does not escape from the
+	 * constructor
+	 */
+	private final AtomicReference<ReasonerExecutionContext> executionContext_ = new AtomicReference<ReasonerExecutionContext>();
+
 	/**
 	 * creates conclusions for tracing
 	 */
@@ -206,14 +257,28 @@ protected AbstractReasonerState(ElkObject.Factory elkFactory,
 		this.ontologyIndex = new DifferentialIndex(elkFactory);
 		this.propertyHierarchyCompositionState_ = new PropertyHierarchyCompositionState();
 		this.saturationState = SaturationStateFactory
-				.createSaturationState(ontologyIndex);
+				.createSaturationState(ontologyIndex, config);
 		this.consistencyCheckingState = ConsistencyCheckingState
 				.create(saturationState, propertyHierarchyCompositionState_);
 		this.instanceTaxonomyState = new InstanceTaxonomyState(saturationState,
 				ontologyIndex, elkFactory);
 		this.classTaxonomyState = new ClassTaxonomyState(saturationState,
 				ontologyIndex, elkFactory, Arrays.asList(
-						instanceTaxonomyState.getClassTaxonomyStateListener()));
+						instanceTaxonomyState.getClassTaxonomyStateListener(),
+						new ClassTaxonomyState.Listener() {
+
+							@Override
+							public void taxonomyReset(
+									final UpdateableTaxonomy<ElkClass> oldTaxonomy,
+									final UpdateableTaxonomy<ElkClass> newTaxonomy) {
+								if (classTaxonomyChanges_ != null
+										&& oldTaxonomy != null) {
+									classTaxonomyChanges_
+											.taxonomyReset(oldTaxonomy);
+								}
+							}
+
+						}));
 		this.objectPropertyTaxonomyState = new ObjectPropertyTaxonomyState(
 				elkFactory);
 		this.ruleAndConclusionStats = new SaturationStatistics();
@@ -236,6 +301,21 @@ public ElkObject.Factory getElkFactory() {
 		return elkFactory_;
 	}
 
+	/**
+	 * @return the {@link ReasonerExecutionContext} that controls how the
+	 *         stages of this reasoner are executed
+	 */
+	public ReasonerExecutionContext getExecutionContext() {
+		final ReasonerExecutionContext context = executionContext_.get();
+		if (context != null) {
+			return context;
+		}
+		// else
+		executionContext_.compareAndSet(null,
+				new ReasonerExecutionContext(this));
+		return executionContext_.get();
+	}
+
 	protected void complete(ReasonerStage stage) throws ElkException {
 		getStageExecutor().complete(stage);
 	}
@@ -284,6 +364,79 @@ public synchronized boolean isIncrementalMode() {
 		return ontologyIndex.isIncrementalMode();
 	}
 
+	/**
+	 * Sets whether a {@link SnapshotTaxonomy} of the class taxonomy should be
+	 * published every time the taxonomy is computed. If enabled when the
+	 * taxonomy is already computed, the snapshot is published immediately.
+	 * If disabled, the previously published snapshot is discarded.
+	 * 
+	 * @param publish
+	 *            {@code true} if the snapshots should be published
+	 * @see #getTaxonomySnapshot()
+	 */
+	public synchronized void setPublishTaxonomySnapshots(boolean publish) {
+		publishTaxonomySnapshots_ = publish;
+		if (!publish) {
+			taxonomySnapshot_ = null;
+			taxonomySnapshotOutdated_ = true;
+			taxonomySnapshotInconsistent_ = false;
+		} else if (stageManager.classTaxonomyComputationStage.isCompleted()
+				|| stageManager.consistencyCheckingStage.isCompleted()
+						&& consistencyCheckingState.isInconsistent()) {
+			publishTaxonomySnapshot();
+		}
+	}
+
+	public synchronized boolean isPublishTaxonomySnapshots() {
+		return publishTaxonomySnapshots_;
+	}
+
+	/**
+	 * Sets whether the direct super-classes of classes are computed using
+	 * dense ids and ranks of classes and sorted arrays of their atomic
+	 * subsumers instead of pairwise comparison of the subsumers. Both methods
+	 * produce the same class taxonomy.
+	 * 
+	 * @param ranked
+	 *            {@code true} if the ranked transitive reduction should be used
+	 */
+	public synchronized void setRankedTransitiveReduction(boolean ranked) {
+		rankedTransitiveReduction_ = ranked;
+	}
+
+	public synchronized boolean isRankedTransitiveReduction() {
+		return rankedTransitiveReduction_;
+	}
+
+	/**
+	 * Sets whether the changes of the class taxonomy are recorded, so that
+	 * they can be retrieved by {@link #pollClassTaxonomyChanges()}. When
+	 * enabled, the changes are recorded from the class taxonomy that is
+	 * computed next.
+	 * 
+	 * @param record
+	 *            if {@code true}, the changes are recorded; the changes
+	 *            recorded so far are dropped in either case
+	 */
+	public synchronized void setRecordClassTaxonomyChanges(boolean record) {
+		classTaxonomyChanges_ = record
+				? new TaxonomyChangeRecorder<ElkClass>(
+						ElkClassKeyProvider.INSTANCE)
+				: null;
+	}
+
+	public synchronized boolean isRecordClassTaxonomyChanges() {
+		return classTaxonomyChanges_ != null;
+	}
+
+	/**
+	 * @return the object recording the changes of the class taxonomy or
+	 *         {@code null} if they are not recorded
+	 */
+	TaxonomyChangeRecorder<ElkClass> getClassTaxonomyChangeRecorder() {
+		return classTaxonomyChanges_;
+	}
+
 	void setNonIncrementalMode() {
 		if (!isIncrementalMode()) {
 			return;
@@ -483,6 +636,11 @@ private void restoreConsistencyCheck() throws ElkException {
 		ruleAndConclusionStats.reset();
 		restoreSaturation();
 		complete(stageManager.consistencyCheckingStage);
+		if (consistencyCheckingState.isInconsistent()) {
+			// the class taxonomy is not computed, but the published snapshot
+			// must not describe the ontology before it became inconsistent
+			publishTaxonomySnapshot();
+		}
 	}
 
 	/**
@@ -522,6 +680,104 @@ private void restoreTaxonomy()
 		}
 
 		complete(stageManager.classTaxonomyComputationStage);
+		// replaces the snapshot of the inconsistent ontology if the taxonomy
+		// computed before did not need to be recomputed
+		publishTaxonomySnapshot();
+	}
+
+	/**
+	 * Called when the class taxonomy has been modified, so that the published
+	 * {@link SnapshotTaxonomy}, if any, does not correspond to it anymore.
+	 */
+	void classTaxonomyChanged() {
+		taxonomySnapshotOutdated_ = true;
+	}
+
+	/**
+	 * Publishes a new {@link SnapshotTaxonomy} if publishing is enabled and
+	 * the published snapshot does not correspond to the current ontology. If
+	 * the ontology is consistent, the snapshot is taken from the class
+	 * taxonomy; this method is called by {@link ClassTaxonomyComputationStage}
+	 * when the class taxonomy is completely computed, no matter which
+	 * reasoning method needs it. If the ontology is inconsistent, the
+	 * snapshot is taken from the taxonomy in which all classes are equivalent
+	 * to {@code owl:Nothing}; this method is then called when the
+	 * inconsistency is detected.
+	 */
+	void publishTaxonomySnapshot() {
+		if (!publishTaxonomySnapshots_) {
+			return;
+		}
+		// else
+		final boolean inconsistent = consistencyCheckingState.isInconsistent();
+		final Taxonomy<ElkClass> taxonomy;
+		if (inconsistent) {
+			if (taxonomySnapshotInconsistent_) {
+				return;
+			}
+			// else
+			taxonomy = getInconsistentTaxonomy();
+		} else {
+			if (!taxonomySnapshotOutdated_ && !taxonomySnapshotInconsistent_) {
+				return;
+			}
+			// else
+			taxonomy = classTaxonomyState.getTaxonomy();
+			taxonomySnapshotOutdated_ = false;
+		}
+		final SnapshotTaxonomy<ElkClass> previous = taxonomySnapshot_;
+		final long version = previous == null ? 1 : previous.getVersion() + 1;
+		taxonomySnapshot_ = new SnapshotTaxonomy<ElkClass>(taxonomy, version);
+		taxonomySnapshotInconsistent_ = inconsistent;
+		LOGGER_.debug("Published taxonomy snapshot, version {}", version);
+	}
+
+	/**
+	 * Returns the last published immutable copy of the class taxonomy without
+	 * triggering any computation. This method does not block and the returned
+	 * taxonomy can be queried from any thread while the reasoner processes
+	 * changes. A new snapshot (with a larger version) is published as soon as
+	 * the class taxonomy is computed after a change, e.g., by
+	 * {@link #getTaxonomy()} or {@link #getInstanceTaxonomy()}, or as soon as
+	 * the ontology is found inconsistent, e.g., by {@link #isInconsistent()}.
+	 * In the latter case all classes of the snapshot are equivalent to
+	 * {@code owl:Nothing}, as in the result of {@link #getTaxonomyQuietly()}.
+	 * 
+	 * @return the last published snapshot of the class taxonomy or
+	 *         {@code null} if no snapshot was published yet
+	 * @see #setPublishTaxonomySnapshots(boolean)
+	 */
+	public SnapshotTaxonomy<ElkClass> getTaxonomySnapshot() {
+		return taxonomySnapshot_;
+	}
+
+	/**
+	 * Computes the class taxonomy, if it has not been done yet, and returns
+	 * the classes whose direct super classes or equivalent classes changed
+	 * since the last call of this method or since the recording was enabled
+	 * by {@link #setRecordClassTaxonomyChanges(boolean)}. After an
+	 * incremental update the changes are found from the classes removed from
+	 * the taxonomy by {@link IncrementalTaxonomyCleaningStage}, so that the
+	 * rest of the taxonomy is not visited.
+	 * 
+	 * @return the changes of the class taxonomy ordered by the classes
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @throws IllegalStateException
+	 *             if the changes are not recorded
+	 */
+	public synchronized List<TaxonomyChange<ElkClass>> pollClassTaxonomyChanges()
+			throws ElkInconsistentOntologyException, ElkException {
+		if (classTaxonomyChanges_ == null) {
+			throw new IllegalStateException(
+					"The changes of the class taxonomy are not recorded!");
+		}
+		// else
+		restoreTaxonomy();
+		return classTaxonomyChanges_
+				.getChanges(classTaxonomyState.getTaxonomy());
 	}
 
 	/**
@@ -555,25 +811,29 @@ public synchronized IncompleteResult<? extends Taxonomy<ElkClass>> getTaxonomyQu
 			return getTaxonomy();
 		} catch (ElkInconsistentOntologyException e) {
 			LOGGER_.debug("Ontology is inconsistent");
-			return new IncompleteResult<>(
-					new SingletoneTaxonomy<ElkClass, OrphanTaxonomyNode<ElkClass>>(
-							ElkClassKeyProvider.INSTANCE, getAllClasses(),
-							new TaxonomyNodeFactory<ElkClass, OrphanTaxonomyNode<ElkClass>, Taxonomy<ElkClass>>() {
-								@Override
-								public OrphanTaxonomyNode<ElkClass> createNode(
-										final Iterable<? extends ElkClass> members,
-										final int size,
-										final Taxonomy<ElkClass> taxonomy) {
-									return new OrphanTaxonomyNode<ElkClass>(
-											members, size,
-											elkFactory_.getOwlNothing(),
-											taxonomy);
-								}
-							}),
+			return new IncompleteResult<>(getInconsistentTaxonomy(),
 					Incompleteness.getNoIncompletenessMonitor());
 		}
 	}
 
+	/**
+	 * @return the class taxonomy of an inconsistent ontology, in which all
+	 *         classes are equivalent to {@code owl:Nothing}
+	 */
+	private Taxonomy<ElkClass> getInconsistentTaxonomy() {
+		return new SingletoneTaxonomy<ElkClass, OrphanTaxonomyNode<ElkClass>>(
+				ElkClassKeyProvider.INSTANCE, getAllClasses(),
+				new TaxonomyNodeFactory<ElkClass, OrphanTaxonomyNode<ElkClass>, Taxonomy<ElkClass>>() {
+					@Override
+					public OrphanTaxonomyNode<ElkClass> createNode(
+							final Iterable<? extends ElkClass> members,
+							final int size, final Taxonomy<ElkClass> taxonomy) {
+						return new OrphanTaxonomyNode<ElkClass>(members, size,
+								elkFactory_.getOwlNothing(), taxonomy);
+					}
+				});
+	}
+
 	/**
 	 * Compute the inferred taxonomy of the named classes for the given ontology
 	 * despite interruptions if it has not been computed yet.
@@ -1162,17 +1422,83 @@ public Collection<? extends TracingInference> getInferences(
 			return Collections.emptySet();
 		}
 		// else
+		final Conclusion requested = (Conclusion) conclusion;
 		try {
 			// Ensure that classes are saturated.
 			getTaxonomyQuietlyUninterruptibly();
-			if (!traceState_.requestInferences((Conclusion) conclusion)) {
-				stageManager.inferenceTracingStage.invalidateRecursive();
-				completeUninterruptibly(stageManager.inferenceTracingStage);
+		} catch (final ElkException e) {
+			throw new ElkRuntimeException(e);
+		}
+		if (traceState_.requestInferences(requested)) {
+			return traceState_.getInferences(requested);
+		}
+		// else
+		boolean traced = false;
+		try {
+			completeTracing();
+			traced = true;
+		} catch (final ElkException e) {
+			throw new ElkRuntimeException(e);
+		} finally {
+			if (!traced) {
+				// the inferences will not be retrieved
+				traceState_.releaseInferences(requested);
+			}
+		}
+		return traceState_.getInferences(requested);
+	}
+
+	/**
+	 * Traces the inferences of the given conclusions in one run of the
+	 * tracing stage, in which the contexts of different trace roots are
+	 * traced in parallel. The traced inferences are not evicted from the cache
+	 * before all of them are traced, so afterwards they can be retrieved by
+	 * {@link #getInferences(Object)} without tracing, unless they are evicted
+	 * by the tracing of other conclusions in the meantime.
+	 * 
+	 * @param conclusions
+	 *            the conclusions whose inferences should be traced
+	 */
+	public void traceInferences(final Iterable<?> conclusions) {
+		try {
+			// Ensure that classes are saturated.
+			getTaxonomyQuietlyUninterruptibly();
+		} catch (final ElkException e) {
+			throw new ElkRuntimeException(e);
+		}
+		final List<Conclusion> scheduled = new ArrayList<Conclusion>();
+		try {
+			boolean needsTracing = false;
+			for (final Object conclusion : conclusions) {
+				if (!(conclusion instanceof Conclusion)) {
+					continue;
+				}
+				// else
+				scheduled.add((Conclusion) conclusion);
+				if (traceState_.scheduleTracing((Conclusion) conclusion)) {
+					needsTracing = true;
+				}
+			}
+			if (needsTracing) {
+				completeTracing();
 			}
 		} catch (final ElkException e) {
 			throw new ElkRuntimeException(e);
+		} finally {
+			for (final Conclusion conclusion : scheduled) {
+				traceState_.releaseInferences(conclusion);
+			}
 		}
-		return traceState_.getInferences(conclusion);
+	}
+
+	/**
+	 * Runs the tracing stage for all trace roots queued in
+	 * {@link TraceState}. The inferences cached in {@link TraceState} can be
+	 * retrieved concurrently.
+	 */
+	private synchronized void completeTracing() throws ElkException {
+		stageManager.inferenceTracingStage.invalidateRecursive();
+		completeUninterruptibly(stageManager.inferenceTracingStage);
 	}
 
 	@NestedStats(name = "traceState")
@@ -23,6 +23,8 @@
 package org.semanticweb.elk.reasoner.stages;
 
 import org.semanticweb.elk.reasoner.query.ClassExpressionQueryComputation;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Stage that computes direct super-, direct sub-, and equivalent classes of the
@@ -80,6 +82,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return computation_ == null ? null
+				: computation_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null) {
@@ -117,6 +117,25 @@ public class ClassExpressionQueryState implements ClassQueryLoader.Factory {
 	 */
 	private final Evictor<ElkClassExpression> queriedEvictor_;
 
+	/**
+	 * Weighs the keys of {@link #queried_} by the size of the context of the
+	 * indexed query, which is kept while the query is not evicted.
+	 */
+	private final Evictor.Weigher<ElkClassExpression> queriedWeigher_ = new Evictor.Weigher<ElkClassExpression>() {
+		@Override
+		public long weigh(final ElkClassExpression query) {
+			final QueryState state = queried_.get(query);
+			if (state == null || state.indexed == null) {
+				return 1;
+			}
+			// else
+			final Context context = saturationState_
+					.getContext(state.indexed);
+			return context == null ? 1
+					: 1 + context.getComposedSubsumers().size();
+		}
+	};
+
 	/**
 	 * The class expressions that were registered by the last call.
 	 */
@@ -259,7 +278,8 @@ public void contextsClear() {
 				ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR);
 		LOGGER_.debug("{} = {}",
 				ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR, builder);
-		this.queriedEvictor_ = ((Evictor.Builder) builder).build();
+		this.queriedEvictor_ = ((Evictor.Builder) builder)
+				.build(queriedWeigher_);
 	}
 
 	/**
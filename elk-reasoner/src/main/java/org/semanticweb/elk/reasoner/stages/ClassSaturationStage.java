@@ -23,10 +23,12 @@
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,6 +92,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return computation_ == null ? null
+				: computation_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null)
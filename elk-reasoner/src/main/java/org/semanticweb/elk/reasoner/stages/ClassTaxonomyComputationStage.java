@@ -24,9 +24,14 @@
 import java.util.Collection;
 
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.taxonomy.ClassTaxonomyComputation;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChangeRecorder;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.util.collections.Operations;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Incrementally updates the class taxonomy by creating nodes for named classes
@@ -60,11 +65,22 @@ public boolean preExecute() {
 		final Collection<IndexedClass> toAdd = reasoner.classTaxonomyState
 				.getToAdd();
 
+		final TaxonomyChangeRecorder<ElkClass> changes = reasoner
+				.getClassTaxonomyChangeRecorder();
+		if (changes != null) {
+			final Taxonomy<ElkClass> taxonomy = reasoner.classTaxonomyState
+					.getTaxonomy();
+			for (final IndexedClass cls : toAdd) {
+				changes.recordAddition(taxonomy, cls.getElkEntity());
+			}
+		}
+
 		this.computation_ = new ClassTaxonomyComputation(
 				Operations.split(toAdd, 64), reasoner.getInterrupter(),
 				reasoner.getProcessExecutor(), workerNo,
 				reasoner.getProgressMonitor(), reasoner.saturationState,
-				reasoner.classTaxonomyState.getTaxonomy());
+				reasoner.classTaxonomyState.getTaxonomy(),
+				reasoner.isRankedTransitiveReduction());
 
 		return true;
 	}
@@ -87,6 +103,8 @@ public boolean postExecute() {
 							+ " did not add all classes to the taxonomy!");
 		}
 		reasoner.classTaxonomyState.taxonomyComplete();
+		reasoner.classTaxonomyChanged();
+		reasoner.publishTaxonomySnapshot();
 		reasoner.ontologyIndex.initClassChanges();
 		reasoner.ruleAndConclusionStats
 				.add(computation_.getRuleAndConclusionStatistics());
@@ -94,6 +112,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return computation_ == null ? null
+				: computation_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null)
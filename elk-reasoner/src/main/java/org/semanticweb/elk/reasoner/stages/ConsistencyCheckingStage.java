@@ -28,8 +28,10 @@
 import org.semanticweb.elk.reasoner.completeness.OccurrencesInOntology;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassEntity;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -108,6 +110,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return computation == null ? null
+				: computation.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation != null)
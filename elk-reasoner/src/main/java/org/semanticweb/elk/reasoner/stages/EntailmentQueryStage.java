@@ -26,8 +26,10 @@
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Stage that saturates contexts necessary to answer the pending entailment
@@ -86,6 +88,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return computation_ == null ? null
+				: computation_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null) {
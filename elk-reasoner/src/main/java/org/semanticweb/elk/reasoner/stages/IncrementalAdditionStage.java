@@ -24,7 +24,9 @@
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationNoInput;
 import org.semanticweb.elk.reasoner.saturation.ContextModificationListener;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationIncrementalAdditionSaturationFactory;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * TODO docs
@@ -79,6 +81,17 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return saturation_ == null ? null
+				: saturation_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return saturation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (saturation_ != null)
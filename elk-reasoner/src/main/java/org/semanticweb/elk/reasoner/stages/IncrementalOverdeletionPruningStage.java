@@ -27,10 +27,12 @@
 import org.semanticweb.elk.reasoner.BatchListener;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.context.ContextRootCollection;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionPruningFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Prunes the set of deleted conclusions by re-deriving those having alternative
@@ -56,6 +58,17 @@ public String getName() {
 		return "Incremental Overdeletion Pruning";
 	}
 
+	@Override
+	SaturationStatistics getStageStatistics() {
+		return completion_ == null ? null
+				: completion_.getRuleAndConclusionStatistics();
+	}
+
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return completion_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (completion_ != null) {
@@ -25,12 +25,16 @@
 
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassEntity;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChangeRecorder;
 import org.semanticweb.elk.reasoner.taxonomy.TaxonomyCleaning;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.util.collections.Operations;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,6 +82,16 @@ public boolean preExecute() {
 		LOGGER_.trace("{}: classes to remove", classesToRemove);
 		LOGGER_.trace("{}: individuals to remove", individualsToRemove);
 
+		final TaxonomyChangeRecorder<ElkClass> changes = reasoner
+				.getClassTaxonomyChangeRecorder();
+		if (changes != null) {
+			final Taxonomy<ElkClass> taxonomy = reasoner.classTaxonomyState
+					.getTaxonomy();
+			for (final IndexedClass cls : classesToRemove) {
+				changes.recordRemoval(taxonomy, cls.getElkEntity());
+			}
+		}
+
 		cleaning_ = new TaxonomyCleaning(inputs, reasoner.getInterrupter(),
 				reasoner.classTaxonomyState.getTaxonomy(),
 				reasoner.instanceTaxonomyState.getTaxonomy(),
@@ -114,6 +128,11 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return cleaning_;
+	}
+
 	@Override
 	public void printInfo() {
 		// TODO
@@ -26,6 +26,7 @@
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
 import org.semanticweb.elk.reasoner.taxonomy.InstanceTaxonomyComputation;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Incrementally updates the instance taxonomy by creating nodes for individuals
@@ -101,6 +102,11 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null) {
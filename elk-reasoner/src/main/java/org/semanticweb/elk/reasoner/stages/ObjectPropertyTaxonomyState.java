@@ -34,6 +34,7 @@
 import org.semanticweb.elk.reasoner.taxonomy.ReverseTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.NonBottomTaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -163,6 +164,11 @@ public boolean postExecute() {
 				return true;
 			}
 
+			@Override
+			ConcurrentComputation<?> getStageComputation() {
+				return computation_;
+			}
+
 			@Override
 			public void printInfo() {
 				// TODO Auto-generated method stub
@@ -25,6 +25,7 @@
 import org.semanticweb.elk.reasoner.proof.ReasonerProducer;
 import org.semanticweb.elk.reasoner.saturation.properties.PropertyHierarchyCompositionComputation;
 import org.semanticweb.elk.reasoner.saturation.properties.inferences.ObjectPropertyInference;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 public class PropertyHierarchyCompositionComputationStage
 		extends AbstractReasonerStage {
@@ -77,6 +78,11 @@ public boolean postExecute() {
 		return true;
 	}
 
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		// TODO Auto-generated method stub
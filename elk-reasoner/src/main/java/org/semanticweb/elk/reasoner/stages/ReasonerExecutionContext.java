@@ -0,0 +1,203 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Settings and hooks that affect how the {@link ReasonerStage}s of one reasoner
+ * are executed. Each reasoner has its own context, so reasoners running in the
+ * same JVM do not influence each other.
+ * <p>
+ * The context determines whether the names of executed stages are logged,
+ * notifies the registered {@link StageListener}s about the executed stages and
+ * the registered {@link StageMetricsListener}s about their cost, and can be
+ * used to cancel the running stages of the reasoner from any thread.
+ */
+public class ReasonerExecutionContext {
+
+	/**
+	 * Receives notifications about {@link ReasonerStage}s executed by a
+	 * reasoner. The methods are called from the thread that executes the
+	 * stages.
+	 */
+	public interface StageListener {
+
+		/**
+		 * Called before the given stage is executed
+		 *
+		 * @param stage
+		 *            the stage to be executed
+		 */
+		void stageStarted(ReasonerStage stage);
+
+		/**
+		 * Called after the given stage is executed, also when the execution
+		 * was interrupted or failed
+		 *
+		 * @param stage
+		 *            the executed stage
+		 * @param elapsedNanos
+		 *            the wall time of the execution in nanoseconds
+		 */
+		void stageFinished(ReasonerStage stage, long elapsedNanos);
+
+	}
+
+	/**
+	 * Receives the {@link StageMetrics} of every {@link ReasonerStage}
+	 * executed by a reasoner, also when the execution was interrupted or
+	 * failed. The method is called from the thread that executes the stages,
+	 * after {@link StageListener#stageFinished(ReasonerStage, long)}. The
+	 * metrics are only measured while at least one such listener is
+	 * registered or {@link StageExecutionEvent} is recorded.
+	 *
+	 * @see StageMetricsMeterAdapter
+	 */
+	public interface StageMetricsListener {
+
+		/**
+		 * @param metrics
+		 *            the cost of the stage execution
+		 */
+		void stageMeasured(StageMetrics metrics);
+
+	}
+
+	private final AbstractReasonerState reasoner_;
+
+	/**
+	 * if {@code true}, the name of every executed stage is logged
+	 */
+	private volatile boolean stageLogging_ = true;
+
+	private final CopyOnWriteArrayList<StageListener> stageListeners_ = new CopyOnWriteArrayList<StageListener>();
+
+	private final CopyOnWriteArrayList<StageMetricsListener> metricsListeners_ = new CopyOnWriteArrayList<StageMetricsListener>();
+
+	ReasonerExecutionContext(AbstractReasonerState reasoner) {
+		this.reasoner_ = reasoner;
+	}
+
+	/**
+	 * Sets whether the names of the stages executed by the reasoner should be
+	 * logged. This is useful for switching off the logging when many small
+	 * reasoning tasks, e.g., entailment checks, are performed.
+	 *
+	 * @param enabled
+	 *            {@code true} if the stages should be logged
+	 */
+	public void setStageLogging(boolean enabled) {
+		stageLogging_ = enabled;
+	}
+
+	/**
+	 * @return {@code true} if the names of the stages executed by the reasoner
+	 *         are logged
+	 * @see #setStageLogging(boolean)
+	 */
+	public boolean isStageLogging() {
+		return stageLogging_;
+	}
+
+	/**
+	 * Registers a {@link StageListener} to be notified about the stages
+	 * executed by the reasoner
+	 *
+	 * @param listener
+	 *            the listener to be registered
+	 * @return {@code true} if the listener was not registered before
+	 */
+	public boolean addStageListener(StageListener listener) {
+		return stageListeners_.addIfAbsent(listener);
+	}
+
+	/**
+	 * @param listener
+	 *            the listener to be removed
+	 * @return {@code true} if the listener was registered
+	 */
+	public boolean removeStageListener(StageListener listener) {
+		return stageListeners_.remove(listener);
+	}
+
+	/**
+	 * Registers a {@link StageMetricsListener} to receive the metrics of the
+	 * stages executed by the reasoner
+	 *
+	 * @param listener
+	 *            the listener to be registered
+	 * @return {@code true} if the listener was not registered before
+	 */
+	public boolean addStageMetricsListener(StageMetricsListener listener) {
+		return metricsListeners_.addIfAbsent(listener);
+	}
+
+	/**
+	 * @param listener
+	 *            the listener to be removed
+	 * @return {@code true} if the listener was registered
+	 */
+	public boolean removeStageMetricsListener(StageMetricsListener listener) {
+		return metricsListeners_.remove(listener);
+	}
+
+	/**
+	 * Requests cancellation of the stages currently executed by the reasoner.
+	 * This method can be called from any thread. The interrupted reasoning
+	 * method throws
+	 * {@link org.semanticweb.elk.reasoner.stages.ElkInterruptedException}.
+	 */
+	public void cancel() {
+		reasoner_.interrupt();
+	}
+
+	/**
+	 * @return {@code true} if cancellation was requested and the reasoner has
+	 *         not reacted to it yet
+	 */
+	public boolean isCancelled() {
+		return reasoner_.getInterrupter().isInterrupted();
+	}
+
+	void fireStageStarted(ReasonerStage stage) {
+		for (StageListener listener : stageListeners_) {
+			listener.stageStarted(stage);
+		}
+	}
+
+	void fireStageFinished(ReasonerStage stage, long elapsedNanos) {
+		for (StageListener listener : stageListeners_) {
+			listener.stageFinished(stage, elapsedNanos);
+		}
+	}
+
+	boolean hasStageMetricsListeners() {
+		return !metricsListeners_.isEmpty();
+	}
+
+	void fireStageMeasured(StageMetrics metrics) {
+		for (StageMetricsListener listener : metricsListeners_) {
+			listener.stageMeasured(metrics);
+		}
+	}
+
+}
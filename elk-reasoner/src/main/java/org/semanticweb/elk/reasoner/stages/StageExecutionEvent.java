@@ -0,0 +1,87 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event for one execution of a {@link ReasonerStage},
+ * with the values of its {@link StageMetrics}. The event is committed by every
+ * reasoner when a recording enables it, no listener needs to be registered.
+ */
+@Name(StageExecutionEvent.NAME)
+@Label("Reasoner Stage")
+@Category({ "ELK", "Reasoner" })
+@Description("The execution of a reasoner stage")
+@StackTrace(false)
+class StageExecutionEvent extends Event {
+
+	static final String NAME = "org.semanticweb.elk.StageExecution";
+
+	@Label("Stage")
+	String stage;
+
+	@Label("Outcome")
+	String outcome;
+
+	@Label("CPU Time")
+	@Description("CPU time used by the stage thread and its workers")
+	@Timespan(Timespan.NANOSECONDS)
+	long cpuTime;
+
+	@Label("Allocated")
+	@Description("Bytes allocated by the stage thread and its workers")
+	@DataAmount(DataAmount.BYTES)
+	long allocated;
+
+	@Label("Workers")
+	int workers;
+
+	@Label("Processed Contexts")
+	int processedContexts;
+
+	@Label("Rule Applications")
+	@Description("-1 if rule applications are not counted")
+	long ruleApplications;
+
+	@Label("Conclusions")
+	@Description("-1 if conclusions are not counted")
+	long conclusions;
+
+	void set(StageMetrics metrics) {
+		stage = metrics.getStageName();
+		outcome = metrics.getOutcome().name();
+		cpuTime = metrics.getCpuTimeNanos();
+		allocated = metrics.getAllocatedBytes();
+		workers = metrics.getWorkerCount();
+		processedContexts = metrics.getProcessedContexts();
+		ruleApplications = metrics.getRuleApplications();
+		conclusions = metrics.getConclusions();
+	}
+
+}
@@ -0,0 +1,159 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * The cost of one execution of a {@link ReasonerStage}, reported to the
+ * {@link ReasonerExecutionContext.StageMetricsListener}s of the reasoner.
+ * <p>
+ * The CPU time and the allocated bytes are measured for the thread executing
+ * the stage and for the workers of the stage computation, so unrelated threads
+ * are not included. A value of {@code -1} means that the JVM does not support
+ * the measurement, e.g., for virtual threads. The counts cover only this
+ * execution, also when it resumes an interrupted one. The numbers of applied
+ * rules and derived conclusions are only counted when debug logging of
+ * {@link org.semanticweb.elk.reasoner.saturation.SaturationUtils} is enabled
+ * and are {@code -1} (unavailable) otherwise.
+ */
+public class StageMetrics {
+
+	/**
+	 * How the execution of a stage ended
+	 */
+	public enum Outcome {
+		COMPLETED, INTERRUPTED, FAILED
+	}
+
+	private final String stageName_;
+
+	private final Outcome outcome_;
+
+	private final long wallTimeNanos_;
+
+	private final long cpuTimeNanos_;
+
+	private final long allocatedBytes_;
+
+	private final int workerCount_;
+
+	private final int processedContexts_;
+
+	private final long ruleApplications_;
+
+	private final long conclusions_;
+
+	StageMetrics(String stageName, Outcome outcome, long wallTimeNanos,
+			long cpuTimeNanos, long allocatedBytes, int workerCount,
+			int processedContexts, long ruleApplications, long conclusions) {
+		this.stageName_ = stageName;
+		this.outcome_ = outcome;
+		this.wallTimeNanos_ = wallTimeNanos;
+		this.cpuTimeNanos_ = cpuTimeNanos;
+		this.allocatedBytes_ = allocatedBytes;
+		this.workerCount_ = workerCount;
+		this.processedContexts_ = processedContexts;
+		this.ruleApplications_ = ruleApplications;
+		this.conclusions_ = conclusions;
+	}
+
+	/**
+	 * @return the value of {@link ReasonerStage#getName()}
+	 */
+	public String getStageName() {
+		return stageName_;
+	}
+
+	public Outcome getOutcome() {
+		return outcome_;
+	}
+
+	public long getWallTimeNanos() {
+		return wallTimeNanos_;
+	}
+
+	/**
+	 * @return the CPU time used by the stage thread and the workers during the
+	 *         execution, or {@code -1}
+	 */
+	public long getCpuTimeNanos() {
+		return cpuTimeNanos_;
+	}
+
+	/**
+	 * @return the bytes allocated by the stage thread and the workers during
+	 *         the execution, or {@code -1}
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes_;
+	}
+
+	/**
+	 * @return the maximal number of workers the stage could use
+	 */
+	public int getWorkerCount() {
+		return workerCount_;
+	}
+
+	/**
+	 * @return the number of contexts processed by the saturation rules
+	 */
+	public int getProcessedContexts() {
+		return processedContexts_;
+	}
+
+	/**
+	 * @return the number of applied rules, or {@code -1} if rule applications
+	 *         are not counted
+	 */
+	public long getRuleApplications() {
+		return ruleApplications_;
+	}
+
+	/**
+	 * @return the number of derived conclusions, or {@code -1} if conclusions
+	 *         are not counted
+	 */
+	public long getConclusions() {
+		return conclusions_;
+	}
+
+	/**
+	 * @return the CPU time divided by the wall time of all workers, i.e., about
+	 *         {@code 1} if all workers were busy all the time, or {@code -1} if
+	 *         unknown
+	 */
+	public double getWorkerUtilization() {
+		if (cpuTimeNanos_ < 0 || wallTimeNanos_ <= 0)
+			return -1;
+		return (double) cpuTimeNanos_
+				/ ((double) wallTimeNanos_ * Math.max(1, workerCount_));
+	}
+
+	@Override
+	public String toString() {
+		return stageName_ + " [" + outcome_ + ", wall=" + wallTimeNanos_
+				+ "ns, cpu=" + cpuTimeNanos_ + "ns, allocated="
+				+ allocatedBytes_ + "B, workers=" + workerCount_
+				+ ", contexts=" + processedContexts_ + ", rules="
+				+ ruleApplications_ + ", conclusions=" + conclusions_ + "]";
+	}
+
+}
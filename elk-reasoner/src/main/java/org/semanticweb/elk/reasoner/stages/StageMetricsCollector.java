@@ -0,0 +1,175 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
+
+/**
+ * Measures the CPU time used and the bytes allocated by the stage thread and by
+ * the workers of the stage computation from its creation until
+ * {@link #finish}, and combines them with the statistics of the stage into
+ * {@link StageMetrics}. The statistics of a stage are kept when its execution
+ * is interrupted and resumed, so only their increase since the creation is
+ * reported.
+ */
+class StageMetricsCollector {
+
+	private static final ThreadMXBean THREADS_ = ManagementFactory
+			.getThreadMXBean();
+
+	private final long startThreadCpuTime_;
+
+	private final ConcurrentComputation<?> startComputation_;
+
+	private final long startWorkerCpuTime_;
+
+	private final long startThreadAllocatedBytes_;
+
+	private final long startWorkerAllocatedBytes_;
+
+	private final SaturationStatistics startStatistics_;
+
+	private final int startProcessedContexts_;
+
+	private final long startRuleApplications_;
+
+	private final long startConclusions_;
+
+	/**
+	 * @param computation
+	 *            the computation of the stage at the start of its execution,
+	 *            or {@code null}
+	 * @param statistics
+	 *            the statistics of the stage at the start of its execution, or
+	 *            {@code null}
+	 */
+	StageMetricsCollector(ConcurrentComputation<?> computation,
+			SaturationStatistics statistics) {
+		this.startThreadCpuTime_ = getThreadCpuTime();
+		this.startThreadAllocatedBytes_ = getThreadAllocatedBytes();
+		this.startComputation_ = computation;
+		this.startWorkerCpuTime_ = computation == null ? 0
+				: computation.getWorkerCpuTime();
+		this.startWorkerAllocatedBytes_ = computation == null ? 0
+				: computation.getWorkerAllocatedBytes();
+		this.startStatistics_ = statistics;
+		this.startProcessedContexts_ = getProcessedContexts(statistics);
+		this.startRuleApplications_ = getRuleApplications(statistics);
+		this.startConclusions_ = getConclusions(statistics);
+	}
+
+	StageMetrics finish(ReasonerStage stage, StageMetrics.Outcome outcome,
+			long wallTimeNanos, int workerCount,
+			ConcurrentComputation<?> computation,
+			SaturationStatistics statistics) {
+		long cpuTime = difference(startThreadCpuTime_, getThreadCpuTime());
+		long allocatedBytes = difference(startThreadAllocatedBytes_,
+				getThreadAllocatedBytes());
+		if (computation != null) {
+			// the computation may have been created during the execution
+			boolean started = computation == startComputation_;
+			cpuTime = sum(cpuTime,
+					difference(started ? startWorkerCpuTime_ : 0,
+							computation.getWorkerCpuTime()));
+			allocatedBytes = sum(allocatedBytes,
+					difference(started ? startWorkerAllocatedBytes_ : 0,
+							computation.getWorkerAllocatedBytes()));
+		}
+		// the statistics may have been created during the execution
+		boolean started = statistics == startStatistics_;
+		int processedContexts = getProcessedContexts(statistics)
+				- (started ? startProcessedContexts_ : 0);
+		long ruleApplications = difference(
+				started ? startRuleApplications_ : 0,
+				getRuleApplications(statistics));
+		long conclusions = difference(started ? startConclusions_ : 0,
+				getConclusions(statistics));
+		return new StageMetrics(stage.getName(), outcome, wallTimeNanos,
+				cpuTime, allocatedBytes, workerCount, processedContexts,
+				ruleApplications, conclusions);
+	}
+
+	private static int getProcessedContexts(SaturationStatistics statistics) {
+		return statistics == null ? 0
+				: statistics.getContextStatistics().countProcessedContexts;
+	}
+
+	private static long getRuleApplications(SaturationStatistics statistics) {
+		if (statistics == null)
+			return 0;
+		return SaturationUtils.COLLECT_RULE_COUNTS
+				? statistics.getRuleStatistics().getTotalRuleAppCount()
+				: -1;
+	}
+
+	private static long getConclusions(SaturationStatistics statistics) {
+		if (statistics == null)
+			return 0;
+		return SaturationUtils.COLLECT_CONCLUSION_COUNTS
+				? statistics.getConclusionStatistics().getConclusionCounts()
+						.getTotalCount()
+				: -1;
+	}
+
+	private static long difference(long start, long end) {
+		if (start < 0 || end < 0)
+			return -1;
+		return end - start;
+	}
+
+	private static long sum(long first, long second) {
+		if (first < 0 || second < 0)
+			return -1;
+		return first + second;
+	}
+
+	private static long getThreadCpuTime() {
+		try {
+			if (!THREADS_.isCurrentThreadCpuTimeSupported()
+					|| !THREADS_.isThreadCpuTimeEnabled())
+				return -1;
+			return THREADS_.getCurrentThreadCpuTime();
+		} catch (UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
+	private static long getThreadAllocatedBytes() {
+		if (!(THREADS_ instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		// else
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS_;
+		try {
+			if (!threads.isThreadAllocatedMemorySupported()
+					|| !threads.isThreadAllocatedMemoryEnabled())
+				return -1;
+			return threads.getCurrentThreadAllocatedBytes();
+		} catch (UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
+}
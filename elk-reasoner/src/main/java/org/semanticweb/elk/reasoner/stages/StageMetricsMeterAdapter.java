@@ -0,0 +1,105 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Locale;
+
+/**
+ * Translates {@link StageMetrics} into timers, counters and distribution
+ * summaries in the style of Micrometer, so that the cost of the stages can be
+ * charted by a monitoring system. The meters are written to a
+ * {@link MeterSink}, which can be backed by a Micrometer {@code MeterRegistry}
+ * without ELK depending on it, e.g.,
+ *
+ * <pre>
+ * registry.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS);
+ * registry.counter(name, tags).increment(amount);
+ * registry.summary(name, tags).record(value);
+ * </pre>
+ *
+ * Every meter is tagged with the stage name ({@code stage}) and the outcome
+ * ({@code outcome}). Measurements that are not available are not recorded.
+ */
+public class StageMetricsMeterAdapter
+		implements ReasonerExecutionContext.StageMetricsListener {
+
+	/**
+	 * The target of the meters; the tags are given as alternating keys and
+	 * values
+	 */
+	public interface MeterSink {
+
+		void recordTimer(String name, long nanos, String... tags);
+
+		void incrementCounter(String name, long amount, String... tags);
+
+		void recordSummary(String name, double value, String... tags);
+
+	}
+
+	public static final String DEFAULT_PREFIX = "elk.stage";
+
+	private final MeterSink sink_;
+
+	private final String prefix_;
+
+	/**
+	 * @param sink
+	 *            receives the meters
+	 * @param prefix
+	 *            the prefix of the meter names, e.g., {@value #DEFAULT_PREFIX}
+	 */
+	public StageMetricsMeterAdapter(MeterSink sink, String prefix) {
+		this.sink_ = sink;
+		this.prefix_ = prefix;
+	}
+
+	public StageMetricsMeterAdapter(MeterSink sink) {
+		this(sink, DEFAULT_PREFIX);
+	}
+
+	@Override
+	public void stageMeasured(StageMetrics metrics) {
+		String[] tags = { "stage", metrics.getStageName(), "outcome",
+				metrics.getOutcome().name().toLowerCase(Locale.ROOT) };
+		sink_.recordTimer(prefix_ + ".wall.time", metrics.getWallTimeNanos(),
+				tags);
+		if (metrics.getCpuTimeNanos() >= 0)
+			sink_.recordTimer(prefix_ + ".cpu.time", metrics.getCpuTimeNanos(),
+					tags);
+		if (metrics.getAllocatedBytes() >= 0)
+			sink_.incrementCounter(prefix_ + ".allocated.bytes",
+					metrics.getAllocatedBytes(), tags);
+		sink_.incrementCounter(prefix_ + ".contexts",
+				metrics.getProcessedContexts(), tags);
+		if (metrics.getRuleApplications() >= 0)
+			sink_.incrementCounter(prefix_ + ".rule.applications",
+					metrics.getRuleApplications(), tags);
+		if (metrics.getConclusions() >= 0)
+			sink_.incrementCounter(prefix_ + ".conclusions",
+					metrics.getConclusions(), tags);
+		double utilization = metrics.getWorkerUtilization();
+		if (utilization >= 0)
+			sink_.recordSummary(prefix_ + ".worker.utilization", utilization,
+					tags);
+	}
+
+}
@@ -24,6 +24,7 @@
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.reasoner.tracing.TraceState;
 import org.semanticweb.elk.reasoner.tracing.TracingComputation;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentComputation;
 
 /**
  * Executes {@link TracingComputation} to trace inferences queued in
@@ -45,6 +46,11 @@ public String getName() {
 		return "Inference tracing";
 	}
 
+	@Override
+	ConcurrentComputation<?> getStageComputation() {
+		return computation_;
+	}
+
 	@Override
 	public void printInfo() {
 		if (computation_ != null) {
@@ -52,12 +52,23 @@ public ClassTaxonomyComputation(
 			final InterruptMonitor interrupter,
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
-			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
-		super(inputs, new ClassTaxonomyComputationFactory(
-				interrupter, saturationState, maxWorkers, partialTaxonomy),
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			boolean rankedReduction) {
+		super(inputs, new ClassTaxonomyComputationFactory(interrupter,
+				saturationState, maxWorkers, partialTaxonomy, rankedReduction),
 				executor, maxWorkers, progressMonitor);
 	}
 
+	public ClassTaxonomyComputation(
+			Collection<? extends Collection<IndexedClass>> inputs,
+			final InterruptMonitor interrupter,
+			ConcurrentExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+		this(inputs, interrupter, executor, maxWorkers, progressMonitor,
+				saturationState, partialTaxonomy, false);
+	}
+
 	/**
 	 * @return the taxonomy computed by this computation; the method
 	 *         {@link #process()} should be called first to compute the taxonomy
@@ -93,17 +93,46 @@
 	 * @param partialTaxonomy
 	 *            the (partially pre-computed) class taxonomy object to store
 	 *            results in
+	 * @param rankedReduction
+	 *            if {@code true}, the direct super-classes are computed using
+	 *            ranked sets of atomic subsumers
+	 * 
+	 * @see TransitiveReductionFactory#TransitiveReductionFactory(InterruptMonitor,
+	 *      SaturationState, int, TransitiveReductionListener, boolean)
 	 */
 	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
 			SaturationState<?> saturationState, int maxWorkers,
-			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			boolean rankedReduction) {
 		this.taxonomy_ = partialTaxonomy;
 		this.transitiveReductionShared_ = new TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
 				interrupter, saturationState, maxWorkers,
-				new ThisTransitiveReductionListener());
+				new ThisTransitiveReductionListener(), rankedReduction);
 		this.outputProcessor_ = new TransitiveReductionOutputProcessor();
 	}
 
+	/**
+	 * Create a shared engine for the input ontology index and a partially
+	 * pre-computed taxonomy object. The taxonomy is used to avoid computations
+	 * that have been made before. For this to work, the taxonomy object must
+	 * originate from an earlier run of this engine on the same ontology.
+	 * 
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that is checked for interruptions
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can use this factory
+	 * @param partialTaxonomy
+	 *            the (partially pre-computed) class taxonomy object to store
+	 *            results in
+	 */
+	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
+			SaturationState<?> saturationState, int maxWorkers,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+		this(interrupter, saturationState, maxWorkers, partialTaxonomy, false);
+	}
+
 	/**
 	 * Create a new class taxonomy engine for the input ontology index.
 	 * 
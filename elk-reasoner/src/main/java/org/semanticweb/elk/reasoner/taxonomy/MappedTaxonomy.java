@@ -0,0 +1,763 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.reasoner.taxonomy.impl.AbstractTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.Operations.Functor;
+
+/**
+ * A read-only {@link Taxonomy} backed by a memory mapped file written by
+ * {@link #write(Taxonomy, Path, boolean)}. The nodes and the sets of nodes are
+ * views of the mapped buffers and are created when they are requested, so the
+ * taxonomy takes almost no heap and one file can be shared by many processes.
+ * <p>
+ * The file holds, as big-endian ints:
+ * <ul>
+ * <li>the IRIs of the members sorted by their UTF-8 bytes, which are stored at
+ * the end of the file,
+ * <li>the node of each member,
+ * <li>the members of each node, i.e., the groups of equivalent entities, with
+ * the canonical member first,
+ * <li>the direct super nodes and the direct sub nodes of each node, in
+ * compressed sparse row form,
+ * <li>optionally, all super nodes of each node, so that
+ * {@link TaxonomyNode#getAllSuperNodes()} does not traverse the taxonomy.
+ * </ul>
+ * The members are created by a factory from their IRIs whenever they are
+ * requested, so they are equal to, but usually not the same as, the entities
+ * of the taxonomy that was written.
+ *
+ * @param <T>
+ *            the type of objects stored in this taxonomy
+ */
+public class MappedTaxonomy<T extends ElkEntity> extends AbstractTaxonomy<T> {
+
+	/**
+	 * "ELKT"
+	 */
+	private static final int MAGIC_ = 0x454c4b54;
+
+	private static final int VERSION_ = 1;
+
+	private static final int FLAG_CLOSURE_ = 1;
+
+	private static final int HEADER_INTS_ = 8;
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	private final Functor<ElkIri, ? extends T> entityFactory_;
+
+	private final int entityCount_, nodeCount_, topNode_, bottomNode_;
+
+	/**
+	 * the UTF-8 bytes of the IRIs; the IRI of entity i is between
+	 * {@link #iriOffsets_} i and i + 1
+	 */
+	private final ByteBuffer iris_;
+
+	private final IntBuffer iriOffsets_, entityNodes_;
+
+	private final IntBuffer memberOffsets_, members_;
+
+	private final IntBuffer parentOffsets_, parents_, childOffsets_,
+			children_;
+
+	/**
+	 * {@code null} if the file has no closure index
+	 */
+	private final IntBuffer ancestorOffsets_, ancestors_;
+
+	private MappedTaxonomy(final ByteBuffer buffer,
+			final ComparatorKeyProvider<? super T> keyProvider,
+			final Functor<ElkIri, ? extends T> entityFactory)
+			throws IOException {
+		this.keyProvider_ = keyProvider;
+		this.entityFactory_ = entityFactory;
+		if (buffer.remaining() < HEADER_INTS_ * Integer.BYTES
+				|| buffer.getInt() != MAGIC_) {
+			throw new IOException("Not a taxonomy file");
+		}
+		final int version = buffer.getInt();
+		if (version != VERSION_) {
+			throw new IOException("Unsupported taxonomy file version " + version);
+		}
+		final int flags = buffer.getInt();
+		this.entityCount_ = buffer.getInt();
+		this.nodeCount_ = buffer.getInt();
+		this.topNode_ = buffer.getInt();
+		this.bottomNode_ = buffer.getInt();
+		final int irisLength = buffer.getInt();
+		this.iriOffsets_ = ints(buffer, entityCount_ + 1);
+		this.entityNodes_ = ints(buffer, entityCount_);
+		this.memberOffsets_ = ints(buffer, nodeCount_ + 1);
+		this.members_ = ints(buffer, entityCount_);
+		this.parentOffsets_ = ints(buffer, nodeCount_ + 1);
+		this.parents_ = ints(buffer, parentOffsets_.get(nodeCount_));
+		this.childOffsets_ = ints(buffer, nodeCount_ + 1);
+		this.children_ = ints(buffer, childOffsets_.get(nodeCount_));
+		if ((flags & FLAG_CLOSURE_) != 0) {
+			this.ancestorOffsets_ = ints(buffer, nodeCount_ + 1);
+			this.ancestors_ = ints(buffer, ancestorOffsets_.get(nodeCount_));
+		} else {
+			this.ancestorOffsets_ = null;
+			this.ancestors_ = null;
+		}
+		this.iris_ = buffer.slice(buffer.position(), irisLength);
+	}
+
+	private static IntBuffer ints(final ByteBuffer buffer, final int count) {
+		final IntBuffer result = buffer
+				.slice(buffer.position(), count * Integer.BYTES).asIntBuffer();
+		buffer.position(buffer.position() + count * Integer.BYTES);
+		return result;
+	}
+
+	/**
+	 * Maps the given taxonomy file into memory. The file must not be modified
+	 * while the taxonomy is used.
+	 *
+	 * @param file
+	 *            a file written by {@link #write(Taxonomy, Path, boolean)}
+	 * @param keyProvider
+	 *            the key provider of the written taxonomy
+	 * @param entityFactory
+	 *            creates the members from their IRIs
+	 * @return the taxonomy stored in the file
+	 * @throws IOException
+	 *             if the file cannot be read or is not a taxonomy file
+	 */
+	public static <T extends ElkEntity> MappedTaxonomy<T> open(final Path file,
+			final ComparatorKeyProvider<? super T> keyProvider,
+			final Functor<ElkIri, ? extends T> entityFactory)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+			return new MappedTaxonomy<T>(
+					channel.map(FileChannel.MapMode.READ_ONLY, 0,
+							channel.size()),
+					keyProvider, entityFactory);
+		}
+	}
+
+	public static MappedTaxonomy<ElkClass> openClassTaxonomy(final Path file,
+			final ElkClass.Factory factory) throws IOException {
+		return open(file, ElkClassKeyProvider.INSTANCE,
+				new Functor<ElkIri, ElkClass>() {
+					@Override
+					public ElkClass apply(final ElkIri iri) {
+						return factory.getClass(iri);
+					}
+				});
+	}
+
+	public static MappedTaxonomy<ElkObjectProperty> openObjectPropertyTaxonomy(
+			final Path file, final ElkObjectProperty.Factory factory)
+			throws IOException {
+		return open(file, ElkObjectPropertyKeyProvider.INSTANCE,
+				new Functor<ElkIri, ElkObjectProperty>() {
+					@Override
+					public ElkObjectProperty apply(final ElkIri iri) {
+						return factory.getObjectProperty(iri);
+					}
+				});
+	}
+
+	/**
+	 * Writes the taxonomy in the format read by
+	 * {@link #open(Path, ComparatorKeyProvider, Functor)}. The taxonomy must
+	 * not be modified while it is written.
+	 *
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to be written
+	 * @param file
+	 *            the file location
+	 * @param closure
+	 *            if {@code true}, all super nodes of each node are written as
+	 *            well
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static <T extends ElkEntity> void write(final Taxonomy<T> taxonomy,
+			final Path file, final boolean closure) throws IOException {
+		final List<TaxonomyNode<T>> nodes = new ArrayList<TaxonomyNode<T>>(
+				taxonomy.getNodes());
+		final TaxonomyNode<T> top = taxonomy.getTopNode();
+		final TaxonomyNode<T> bottom = taxonomy.getBottomNode();
+		if (!nodes.contains(top)) {
+			nodes.add(top);
+		}
+		if (!nodes.contains(bottom)) {
+			nodes.add(bottom);
+		}
+		final ComparatorKeyProvider<? super T> keyProvider = taxonomy
+				.getKeyProvider();
+		final int nodeCount = nodes.size();
+		// nodes of some taxonomies are wrappers created on every call, so the
+		// nodes that are not found by identity are found by their members
+		final Map<TaxonomyNode<T>, Integer> nodeIndex = new IdentityHashMap<TaxonomyNode<T>, Integer>();
+		final Map<Object, Integer> keyNodeIndex = new HashMap<Object, Integer>();
+		final List<T> entities = new ArrayList<T>();
+		// the members of node n are the entities from memberOffsets[n] to
+		// memberOffsets[n + 1]
+		final int[] memberOffsets = new int[nodeCount + 1];
+		for (int n = 0; n < nodeCount; n++) {
+			nodeIndex.put(nodes.get(n), n);
+			for (final T member : nodes.get(n)) {
+				keyNodeIndex.put(keyProvider.getKey(member), n);
+				entities.add(member);
+			}
+			memberOffsets[n + 1] = entities.size();
+		}
+		final int entityCount = entities.size();
+		final Integer[] order = new Integer[entityCount];
+		final byte[][] entityIris = new byte[entityCount][];
+		for (int i = 0; i < entityCount; i++) {
+			order[i] = i;
+			entityIris[i] = entities.get(i).getIri().getFullIriAsString()
+					.getBytes(StandardCharsets.UTF_8);
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer i, final Integer j) {
+				return Arrays.compareUnsigned(entityIris[i], entityIris[j]);
+			}
+		});
+		// entity -> position in the sorted order
+		final int[] rank = new int[entityCount];
+		final int[] iriOffsets = new int[entityCount + 1];
+		final int[] entityNodes = new int[entityCount];
+		for (int r = 0; r < entityCount; r++) {
+			final int e = order[r];
+			rank[e] = r;
+			iriOffsets[r + 1] = iriOffsets[r] + entityIris[e].length;
+			entityNodes[r] = keyNodeIndex
+					.get(keyProvider.getKey(entities.get(e)));
+		}
+		final int[] members = new int[entityCount];
+		final int[][] parents = new int[nodeCount][];
+		final int[][] children = new int[nodeCount][];
+		for (int n = 0; n < nodeCount; n++) {
+			final TaxonomyNode<T> node = nodes.get(n);
+			final int first = memberOffsets[n];
+			final int last = memberOffsets[n + 1];
+			final Object canonicalKey = keyProvider
+					.getKey(node.getCanonicalMember());
+			int canonical = -1;
+			for (int e = first; e < last; e++) {
+				members[e] = rank[e];
+				if (keyProvider.getKey(entities.get(e)).equals(canonicalKey)) {
+					canonical = rank[e];
+				}
+			}
+			// the canonical member first, the others in IRI order
+			Arrays.sort(members, first, last);
+			for (int pos = Arrays.binarySearch(members, first, last,
+					canonical); pos > first; pos--) {
+				members[pos] = members[pos - 1];
+			}
+			members[first] = canonical;
+			parents[n] = getIndexes(node.getDirectSuperNodes(), nodeIndex,
+					keyNodeIndex, keyProvider);
+			children[n] = getIndexes(node.getDirectSubNodes(), nodeIndex,
+					keyNodeIndex, keyProvider);
+		}
+		final int topIndex = getIndex(top, nodeIndex, keyNodeIndex,
+				keyProvider);
+		final int bottomIndex = getIndex(bottom, nodeIndex, keyNodeIndex,
+				keyProvider);
+		final int[][] ancestors = closure
+				? getAncestors(parents, children, topIndex)
+				: null;
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(MAGIC_);
+			out.writeInt(VERSION_);
+			out.writeInt(closure ? FLAG_CLOSURE_ : 0);
+			out.writeInt(entityCount);
+			out.writeInt(nodeCount);
+			out.writeInt(topIndex);
+			out.writeInt(bottomIndex);
+			out.writeInt(iriOffsets[entityCount]);
+			writeInts(out, iriOffsets);
+			writeInts(out, entityNodes);
+			writeInts(out, memberOffsets);
+			writeInts(out, members);
+			writeRows(out, parents);
+			writeRows(out, children);
+			if (closure) {
+				writeRows(out, ancestors);
+			}
+			for (int r = 0; r < entityCount; r++) {
+				out.write(entityIris[order[r]]);
+			}
+		}
+	}
+
+	private static <T extends ElkEntity> int[] getIndexes(
+			final Set<? extends TaxonomyNode<T>> nodes,
+			final Map<TaxonomyNode<T>, Integer> nodeIndex,
+			final Map<Object, Integer> keyNodeIndex,
+			final ComparatorKeyProvider<? super T> keyProvider) {
+		final int[] result = new int[nodes.size()];
+		int i = 0;
+		for (final TaxonomyNode<T> node : nodes) {
+			result[i++] = getIndex(node, nodeIndex, keyNodeIndex, keyProvider);
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static <T extends ElkEntity> int getIndex(
+			final TaxonomyNode<T> node,
+			final Map<TaxonomyNode<T>, Integer> nodeIndex,
+			final Map<Object, Integer> keyNodeIndex,
+			final ComparatorKeyProvider<? super T> keyProvider) {
+		final Integer index = nodeIndex.get(node);
+		return index != null ? index
+				: keyNodeIndex
+						.get(keyProvider.getKey(node.getCanonicalMember()));
+	}
+
+	/**
+	 * @return the sorted indexes of all super nodes of each node, computed
+	 *         from the top node down
+	 */
+	private static int[][] getAncestors(final int[][] parents,
+			final int[][] children, final int top) {
+		final int nodeCount = parents.length;
+		final int[][] ancestors = new int[nodeCount][];
+		final int[] pending = new int[nodeCount];
+		for (int n = 0; n < nodeCount; n++) {
+			pending[n] = parents[n].length;
+		}
+		final int[] queue = new int[nodeCount];
+		int tail = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			if (pending[n] == 0) {
+				queue[tail++] = n;
+			}
+		}
+		final int[] mark = new int[nodeCount];
+		Arrays.fill(mark, -1);
+		int[] buffer = new int[16];
+		for (int head = 0; head < tail; head++) {
+			final int node = queue[head];
+			int size = 0;
+			for (final int parent : parents[node]) {
+				final int[] candidates = ancestors[parent];
+				if (buffer.length < size + candidates.length + 1) {
+					buffer = Arrays.copyOf(buffer, Math.max(
+							2 * buffer.length, size + candidates.length + 1));
+				}
+				if (mark[parent] != node) {
+					mark[parent] = node;
+					buffer[size++] = parent;
+				}
+				for (final int ancestor : candidates) {
+					if (mark[ancestor] != node) {
+						mark[ancestor] = node;
+						buffer[size++] = ancestor;
+					}
+				}
+			}
+			ancestors[node] = Arrays.copyOf(buffer, size);
+			Arrays.sort(ancestors[node]);
+			for (final int child : children[node]) {
+				if (--pending[child] == 0) {
+					queue[tail++] = child;
+				}
+			}
+		}
+		if (tail != nodeCount) {
+			throw new IllegalArgumentException("Cycle in taxonomy: "
+					+ (nodeCount - tail) + " nodes not reachable from "
+					+ top);
+		}
+		return ancestors;
+	}
+
+	private static void writeInts(final DataOutputStream out,
+			final int[] values) throws IOException {
+		for (final int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	private static void writeRows(final DataOutputStream out,
+			final int[][] rows) throws IOException {
+		int offset = 0;
+		out.writeInt(offset);
+		for (final int[] row : rows) {
+			offset += row.length;
+			out.writeInt(offset);
+		}
+		for (final int[] row : rows) {
+			writeInts(out, row);
+		}
+	}
+
+	/**
+	 * @return the index of the entity with the given IRI in the sorted IRIs,
+	 *         or -1 if there is no such entity
+	 */
+	private int findEntity(final ElkIri iri) {
+		final byte[] key = iri.getFullIriAsString()
+				.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = entityCount_ - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int cmp = compareIri(mid, key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private int compareIri(final int entity, final byte[] key) {
+		final int start = iriOffsets_.get(entity);
+		final int length = iriOffsets_.get(entity + 1) - start;
+		final int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++) {
+			final int cmp = Byte.toUnsignedInt(iris_.get(start + i))
+					- Byte.toUnsignedInt(key[i]);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return length - key.length;
+	}
+
+	private T getEntity(final int entity) {
+		final int start = iriOffsets_.get(entity);
+		final byte[] bytes = new byte[iriOffsets_.get(entity + 1) - start];
+		iris_.get(start, bytes);
+		return entityFactory_
+				.apply(new ElkFullIri(new String(bytes, StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * @return the number of nodes, including the top and the bottom node
+	 */
+	public int getNodeCount() {
+		return nodeCount_;
+	}
+
+	/**
+	 * @return {@code true} if all super nodes of each node are stored in the
+	 *         file
+	 */
+	public boolean hasClosure() {
+		return ancestors_ != null;
+	}
+
+	@Override
+	public ComparatorKeyProvider<? super T> getKeyProvider() {
+		return keyProvider_;
+	}
+
+	@Override
+	public MappedNode getNode(final T elkEntity) {
+		final int entity = findEntity(elkEntity.getIri());
+		return entity < 0 ? null : new MappedNode(entityNodes_.get(entity));
+	}
+
+	@Override
+	public Set<? extends MappedNode> getNodes() {
+		return new NodeSet(null, 0, nodeCount_);
+	}
+
+	@Override
+	public MappedNode getTopNode() {
+		return new MappedNode(topNode_);
+	}
+
+	@Override
+	public MappedNode getBottomNode() {
+		return new MappedNode(bottomNode_);
+	}
+
+	@Override
+	public boolean addListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean addListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	/**
+	 * A node of a {@link MappedTaxonomy}, identified by its index in the file.
+	 * Nodes with the same index are equal.
+	 */
+	public class MappedNode implements TaxonomyNode<T> {
+
+		private final int index_;
+
+		MappedNode(final int index) {
+			this.index_ = index;
+		}
+
+		@Override
+		public ComparatorKeyProvider<? super T> getKeyProvider() {
+			return keyProvider_;
+		}
+
+		@Override
+		public boolean contains(final T member) {
+			final int entity = findEntity(member.getIri());
+			return entity >= 0 && entityNodes_.get(entity) == index_;
+		}
+
+		@Override
+		public int size() {
+			return memberOffsets_.get(index_ + 1) - memberOffsets_.get(index_);
+		}
+
+		@Override
+		public T getCanonicalMember() {
+			return getEntity(members_.get(memberOffsets_.get(index_)));
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new Iterator<T>() {
+
+				private int next_ = memberOffsets_.get(index_);
+
+				private final int end_ = memberOffsets_.get(index_ + 1);
+
+				@Override
+				public boolean hasNext() {
+					return next_ < end_;
+				}
+
+				@Override
+				public T next() {
+					if (next_ >= end_) {
+						throw new NoSuchElementException();
+					}
+					return getEntity(members_.get(next_++));
+				}
+
+			};
+		}
+
+		@Override
+		public Taxonomy<T> getTaxonomy() {
+			return MappedTaxonomy.this;
+		}
+
+		@Override
+		public Set<? extends MappedNode> getDirectSuperNodes() {
+			return new NodeSet(parents_, parentOffsets_.get(index_),
+					parentOffsets_.get(index_ + 1));
+		}
+
+		@Override
+		public Set<? extends MappedNode> getAllSuperNodes() {
+			if (ancestors_ != null) {
+				return new NodeSet(ancestors_, ancestorOffsets_.get(index_),
+						ancestorOffsets_.get(index_ + 1));
+			}
+			// else
+			return TaxonomyNodeUtils.getAllReachable(getDirectSuperNodes(),
+					new Functor<MappedNode, Set<? extends MappedNode>>() {
+
+						@Override
+						public Set<? extends MappedNode> apply(
+								final MappedNode node) {
+							return node.getDirectSuperNodes();
+						}
+					});
+		}
+
+		@Override
+		public Set<? extends MappedNode> getDirectSubNodes() {
+			return new NodeSet(children_, childOffsets_.get(index_),
+					childOffsets_.get(index_ + 1));
+		}
+
+		@Override
+		public Set<? extends MappedNode> getAllSubNodes() {
+			return TaxonomyNodeUtils.getAllReachable(getDirectSubNodes(),
+					new Functor<MappedNode, Set<? extends MappedNode>>() {
+
+						@Override
+						public Set<? extends MappedNode> apply(
+								final MappedNode node) {
+							return node.getDirectSubNodes();
+						}
+					});
+		}
+
+		private MappedTaxonomy<T> getOuter() {
+			return MappedTaxonomy.this;
+		}
+
+		@Override
+		public int hashCode() {
+			return index_;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof MappedTaxonomy<?>.MappedNode)) {
+				return false;
+			}
+			final MappedTaxonomy<?>.MappedNode other = (MappedTaxonomy<?>.MappedNode) obj;
+			return index_ == other.index_
+					&& MappedTaxonomy.this == other.getOuter();
+		}
+
+		@Override
+		public String toString() {
+			return getCanonicalMember().toString();
+		}
+
+	}
+
+	/**
+	 * The nodes with the sorted indexes in a slice of a buffer, or with the
+	 * indexes in a range if the buffer is {@code null}.
+	 */
+	private class NodeSet extends AbstractSet<MappedNode> {
+
+		private final IntBuffer indexes_;
+
+		private final int from_, to_;
+
+		NodeSet(final IntBuffer indexes, final int from, final int to) {
+			this.indexes_ = indexes;
+			this.from_ = from;
+			this.to_ = to;
+		}
+
+		private int get(final int i) {
+			return indexes_ == null ? i : indexes_.get(i);
+		}
+
+		@Override
+		public boolean contains(final Object o) {
+			if (!(o instanceof MappedTaxonomy<?>.MappedNode)) {
+				return false;
+			}
+			final MappedTaxonomy<?>.MappedNode node = (MappedTaxonomy<?>.MappedNode) o;
+			if (node.getOuter() != MappedTaxonomy.this) {
+				return false;
+			}
+			int low = from_;
+			int high = to_ - 1;
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				final int value = get(mid);
+				if (value < node.index_) {
+					low = mid + 1;
+				} else if (value > node.index_) {
+					high = mid - 1;
+				} else {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<MappedNode> iterator() {
+			return new Iterator<MappedNode>() {
+
+				private int next_ = from_;
+
+				@Override
+				public boolean hasNext() {
+					return next_ < to_;
+				}
+
+				@Override
+				public MappedNode next() {
+					if (next_ >= to_) {
+						throw new NoSuchElementException();
+					}
+					return new MappedNode(get(next_++));
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return to_ - from_;
+		}
+
+	}
+
+}
@@ -0,0 +1,261 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.impl.AbstractTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.impl.SimpleNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.Operations.Functor;
+
+/**
+ * An immutable copy of a {@link Taxonomy} taken at some point of time. Since
+ * the snapshot never changes after construction, it can be queried from any
+ * number of threads without synchronization, while the taxonomy from which it
+ * was copied is being updated by the reasoner.
+ * <p>
+ * Every snapshot carries a version number; snapshots with larger version
+ * numbers were taken later.
+ *
+ * @param <T>
+ *            the type of objects stored in this taxonomy
+ */
+public class SnapshotTaxonomy<T extends ElkEntity> extends AbstractTaxonomy<T> {
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	private final long version_;
+
+	/**
+	 * the nodes of this taxonomy indexed by the keys of their members
+	 */
+	private final Map<Object, SnapshotNode<T>> nodeLookup_;
+
+	private final Set<SnapshotNode<T>> allNodes_;
+
+	private final SnapshotNode<T> topNode_;
+
+	private final SnapshotNode<T> bottomNode_;
+
+	/**
+	 * Creates a snapshot of the given taxonomy. The taxonomy must not be
+	 * modified while the snapshot is being created.
+	 *
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to be copied
+	 * @param version
+	 *            the version of the created snapshot
+	 */
+	public SnapshotTaxonomy(final Taxonomy<T> taxonomy, final long version) {
+		this.keyProvider_ = taxonomy.getKeyProvider();
+		this.version_ = version;
+		final Set<? extends TaxonomyNode<T>> nodes = taxonomy.getNodes();
+		final Map<TaxonomyNode<T>, SnapshotNode<T>> copies = new IdentityHashMap<TaxonomyNode<T>, SnapshotNode<T>>(
+				nodes.size() + 2);
+		for (final TaxonomyNode<T> node : nodes) {
+			copies.put(node, new SnapshotNode<T>(node, this));
+		}
+		final TaxonomyNode<T> top = taxonomy.getTopNode();
+		if (!copies.containsKey(top)) {
+			copies.put(top, new SnapshotNode<T>(top, this));
+		}
+		final TaxonomyNode<T> bottom = taxonomy.getBottomNode();
+		if (!copies.containsKey(bottom)) {
+			copies.put(bottom, new SnapshotNode<T>(bottom, this));
+		}
+		final Map<Object, SnapshotNode<T>> lookup = new HashMap<Object, SnapshotNode<T>>();
+		for (final Map.Entry<TaxonomyNode<T>, SnapshotNode<T>> entry : copies
+				.entrySet()) {
+			final SnapshotNode<T> copy = entry.getValue();
+			copy.directSuperNodes_ = copyAll(
+					entry.getKey().getDirectSuperNodes(), copies);
+			copy.directSubNodes_ = copyAll(entry.getKey().getDirectSubNodes(),
+					copies);
+			for (final T member : copy) {
+				lookup.put(keyProvider_.getKey(member), copy);
+			}
+		}
+		final Set<SnapshotNode<T>> allNodes = new ArrayHashSet<SnapshotNode<T>>(
+				copies.size());
+		allNodes.addAll(copies.values());
+		this.nodeLookup_ = lookup;
+		this.allNodes_ = Collections.unmodifiableSet(allNodes);
+		this.topNode_ = copies.get(top);
+		this.bottomNode_ = copies.get(bottom);
+	}
+
+	private static <T extends ElkEntity> Set<SnapshotNode<T>> copyAll(
+			final Set<? extends TaxonomyNode<T>> nodes,
+			final Map<TaxonomyNode<T>, SnapshotNode<T>> copies) {
+		if (nodes.isEmpty()) {
+			return Collections.emptySet();
+		}
+		// else
+		final Set<SnapshotNode<T>> result = new ArrayHashSet<SnapshotNode<T>>(nodes.size());
+		for (final TaxonomyNode<T> node : nodes) {
+			result.add(copies.get(node));
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * @return the version of this snapshot; snapshots with larger versions
+	 *         were taken later
+	 */
+	public long getVersion() {
+		return version_;
+	}
+
+	@Override
+	public ComparatorKeyProvider<? super T> getKeyProvider() {
+		return keyProvider_;
+	}
+
+	@Override
+	public SnapshotNode<T> getNode(final T elkEntity) {
+		return nodeLookup_.get(keyProvider_.getKey(elkEntity));
+	}
+
+	@Override
+	public Set<? extends SnapshotNode<T>> getNodes() {
+		return allNodes_;
+	}
+
+	@Override
+	public SnapshotNode<T> getTopNode() {
+		return topNode_;
+	}
+
+	@Override
+	public SnapshotNode<T> getBottomNode() {
+		return bottomNode_;
+	}
+
+	@Override
+	public boolean addListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean addListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " v" + version_;
+	}
+
+	/**
+	 * An immutable {@link TaxonomyNode} of a {@link SnapshotTaxonomy}.
+	 *
+	 * @param <T>
+	 *            the type of objects stored in the nodes
+	 */
+	public static class SnapshotNode<T extends ElkEntity> extends SimpleNode<T>
+			implements TaxonomyNode<T> {
+
+		private final SnapshotTaxonomy<T> taxonomy_;
+
+		/**
+		 * assigned only during construction of the taxonomy
+		 */
+		Set<SnapshotNode<T>> directSuperNodes_ = Collections.emptySet();
+
+		/**
+		 * assigned only during construction of the taxonomy
+		 */
+		Set<SnapshotNode<T>> directSubNodes_ = Collections.emptySet();
+
+		SnapshotNode(final TaxonomyNode<T> original,
+				final SnapshotTaxonomy<T> taxonomy) {
+			super(original, original.size(), taxonomy.getKeyProvider());
+			this.taxonomy_ = taxonomy;
+		}
+
+		@Override
+		public Taxonomy<T> getTaxonomy() {
+			return taxonomy_;
+		}
+
+		@Override
+		public Set<? extends SnapshotNode<T>> getDirectSuperNodes() {
+			return directSuperNodes_;
+		}
+
+		@Override
+		public Set<? extends SnapshotNode<T>> getAllSuperNodes() {
+			return TaxonomyNodeUtils.getAllReachable(directSuperNodes_,
+					new Functor<SnapshotNode<T>, Set<? extends SnapshotNode<T>>>() {
+
+						@Override
+						public Set<? extends SnapshotNode<T>> apply(
+								final SnapshotNode<T> node) {
+							return node.directSuperNodes_;
+						}
+					});
+		}
+
+		@Override
+		public Set<? extends SnapshotNode<T>> getDirectSubNodes() {
+			return directSubNodes_;
+		}
+
+		@Override
+		public Set<? extends SnapshotNode<T>> getAllSubNodes() {
+			return TaxonomyNodeUtils.getAllReachable(directSubNodes_,
+					new Functor<SnapshotNode<T>, Set<? extends SnapshotNode<T>>>() {
+
+						@Override
+						public Set<? extends SnapshotNode<T>> apply(
+								final SnapshotNode<T> node) {
+							return node.directSubNodes_;
+						}
+					});
+		}
+
+	}
+
+}
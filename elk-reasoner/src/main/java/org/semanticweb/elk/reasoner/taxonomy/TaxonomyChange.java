@@ -0,0 +1,101 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * The change of the position of an entity in a {@link Taxonomy}: the members
+ * of its direct super nodes and the members of its node before and after the
+ * change. The sets are {@code null} if the entity was not in the taxonomy
+ * before, respectively, is not in the taxonomy after the change. An entity of
+ * the bottom node has no direct super members; it is unsatisfiable.
+ * 
+ * @see TaxonomyChangeRecorder
+ *
+ * @param <T>
+ *            the type of the entities in the taxonomy
+ */
+public class TaxonomyChange<T extends ElkEntity> {
+
+	private final T entity_;
+
+	private final Set<T> oldDirectSupers_, oldEquivalents_, newDirectSupers_,
+			newEquivalents_;
+
+	TaxonomyChange(final T entity, final Set<T> oldDirectSupers,
+			final Set<T> oldEquivalents, final Set<T> newDirectSupers,
+			final Set<T> newEquivalents) {
+		this.entity_ = entity;
+		this.oldDirectSupers_ = oldDirectSupers;
+		this.oldEquivalents_ = oldEquivalents;
+		this.newDirectSupers_ = newDirectSupers;
+		this.newEquivalents_ = newEquivalents;
+	}
+
+	public T getEntity() {
+		return entity_;
+	}
+
+	/**
+	 * @return the members of the direct super nodes of the entity before the
+	 *         change or {@code null} if it was not in the taxonomy
+	 */
+	public Set<T> getOldDirectSupers() {
+		return oldDirectSupers_;
+	}
+
+	/**
+	 * @return the members of the node of the entity before the change,
+	 *         including the entity, or {@code null} if it was not in the
+	 *         taxonomy
+	 */
+	public Set<T> getOldEquivalents() {
+		return oldEquivalents_;
+	}
+
+	/**
+	 * @return the members of the direct super nodes of the entity after the
+	 *         change or {@code null} if it is not in the taxonomy
+	 */
+	public Set<T> getNewDirectSupers() {
+		return newDirectSupers_;
+	}
+
+	/**
+	 * @return the members of the node of the entity after the change,
+	 *         including the entity, or {@code null} if it is not in the
+	 *         taxonomy
+	 */
+	public Set<T> getNewEquivalents() {
+		return newEquivalents_;
+	}
+
+	@Override
+	public String toString() {
+		return entity_ + ": " + oldDirectSupers_ + " " + oldEquivalents_
+				+ " -> " + newDirectSupers_ + " " + newEquivalents_;
+	}
+
+}
@@ -0,0 +1,271 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Records the position of entities in an incrementally updated
+ * {@link Taxonomy} just before it is modified, so that after the update only
+ * the entities whose position changed can be reported, see
+ * {@link #getChanges(Taxonomy)}.
+ * <p>
+ * The entities whose nodes are removed by {@link TaxonomyCleaning} are
+ * recorded by {@link #recordRemoval(Taxonomy, ElkEntity)} and the entities new
+ * in the taxonomy by {@link #recordAddition(Taxonomy, ElkEntity)}. The first
+ * recorded state of an entity is kept. If the taxonomy is computed again from
+ * scratch, the old taxonomy is kept by {@link #taxonomyReset(Taxonomy)} and the
+ * changes are found by comparing all its entities.
+ * <p>
+ * This class is not thread safe; it is used by the reasoner stages before they
+ * start their workers.
+ *
+ * @param <T>
+ *            the type of the entities in the taxonomy
+ */
+public class TaxonomyChangeRecorder<T extends ElkEntity> {
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	/**
+	 * the recorded states indexed by the keys of their entities
+	 */
+	private final Map<Object, State<T>> recorded_ = new HashMap<Object, State<T>>();
+
+	/**
+	 * the taxonomy that was replaced by a taxonomy computed from scratch or
+	 * {@code null} if there is none
+	 */
+	private Taxonomy<T> baseline_ = null;
+
+	public TaxonomyChangeRecorder(
+			final ComparatorKeyProvider<? super T> keyProvider) {
+		this.keyProvider_ = keyProvider;
+	}
+
+	/**
+	 * Records the state of the given entity before its node is removed from
+	 * the taxonomy, together with the entities that lose their direct super
+	 * nodes with it: the other members of its node and the members of its
+	 * direct sub nodes. A member of the bottom node is removed alone.
+	 * 
+	 * @param taxonomy
+	 *            the taxonomy before the removal
+	 * @param entity
+	 *            the entity whose node is going to be removed
+	 */
+	public void recordRemoval(final Taxonomy<T> taxonomy, final T entity) {
+		if (baseline_ != null) {
+			return;
+		}
+		// else
+		final TaxonomyNode<T> node = taxonomy.getNode(entity);
+		if (node == null) {
+			return;
+		}
+		// else
+		final TaxonomyNode<T> bottom = taxonomy.getBottomNode();
+		if (node.equals(bottom)) {
+			record(entity, taxonomy);
+			return;
+		}
+		// else
+		for (final T member : node) {
+			record(member, taxonomy);
+		}
+		for (final TaxonomyNode<T> sub : node.getDirectSubNodes()) {
+			if (sub.equals(bottom)) {
+				continue;
+			}
+			for (final T member : sub) {
+				record(member, taxonomy);
+			}
+		}
+	}
+
+	/**
+	 * Records that the given entity is not in the taxonomy yet, if so.
+	 * 
+	 * @param taxonomy
+	 *            the taxonomy before the addition
+	 * @param entity
+	 *            the entity that is going to be added
+	 */
+	public void recordAddition(final Taxonomy<T> taxonomy, final T entity) {
+		if (baseline_ != null || taxonomy.getNode(entity) != null) {
+			return;
+		}
+		// else
+		record(entity, taxonomy);
+	}
+
+	/**
+	 * Called when the taxonomy is going to be computed from scratch. Nothing
+	 * is recorded after that until the next call of
+	 * {@link #getChanges(Taxonomy)}.
+	 * 
+	 * @param oldTaxonomy
+	 *            the taxonomy that is replaced; it must not be modified
+	 *            anymore
+	 */
+	public void taxonomyReset(final Taxonomy<T> oldTaxonomy) {
+		if (baseline_ == null) {
+			baseline_ = oldTaxonomy;
+		}
+	}
+
+	private void record(final T entity, final Taxonomy<T> taxonomy) {
+		final Object key = keyProvider_.getKey(entity);
+		if (!recorded_.containsKey(key)) {
+			recorded_.put(key, getState(entity, taxonomy));
+		}
+	}
+
+	/**
+	 * Compares the recorded states with the given taxonomy and starts
+	 * recording anew.
+	 * 
+	 * @param taxonomy
+	 *            the completely computed taxonomy
+	 * @return the changes of the entities whose direct super members or
+	 *         equivalent members are different in the given taxonomy,
+	 *         ordered by the entities
+	 */
+	public List<TaxonomyChange<T>> getChanges(final Taxonomy<T> taxonomy) {
+		final Map<Object, T> entities = new HashMap<Object, T>();
+		for (final State<T> state : recorded_.values()) {
+			entities.put(keyProvider_.getKey(state.entity_), state.entity_);
+		}
+		if (baseline_ != null) {
+			addMembers(baseline_, entities);
+			addMembers(taxonomy, entities);
+		}
+		final List<TaxonomyChange<T>> result = new ArrayList<TaxonomyChange<T>>();
+		for (final Map.Entry<Object, T> e : entities.entrySet()) {
+			final T entity = e.getValue();
+			State<T> oldState = recorded_.get(e.getKey());
+			if (oldState == null) {
+				oldState = getState(entity, baseline_);
+			}
+			final State<T> newState = getState(entity, taxonomy);
+			if (oldState.isSame(newState, keyProvider_)) {
+				continue;
+			}
+			// else
+			result.add(new TaxonomyChange<T>(entity, oldState.directSupers_,
+					oldState.equivalents_, newState.directSupers_,
+					newState.equivalents_));
+		}
+		Collections.sort(result, (first, second) -> keyProvider_
+				.getComparator().compare(first.getEntity(), second.getEntity()));
+		recorded_.clear();
+		baseline_ = null;
+		return result;
+	}
+
+	private static <T extends ElkEntity> void addMembers(
+			final Taxonomy<T> taxonomy, final Map<Object, T> entities) {
+		final ComparatorKeyProvider<? super T> keyProvider = taxonomy
+				.getKeyProvider();
+		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
+			for (final T member : node) {
+				entities.put(keyProvider.getKey(member), member);
+			}
+		}
+	}
+
+	private static <T extends ElkEntity> State<T> getState(final T entity,
+			final Taxonomy<T> taxonomy) {
+		final TaxonomyNode<T> node = taxonomy == null ? null
+				: taxonomy.getNode(entity);
+		if (node == null) {
+			return new State<T>(entity, null, null);
+		}
+		// else
+		final Set<T> equivalents = new HashSet<T>();
+		for (final T member : node) {
+			equivalents.add(member);
+		}
+		final Set<T> directSupers = new HashSet<T>();
+		// the direct super nodes of the bottom node are all leaves
+		if (!node.equals(taxonomy.getBottomNode())) {
+			for (final TaxonomyNode<T> sup : node.getDirectSuperNodes()) {
+				for (final T member : sup) {
+					directSupers.add(member);
+				}
+			}
+		}
+		return new State<T>(entity, Collections.unmodifiableSet(directSupers),
+				Collections.unmodifiableSet(equivalents));
+	}
+
+	private static class State<T extends ElkEntity> {
+
+		final T entity_;
+
+		/**
+		 * {@code null} if the entity is not in the taxonomy
+		 */
+		final Set<T> directSupers_, equivalents_;
+
+		State(final T entity, final Set<T> directSupers,
+				final Set<T> equivalents) {
+			this.entity_ = entity;
+			this.directSupers_ = directSupers;
+			this.equivalents_ = equivalents;
+		}
+
+		boolean isSame(final State<T> other,
+				final ComparatorKeyProvider<? super T> keyProvider) {
+			return Objects.equals(getKeys(directSupers_, keyProvider),
+					getKeys(other.directSupers_, keyProvider))
+					&& Objects.equals(getKeys(equivalents_, keyProvider),
+							getKeys(other.equivalents_, keyProvider));
+		}
+
+		static <T> Set<Object> getKeys(final Set<T> entities,
+				final ComparatorKeyProvider<? super T> keyProvider) {
+			if (entities == null) {
+				return null;
+			}
+			// else
+			final Set<Object> keys = new HashSet<Object>(entities.size());
+			for (final T entity : entities) {
+				keys.add(keyProvider.getKey(entity));
+			}
+			return keys;
+		}
+
+	}
+
+}
@@ -0,0 +1,93 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Walks a computed {@link Taxonomy} once and passes the direct super nodes of
+ * each node to a {@link Visitor}. This is much cheaper than asking the
+ * reasoner for the super classes of every class one by one, since no query
+ * results have to be converted or copied.
+ * <p>
+ * The taxonomy must not be modified during the walk.
+ */
+public class TaxonomyExport {
+
+	/**
+	 * Receives the direct super nodes of the nodes of a taxonomy. If the walk
+	 * is parallel, {@link #visit(TaxonomyNode, Set)} is called concurrently.
+	 *
+	 * @param <T>
+	 *            the type of objects stored in the nodes
+	 */
+	public interface Visitor<T extends ElkEntity> {
+
+		/**
+		 * @param node
+		 *            a node of the taxonomy other than the top and the bottom
+		 *            node
+		 * @param directSuperNodes
+		 *            the direct super nodes of the node; may contain the top
+		 *            node
+		 */
+		void visit(TaxonomyNode<T> node,
+				Set<? extends TaxonomyNode<T>> directSuperNodes);
+
+	}
+
+	/**
+	 * Calls the visitor for every node of the taxonomy except the top and the
+	 * bottom node. The members of the bottom node, i.e., the unsatisfiable
+	 * members, are not visited.
+	 *
+	 * @param taxonomy
+	 *            the taxonomy to walk
+	 * @param parallel
+	 *            if {@code true}, the nodes are visited by the threads of the
+	 *            common fork join pool
+	 * @param visitor
+	 *            receives the nodes
+	 */
+	public static <T extends ElkEntity> void visitDirectSuperNodes(
+			final Taxonomy<T> taxonomy, final boolean parallel,
+			final Visitor<T> visitor) {
+		final TaxonomyNode<T> top = taxonomy.getTopNode();
+		final TaxonomyNode<T> bottom = taxonomy.getBottomNode();
+		final List<TaxonomyNode<T>> nodes = new ArrayList<TaxonomyNode<T>>(
+				taxonomy.getNodes());
+		final Stream<TaxonomyNode<T>> stream = parallel
+				? nodes.parallelStream()
+				: nodes.stream();
+		// not ==: the nodes of a ReverseTaxonomy are new wrappers on every call
+		stream.filter(node -> !node.equals(top) && !node.equals(bottom))
+				.forEach(node -> visitor.visit(node,
+						node.getDirectSuperNodes()));
+	}
+
+}
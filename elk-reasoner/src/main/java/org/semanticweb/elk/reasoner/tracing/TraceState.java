@@ -23,11 +23,14 @@
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
@@ -55,6 +58,7 @@
 import org.semanticweb.elk.reasoner.stages.PropertyHierarchyCompositionState;
 import org.semanticweb.elk.reasoner.tracing.factories.TracingJobListener;
 import org.semanticweb.elk.util.collections.Evictor;
+import org.semanticweb.elk.util.collections.Evictors;
 import org.semanticweb.elk.util.statistics.HasStats;
 import org.semanticweb.elk.util.statistics.NestedStats;
 import org.semanticweb.elk.util.statistics.ResetStats;
@@ -62,9 +66,14 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Predicate;
+
 /**
  * A collections of objects for tracing contexts and keeping the relevant
- * information about the state of tracing.
+ * information about the state of tracing. The inferences of
+ * {@link ClassConclusion}s can be requested and retrieved by several threads
+ * at once; the trace roots of all requested {@link ClassConclusion}s that are
+ * not cached are traced by the next run of the tracing stage.
  * 
  * TODO: filter out cyclic inferences
  * 
@@ -82,12 +91,30 @@
 	private static final Logger LOGGER_ = LoggerFactory
 			.getLogger(TraceState.class);
 
-	private IndexedContextRoot toTrace_ = null;
+	/**
+	 * The roots of contexts that should be traced by the next run of the
+	 * tracing stage.
+	 */
+	private final Queue<IndexedContextRoot> toTrace_ = new ConcurrentLinkedQueue<IndexedContextRoot>();
+
+	/**
+	 * The elements of {@link #toTrace_}, so that every root is queued once.
+	 */
+	private final Set<IndexedContextRoot> queuedRoots_ = Collections
+			.newSetFromMap(
+					new ConcurrentHashMap<IndexedContextRoot, Boolean>());
 
 	/**
 	 * Cache of {@link ClassInference}s.
 	 */
-	private final Map<Conclusion, Collection<? extends ClassInference>> classInferencesCache_ = new HashMap<Conclusion, Collection<? extends ClassInference>>();
+	private final Map<Conclusion, Collection<? extends ClassInference>> classInferencesCache_ = new ConcurrentHashMap<Conclusion, Collection<? extends ClassInference>>();
+
+	/**
+	 * The {@link ClassConclusion}s whose inferences were requested but not yet
+	 * retrieved, with the number of such requests. Their inferences are not
+	 * evicted from {@link #classInferencesCache_}.
+	 */
+	private final Map<Conclusion, Integer> requested_ = new ConcurrentHashMap<Conclusion, Integer>();
 
 	/**
 	 * Manages eviction from {@link #classInferencesCache_}. Each key added to
@@ -96,6 +123,26 @@
 	 */
 	private final Evictor<Conclusion> classInferenceEvictor_;
 
+	private final Predicate<Conclusion> isRequested_ = new Predicate<Conclusion>() {
+		@Override
+		public boolean apply(final Conclusion conclusion) {
+			return requested_.containsKey(conclusion);
+		}
+	};
+
+	/**
+	 * Weighs the keys of {@link #classInferencesCache_} by the number of their
+	 * cached inferences.
+	 */
+	private final Evictor.Weigher<Conclusion> classInferenceWeigher_ = new Evictor.Weigher<Conclusion>() {
+		@Override
+		public long weigh(final Conclusion conclusion) {
+			final Collection<? extends ClassInference> infs = classInferencesCache_
+					.get(conclusion);
+			return infs == null ? 1 : 1 + infs.size();
+		}
+	};
+
 	private final Set<ElkAxiom> indexedAxioms_ = new HashSet<ElkAxiom>();
 
 	private final ModifiableTracingProof<ObjectPropertyInference> objectPropertyInferences_ = new SynchronizedModifiableTracingProof<ObjectPropertyInference>();
@@ -110,15 +157,23 @@
 
 	// Stats.
 	public class Stats {
+		private final AtomicInteger nCacheHits_ = new AtomicInteger();
+		private final AtomicInteger nCacheMisses_ = new AtomicInteger();
+
 		@Stat
-		public int nCacheHits = 0;
+		public int nCacheHits() {
+			return nCacheHits_.get();
+		}
+
 		@Stat
-		public int nCacheMisses = 0;
+		public int nCacheMisses() {
+			return nCacheMisses_.get();
+		}
 
 		@ResetStats
 		public void resetStats() {
-			nCacheHits = 0;
-			nCacheMisses = 0;
+			nCacheHits_.set(0);
+			nCacheMisses_.set(0);
 		}
 
 		@NestedStats(name = "evictor")
@@ -181,12 +236,16 @@ public void propertyBecameNotSaturated(
 		final Object builder = config
 				.getParameter(ReasonerConfiguration.TRACING_EVICTOR);
 		LOGGER_.debug("{}={}", ReasonerConfiguration.TRACING_EVICTOR, builder);
-		this.classInferenceEvictor_ = ((Evictor.Builder) builder).build();
+		this.classInferenceEvictor_ = Evictors.synchronizedEvictor(
+				((Evictor.Builder) builder).<Conclusion> build(
+						classInferenceWeigher_));
 
 	}
 
 	/**
-	 * Requests inferences of a {@link Conclusion}.
+	 * Requests inferences of a {@link Conclusion}. The inferences of a
+	 * requested {@link ClassConclusion} are kept at least until they are
+	 * retrieved by {@link #getInferences(Object)}.
 	 * 
 	 * @param conclusion
 	 *            the {@link Conclusion} for which to request the inferences
@@ -195,7 +254,7 @@ public void propertyBecameNotSaturated(
 	 *         tracing stage needs to be run before the inferences can be
 	 *         retrieved by {@link #getInferences(Object)}.
 	 */
-	public synchronized boolean requestInferences(final Conclusion conclusion) {
+	public boolean requestInferences(final Conclusion conclusion) {
 		LOGGER_.trace("{}: request inferences", conclusion);
 		return conclusion.accept(requestedConclusionVisitor_);
 	}
@@ -209,61 +268,132 @@ protected Boolean defaultVisit(final Conclusion conclusion) {
 
 		@Override
 		protected Boolean defaultVisit(final ClassConclusion conclusion) {
-			tracingListener_.lastRequestedConclusion_ = conclusion;
-			classInferenceEvictor_.add(conclusion);
 			// Check cache.
-			final Collection<? extends ClassInference> infs = classInferencesCache_
-					.get(conclusion);
-			if (infs != null) {
-				stats_.nCacheHits++;
-				tracingListener_.inferencesOfLastRequestedConclusion_ = infs;
+			if (pinCached(conclusion)) {
+				stats_.nCacheHits_.incrementAndGet();
+				classInferenceEvictor_.add(conclusion);
 				return true;
 			}
-			// else
-			stats_.nCacheMisses++;
-			toTrace_ = conclusion.getTraceRoot();
+			// else the tracing listener adds it to the evictor when cached
+			stats_.nCacheMisses_.incrementAndGet();
+			queueToTrace(conclusion.getTraceRoot());
+			return false;
+		}
+
+	};
+
+	/**
+	 * Schedules tracing of a {@link Conclusion} without retrieving its
+	 * inferences, so that the trace roots of many {@link Conclusion}s can be
+	 * traced by one run of the tracing stage. The inferences of a scheduled
+	 * {@link ClassConclusion} are not evicted until they are released by
+	 * {@link #releaseInferences(Conclusion)}, so that the tracing of other
+	 * scheduled {@link Conclusion}s does not evict them.
+	 * 
+	 * @param conclusion
+	 *            the {@link Conclusion} to trace
+	 * @return {@code true} if the tracing stage needs to be run before the
+	 *         inferences of the {@link Conclusion} are cached
+	 */
+	public boolean scheduleTracing(final Conclusion conclusion) {
+		return conclusion.accept(scheduledConclusionVisitor_);
+	}
+
+	private final Conclusion.Visitor<Boolean> scheduledConclusionVisitor_ = new DummyConclusionVisitor<Boolean>() {
+
+		@Override
+		protected Boolean defaultVisit(final Conclusion conclusion) {
 			return false;
 		}
 
+		@Override
+		protected Boolean defaultVisit(final ClassConclusion conclusion) {
+			if (pinCached(conclusion)) {
+				classInferenceEvictor_.add(conclusion);
+				return false;
+			}
+			// else
+			queueToTrace(conclusion.getTraceRoot());
+			return true;
+		}
+
 	};
 
-	public synchronized IndexedContextRoot pollToTrace() {
-		final IndexedContextRoot result = toTrace_;
-		toTrace_ = null;
+	/**
+	 * Adds a request of the inferences of the {@link ClassConclusion} and
+	 * checks if they are cached. Both happen atomically with respect to the
+	 * removal of evicted inferences, so that cached inferences stay cached.
+	 * 
+	 * @param conclusion
+	 *            the requested {@link ClassConclusion}
+	 * @return {@code true} if the inferences of the {@link ClassConclusion}
+	 *         are cached
+	 */
+	private boolean pinCached(final ClassConclusion conclusion) {
+		return classInferencesCache_.compute(conclusion, (key, infs) -> {
+			requested_.merge(key, 1, Integer::sum);
+			return infs;
+		}) != null;
+	}
+
+	private void queueToTrace(final IndexedContextRoot root) {
+		if (queuedRoots_.add(root)) {
+			toTrace_.add(root);
+		}
+	}
+
+	/**
+	 * @return the root of the next context that should be traced or
+	 *         {@code null} if all requested roots are already traced
+	 */
+	public IndexedContextRoot pollToTrace() {
+		final IndexedContextRoot result = toTrace_.poll();
+		if (result != null) {
+			queuedRoots_.remove(result);
+		}
 		return result;
 	}
 
-	private class ThisTracingJobListener implements TracingJobListener {
+	/**
+	 * Releases one request of inferences of the {@link Conclusion} made by
+	 * {@link #requestInferences(Conclusion)} or
+	 * {@link #scheduleTracing(Conclusion)}, after which its inferences may be
+	 * evicted. The request made by {@link #requestInferences(Conclusion)} is
+	 * released by {@link #getInferences(Object)}, so this needs to be called
+	 * only if the inferences are not retrieved.
+	 * 
+	 * @param conclusion
+	 *            the {@link Conclusion} whose inferences are released
+	 */
+	public void releaseInferences(final Conclusion conclusion) {
+		requested_.computeIfPresent(conclusion,
+				(requested, count) -> count > 1 ? count - 1 : null);
+	}
 
-		/**
-		 * The {@link ClassConclusion} that was passed to
-		 * {@link #requestInferences(ClassConclusion)} as the last one.
-		 */
-		private ClassConclusion lastRequestedConclusion_ = null;
-		/**
-		 * Inferences of the {@link ClassConclusion} that was passed to
-		 * {@link #requestInferences(ClassConclusion)} as the last one, if they
-		 * have been cached or computed.
-		 */
-		private Collection<? extends ClassInference> inferencesOfLastRequestedConclusion_ = null;
+	private class ThisTracingJobListener implements TracingJobListener {
 
 		@Override
-		public synchronized void notifyJobFinished(
-				final IndexedContextRoot root,
+		public void notifyJobFinished(final IndexedContextRoot root,
 				final ModifiableTracingProof<ClassInference> proof) {
 			for (final Conclusion concl : proof.getAllConclusions()) {
 				final Collection<? extends ClassInference> tracedInfs = proof
 						.getInferences(concl);
-				if (concl.equals(lastRequestedConclusion_)) {
-					inferencesOfLastRequestedConclusion_ = tracedInfs;
+				if (tracedInfs.isEmpty() && !requested_.containsKey(concl)) {
+					continue;
 				}
-				if (!tracedInfs.isEmpty()
-						&& !classInferencesCache_.containsKey(concl)) {
-					classInferencesCache_.put(concl, tracedInfs);
+				// else
+				if (classInferencesCache_.putIfAbsent(concl,
+						tracedInfs) == null) {
 					final Iterator<Conclusion> evictedConclusions = classInferenceEvictor_
-							.addAndEvict(concl);
+							.addAndEvict(concl, isRequested_);
 					while (evictedConclusions.hasNext()) {
-						classInferencesCache_.remove(evictedConclusions.next());
+						// the conclusion could be requested again after it was
+						// evicted; such a request adds it to the evictor again
+						classInferencesCache_.computeIfPresent(
+								evictedConclusions.next(),
+								(key, infs) -> requested_.containsKey(key)
+										? infs
+										: null);
 					}
 				}
 			}
@@ -278,8 +408,8 @@ public TracingJobListener getTracingListener() {
 	}
 
 	private void clearClassInferences() {
+		// the requests are released by their callers
 		classInferencesCache_.clear();
-		tracingListener_.inferencesOfLastRequestedConclusion_ = null;
 	}
 
 	private void clearObjectPropertyInferences() {
@@ -326,13 +456,15 @@ private class InferenceGetter extends
 		@Override
 		protected Collection<? extends ClassInference> defaultVisit(
 				final ClassConclusion conclusion) {
-			if (!conclusion.equals(tracingListener_.lastRequestedConclusion_)
-					|| tracingListener_.inferencesOfLastRequestedConclusion_ == null) {
+			final Collection<? extends ClassInference> infs = classInferencesCache_
+					.get(conclusion);
+			releaseInferences(conclusion);
+			if (infs == null) {
 				throw new ElkRuntimeException(
 						"Conclusion not traced: " + conclusion);
 			}
 			// else
-			return tracingListener_.inferencesOfLastRequestedConclusion_;
+			return infs;
 		}
 
 		@Override
@@ -0,0 +1,67 @@
+package org.semanticweb.elk.reasoner;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Checks the class taxonomy computed with the ranked transitive reduction
+ * against the expected results.
+ * 
+ * @see ReasonerConfiguration#TAXONOMY_RANKED_REDUCTION
+ */
+public class ElkRankedReductionClassificationCorrectnessTest
+		extends BaseClassificationCorrectnessTest {
+
+	public ElkRankedReductionClassificationCorrectnessTest(
+			final ReasoningTestManifest<ElkClassTaxonomyTestOutput> testManifest) {
+		super(testManifest,
+				new ElkReasoningTestDelegate<ElkClassTaxonomyTestOutput>(
+						testManifest) {
+
+					@Override
+					public ElkClassTaxonomyTestOutput getActualOutput()
+							throws Exception {
+						return new ElkClassTaxonomyTestOutput(
+								getReasoner().getTaxonomyQuietly());
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithOutput() {
+						return Collections.singletonMap(
+								ReasonerConfiguration.TAXONOMY_RANKED_REDUCTION,
+								"true");
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithInterrupts() {
+						return Collections.singletonMap(
+								ReasonerConfiguration.TAXONOMY_RANKED_REDUCTION,
+								"true");
+					}
+
+				});
+	}
+
+}
@@ -57,6 +57,15 @@ public void defaultConfig() {
 				ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR));
 		assertTrue(config.getParameterNames().contains(
 				ReasonerConfiguration.ENTAILMENT_QUERY_EVICTOR));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.SATURATION_ACTIVATION_STACK));
+		assertEquals(ActivationStackType.SYNCHRONIZED_ARRAY_LIST,
+				config.getParameter(
+						ReasonerConfiguration.SATURATION_ACTIVATION_STACK));
+		assertEquals(false, config.getParameterAsBoolean(
+				ReasonerConfiguration.SATURATION_WORK_STEALING));
+		assertEquals(false, config.getParameterAsBoolean(
+				ReasonerConfiguration.TAXONOMY_RANKED_REDUCTION));
 		assertEquals(
 				Runtime.getRuntime().availableProcessors(),
 				config.getParameterAsInt(ReasonerConfiguration.NUM_OF_WORKING_THREADS));
@@ -0,0 +1,226 @@
+package org.semanticweb.elk.reasoner.stages;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerInterrupter;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+public class ReasonerExecutionContextTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private TestChangesLoader loader;
+
+	ElkClass a, b;
+
+	@Before
+	public void init() {
+		loader = new TestChangesLoader();
+		a = objectFactory.getClass(new ElkFullIri(":A"));
+		b = objectFactory.getClass(new ElkFullIri(":B"));
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+	}
+
+	private Reasoner createReasoner(TestChangesLoader loader,
+			ReasonerConfiguration config) {
+		// the default test interrupter fails on interrupts
+		return TestReasonerUtils.createTestReasoner(
+				new TestAxiomLoaderFactory(loader), new ReasonerInterrupter(),
+				config);
+	}
+
+	@Test
+	public void testStageListener() throws ElkException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+		final List<String> started = new ArrayList<String>();
+		final List<String> finished = new ArrayList<String>();
+		reasoner.getExecutionContext().addStageListener(
+				new ReasonerExecutionContext.StageListener() {
+
+					@Override
+					public void stageStarted(ReasonerStage stage) {
+						started.add(stage.getName());
+					}
+
+					@Override
+					public void stageFinished(ReasonerStage stage,
+							long elapsedNanos) {
+						assertTrue(elapsedNanos >= 0);
+						finished.add(stage.getName());
+					}
+				});
+		reasoner.getTaxonomy();
+		assertFalse(started.isEmpty());
+		assertEquals(started, finished);
+	}
+
+	@Test
+	public void testStageMetricsListener() throws ElkException {
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+		final List<String> finished = new ArrayList<String>();
+		final List<StageMetrics> measured = new ArrayList<StageMetrics>();
+		reasoner.getExecutionContext().addStageListener(
+				new ReasonerExecutionContext.StageListener() {
+
+					@Override
+					public void stageStarted(ReasonerStage stage) {
+						// nothing
+					}
+
+					@Override
+					public void stageFinished(ReasonerStage stage,
+							long elapsedNanos) {
+						finished.add(stage.getName());
+					}
+				});
+		reasoner.getExecutionContext().addStageMetricsListener(
+				new ReasonerExecutionContext.StageMetricsListener() {
+
+					@Override
+					public void stageMeasured(StageMetrics metrics) {
+						measured.add(metrics);
+					}
+				});
+		reasoner.getTaxonomy();
+		assertEquals(finished.size(), measured.size());
+		for (int i = 0; i < measured.size(); i++) {
+			StageMetrics metrics = measured.get(i);
+			assertEquals(finished.get(i), metrics.getStageName());
+			assertEquals(StageMetrics.Outcome.COMPLETED, metrics.getOutcome());
+			assertTrue(metrics.getWallTimeNanos() >= 0);
+		}
+	}
+
+	@Test
+	public void testStageMetricsMeterAdapter() {
+		final List<String> meters = new ArrayList<String>();
+		StageMetricsMeterAdapter adapter = new StageMetricsMeterAdapter(
+				new StageMetricsMeterAdapter.MeterSink() {
+
+					@Override
+					public void recordTimer(String name, long nanos,
+							String... tags) {
+						meters.add(name + "=" + nanos + " " + tags[1]);
+					}
+
+					@Override
+					public void incrementCounter(String name, long amount,
+							String... tags) {
+						meters.add(name + "=" + amount + " " + tags[3]);
+					}
+
+					@Override
+					public void recordSummary(String name, double value,
+							String... tags) {
+						meters.add(name + "=" + value);
+					}
+				});
+		adapter.stageMeasured(new StageMetrics("Taxonomy Construction",
+				StageMetrics.Outcome.INTERRUPTED, 100, 200, -1, 4, 3, 5, 6));
+		assertEquals(Arrays.asList(
+				"elk.stage.wall.time=100 Taxonomy Construction",
+				"elk.stage.cpu.time=200 Taxonomy Construction",
+				"elk.stage.contexts=3 interrupted",
+				"elk.stage.rule.applications=5 interrupted",
+				"elk.stage.conclusions=6 interrupted",
+				"elk.stage.worker.utilization=0.5"), meters);
+	}
+
+	@Test
+	public void testStageMetricsMeterAdapterUnavailable() {
+		final List<String> meters = new ArrayList<String>();
+		StageMetricsMeterAdapter adapter = new StageMetricsMeterAdapter(
+				new StageMetricsMeterAdapter.MeterSink() {
+
+					@Override
+					public void recordTimer(String name, long nanos,
+							String... tags) {
+						meters.add(name);
+					}
+
+					@Override
+					public void incrementCounter(String name, long amount,
+							String... tags) {
+						meters.add(name);
+					}
+
+					@Override
+					public void recordSummary(String name, double value,
+							String... tags) {
+						meters.add(name);
+					}
+				});
+		adapter.stageMeasured(new StageMetrics("Class Saturation",
+				StageMetrics.Outcome.COMPLETED, 100, -1, -1, 4, 3, -1, -1));
+		assertEquals(Arrays.asList("elk.stage.wall.time", "elk.stage.contexts"),
+				meters);
+	}
+
+	@Test
+	public void testIndependentContexts() {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.STAGE_LOGGING, "false");
+		Reasoner quiet = createReasoner(loader, config);
+		Reasoner other = createReasoner(new TestChangesLoader(),
+				ReasonerConfiguration.getConfiguration());
+		assertFalse(quiet.getExecutionContext().isStageLogging());
+		assertTrue(other.getExecutionContext().isStageLogging());
+		quiet.getExecutionContext().cancel();
+		assertTrue(quiet.getExecutionContext().isCancelled());
+		assertFalse(other.getExecutionContext().isCancelled());
+	}
+
+	@Test
+	public void testCancel() throws ElkException {
+		Reasoner reasoner = createReasoner(loader,
+				ReasonerConfiguration.getConfiguration());
+		reasoner.getExecutionContext().cancel();
+		try {
+			reasoner.getTaxonomy();
+			fail("cancelled reasoner must be interrupted");
+		} catch (ElkInterruptedException e) {
+			// expected
+		}
+		assertFalse(reasoner.getExecutionContext().isCancelled());
+		reasoner.getTaxonomy();
+	}
+
+}
@@ -0,0 +1,150 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+public class MappedTaxonomyTest {
+
+	private final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Taxonomy<ElkClass> getTaxonomy(final String resource)
+			throws Exception {
+		try (InputStream stream = getClass().getClassLoader()
+				.getResourceAsStream(resource)) {
+			final Reasoner reasoner = TestReasonerUtils
+					.createTestReasoner(stream, 1);
+			return TestIncompleteness.getValue(reasoner.getTaxonomy());
+		}
+	}
+
+	private Taxonomy<ElkObjectProperty> getObjectPropertyTaxonomy(
+			final String resource) throws Exception {
+		try (InputStream stream = getClass().getClassLoader()
+				.getResourceAsStream(resource)) {
+			final Reasoner reasoner = TestReasonerUtils
+					.createTestReasoner(stream, 1);
+			return TestIncompleteness
+					.getValue(reasoner.getObjectPropertyTaxonomy());
+		}
+	}
+
+	private ElkClass getClass(final String name) {
+		return objectFactory
+				.getClass(new ElkFullIri("http://example.org/" + name));
+	}
+
+	@Test
+	public void classTaxonomyRoundtrip() throws Exception {
+		final Taxonomy<ElkClass> original = getTaxonomy("io/taxonomy.owl");
+		for (final boolean closure : new boolean[] { false, true }) {
+			final MappedTaxonomy<ElkClass> mapped = writeAndOpen(original,
+					closure);
+			assertEquals(closure, mapped.hasClosure());
+			assertEquals(original.getNodes().size(), mapped.getNodeCount());
+			assertEquals(TaxonomyHasher.hash(original),
+					TaxonomyHasher.hash(mapped));
+			assertTrue(original.equals(mapped));
+			assertTrue(mapped.equals(original));
+			for (final TaxonomyNode<ElkClass> node : original.getNodes()) {
+				final TaxonomyNode<ElkClass> copy = mapped
+						.getNode(node.getCanonicalMember());
+				assertEquals(node.getCanonicalMember(),
+						copy.getCanonicalMember());
+				assertEquals(node.getAllSuperNodes().size(),
+						copy.getAllSuperNodes().size());
+				for (final TaxonomyNode<ElkClass> sup : node
+						.getAllSuperNodes()) {
+					assertTrue(copy.getAllSuperNodes().contains(
+							mapped.getNode(sup.getCanonicalMember())));
+				}
+				assertEquals(node.getAllSubNodes().size(),
+						copy.getAllSubNodes().size());
+			}
+			assertEquals(mapped.getNode(getClass("A")),
+					mapped.getNode(getClass("B")));
+			assertEquals(3, mapped.getNode(getClass("E")).size());
+			assertTrue(mapped.getBottomNode().contains(getClass("K")));
+			assertTrue(mapped.getTopNode().contains(getClass("H")));
+			assertTrue(mapped.getNode(getClass("D")).getAllSuperNodes()
+					.contains(mapped.getNode(getClass("A"))));
+			assertFalse(mapped.getNode(getClass("A")).getAllSuperNodes()
+					.contains(mapped.getNode(getClass("D"))));
+			assertNull(mapped.getNode(getClass("Z")));
+		}
+	}
+
+	@Test
+	public void objectPropertyTaxonomyRoundtrip() throws Exception {
+		final Taxonomy<ElkObjectProperty> original = getObjectPropertyTaxonomy(
+				"io/property_taxonomy.owl");
+		final Path file = folder.newFile().toPath();
+		MappedTaxonomy.write(original, file, true);
+		final MappedTaxonomy<ElkObjectProperty> mapped = MappedTaxonomy
+				.openObjectPropertyTaxonomy(file, objectFactory);
+		assertEquals(TaxonomyHasher.hash(original),
+				TaxonomyHasher.hash(mapped));
+		assertTrue(original.equals(mapped));
+	}
+
+	@Test(expected = IOException.class)
+	public void notATaxonomy() throws Exception {
+		final Path file = folder.newFile().toPath();
+		Files.write(file, new byte[64]);
+		MappedTaxonomy.openClassTaxonomy(file, objectFactory);
+	}
+
+	private MappedTaxonomy<ElkClass> writeAndOpen(
+			final Taxonomy<ElkClass> taxonomy, final boolean closure)
+			throws IOException, ElkException {
+		final Path file = folder.newFile().toPath();
+		MappedTaxonomy.write(taxonomy, file, closure);
+		return MappedTaxonomy.openClassTaxonomy(file, objectFactory);
+	}
+
+}
@@ -0,0 +1,171 @@
+package org.semanticweb.elk.reasoner.taxonomy;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+public class SnapshotTaxonomyTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private TestChangesLoader loader;
+	private Reasoner reasoner;
+
+	ElkClass a, b, c;
+
+	@Before
+	public void initReasoner() {
+		loader = new TestChangesLoader();
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.TAXONOMY_SNAPSHOTS_PUBLISHED,
+				"true");
+		reasoner = TestReasonerUtils.createTestReasoner(loader, config);
+		a = objectFactory.getClass(new ElkFullIri(":A"));
+		b = objectFactory.getClass(new ElkFullIri(":B"));
+		c = objectFactory.getClass(new ElkFullIri(":C"));
+	}
+
+	private Taxonomy<ElkClass> getTaxonomy() throws ElkException {
+		return Incompleteness.getValue(reasoner.getTaxonomy());
+	}
+
+	@Test
+	public void testSnapshotMatchesTaxonomy() throws ElkException {
+		loader.add(objectFactory.getSubClassOfAxiom(a, b))
+				.add(objectFactory.getSubClassOfAxiom(b, c));
+		assertNull(reasoner.getTaxonomySnapshot());
+
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		SnapshotTaxonomy<ElkClass> snapshot = reasoner.getTaxonomySnapshot();
+
+		assertEquals(1, snapshot.getVersion());
+		assertEquals(taxonomy, snapshot);
+		assertTrue(snapshot.getNode(a).getAllSuperNodes()
+				.contains(snapshot.getNode(c)));
+		assertSame(snapshot.getTopNode(),
+				snapshot.getNode(objectFactory.getOwlThing()));
+		// no change, no new version
+		getTaxonomy();
+		assertSame(snapshot, reasoner.getTaxonomySnapshot());
+	}
+
+	@Test
+	public void testNewVersionAfterChange() throws ElkException {
+		loader.add(objectFactory.getSubClassOfAxiom(a, c))
+				.add(objectFactory.getSubClassOfAxiom(b, c));
+		getTaxonomy();
+		SnapshotTaxonomy<ElkClass> first = reasoner.getTaxonomySnapshot();
+
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		SnapshotTaxonomy<ElkClass> second = reasoner.getTaxonomySnapshot();
+
+		assertEquals(2, second.getVersion());
+		assertEquals(taxonomy, second);
+		assertTrue(second.getNode(a).getDirectSuperNodes()
+				.contains(second.getNode(b)));
+		// the old snapshot is not affected by the change
+		assertFalse(first.getNode(a).getDirectSuperNodes()
+				.contains(first.getNode(b)));
+		assertTrue(first.getNode(a).getDirectSuperNodes()
+				.contains(first.getNode(c)));
+	}
+
+	@Test
+	public void testPublishedByInstanceTaxonomy() throws ElkException {
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+		reasoner.getInstanceTaxonomy();
+		SnapshotTaxonomy<ElkClass> snapshot = reasoner.getTaxonomySnapshot();
+
+		assertEquals(1, snapshot.getVersion());
+		assertEquals(getTaxonomy(), snapshot);
+	}
+
+	@Test
+	public void testPublishedWhenEnabled() throws ElkException {
+		reasoner.setPublishTaxonomySnapshots(false);
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		assertNull(reasoner.getTaxonomySnapshot());
+
+		reasoner.setPublishTaxonomySnapshots(true);
+		assertEquals(taxonomy, reasoner.getTaxonomySnapshot());
+	}
+
+	@Test
+	public void testInconsistentSnapshot() throws ElkException {
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+		getTaxonomy();
+		SnapshotTaxonomy<ElkClass> consistent = reasoner.getTaxonomySnapshot();
+
+		loader.add(objectFactory.getSubClassOfAxiom(objectFactory.getOwlThing(),
+				objectFactory.getOwlNothing()));
+		assertTrue(Incompleteness.getValue(reasoner.isInconsistent()));
+		SnapshotTaxonomy<ElkClass> inconsistent = reasoner
+				.getTaxonomySnapshot();
+
+		assertEquals(2, inconsistent.getVersion());
+		assertSame(inconsistent.getBottomNode(), inconsistent.getNode(a));
+		assertSame(inconsistent.getBottomNode(), inconsistent.getNode(b));
+		// the old snapshot is not affected by the change
+		assertTrue(consistent.getNode(a).getDirectSuperNodes()
+				.contains(consistent.getNode(b)));
+		// already published for the inconsistent ontology
+		Incompleteness.getValue(reasoner.getTaxonomyQuietly());
+		assertSame(inconsistent, reasoner.getTaxonomySnapshot());
+
+		loader.remove(objectFactory.getSubClassOfAxiom(
+				objectFactory.getOwlThing(), objectFactory.getOwlNothing()));
+		Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		SnapshotTaxonomy<ElkClass> restored = reasoner.getTaxonomySnapshot();
+
+		assertEquals(3, restored.getVersion());
+		assertEquals(taxonomy, restored);
+	}
+
+	@Test
+	public void testDisabled() throws ElkException {
+		reasoner.setPublishTaxonomySnapshots(false);
+		loader.add(objectFactory.getSubClassOfAxiom(a, b));
+		getTaxonomy();
+		assertNull(reasoner.getTaxonomySnapshot());
+	}
+
+}
@@ -21,6 +21,10 @@
  */
 package org.semanticweb.elk.reasoner.tracing;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,6 +45,7 @@
 import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
 import org.semanticweb.elk.reasoner.Reasoner;
 import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +86,68 @@ public void testBasicTracing() throws Exception {
 		TracingTestUtils.checkTracingCompleteness(a, d, reasoner);
 	}
 
+	@Test
+	@SuppressWarnings("static-method")
+	public void testBatchTracing() throws Exception {
+		Reasoner reasoner = TestReasonerUtils
+				.loadAndClassify(TestReasonerUtils.loadAxioms("tracing/DuplicateExistential.owl"));
+		ElkObject.Factory factory = new ElkObjectEntityRecyclingFactory();
+		ElkClass a = factory.getClass(new ElkFullIri("http://example.org/A"));
+		ElkClass d = factory.getClass(new ElkFullIri("http://example.org/D"));
+		ElkClass e = factory.getClass(new ElkFullIri("http://example.org/E"));
+
+		List<Conclusion> conclusions = new ArrayList<Conclusion>();
+		conclusions.addAll(TracingTestUtils
+				.getDerivedConclusionsForSubsumption(a, d, reasoner));
+		conclusions.addAll(TracingTestUtils
+				.getDerivedConclusionsForSubsumption(e, d, reasoner));
+		reasoner.traceInferences(conclusions);
+
+		for (Conclusion conclusion : conclusions) {
+			assertFalse(reasoner.getProof().getInferences(conclusion).isEmpty());
+		}
+		TracingTestUtils.checkTracingCompleteness(a, d, reasoner);
+		TracingTestUtils.checkTracingCompleteness(e, d, reasoner);
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testBatchTracingSmallEvictor() throws Exception {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.TRACING_EVICTOR,
+				"RecencyEvictor(1,0.75)");
+		final TestChangesLoader loader = new TestChangesLoader();
+		for (ElkAxiom axiom : TestReasonerUtils
+				.loadAxioms("tracing/DuplicateExistential.owl")) {
+			loader.add(axiom);
+		}
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				config);
+		reasoner.getTaxonomy();
+		ElkObject.Factory factory = new ElkObjectEntityRecyclingFactory();
+		ElkClass a = factory.getClass(new ElkFullIri("http://example.org/A"));
+		ElkClass d = factory.getClass(new ElkFullIri("http://example.org/D"));
+		ElkClass e = factory.getClass(new ElkFullIri("http://example.org/E"));
+
+		List<Conclusion> conclusions = new ArrayList<Conclusion>();
+		conclusions.addAll(TracingTestUtils
+				.getDerivedConclusionsForSubsumption(a, d, reasoner));
+		conclusions.addAll(TracingTestUtils
+				.getDerivedConclusionsForSubsumption(e, d, reasoner));
+		assertTrue(conclusions.size() > 1);
+		reasoner.traceInferences(conclusions);
+
+		// the batch must not evict its own results
+		final TraceState.Stats stats = (TraceState.Stats) reasoner
+				.getStatsNestedInTraceSate();
+		final int misses = stats.nCacheMisses();
+		for (Conclusion conclusion : conclusions) {
+			assertFalse(reasoner.getProof().getInferences(conclusion).isEmpty());
+		}
+		assertEquals(misses, stats.nCacheMisses());
+	}
+
 	@Test
 	@SuppressWarnings("static-method")
 	public void testInconsistency() throws Exception {
@@ -31,7 +31,8 @@
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.owlapi.ElkReasoner;
+import org.semanticweb.elk.reasoner.stages.ReasonerExecutionContext;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -44,6 +45,7 @@
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -218,7 +220,29 @@ public int getMisMatchCount() {
 	}
 
 	public void generate(SnomedRoles roles) {
-		Reasoner.processingNecessaryNormalForm = true;
+		OWLReasoner reasoner = ontology.getReasoner();
+		if (!(reasoner instanceof ElkReasoner))
+			throw new IllegalArgumentException("The ontology must be classified by an ElkReasoner: " + reasoner);
+		// The entailment checks would otherwise log every stage they execute
+		ReasonerExecutionContext context = ((ElkReasoner) reasoner).getInternalReasoner().getExecutionContext();
+		boolean stageLogging = context.isStageLogging();
+		context.setStageLogging(false);
+		try {
+			generateNNFs(roles);
+		} finally {
+			context.setStageLogging(stageLogging);
+		}
+		LOG.info("Mis match: " + mis_match_cnt);
+		LOG.info("Mis match ungrouped: " + mis_match_roles_ungrouped_cnt + " roles " + mis_match_props_ungrouped_cnt
+				+ " props");
+		LOG.info("Mis match grouped: " + mis_match_roles_grouped_cnt + " roles " + mis_match_props_grouped_cnt
+				+ " props");
+		LOG.info("Mis match grouping issue: " + mis_match_grouping_issue_cnt);
+		LOG.info("SCOE: " + scoe_cnt);
+		LOG.info("SCOE chained: " + scoe_chained_cnt + " " + (scoe_chained_cnt * 100 / scoe_cnt) + "%");
+	}
+
+	private void generateNNFs(SnomedRoles roles) {
 		int cnt = 0;
 		for (OWLClass concept : concepts) {
 			if (++cnt % 50000 == 0)
@@ -237,15 +261,6 @@ public void generate(SnomedRoles roles) {
 			}
 		}
 		LOG.info("Generate: " + cnt);
-		Reasoner.processingNecessaryNormalForm = false;
-		LOG.info("Mis match: " + mis_match_cnt);
-		LOG.info("Mis match ungrouped: " + mis_match_roles_ungrouped_cnt + " roles " + mis_match_props_ungrouped_cnt
-				+ " props");
-		LOG.info("Mis match grouped: " + mis_match_roles_grouped_cnt + " roles " + mis_match_props_grouped_cnt
-				+ " props");
-		LOG.info("Mis match grouping issue: " + mis_match_grouping_issue_cnt);
-		LOG.info("SCOE: " + scoe_cnt);
-		LOG.info("SCOE chained: " + scoe_chained_cnt + " " + (scoe_chained_cnt * 100 / scoe_cnt) + "%");
 	}
 
 	private NecessaryNormalForm mergeNNFs(List<NecessaryNormalForm> nnfs) {
@@ -20,8 +20,13 @@
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -65,25 +70,96 @@ public class OwlTransformer {
 
 	HashMap<OWLDataProperty, ConcreteRoleType> dataPropertyTypes = new HashMap<>();
 
+	// Only reads the map if the concept exists, see transformParallel
 	private Concept getConcept(OWLClass clazz) {
-		long id = SnomedOwlOntology.getId(clazz);
-		concepts.putIfAbsent(clazz, new Concept(id));
-		return concepts.get(clazz);
+		Concept concept = concepts.get(clazz);
+		if (concept == null) {
+			concept = new Concept(SnomedOwlOntology.getId(clazz));
+			concepts.put(clazz, concept);
+		}
+		return concept;
 	}
 
 	private RoleType getRoleType(OWLObjectProperty prop) {
-		long id = SnomedOwlOntology.getId(prop);
-		roleTypes.putIfAbsent(prop, new RoleType(id));
-		return roleTypes.get(prop);
+		RoleType roleType = roleTypes.get(prop);
+		if (roleType == null) {
+			roleType = new RoleType(SnomedOwlOntology.getId(prop));
+			roleTypes.put(prop, roleType);
+		}
+		return roleType;
 	}
 
 	private ConcreteRoleType getDataPropertyType(OWLDataProperty prop) {
-		long id = SnomedOwlOntology.getId(prop);
-		dataPropertyTypes.putIfAbsent(prop, new ConcreteRoleType(id));
-		return dataPropertyTypes.get(prop);
+		ConcreteRoleType dataPropertyType = dataPropertyTypes.get(prop);
+		if (dataPropertyType == null) {
+			dataPropertyType = new ConcreteRoleType(SnomedOwlOntology.getId(prop));
+			dataPropertyTypes.put(prop, dataPropertyType);
+		}
+		return dataPropertyType;
 	}
 
 	public SnomedOntology transform(SnomedOwlOntology ontology) {
+		transformProperties(ontology);
+		for (OWLClass clazz : ontology.getOwlClasses()) {
+			transform(clazz, ontology.getAxioms(clazz), ontology.getGciAxioms(clazz));
+		}
+		return new SnomedOntology(concepts.values(), roleTypes.values(), dataPropertyTypes.values());
+	}
+
+	public SnomedOntology transformParallel(SnomedOwlOntology ontology) {
+		return transformParallel(ontology, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Same concepts, role types and definitions as
+	 * {@link #transform(SnomedOwlOntology)}, but the classes are transformed with
+	 * the given number of threads. The properties are transformed first and the
+	 * axioms of every class are looked up before the classes are partitioned, all
+	 * on the calling thread, since the ontology manager is not thread safe. The
+	 * concepts of all the classes are created up front as well, so that the
+	 * workers only read the maps. The order of the concepts may differ from the
+	 * one of {@link #transform(SnomedOwlOntology)}.
+	 */
+	public SnomedOntology transformParallel(SnomedOwlOntology ontology, int parallelism) {
+		transformProperties(ontology);
+		List<OWLClass> classes = new ArrayList<>(ontology.getOwlClasses());
+		List<Set<OWLClassAxiom>> axioms = new ArrayList<>(classes.size());
+		List<Set<OWLSubClassOfAxiom>> gcis = new ArrayList<>(classes.size());
+		// Every class of an axiom is in the signature of the ontology
+		for (OWLClass clazz : classes) {
+			getConcept(clazz);
+			axioms.add(ontology.getAxioms(clazz));
+			gcis.add(ontology.getGciAxioms(clazz));
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.submit(() -> IntStream.range(0, classes.size()).parallel()
+					.forEach(i -> transform(classes.get(i), axioms.get(i), gcis.get(i)))).get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ex);
+		} catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return new SnomedOntology(concepts.values(), roleTypes.values(), dataPropertyTypes.values());
+	}
+
+	// Only the thread that transforms a class adds definitions to its concept
+	private void transform(OWLClass clazz, Set<OWLClassAxiom> axioms, Set<OWLSubClassOfAxiom> gcis) {
+		Concept concept = getConcept(clazz);
+		for (OWLClassAxiom axiom : axioms) {
+			Definition def = createDefinition(clazz, axiom, false);
+			concept.addDefinition(def);
+		}
+		for (OWLSubClassOfAxiom axiom : gcis) {
+			Definition def = createDefinition(clazz, axiom, true);
+			concept.addGciDefinition(def);
+		}
+	}
+
+	private void transformProperties(SnomedOwlOntology ontology) {
 		for (OWLObjectProperty prop : ontology.getOwlObjectProperties()) {
 			getRoleType(prop);
 		}
@@ -123,18 +199,6 @@ public SnomedOntology transform(SnomedOwlOntology ontology) {
 			OWLDataProperty prop2 = ax.getSuperProperty().asOWLDataProperty();
 			getDataPropertyType(prop1).addSuperConcreteRoleType(getDataPropertyType(prop2));
 		}
-		for (OWLClass clazz : ontology.getOwlClasses()) {
-			Concept concept = getConcept(clazz);
-			for (OWLClassAxiom axiom : ontology.getAxioms(clazz)) {
-				Definition def = createDefinition(clazz, axiom, false);
-				concept.addDefinition(def);
-			}
-			for (OWLSubClassOfAxiom axiom : ontology.getGciAxioms(clazz)) {
-				Definition def = createDefinition(clazz, axiom, true);
-				concept.addGciDefinition(def);
-			}
-		}
-		return new SnomedOntology(concepts.values(), roleTypes.values(), dataPropertyTypes.values());
 	}
 
 	private Definition createDefinition(OWLClass concept, OWLClassAxiom axiom, boolean isGci) {
@@ -24,14 +24,21 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.owlapi.ElkReasoner;
 import org.semanticweb.elk.owlapi.ElkReasonerFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.owlapi.OWLAPIConfigProvider;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxOWLParser;
@@ -45,6 +52,8 @@
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
@@ -56,7 +65,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.ikm.elk.snomed.LongDag;
+import dev.ikm.elk.snomed.OwlRefsetReader;
+import dev.ikm.elk.snomed.Rf2Reader;
 import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedTaxonomyExport;
 
 public class SnomedOwlOntology {
 
@@ -78,6 +91,9 @@ public class SnomedOwlOntology {
 
 	private HashMap<Long, OWLObjectProperty> objectPropertyMap;
 
+	// Registered with the ontology manager until dispose
+	private final OWLOntologyChangeListener gciListener = this::updateGciAxioms;
+
 	public OWLOntology getOntology() {
 		return ontology;
 	}
@@ -95,18 +111,32 @@ private SnomedOwlOntology(OWLOntologyManager mgr) throws OWLOntologyCreationExce
 		this.dataFactory = mgr.getOWLDataFactory();
 	}
 
+	/**
+	 * Removes the listener that keeps the GCI axioms current from the ontology
+	 * manager and disposes the reasoner, if any. The ontology should not be
+	 * used after this.
+	 */
+	public void dispose() {
+		getOntologyManager().removeOntologyChangeListener(gciListener);
+		if (reasoner != null) {
+			reasoner.dispose();
+			reasoner = null;
+		}
+	}
+
 	public OWLOntologyManager getOntologyManager() {
 		return ontology.getOWLOntologyManager();
 	}
 
 	public static List<String> readAxioms(Path file) throws IOException {
 		// id effectiveTime active moduleId refsetId referencedComponentId owlExpression
-		try (Stream<String> st = Files.lines(file)) {
-			return st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.map(fields -> fields[6]) //
-					.collect(Collectors.toCollection(ArrayList::new));
-		}
+		List<ArrayList<String>> chunks = Rf2Reader.read(file, ArrayList<String>::new, (axioms, row) -> {
+			if (row.isActive())
+				axioms.add(row.getString(6)); // owlExpression
+		});
+		ArrayList<String> axioms = new ArrayList<>(chunks.stream().mapToInt(List::size).sum());
+		chunks.forEach(axioms::addAll);
+		return axioms;
 	}
 
 	public static List<String> getPrefixDeclaration(List<String> lines) {
@@ -133,7 +163,10 @@ public static List<String> readOntology(Path file) throws IOException {
 
 	public static SnomedOwlOntology createOntology() throws Exception {
 		OWLOntologyManager mgr = OWLManager.createOWLOntologyManager();
-		return new SnomedOwlOntology(mgr);
+		SnomedOwlOntology ret = new SnomedOwlOntology(mgr);
+		// registered once the ontology is constructed
+		mgr.addOntologyChangeListener(ret.gciListener);
+		return ret;
 	}
 
 	public void writeOntology(Path path) throws Exception {
@@ -158,18 +191,76 @@ public Set<OWLAxiom> getAxioms() {
 
 	private Set<OWLSubClassOfAxiom> gci_axioms = null;
 
-	public Set<OWLSubClassOfAxiom> getGciAxioms() {
-		if (gci_axioms == null)
-			gci_axioms = getAxioms().stream().filter(ax -> ax instanceof OWLSubClassOfAxiom) //
+	// GCI axioms indexed by their super class, built together with gci_axioms
+	private HashMap<OWLClass, Set<OWLSubClassOfAxiom>> gci_index = null;
+
+	private static boolean isGci(OWLAxiom ax) {
+		return ax instanceof OWLSubClassOfAxiom sub && !sub.getSubClass().isClassExpressionLiteral();
+	}
+
+	/**
+	 * @return a copy of the GCI axioms of the ontology; it does not follow later
+	 *         changes
+	 */
+	public synchronized Set<OWLSubClassOfAxiom> getGciAxioms() {
+		initGciAxioms();
+		return Set.copyOf(gci_axioms);
+	}
+
+	private void initGciAxioms() {
+		if (gci_axioms == null) {
+			gci_axioms = getAxioms().stream().filter(SnomedOwlOntology::isGci) //
 					.map(ax -> ((OWLSubClassOfAxiom) ax)) //
-					.filter(ax -> !ax.getSubClass().isClassExpressionLiteral()) //
 					.collect(Collectors.toCollection(HashSet::new));
-		return gci_axioms;
+			gci_index = new HashMap<>();
+			gci_axioms.forEach(this::indexGci);
+		}
+	}
+
+	/**
+	 * @return a copy of the GCI axioms with the class as super class; it does not
+	 *         follow later changes
+	 */
+	public synchronized Set<OWLSubClassOfAxiom> getGciAxioms(OWLClass clazz) {
+		initGciAxioms();
+		Set<OWLSubClassOfAxiom> gcis = gci_index.get(clazz);
+		if (gcis == null)
+			return Collections.emptySet();
+		return Set.copyOf(gcis);
+	}
+
+	private void indexGci(OWLSubClassOfAxiom ax) {
+		if (ax.getSuperClass().isAnonymous())
+			return;
+		gci_index.computeIfAbsent(ax.getSuperClass().asOWLClass(), x -> new HashSet<>()).add(ax);
+	}
+
+	private void unindexGci(OWLSubClassOfAxiom ax) {
+		if (ax.getSuperClass().isAnonymous())
+			return;
+		OWLClass sup = ax.getSuperClass().asOWLClass();
+		Set<OWLSubClassOfAxiom> gcis = gci_index.get(sup);
+		if (gcis != null && gcis.remove(ax) && gcis.isEmpty())
+			gci_index.remove(sup);
 	}
 
-	public Set<OWLSubClassOfAxiom> getGciAxioms(OWLClass clazz) {
-		return getGciAxioms().stream().filter(ax -> ax.getSuperClass().equals(clazz))
-				.collect(Collectors.toCollection(HashSet::new));
+	// Keeps the GCI cache current with the axioms added or removed through the
+	// ontology manager
+	private synchronized void updateGciAxioms(List<? extends OWLOntologyChange> changes) {
+		if (gci_axioms == null)
+			return;
+		for (OWLOntologyChange change : changes) {
+			if (change.getOntology() != ontology || !change.isAxiomChange() || !isGci(change.getAxiom()))
+				continue;
+			OWLSubClassOfAxiom ax = (OWLSubClassOfAxiom) change.getAxiom();
+			if (change.isAddAxiom()) {
+				if (gci_axioms.add(ax))
+					indexGci(ax);
+			} else if (change.isRemoveAxiom()) {
+				if (gci_axioms.remove(ax))
+					unindexGci(ax);
+			}
+		}
 	}
 
 	public static long getId(OWLClass clazz) {
@@ -227,9 +318,62 @@ public void loadOntology(Set<OWLAxiom> axioms) {
 		initMaps();
 	}
 
+	// The number of OWL expressions of a refset file that are parsed as one
+	// document
+	private static final int EXPRESSIONS_PER_PARSE = 10_000;
+
+	/**
+	 * Loads the ontology of an OWL refset file, see {@link #readOntology(Path)}.
+	 * The OWL API parser reads its whole input into memory, so the OWL
+	 * expressions are streamed from the file and parsed a chunk at a time, each
+	 * chunk as a document with the prefix and ontology declarations of the
+	 * file.
+	 */
 	public void loadOntology(Path file) throws Exception {
-		List<String> lines = readOntology(file);
-		loadOntology(lines);
+		loadOntology(file, EXPRESSIONS_PER_PARSE);
+	}
+
+	// Same as loadOntology(Path), with the number of OWL expressions parsed as
+	// one document as a parameter, so that the tests can load several chunks
+	void loadOntology(Path file, int expressionsPerParse) throws Exception {
+		if (expressionsPerParse < 1)
+			throw new IllegalArgumentException("Expressions per parse: " + expressionsPerParse);
+		OWLOntologyLoaderConfiguration config = new OWLAPIConfigProvider().get();
+		try (OwlRefsetReader reader = OwlRefsetReader.open(file)) {
+			StringBuilder header = new StringBuilder();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				header.append(line).append('\n');
+				if (line.startsWith("Ontology"))
+					break;
+			}
+			StringBuilder doc = new StringBuilder(header);
+			int count = 0;
+			boolean parsed = false;
+			line = reader.readLine();
+			while (line != null) {
+				String next = reader.readLine();
+				if (next == null)
+					break; // the closing parenthesis
+				doc.append(line).append('\n');
+				if (++count == expressionsPerParse) {
+					parse(doc, config);
+					parsed = true;
+					doc.setLength(0);
+					doc.append(header);
+					count = 0;
+				}
+				line = next;
+			}
+			if (count != 0 || !parsed)
+				parse(doc, config);
+		}
+		initMaps();
+	}
+
+	private void parse(StringBuilder doc, OWLOntologyLoaderConfiguration config) throws Exception {
+		doc.append(")\n");
+		new OWLFunctionalSyntaxOWLParser().parse(new StringDocumentSource(doc.toString()), ontology, config);
 	}
 
 	public void loadOntology(List<String> lines) throws Exception {
@@ -272,15 +416,58 @@ public Set<OWLClass> getSuperClasses(OWLClass clazz) {
 		return sups;
 	}
 
+	/**
+	 * @return the direct super classes of every class, exported from the
+	 *         taxonomy of the ELK reasoner in one walk; as for
+	 *         {@link #getSuperClasses(long)}, the unsatisfiable classes are
+	 *         mapped to the direct super classes of owl:Nothing and the
+	 *         classes equivalent to owl:Thing to the empty set
+	 */
 	public HashMap<Long, Set<Long>> getSuperClasses() {
-		HashMap<Long, Set<Long>> superClasses = new HashMap<>();
-		for (OWLClass concept : ontology.getClassesInSignature()) {
-			long id = SnomedOwlOntology.getId(concept);
-			superClasses.put(id, getSuperClasses(id));
+		Taxonomy<ElkClass> taxonomy = getClassTaxonomy();
+		HashMap<Long, Set<Long>> superClasses = SnomedTaxonomyExport.getSuperClasses(taxonomy, true)
+				.toParentsMap();
+		// the export leaves out the top and bottom nodes
+		for (TaxonomyNode<ElkClass> node : List.of(taxonomy.getTopNode(), taxonomy.getBottomNode())) {
+			Set<Long> sups = new HashSet<>();
+			for (TaxonomyNode<ElkClass> sup : node.getDirectSuperNodes()) {
+				for (ElkClass member : sup) {
+					if (!member.getIri().equals(PredefinedElkIris.OWL_THING))
+						sups.add(SnomedTaxonomyExport.getId(member));
+				}
+			}
+			for (ElkClass member : node) {
+				if (member.getIri().equals(PredefinedElkIris.OWL_THING)
+						|| member.getIri().equals(PredefinedElkIris.OWL_NOTHING))
+					continue;
+				superClasses.put(SnomedTaxonomyExport.getId(member), new HashSet<>(sups));
+			}
 		}
 		return superClasses;
 	}
 
+	/**
+	 * @return the direct super classes of the satisfiable classes that are not
+	 *         equivalent to owl:Thing; unlike {@link #getSuperClasses()}, the
+	 *         unsatisfiable classes are left out
+	 */
+	public LongDag getSuperClassesDag() {
+		return SnomedTaxonomyExport.getSuperClasses(getClassTaxonomy(), true);
+	}
+
+	private Taxonomy<ElkClass> getClassTaxonomy() {
+		try {
+			return Incompleteness.getValue(getElkReasoner().getTaxonomy());
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Reasoner getElkReasoner() {
+		return ((ElkReasoner) reasoner).getInternalReasoner();
+	}
+
 	public Set<Long> getSubClasses(long id) {
 		OWLClass clazz = getOwlClass(id);
 		return getSubClasses(clazz).stream().map(SnomedOwlOntology::getId).collect(Collectors.toSet());
@@ -308,12 +495,32 @@ public Set<OWLObjectProperty> getSuperObjectProperties(OWLObjectProperty prop, b
 		return sups;
 	}
 
+	/**
+	 * @return the direct or all super object properties of every object
+	 *         property, exported from the taxonomy of the ELK reasoner in one
+	 *         walk
+	 */
 	public HashMap<Long, Set<Long>> getSuperObjectProperties(boolean direct) {
+		LongDag dag = getSuperObjectPropertiesDag();
+		if (direct)
+			return dag.toParentsMap();
 		HashMap<Long, Set<Long>> superObjectProperties = new HashMap<>();
-		for (OWLObjectProperty prop : ontology.getObjectPropertiesInSignature()) {
-			superObjectProperties.put(getId(prop), getSuperObjectProperties(getId(prop), direct));
+		for (int i = 0; i < dag.size(); i++) {
+			HashSet<Long> sups = new HashSet<>();
+			dag.forEachAncestor(dag.getId(i), sups::add);
+			superObjectProperties.put(dag.getId(i), sups);
 		}
 		return superObjectProperties;
 	}
 
+	public LongDag getSuperObjectPropertiesDag() {
+		try {
+			return SnomedTaxonomyExport
+					.getSuperObjectProperties(Incompleteness.getValue(getElkReasoner().getObjectPropertyTaxonomy()), false);
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 }
@@ -0,0 +1,125 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.LongDag;
+import dev.ikm.elk.snomed.ReachabilityIndex;
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedIsa;
+
+public class LongDagTest {
+
+	private static final long root = SnomedIds.root;
+
+	@Test
+	public void dag() {
+		LongDag dag = LongDag.builder().addNode(root).addEdge(102, root).addEdge(103, root).addEdge(104, 103)
+				.addEdge(104, 102).addEdge(104, 102).build();
+		assertEquals(4, dag.size());
+		assertEquals(-1, dag.indexOf(105));
+		assertEquals(Set.of(102L, 103L), dag.getParents(104));
+		assertEquals(2, dag.getParentCount(dag.indexOf(104)));
+		assertEquals(Set.of(102L, 103L), dag.getChildren(root));
+		assertEquals(Set.of(), dag.getParents(105));
+		assertTrue(dag.hasParent(104, 102));
+		assertFalse(dag.hasParent(104, root));
+		assertTrue(dag.hasChild(103, 104));
+		assertTrue(dag.hasAncestor(104, root));
+		assertFalse(dag.hasAncestor(root, 104));
+		assertFalse(dag.hasAncestor(102, 103));
+		HashSet<Long> ancestors = new HashSet<>();
+		dag.forEachAncestor(104, ancestors::add);
+		assertEquals(Set.of(root, 102L, 103L), ancestors);
+		LongDag copy = dag.toBuilder().addEdge(105, 104).build();
+		assertEquals(5, copy.size());
+		assertTrue(copy.hasAncestor(105, root));
+		assertEquals(dag.getParents(104), copy.getParents(104));
+	}
+
+	@Test
+	public void chain() {
+		// only the edges mention the ids, so the builder table has to grow
+		LongDag.Builder builder = LongDag.builder();
+		for (long id = 1; id < 1000; id++)
+			builder.addEdge(id + 1, id);
+		LongDag dag = builder.build();
+		assertEquals(1000, dag.size());
+		for (long id = 1; id <= 1000; id++)
+			assertEquals(id, dag.getId(dag.indexOf(id)));
+		assertTrue(dag.hasAncestor(1000, 1));
+		// the consumer may traverse the graph while it is traversed
+		HashSet<Long> ancestors = new HashSet<>();
+		dag.forEachAncestor(500, id -> {
+			assertTrue(dag.hasAncestor(id, 1) || id == 1);
+			assertFalse(dag.hasAncestor(id, 500));
+			ancestors.add(id);
+		});
+		assertEquals(499, ancestors.size());
+	}
+
+	@Test
+	public void isa() {
+		HashMap<Long, Set<Long>> parents = new HashMap<>();
+		parents.put(root, Set.of());
+		parents.put(102L, Set.of(root));
+		parents.put(103L, Set.of(root));
+		parents.put(104L, Set.of(102L, 103L));
+		parents.put(105L, Set.of(104L));
+		SnomedIsa isa = SnomedIsa.init(parents);
+		assertEquals(parents, isa.getParentsMap());
+		assertEquals(Set.of(root, 102L, 103L, 104L), isa.getChildrenMap().keySet());
+		assertEquals(root, isa.getConcepts().getFirst());
+		assertEquals(List.of(104L, 105L), isa.getConcepts().subList(3, 5));
+		assertEquals(Set.of(root, 102L, 103L, 104L), isa.getAncestors(105));
+		assertTrue(isa.hasAncestor(105, 103));
+		assertFalse(isa.hasAncestor(103, 105));
+	}
+
+	@Test
+	public void reachability() {
+		// 105 is below 102 only through a non tree edge
+		LongDag dag = LongDag.builder().addEdge(102, root).addEdge(103, root).addEdge(104, 103).addEdge(105, 104)
+				.addEdge(105, 102).addEdge(106, 102).build();
+		ReachabilityIndex index = ReachabilityIndex.of(dag);
+		for (int i = 0; i < dag.size(); i++) {
+			for (int j = 0; j < dag.size(); j++) {
+				long id = dag.getId(i);
+				long ancestor = dag.getId(j);
+				assertEquals(dag.hasAncestor(id, ancestor), index.hasAncestor(id, ancestor), id + " " + ancestor);
+			}
+		}
+		assertTrue(index.hasAncestor(105, 102));
+		assertFalse(index.hasAncestor(106, 103));
+		assertFalse(index.hasAncestor(107, root));
+	}
+
+}
@@ -21,22 +21,34 @@
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.ikm.elk.snomed.LongDag;
 import dev.ikm.elk.snomed.NecessaryNormalFormBuilder;
+import dev.ikm.elk.snomed.ReachabilityIndex;
+import dev.ikm.elk.snomed.SnomedClassificationDelta;
+import dev.ikm.elk.snomed.SnomedIds;
 import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
 import dev.ikm.elk.snomed.model.Concept;
 import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
 import dev.ikm.elk.snomed.model.RoleGroup;
+import dev.ikm.elk.snomed.model.RoleType;
 
 public class NecessaryNormalFormTest {
 
@@ -53,6 +65,11 @@ public static void checkPriors(SnomedOwlOntology ontology, NecessaryNormalFormBu
 	}
 
 	private NecessaryNormalFormBuilder load(SnomedOwlOntology ontology, String file) throws Exception {
+		return load(ontology, file, false);
+	}
+
+	private NecessaryNormalFormBuilder load(SnomedOwlOntology ontology, String file, boolean parallel)
+			throws Exception {
 		LOG.info("Load: " + file);
 		List<String> lines = Files.readAllLines(Paths.get("src/test/resources", file));
 		ontology.loadOntology(lines);
@@ -64,7 +81,11 @@ private NecessaryNormalFormBuilder load(SnomedOwlOntology ontology, String file)
 		nnfb.init();
 		LOG.info("Init complete");
 		checkPriors(ontology, nnfb);
-		nnfb.generate();
+		if (parallel) {
+			nnfb.generateParallel(4, null, null);
+		} else {
+			nnfb.generate();
+		}
 		for (Concept con : nnfb.getConcepts()) {
 			LOG.info("Con: " + con.getId());
 			if (nnfb.getNecessaryNormalForm(con) == null)
@@ -151,4 +172,158 @@ public void dataHasValue() throws Exception {
 		assertEquals(0, nnf.getRoleGroups().size());
 	}
 
+	@Test
+	public void parallel() throws Exception {
+		for (String file : List.of("NecessaryNormalForm.owl", "NecessaryNormalFormGrouped.owl",
+				"NecessaryNormalFormSubProperty.owl", "NecessaryNormalFormPropertyChain.owl",
+				"NecessaryNormalFormDataHasValue.owl")) {
+			NecessaryNormalFormBuilder expected = load(SnomedOwlOntology.createOntology(), file, false);
+			NecessaryNormalFormBuilder actual = load(SnomedOwlOntology.createOntology(), file, true);
+			assertEquals(expected.getNecessaryNormalForm().size(), actual.getNecessaryNormalForm().size());
+			for (Concept con : expected.getConcepts()) {
+				Definition expected_nnf = expected.getNecessaryNormalForm(con);
+				Definition actual_nnf = actual.getNecessaryNormalForm(con.getId());
+				assertEquals(expected_nnf.getDefinitionType(), actual_nnf.getDefinitionType());
+				assertEquals(expected_nnf.getSuperConcepts(), actual_nnf.getSuperConcepts());
+				assertEquals(expected_nnf.getUngroupedRoles(), actual_nnf.getUngroupedRoles());
+				assertEquals(expected_nnf.getUngroupedConcreteRoles(), actual_nnf.getUngroupedConcreteRoles());
+				assertEquals(expected_nnf.getRoleGroups(), actual_nnf.getRoleGroups());
+			}
+		}
+	}
+
+	private static Definition definition(Concept sup, Role... roles) {
+		Definition def = new Definition();
+		def.setDefinitionType(DefinitionType.SubConcept);
+		def.addSuperConcept(sup);
+		for (Role role : roles)
+			def.addUngroupedRole(role);
+		return def;
+	}
+
+	private static void assertSameNecessaryNormalForm(NecessaryNormalFormBuilder expected,
+			NecessaryNormalFormBuilder actual) {
+		assertEquals(expected.getNecessaryNormalForm().size(), actual.getNecessaryNormalForm().size());
+		for (Concept con : expected.getConcepts()) {
+			Definition expected_nnf = expected.getNecessaryNormalForm(con);
+			Definition actual_nnf = actual.getNecessaryNormalForm(con.getId());
+			assertEquals(expected_nnf.getSuperConcepts(), actual_nnf.getSuperConcepts());
+			assertEquals(expected_nnf.getUngroupedRoles(), actual_nnf.getUngroupedRoles());
+		}
+	}
+
+	private static NecessaryNormalFormBuilder generate(SnomedOntology ontology, SnomedOntologyReasoner reasoner,
+			LongDag superRoles) {
+		NecessaryNormalFormBuilder nnfb = new NecessaryNormalFormBuilder(ontology, reasoner.getSuperConcepts(),
+				superRoles);
+		nnfb.init();
+		nnfb.generate();
+		return nnfb;
+	}
+
+	@Test
+	public void update() throws Exception {
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(101);
+		Concept b = new Concept(102);
+		Concept c = new Concept(103);
+		Concept x = new Concept(111);
+		Concept y = new Concept(112);
+		RoleType r = new RoleType(201);
+		a.addDefinition(definition(root));
+		b.addDefinition(definition(a, new Role(r, x)));
+		c.addDefinition(definition(b));
+		x.addDefinition(definition(root));
+		y.addDefinition(definition(x));
+		SnomedOntology ontology = new SnomedOntology(List.of(root, a, b, c, x, y), List.of(r), List.of());
+		LongDag super_roles = LongDag.builder().addNode(r.getId()).build();
+		SnomedOntologyReasoner reasoner = SnomedOntologyReasoner.create(ontology);
+		NecessaryNormalFormBuilder nnfb = generate(ontology, reasoner, super_roles);
+		assertEquals(Set.of(new Role(r, x)), nnfb.getNecessaryNormalForm(103).getUngroupedRoles());
+		// the role of b changes, c inherits it
+		b.removeAllDefinitions();
+		b.addDefinition(definition(a, new Role(r, y)));
+		SnomedClassificationDelta delta = reasoner.apply(List.of(b), List.of());
+		HashSet<Long> changed = new HashSet<>(delta.getChangedConcepts());
+		changed.add(b.getId());
+		List<Concept> updated = nnfb.update(reasoner.getSuperConcepts(), changed);
+		assertEquals(List.of(b, c), updated);
+		assertEquals(Set.of(new Role(r, y)), nnfb.getNecessaryNormalForm(103).getUngroupedRoles());
+		assertSameNecessaryNormalForm(generate(ontology, reasoner, super_roles), nnfb);
+		// a new concept
+		Concept d = new Concept(104);
+		d.addDefinition(definition(c));
+		delta = reasoner.apply(List.of(d), List.of());
+		updated = nnfb.update(reasoner.getSuperConcepts(), delta.getChangedConcepts());
+		assertEquals(List.of(d), updated);
+		assertEquals(7, nnfb.getConcepts().size());
+		assertSameNecessaryNormalForm(generate(ontology, reasoner, super_roles), nnfb);
+	}
+
+	@Test
+	public void updateDeleted() throws Exception {
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(101);
+		Concept b = new Concept(102);
+		Concept c = new Concept(103);
+		Concept x = new Concept(111);
+		RoleType r = new RoleType(201);
+		a.addDefinition(definition(root));
+		b.addDefinition(definition(a, new Role(r, x)));
+		c.addDefinition(definition(b));
+		x.addDefinition(definition(root));
+		SnomedOntology ontology = new SnomedOntology(List.of(root, a, b, c, x), List.of(r), List.of());
+		LongDag super_roles = LongDag.builder().addNode(r.getId()).build();
+		SnomedOntologyReasoner reasoner = SnomedOntologyReasoner.create(ontology);
+		NecessaryNormalFormBuilder nnfb = generate(ontology, reasoner, super_roles);
+		assertEquals(5, nnfb.getNecessaryNormalForm().size());
+		// c is deleted, as by an RF2 delta it has no definitions any more
+		c.removeAllDefinitions();
+		SnomedClassificationDelta delta = reasoner.apply(List.of(c), List.of());
+		HashSet<Long> changed = new HashSet<>(delta.getChangedConcepts());
+		changed.add(c.getId());
+		nnfb.update(reasoner.getSuperConcepts(), changed);
+		assertNull(nnfb.getNecessaryNormalForm(103));
+		assertFalse(nnfb.getConcepts().contains(c));
+		assertEquals(4, nnfb.getNecessaryNormalForm().size());
+		assertSameNecessaryNormalForm(generate(ontology, reasoner, super_roles), nnfb);
+	}
+
+	@Test
+	public void parallelCyclicIsa() throws Exception {
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(101);
+		Concept b = new Concept(102);
+		Concept c = new Concept(103);
+		Concept x = new Concept(111);
+		Concept y = new Concept(112);
+		RoleType r = new RoleType(201);
+		a.addDefinition(definition(root));
+		b.addDefinition(definition(a));
+		c.addDefinition(definition(b));
+		x.addDefinition(definition(root));
+		y.addDefinition(definition(x, new Role(r, x)));
+		SnomedOntology ontology = new SnomedOntology(List.of(root, a, b, c, x, y), List.of(r), List.of());
+		// a, b and c are on a cycle of the is-a graph
+		HashMap<Long, Set<Long>> super_concepts = new HashMap<>();
+		super_concepts.put(root.getId(), Set.of());
+		super_concepts.put(a.getId(), Set.of(root.getId(), c.getId()));
+		super_concepts.put(b.getId(), Set.of(a.getId()));
+		super_concepts.put(c.getId(), Set.of(b.getId()));
+		super_concepts.put(x.getId(), Set.of(root.getId()));
+		super_concepts.put(y.getId(), Set.of(x.getId()));
+		assertFalse(ReachabilityIndex.isAcyclic(LongDag.of(super_concepts)));
+		LongDag super_roles = LongDag.builder().addNode(r.getId()).build();
+		NecessaryNormalFormBuilder expected = new NecessaryNormalFormBuilder(ontology, LongDag.of(super_concepts),
+				super_roles);
+		expected.init();
+		expected.generate();
+		NecessaryNormalFormBuilder actual = new NecessaryNormalFormBuilder(ontology, LongDag.of(super_concepts),
+				super_roles);
+		actual.init();
+		actual.generateParallel(4, null, null);
+		assertSameNecessaryNormalForm(expected, actual);
+		assertEquals(Set.of(new Role(r, x)), actual.getNecessaryNormalForm(112).getUngroupedRoles());
+	}
+
 }
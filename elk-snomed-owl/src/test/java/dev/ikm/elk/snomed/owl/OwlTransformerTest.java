@@ -0,0 +1,127 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleGroup;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class OwlTransformerTest {
+
+	private static final List<String> GCI = List.of( //
+			"Prefix(: = <http://snomed.info/id/>)", //
+			"Ontology(", //
+			"SubClassOf(:101 :138875005)", //
+			"SubClassOf(:102 :101)", //
+			"SubClassOf(:103 :101)", //
+			"SubClassOf(ObjectIntersectionOf(:101 ObjectSomeValuesFrom(:609096000 ObjectSomeValuesFrom(:1 :102))) :103)", //
+			"SubClassOf(ObjectIntersectionOf(:102 ObjectSomeValuesFrom(:1 :101)) :103)", //
+			")");
+
+	private static SnomedOwlOntology load(List<String> lines) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(lines);
+		return ontology;
+	}
+
+	private static SnomedOwlOntology load(String file) throws Exception {
+		return load(Files.readAllLines(Paths.get("src/test/resources", file)));
+	}
+
+	private static Set<Long> ids(List<Concept> concepts) {
+		return concepts.stream().map(Concept::getId).collect(Collectors.toSet());
+	}
+
+	private static void assertSameDefinitions(SnomedOntology actual, List<Definition> expected_defs,
+			List<Definition> actual_defs) {
+		assertEquals(expected_defs.size(), actual_defs.size());
+		for (int i = 0; i < expected_defs.size(); i++) {
+			Definition expected_def = expected_defs.get(i);
+			Definition actual_def = actual_defs.get(i);
+			assertEquals(expected_def.getDefinitionType(), actual_def.getDefinitionType());
+			assertEquals(expected_def.getSuperConcepts(), actual_def.getSuperConcepts());
+			assertEquals(expected_def.getUngroupedRoles(), actual_def.getUngroupedRoles());
+			assertEquals(expected_def.getUngroupedConcreteRoles(), actual_def.getUngroupedConcreteRoles());
+			// the role groups are filled after they are added to the definition, so
+			// their sets are rehashed before comparing them
+			assertEquals(new HashSet<>(expected_def.getRoleGroups()), new HashSet<>(actual_def.getRoleGroups()));
+			// the concepts are created once
+			for (Concept sup : actual_def.getSuperConcepts())
+				assertSame(actual.getConcept(sup.getId()), sup);
+			for (Role role : actual_def.getUngroupedRoles())
+				assertSame(actual.getConcept(role.getConcept().getId()), role.getConcept());
+			for (RoleGroup rg : actual_def.getRoleGroups())
+				for (Role role : rg.getRoles())
+					assertSame(actual.getConcept(role.getConcept().getId()), role.getConcept());
+		}
+	}
+
+	private static void assertSameTransform(SnomedOwlOntology ontology) {
+		SnomedOntology expected = new OwlTransformer().transform(ontology);
+		SnomedOntology actual = new OwlTransformer().transformParallel(ontology, 4);
+		assertEquals(ids(expected.getConcepts()), ids(actual.getConcepts()));
+		// the properties are transformed sequentially in both cases
+		assertEquals(expected.getRoleTypes().stream().map(RoleType::getId).toList(),
+				actual.getRoleTypes().stream().map(RoleType::getId).toList());
+		assertEquals(expected.getConcreteRoleTypes().stream().map(ConcreteRoleType::getId).toList(),
+				actual.getConcreteRoleTypes().stream().map(ConcreteRoleType::getId).toList());
+		for (Concept con : expected.getConcepts()) {
+			Concept actual_con = actual.getConcept(con.getId());
+			assertSameDefinitions(actual, con.getDefinitions(), actual_con.getDefinitions());
+			assertSameDefinitions(actual, con.getGciDefinitions(), actual_con.getGciDefinitions());
+		}
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		for (String file : List.of("NecessaryNormalForm.owl", "NecessaryNormalFormGrouped.owl",
+				"NecessaryNormalFormSubProperty.owl", "NecessaryNormalFormPropertyChain.owl",
+				"NecessaryNormalFormDataHasValue.owl")) {
+			assertSameTransform(load(file));
+		}
+	}
+
+	@Test
+	public void parallelGci() throws Exception {
+		SnomedOwlOntology ontology = load(GCI);
+		assertEquals(2, ontology.getGciAxioms().size());
+		assertSameTransform(ontology);
+		SnomedOntology actual = new OwlTransformer().transformParallel(ontology, 4);
+		assertEquals(2, actual.getConcept(103).getGciDefinitions().size());
+	}
+
+}
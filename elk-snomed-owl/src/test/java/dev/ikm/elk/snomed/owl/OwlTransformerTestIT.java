@@ -21,6 +21,10 @@
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashSet;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -30,6 +34,8 @@
 import dev.ikm.elk.snomed.model.Concept;
 import dev.ikm.elk.snomed.model.Definition;
 import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleGroup;
 
 public class OwlTransformerTestIT extends SnomedTestBase {
 
@@ -77,4 +83,46 @@ public void transform() throws Exception {
 		}
 	}
 
+	private void assertSameDefinitions(SnomedOntology actual, List<Definition> expected_defs,
+			List<Definition> actual_defs) {
+		assertEquals(expected_defs.size(), actual_defs.size());
+		for (int i = 0; i < expected_defs.size(); i++) {
+			Definition expected_def = expected_defs.get(i);
+			Definition actual_def = actual_defs.get(i);
+			assertEquals(expected_def.getDefinitionType(), actual_def.getDefinitionType());
+			assertEquals(expected_def.getSuperConcepts(), actual_def.getSuperConcepts());
+			assertEquals(expected_def.getUngroupedRoles(), actual_def.getUngroupedRoles());
+			assertEquals(expected_def.getUngroupedConcreteRoles(), actual_def.getUngroupedConcreteRoles());
+			// the role groups are filled after they are added to the definition, so
+			// their sets are rehashed before comparing them
+			assertEquals(new HashSet<>(expected_def.getRoleGroups()), new HashSet<>(actual_def.getRoleGroups()));
+			// the concepts are created once
+			for (Concept sup : actual_def.getSuperConcepts())
+				assertSame(actual.getConcept(sup.getId()), sup);
+			for (Role role : actual_def.getUngroupedRoles())
+				assertSame(actual.getConcept(role.getConcept().getId()), role.getConcept());
+			for (RoleGroup rg : actual_def.getRoleGroups())
+				for (Role role : rg.getRoles())
+					assertSame(actual.getConcept(role.getConcept().getId()), role.getConcept());
+		}
+	}
+
+	@Test
+	public void transformParallel() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology expected = new OwlTransformer().transform(ontology);
+		LOG.info("Transform complete");
+		SnomedOntology actual = new OwlTransformer().transformParallel(ontology);
+		LOG.info("Parallel transform complete");
+		assertEquals(expected.getConcepts().size(), actual.getConcepts().size());
+		assertEquals(expected.getRoleTypes().size(), actual.getRoleTypes().size());
+		assertEquals(expected.getConcreteRoleTypes().size(), actual.getConcreteRoleTypes().size());
+		for (Concept con : expected.getConcepts()) {
+			Concept actual_con = actual.getConcept(con.getId());
+			assertSameDefinitions(actual, con.getDefinitions(), actual_con.getDefinitions());
+			assertSameDefinitions(actual, con.getGciDefinitions(), actual_con.getGciDefinitions());
+		}
+	}
+
 }
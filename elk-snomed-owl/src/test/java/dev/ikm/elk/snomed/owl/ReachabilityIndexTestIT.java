@@ -0,0 +1,118 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.elk.snomed.ReachabilityIndex;
+import dev.ikm.elk.snomed.SnomedIsa;
+
+/**
+ * Checks the reachability index against the graph traversal on a full edition,
+ * and logs the memory and latency of both.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ReachabilityIndexTestIT extends SnomedTestBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReachabilityIndexTestIT.class);
+
+	private SnomedIsa isas;
+
+	private ReachabilityIndex index;
+
+	@BeforeAll
+	public void init() throws Exception {
+		filesExist();
+		isas = SnomedIsa.init(rels_file);
+		System.gc();
+		long used = usedMemory();
+		long start = System.nanoTime();
+		index = ReachabilityIndex.of(isas);
+		long elapsed = System.nanoTime() - start;
+		System.gc();
+		LOG.info("Index: " + (elapsed / 1000000) + " ms " + index.getIntervalCount() + " intervals for "
+				+ isas.getConcepts().size() + " concepts");
+		LOG.info("Index: " + (index.getSizeInBytes() / 1024) + " KB, heap delta "
+				+ ((usedMemory() - used) / 1024) + " KB");
+	}
+
+	private static long usedMemory() {
+		Runtime rt = Runtime.getRuntime();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	@Test
+	public void ancestors() {
+		int cnt = 0;
+		for (long con : isas.getConcepts()) {
+			for (long ancestor : isas.getAncestors(con)) {
+				assertTrue(index.hasAncestor(con, ancestor));
+				assertFalse(index.hasAncestor(ancestor, con));
+				cnt++;
+			}
+			assertFalse(index.hasAncestor(con, con));
+		}
+		LOG.info("Ancestor pairs: " + cnt);
+	}
+
+	@Test
+	public void latency() {
+		ArrayList<Long> concepts = isas.getConcepts();
+		Random random = new Random(1);
+		int n = 1000000;
+		long[] ids = new long[2 * n];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = concepts.get(random.nextInt(concepts.size()));
+		}
+		for (int round = 0; round < 3; round++) {
+			long start = System.nanoTime();
+			int dag_cnt = 0;
+			for (int i = 0; i < n; i++) {
+				if (isas.getDag().hasAncestor(ids[2 * i], ids[2 * i + 1]))
+					dag_cnt++;
+			}
+			long dag_time = System.nanoTime() - start;
+			start = System.nanoTime();
+			int index_cnt = 0;
+			for (int i = 0; i < n; i++) {
+				if (index.hasAncestor(ids[2 * i], ids[2 * i + 1]))
+					index_cnt++;
+			}
+			long index_time = System.nanoTime() - start;
+			assertEquals(dag_cnt, index_cnt);
+			LOG.info("Latency: traversal " + (dag_time / n) + " ns index " + (index_time / n) + " ns per query, "
+					+ index_cnt + " of " + n + " true");
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+import dev.ikm.elk.snomed.OwlRefsetReader;
+import dev.ikm.elk.snomed.Rf2Reader;
+import dev.ikm.elk.snomed.SnomedIsa;
+
+public class Rf2ReaderTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void relationships() throws Exception {
+		Path file = dir.resolve("sct2_Relationship.txt");
+		Files.writeString(file, String.join("\r\n", //
+				"id\teffectiveTime\tactive\tmoduleId\tsourceId\tdestinationId\trelationshipGroup\ttypeId\tcharacteristicTypeId\tmodifierId", //
+				"1\t20200131\t1\t900000000000207008\t102\t101\t0\t116680003\t900000000000011006\t900000000000451002", //
+				"2\t20200131\t0\t900000000000207008\t103\t101\t0\t116680003\t900000000000011006\t900000000000451002", //
+				"3\t20200131\t1\t900000000000207008\t103\t102\t0\t116680003\t900000000000011006\t900000000000451002", //
+				"4\t20200131\t1\t900000000000207008\t103\t104\t1\t363698007\t900000000000011006\t900000000000451002"));
+		SnomedIsa isa = new SnomedIsa();
+		isa.load(file);
+		assertEquals(Set.of(101L), isa.getParents(102));
+		assertEquals(Set.of(102L), isa.getParents(103));
+		List<ArrayList<String>> chunks = Rf2Reader.read(file, ArrayList<String>::new, (ids, row) -> {
+			if (row.isActive())
+				ids.add(row.getString(0) + ":" + row.getLong(9));
+		});
+		List<String> ids = chunks.stream().flatMap(List::stream).toList();
+		assertEquals(List.of("1:900000000000451002", "3:900000000000451002", "4:900000000000451002"), ids);
+	}
+
+	@Test
+	public void emptyId() throws Exception {
+		Path file = dir.resolve("sct2_Relationship.txt");
+		Files.writeString(file, String.join("\r\n", //
+				"id\teffectiveTime\tactive\tmoduleId\tsourceId\tdestinationId\trelationshipGroup\ttypeId\tcharacteristicTypeId\tmodifierId", //
+				"1\t20200131\t1\t900000000000207008\t\t101\t0\t116680003\t900000000000011006\t900000000000451002"));
+		assertThrows(NumberFormatException.class, () -> Rf2Reader.read(file, ArrayList<Long>::new, (ids, row) -> {
+			ids.add(row.getLong(4));
+		}));
+	}
+
+	@Test
+	public void owlRefset() throws Exception {
+		Path file = dir.resolve("sct2_sRefset_OWLExpression.txt");
+		Files.writeString(file, String.join("\r\n", //
+				"id\teffectiveTime\tactive\tmoduleId\trefsetId\treferencedComponentId\towlExpression", //
+				"1\t20200131\t1\t900000000000207008\t733073007\t102\tSubClassOf(:102 :101)", //
+				"2\t20200131\t1\t900000000000012004\t733073007\t1\tPrefix(:=<http://snomed.info/id/>)", //
+				"3\t20200131\t0\t900000000000207008\t733073007\t103\tSubClassOf(:103 :101)", //
+				"4\t20200131\t1\t900000000000012004\t733073007\t1\tOntology(<http://snomed.info/sct/900000000000207008>)", //
+				"5\t20200131\t1\t900000000000207008\t733073007\t103\tSubClassOf(:103 :102)", //
+				""));
+		StringWriter text = new StringWriter();
+		try (Reader reader = OwlRefsetReader.open(file)) {
+			reader.transferTo(text);
+		}
+		assertEquals(String.join("\n", SnomedOwlOntology.readOntology(file)) + "\n", text.toString());
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(file);
+		assertEquals(2, ontology.getAxioms().stream().filter(ax -> ax instanceof OWLSubClassOfAxiom).count());
+		assertEquals(103, SnomedOwlOntology.getId(ontology.getOwlClass(103)));
+	}
+
+	@Test
+	public void owlRefsetChunks() throws Exception {
+		Path file = dir.resolve("sct2_sRefset_OWLExpression.txt");
+		Files.writeString(file, String.join("\r\n", //
+				"id\teffectiveTime\tactive\tmoduleId\trefsetId\treferencedComponentId\towlExpression", //
+				"1\t20200131\t1\t900000000000012004\t733073007\t1\tPrefix(:=<http://snomed.info/id/>)", //
+				"2\t20200131\t1\t900000000000012004\t733073007\t1\tOntology(<http://snomed.info/sct/900000000000207008>)", //
+				"3\t20200131\t1\t900000000000207008\t733073007\t102\tSubClassOf(:102 :101)", //
+				"4\t20200131\t1\t900000000000207008\t733073007\t103\tSubClassOf(:103 :102)", //
+				"5\t20200131\t0\t900000000000207008\t733073007\t103\tSubClassOf(:103 :101)", //
+				"6\t20200131\t1\t900000000000207008\t733073007\t104\tSubClassOf(:104 :102)", //
+				"7\t20200131\t1\t900000000000207008\t733073007\t105\tEquivalentClasses(:105 :104)", //
+				"8\t20200131\t1\t900000000000207008\t733073007\t106\tSubClassOf(:106 :105)", //
+				"9\t20200131\t1\t900000000000207008\t733073007\t107\tSubClassOf(:107 :101)", //
+				""));
+		SnomedOwlOntology expected = SnomedOwlOntology.createOntology();
+		expected.loadOntology(SnomedOwlOntology.readOntology(file));
+		assertEquals(6, expected.getAxioms().stream().filter(ax -> ax.isLogicalAxiom()).count());
+		// 6 expressions: 6, 3 and 2 are exact multiples, 1 parses each on its own,
+		// 4 and 5 leave a last partial chunk, 7 fits in one chunk
+		for (int expressionsPerParse = 1; expressionsPerParse <= 7; expressionsPerParse++) {
+			SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+			ontology.loadOntology(file, expressionsPerParse);
+			assertEquals(expected.getAxioms(), ontology.getAxioms());
+			assertEquals(107, SnomedOwlOntology.getId(ontology.getOwlClass(107)));
+		}
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		assertThrows(IllegalArgumentException.class, () -> ontology.loadOntology(file, 0));
+	}
+
+	@Test
+	public void owlRefsetOntologyDeclarations() throws Exception {
+		Path file = dir.resolve("sct2_sRefset_OWLExpression.txt");
+		Files.writeString(file, String.join("\r\n", //
+				"id\teffectiveTime\tactive\tmoduleId\trefsetId\treferencedComponentId\towlExpression", //
+				"1\t20200131\t1\t900000000000012004\t733073007\t1\tOntology(<http://snomed.info/sct/900000000000207008>)", //
+				"2\t20200131\t1\t900000000000207008\t733073007\t102\tSubClassOf(:102 :101)", //
+				"3\t20200131\t1\t900000000000012004\t733073007\t1\tOntology(<http://snomed.info/sct/731000124108>)", //
+				"4\t20200131\t1\t900000000000012004\t733073007\t1\tPrefix(:=<http://snomed.info/id/>)", //
+				""));
+		List<String> lines = new ArrayList<>();
+		try (OwlRefsetReader reader = OwlRefsetReader.open(file)) {
+			String line;
+			while ((line = reader.readLine()) != null)
+				lines.add(line);
+		}
+		assertEquals(SnomedOwlOntology.readOntology(file), lines);
+		assertEquals("Ontology(<http://snomed.info/sct/731000124108>)", lines.get(3));
+	}
+
+}
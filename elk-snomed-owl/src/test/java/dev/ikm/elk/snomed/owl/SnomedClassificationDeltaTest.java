@@ -0,0 +1,110 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.SnomedClassificationDelta;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedClassificationDeltaTest {
+
+	private static Definition definition(DefinitionType type, Concept... sups) {
+		Definition def = new Definition();
+		def.setDefinitionType(type);
+		for (Concept sup : sups)
+			def.addSuperConcept(sup);
+		return def;
+	}
+
+	@Test
+	public void delta() throws Exception {
+		Concept a = new Concept(101);
+		Concept b = new Concept(102);
+		Concept c = new Concept(103);
+		Concept d = new Concept(104);
+		Concept e = new Concept(105);
+		RoleType r = new RoleType(201);
+		RoleType s = new RoleType(202);
+		s.addSuperRoleType(r);
+		b.addDefinition(definition(DefinitionType.SubConcept, a));
+		c.addDefinition(definition(DefinitionType.SubConcept, b));
+		Definition d_def = definition(DefinitionType.EquivalentConcept, b);
+		d_def.addUngroupedRole(new Role(r, a));
+		d.addDefinition(d_def);
+		e.addDefinition(definition(DefinitionType.SubConcept, a));
+		SnomedOntology ontology = new SnomedOntology(List.of(a, b, c, d, e), List.of(r, s), List.of());
+		SnomedOntologyReasoner reasoner = SnomedOntologyReasoner.create(ontology);
+		assertEquals(Set.of(102L), reasoner.getSuperConcepts(103));
+		// c is classified under d
+		c.removeAllDefinitions();
+		Definition c_def = definition(DefinitionType.SubConcept, b);
+		c_def.addUngroupedRole(new Role(s, a));
+		c.addDefinition(c_def);
+		SnomedClassificationDelta delta = reasoner.apply(List.of(c), List.of());
+		assertEquals(Set.of(103L), delta.getChangedConcepts());
+		SnomedClassificationDelta.Change change = delta.getChange(103);
+		assertEquals(Set.of(102L), change.getOldParents());
+		assertEquals(Set.of(104L), change.getNewParents());
+		assertEquals(Set.of(103L), change.getNewEquivalents());
+		assertEquals(Set.of(104L), reasoner.getSuperConcepts(103));
+		// a new concept
+		Concept f = new Concept(106);
+		f.addDefinition(definition(DefinitionType.SubConcept, e));
+		delta = reasoner.apply(List.of(f), List.of());
+		assertEquals(Set.of(106L), delta.getChangedConcepts());
+		assertNull(delta.getChange(106).getOldParents());
+		assertEquals(Set.of(105L), delta.getChange(106).getNewParents());
+		assertEquals(Set.of(105L), reasoner.getSuperConcepts(106));
+		// e becomes equivalent to b
+		e.removeAllDefinitions();
+		e.addDefinition(definition(DefinitionType.EquivalentConcept, b));
+		delta = reasoner.apply(List.of(e), List.of());
+		assertEquals(Set.of(102L, 104L, 105L, 106L), delta.getChangedConcepts());
+		assertEquals(Set.of(102L), delta.getChange(102).getOldEquivalents());
+		assertEquals(Set.of(102L, 105L), delta.getChange(102).getNewEquivalents());
+		assertEquals(Set.of(101L), delta.getChange(105).getOldParents());
+		assertEquals(Set.of(101L), delta.getChange(105).getNewParents());
+		assertEquals(Set.of(102L, 105L), delta.getChange(106).getNewParents());
+		// no change
+		assertTrue(reasoner.apply(List.of(e), List.of()).isEmpty());
+		// a role type change classifies from scratch
+		RoleType s_new = new RoleType(202);
+		delta = reasoner.apply(List.of(), List.of(s_new));
+		assertEquals(Set.of(103L), delta.getChangedConcepts());
+		assertEquals(Set.of(102L, 105L), delta.getChange(103).getNewParents());
+		assertEquals(Set.of(102L, 105L), reasoner.getSuperConcepts(103));
+	}
+
+}
@@ -0,0 +1,161 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owlapi.ElkReasoner;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import dev.ikm.elk.snomed.SnomedClassificationSnapshot;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedClassificationSnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	private static IRI iri(long id) {
+		return IRI.create("http://snomed.info/id/" + id);
+	}
+
+	private static Definition definition(DefinitionType type, Concept... sups) {
+		Definition def = new Definition();
+		def.setDefinitionType(type);
+		for (Concept sup : sups)
+			def.addSuperConcept(sup);
+		return def;
+	}
+
+	@Test
+	public void snapshot() throws Exception {
+		Concept a = new Concept(101);
+		Concept b = new Concept(102);
+		Concept c = new Concept(103);
+		Concept d = new Concept(104);
+		Concept e = new Concept(105);
+		RoleType r = new RoleType(201);
+		RoleType s = new RoleType(202);
+		s.addSuperRoleType(r);
+		b.addDefinition(definition(DefinitionType.SubConcept, a));
+		Definition c_def = definition(DefinitionType.SubConcept, b);
+		c_def.addUngroupedRole(new Role(s, a));
+		c.addDefinition(c_def);
+		Definition d_def = definition(DefinitionType.EquivalentConcept, b);
+		d_def.addUngroupedRole(new Role(r, a));
+		d.addDefinition(d_def);
+		e.addDefinition(definition(DefinitionType.EquivalentConcept, b));
+		SnomedOntology ontology = new SnomedOntology(List.of(a, b, c, d, e), List.of(r, s), List.of());
+		SnomedOntologyReasoner reasoner = SnomedOntologyReasoner.create(ontology);
+		Path file = dir.resolve("snapshot.bin");
+		reasoner.createSnapshot().write(file);
+		SnomedClassificationSnapshot snapshot = SnomedClassificationSnapshot.read(file);
+		assertEquals(Set.of(102L, 105L), snapshot.getEquivalentConcepts(102));
+		assertEquals(Set.of(), snapshot.getUnsatisfiableConcepts());
+		SnomedOntologyReasoner warm = SnomedOntologyReasoner.create(ontology, snapshot);
+		for (Concept con : ontology.getConcepts()) {
+			long id = con.getId();
+			assertEquals(reasoner.getSuperConcepts(id), warm.getSuperConcepts(id));
+			assertEquals(reasoner.getSubConcepts(id), warm.getSubConcepts(id));
+			assertEquals(reasoner.getEquivalentConcepts(id), warm.getEquivalentConcepts(id));
+		}
+		assertEquals(Set.of(104L), warm.getSuperConcepts(103));
+		assertEquals(reasoner.getSuperConcepts().toParentsMap(), warm.getSuperConcepts().toParentsMap());
+		assertEquals(Set.of(r), warm.getSuperRoleTypes(s));
+		// the order of the concepts and role types does not matter
+		SnomedOntologyReasoner.create(new SnomedOntology(List.of(e, d, c, b, a), List.of(s, r), List.of()), snapshot);
+		// a change classifies the ontology
+		c.removeAllDefinitions();
+		c.addDefinition(definition(DefinitionType.SubConcept, a));
+		warm.process(c);
+		warm.flush();
+		assertEquals(Set.of(101L), warm.getSuperConcepts(103));
+		assertEquals(Set.of(), warm.getSubConcepts(104));
+		SnomedOntology other = new SnomedOntology(List.of(a, new Concept(106)), List.of(), List.of());
+		assertThrows(IllegalArgumentException.class, () -> SnomedOntologyReasoner.create(other, snapshot));
+		// the same concepts, but the definition of c has changed
+		assertThrows(IllegalArgumentException.class, () -> SnomedOntologyReasoner.create(ontology, snapshot));
+	}
+
+	@Test
+	public void unsatisfiable() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		OWLDataFactory df = ontology.getDataFactory();
+		OWLClass a = df.getOWLClass(iri(101));
+		OWLClass b = df.getOWLClass(iri(102));
+		OWLClass c = df.getOWLClass(iri(103));
+		OWLClass d = df.getOWLClass(iri(104));
+		OWLClass e = df.getOWLClass(iri(105));
+		OWLClass f = df.getOWLClass(iri(106));
+		ontology.loadOntology(Set.<OWLAxiom>of(df.getOWLSubClassOfAxiom(b, a), //
+				df.getOWLSubClassOfAxiom(c, b), //
+				df.getOWLSubClassOfAxiom(d, a), //
+				df.getOWLSubClassOfAxiom(e, c), //
+				df.getOWLSubClassOfAxiom(f, e)));
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		// the SNOMED model cannot express an unsatisfiable concept, so it is only
+		// added to the OWL ontology
+		ontology.addAxioms(Set.<OWLAxiom>of(df.getOWLSubClassOfAxiom(e, df.getOWLNothing())));
+		ontology.classify();
+		Reasoner reasoner = ((ElkReasoner) ontology.getReasoner()).getInternalReasoner();
+		Taxonomy<ElkClass> classes = Incompleteness.getValue(reasoner.getTaxonomy());
+		Taxonomy<ElkObjectProperty> properties = Incompleteness.getValue(reasoner.getObjectPropertyTaxonomy());
+		Path file = dir.resolve("snapshot.bin");
+		SnomedClassificationSnapshot.of(snomedOntology, classes, properties).write(file);
+		SnomedClassificationSnapshot snapshot = SnomedClassificationSnapshot.read(file);
+		assertEquals(SnomedClassificationSnapshot.fingerprint(snomedOntology), snapshot.getFingerprint());
+		assertEquals(Set.of(105L, 106L), snapshot.getUnsatisfiableConcepts());
+		// the live answers of the reasoner
+		assertEquals(Set.of(103L, 104L), ontology.getSuperClasses(105L));
+		assertEquals(ontology.getSuperClasses(105L), snapshot.getLeafConcepts());
+		SnomedOntologyReasoner warm = SnomedOntologyReasoner.create(snomedOntology, snapshot);
+		for (Concept con : snomedOntology.getConcepts()) {
+			long id = con.getId();
+			assertEquals(ontology.getEquivalentClasses(id), snapshot.getEquivalentConcepts(id));
+			assertEquals(ontology.getEquivalentClasses(id), warm.getEquivalentConcepts(id));
+			assertEquals(ontology.getSuperClasses(id), warm.getSuperConcepts(id));
+			assertEquals(ontology.getSubClasses(id), warm.getSubConcepts(id));
+		}
+		ontology.dispose();
+	}
+
+}
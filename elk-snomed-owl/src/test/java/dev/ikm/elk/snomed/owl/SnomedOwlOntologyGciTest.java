@@ -0,0 +1,77 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+public class SnomedOwlOntologyGciTest {
+
+	private static IRI iri(long id) {
+		return IRI.create("http://snomed.info/id/" + id);
+	}
+
+	@Test
+	public void gciIndex() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		OWLDataFactory df = ontology.getDataFactory();
+		OWLClass a = df.getOWLClass(iri(101));
+		OWLClass b = df.getOWLClass(iri(102));
+		OWLClass c = df.getOWLClass(iri(103));
+		OWLClass d = df.getOWLClass(iri(104));
+		OWLObjectProperty r = df.getOWLObjectProperty(iri(201));
+		OWLSubClassOfAxiom gci_c = df.getOWLSubClassOfAxiom(
+				df.getOWLObjectIntersectionOf(a, df.getOWLObjectSomeValuesFrom(r, b)), c);
+		OWLSubClassOfAxiom gci_d = df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(r, a), d);
+		ontology.loadOntology(Set.<OWLAxiom>of(gci_c, df.getOWLSubClassOfAxiom(a, b)));
+		assertEquals(Set.of(gci_c), ontology.getGciAxioms());
+		assertEquals(Set.of(gci_c), ontology.getGciAxioms(c));
+		assertTrue(ontology.getGciAxioms(a).isEmpty());
+		assertTrue(ontology.getGciAxioms(d).isEmpty());
+		// The index follows changes made through the ontology manager
+		ontology.addAxioms(Set.<OWLAxiom>of(gci_d));
+		assertEquals(Set.of(gci_c, gci_d), ontology.getGciAxioms());
+		assertEquals(Set.of(gci_d), ontology.getGciAxioms(d));
+		ontology.removeAxioms(Set.<OWLAxiom>of(gci_c));
+		assertEquals(Set.of(gci_d), ontology.getGciAxioms());
+		assertTrue(ontology.getGciAxioms(c).isEmpty());
+		// The returned sets are copies
+		Set<OWLSubClassOfAxiom> gcis = ontology.getGciAxioms();
+		Set<OWLSubClassOfAxiom> gcis_d = ontology.getGciAxioms(d);
+		ontology.addAxioms(Set.<OWLAxiom>of(gci_c));
+		ontology.removeAxioms(Set.<OWLAxiom>of(gci_d));
+		assertEquals(Set.of(gci_d), gcis);
+		assertEquals(Set.of(gci_d), gcis_d);
+		assertEquals(Set.of(gci_c), ontology.getGciAxioms());
+		ontology.dispose();
+	}
+
+}
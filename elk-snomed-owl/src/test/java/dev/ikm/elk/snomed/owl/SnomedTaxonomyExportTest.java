@@ -0,0 +1,108 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import dev.ikm.elk.snomed.LongDag;
+
+public class SnomedTaxonomyExportTest {
+
+	private static IRI iri(long id) {
+		return IRI.create("http://snomed.info/id/" + id);
+	}
+
+	@Test
+	public void export() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		OWLDataFactory df = ontology.getDataFactory();
+		OWLClass a = df.getOWLClass(iri(101));
+		OWLClass b = df.getOWLClass(iri(102));
+		OWLClass c = df.getOWLClass(iri(103));
+		OWLClass d = df.getOWLClass(iri(104));
+		OWLObjectProperty r = df.getOWLObjectProperty(iri(201));
+		OWLObjectProperty s = df.getOWLObjectProperty(iri(202));
+		OWLObjectProperty t = df.getOWLObjectProperty(iri(203));
+		ontology.loadOntology(Set.<OWLAxiom>of(df.getOWLSubClassOfAxiom(b, a), //
+				df.getOWLSubClassOfAxiom(c, b), //
+				df.getOWLEquivalentClassesAxiom(d, df.getOWLObjectIntersectionOf(b, df.getOWLObjectSomeValuesFrom(r, a))), //
+				df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(s, a)), //
+				df.getOWLSubObjectPropertyOfAxiom(s, r), //
+				df.getOWLSubObjectPropertyOfAxiom(t, s)));
+		ontology.classify();
+		HashMap<Long, Set<Long>> sups = ontology.getSuperClasses();
+		assertEquals(Set.of(), sups.get(101L));
+		assertEquals(Set.of(101L), sups.get(102L));
+		assertEquals(Set.of(104L), sups.get(103L));
+		assertEquals(Set.of(102L), sups.get(104L));
+		for (OWLClass clazz : ontology.getOwlClasses()) {
+			long id = SnomedOwlOntology.getId(clazz);
+			assertEquals(ontology.getSuperClasses(id), sups.get(id));
+		}
+		for (boolean direct : new boolean[] { true, false }) {
+			HashMap<Long, Set<Long>> props = ontology.getSuperObjectProperties(direct);
+			assertEquals(3, props.size());
+			for (OWLObjectProperty prop : ontology.getOwlObjectProperties()) {
+				long id = SnomedOwlOntology.getId(prop);
+				assertEquals(ontology.getSuperObjectProperties(id, direct), props.get(id));
+			}
+		}
+		assertEquals(Set.of(201L, 202L), ontology.getSuperObjectProperties(false).get(203L));
+	}
+
+	@Test
+	public void unsatisfiable() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		OWLDataFactory df = ontology.getDataFactory();
+		OWLClass a = df.getOWLClass(iri(101));
+		OWLClass b = df.getOWLClass(iri(102));
+		OWLClass c = df.getOWLClass(iri(103));
+		OWLClass e = df.getOWLClass(iri(105));
+		ontology.loadOntology(Set.<OWLAxiom>of(df.getOWLSubClassOfAxiom(b, a), //
+				df.getOWLSubClassOfAxiom(e, a), //
+				df.getOWLSubClassOfAxiom(e, c), //
+				df.getOWLDisjointClassesAxiom(a, c)));
+		ontology.classify();
+		HashMap<Long, Set<Long>> sups = ontology.getSuperClasses();
+		// as by the reasoner, the unsatisfiable class is below all leaves
+		assertEquals(Set.of(102L, 103L), sups.get(105L));
+		for (OWLClass clazz : ontology.getOwlClasses()) {
+			long id = SnomedOwlOntology.getId(clazz);
+			assertEquals(ontology.getSuperClasses(id), sups.get(id));
+		}
+		LongDag dag = ontology.getSuperClassesDag();
+		assertFalse(dag.contains(105L));
+		assertTrue(dag.contains(102L));
+	}
+
+}
@@ -1,5 +1,7 @@
 package dev.ikm.elk.snomed.owlapix.model;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -67,24 +69,64 @@ public Set<ElkAxiom> getAxioms() {
 	}
 
 	public boolean addAxiom(ElkAxiom axiom) {
-		boolean ret = axioms.add(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createAdded(this, axiom);
-		for (OWLOntologyChangeListener listener : change_listeners) {
-			try {
-				listener.ontologiesChanged(List.of(change));
-			} catch (Exception ex) {
-				throw new RuntimeException(ex);
-			}
-		}
-		return ret;
+		return applyChanges(List.of(OWLOntologyChange.createAdded(this, axiom)));
 	}
 
 	public boolean removeAxiom(ElkAxiom axiom) {
-		boolean ret = axioms.remove(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createRemoved(this, axiom);
+		return applyChanges(List.of(OWLOntologyChange.createRemoved(this, axiom)));
+	}
+
+	/**
+	 * Adds the axioms, notifying the change listeners once for all of them
+	 * 
+	 * @param axioms the axioms to add
+	 * @return true if any of the axioms was not already in the ontology
+	 */
+	public boolean addAxioms(Collection<? extends ElkAxiom> axioms) {
+		List<OWLOntologyChange> changes = new ArrayList<>(axioms.size());
+		for (ElkAxiom axiom : axioms) {
+			changes.add(OWLOntologyChange.createAdded(this, axiom));
+		}
+		return applyChanges(changes);
+	}
+
+	/**
+	 * Removes the axioms, notifying the change listeners once for all of them
+	 * 
+	 * @param axioms the axioms to remove
+	 * @return true if any of the axioms was in the ontology
+	 */
+	public boolean removeAxioms(Collection<? extends ElkAxiom> axioms) {
+		List<OWLOntologyChange> changes = new ArrayList<>(axioms.size());
+		for (ElkAxiom axiom : axioms) {
+			changes.add(OWLOntologyChange.createRemoved(this, axiom));
+		}
+		return applyChanges(changes);
+	}
+
+	/**
+	 * Applies the changes in the given order and then notifies the change
+	 * listeners once with the whole list
+	 * 
+	 * @param changes the changes to apply, all for this ontology
+	 * @return true if the axioms of the ontology were changed
+	 */
+	public boolean applyChanges(List<OWLOntologyChange> changes) {
+		boolean ret = false;
+		for (OWLOntologyChange change : changes) {
+			if (change.getOntology() != this)
+				throw new IllegalArgumentException("Change for another ontology: " + change);
+			if (change.isAddAxiom()) {
+				ret |= axioms.add(change.getAxiom());
+			} else if (change.isRemoveAxiom()) {
+				ret |= axioms.remove(change.getAxiom());
+			}
+		}
+		if (changes.isEmpty())
+			return ret;
 		for (OWLOntologyChangeListener listener : change_listeners) {
 			try {
-				listener.ontologiesChanged(List.of(change));
+				listener.ontologiesChanged(changes);
 			} catch (Exception ex) {
 				throw new RuntimeException(ex);
 			}
@@ -810,6 +810,7 @@ protected class OntologyChangeListener implements OWLOntologyChangeListener {
 		@Override
 		public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
 			Set<OWLOntology> importClosure = null;
+			List<OWLOntologyChange> applicable = new ArrayList<OWLOntologyChange>(changes.size());
 			for (OWLOntologyChange change : changes) {
 				OWLOntology changedOntology = change.getOntology();
 				if (!changedOntology.equals(owlOntology_)) {
@@ -827,9 +828,11 @@ public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
 					// cannot handle non-axiom changes incrementally
 					ontologyReloadRequired_ = true;
 				} else {
-					bufferedChangesLoader_.registerChange(change);
+					applicable.add(change);
 				}
 			}
+			if (!applicable.isEmpty())
+				bufferedChangesLoader_.registerChanges(applicable);
 			if (!isBufferingMode_)
 				flush();
 		}
@@ -119,6 +119,12 @@ synchronized void registerChange(OWLOntologyChange change) {
 		pendingChanges_.add(change);
 	}
 
+	synchronized void registerChanges(List<? extends OWLOntologyChange> changes) {
+		LOGGER_.trace("Registering {} changes", changes.size());
+
+		pendingChanges_.addAll(changes);
+	}
+
 	Set<ElkAxiom> getPendingAxiomAdditions() {
 		Set<ElkAxiom> added = new HashSet<ElkAxiom>();
 		for (OWLOntologyChange change : pendingChanges_) {
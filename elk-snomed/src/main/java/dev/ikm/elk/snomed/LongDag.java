@@ -0,0 +1,638 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+/**
+ * An immutable directed graph over long ids, e.g., concept ids, stored in
+ * compressed sparse row form. Each node has an index in [0, size()); the
+ * parents and the children of a node are stored as slices of int arrays of
+ * indexes, sorted by id. An open addressing table maps ids to indexes.
+ * <p>
+ * Compared with a {@code HashMap<Long, Set<Long>>}, no object is allocated per node or
+ * per edge, and the lookups do not box ids.
+ */
+public final class LongDag {
+
+	private static final int NO_INDEX = -1;
+
+	// index -> id
+	private final long[] ids;
+
+	// id -> index
+	private final IdTable table;
+
+	private final int[] parentOffsets;
+	private final int[] parents;
+
+	private final int[] childOffsets;
+	private final int[] children;
+
+	// A traversal that is not in use, reused by the next traversal so that
+	// repeated traversals do not allocate; concurrent or nested traversals
+	// create their own
+	private final AtomicReference<Traversal> spareTraversal = new AtomicReference<>();
+
+	private LongDag(long[] ids, int[] parentOffsets, int[] parents, int[] childOffsets, int[] children) {
+		this.ids = ids;
+		this.parentOffsets = parentOffsets;
+		this.parents = parents;
+		this.childOffsets = childOffsets;
+		this.children = children;
+		this.table = new IdTable(ids.length);
+		for (int i = 0; i < ids.length; i++)
+			table.putIfAbsent(ids[i], i);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return a builder with the nodes and edges of this graph
+	 */
+	public Builder toBuilder() {
+		Builder builder = new Builder();
+		for (int i = 0; i < ids.length; i++) {
+			builder.addNode(ids[i]);
+			for (int j = parentOffsets[i]; j < parentOffsets[i + 1]; j++)
+				builder.addEdge(ids[i], ids[parents[j]]);
+		}
+		return builder;
+	}
+
+	/**
+	 * @param parents the parents of each node; the parents do not need to be
+	 *                keys of the map
+	 * @return the graph with the given edges, in which the keys of the map have
+	 *         the first indexes
+	 */
+	public static LongDag of(Map<Long, ? extends Collection<Long>> parents) {
+		Builder builder = new Builder();
+		parents.forEach((id, sups) -> {
+			builder.addNode(id);
+			for (long sup : sups)
+				builder.addEdge(id, sup);
+		});
+		return builder.build();
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * @return the index of the node with the id, or -1 if there is no such node
+	 */
+	public int indexOf(long id) {
+		return table.get(id);
+	}
+
+	public boolean contains(long id) {
+		return indexOf(id) != NO_INDEX;
+	}
+
+	public long getId(int index) {
+		return ids[index];
+	}
+
+	public int getParentCount(int index) {
+		return parentOffsets[index + 1] - parentOffsets[index];
+	}
+
+	/**
+	 * @return the index of the i-th parent of the node with the given index
+	 */
+	public int getParent(int index, int i) {
+		return parents[parentOffsets[index] + i];
+	}
+
+	public int getChildCount(int index) {
+		return childOffsets[index + 1] - childOffsets[index];
+	}
+
+	/**
+	 * @return the index of the i-th child of the node with the given index
+	 */
+	public int getChild(int index, int i) {
+		return children[childOffsets[index] + i];
+	}
+
+	/**
+	 * @return the parents of the node as an unmodifiable view, empty if there is
+	 *         no such node
+	 */
+	public Set<Long> getParents(long id) {
+		int index = indexOf(id);
+		if (index == NO_INDEX)
+			return Set.of();
+		return new SliceSet(parents, parentOffsets[index], parentOffsets[index + 1]);
+	}
+
+	/**
+	 * @return the children of the node as an unmodifiable view, empty if there is
+	 *         no such node
+	 */
+	public Set<Long> getChildren(long id) {
+		int index = indexOf(id);
+		if (index == NO_INDEX)
+			return Set.of();
+		return new SliceSet(children, childOffsets[index], childOffsets[index + 1]);
+	}
+
+	public boolean hasParent(long id, long parent) {
+		int index = indexOf(id);
+		if (index == NO_INDEX)
+			return false;
+		return search(parents, parentOffsets[index], parentOffsets[index + 1], parent) >= 0;
+	}
+
+	public boolean hasChild(long id, long child) {
+		int index = indexOf(id);
+		if (index == NO_INDEX)
+			return false;
+		return search(children, childOffsets[index], childOffsets[index + 1], child) >= 0;
+	}
+
+	// binary search for the id in a slice sorted by id
+	private int search(int[] slice, int from, int to, long id) {
+		int lo = from;
+		int hi = to - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			long mid_id = ids[slice[mid]];
+			if (mid_id < id) {
+				lo = mid + 1;
+			} else if (mid_id > id) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Tests if ancestor is reachable from id following the parent edges. Does not
+	 * allocate unless called concurrently.
+	 */
+	public boolean hasAncestor(long id, long ancestor) {
+		int index = indexOf(id);
+		int target = indexOf(ancestor);
+		if (index == NO_INDEX || target == NO_INDEX)
+			return false;
+		Traversal t = startTraversal();
+		try {
+			t.push(index);
+			t.visit(index);
+			while (t.size > 0) {
+				int next = t.pop();
+				for (int i = parentOffsets[next]; i < parentOffsets[next + 1]; i++) {
+					int parent = parents[i];
+					if (parent == target)
+						return true;
+					if (t.visit(parent))
+						t.push(parent);
+				}
+			}
+			return false;
+		} finally {
+			spareTraversal.set(t);
+		}
+	}
+
+	/**
+	 * Calls the consumer once for the id of each ancestor of the node
+	 */
+	public void forEachAncestor(long id, LongConsumer consumer) {
+		int index = indexOf(id);
+		if (index == NO_INDEX)
+			return;
+		Traversal t = startTraversal();
+		try {
+			t.push(index);
+			t.visit(index);
+			while (t.size > 0) {
+				int next = t.pop();
+				for (int i = parentOffsets[next]; i < parentOffsets[next + 1]; i++) {
+					int parent = parents[i];
+					if (t.visit(parent)) {
+						t.push(parent);
+						// the consumer may traverse this graph again with another traversal
+						if (parent != index)
+							consumer.accept(ids[parent]);
+					}
+				}
+			}
+		} finally {
+			spareTraversal.set(t);
+		}
+	}
+
+	private Traversal startTraversal() {
+		Traversal t = spareTraversal.getAndSet(null);
+		if (t == null)
+			t = new Traversal(ids.length);
+		return t.start();
+	}
+
+	/**
+	 * @return a copy of the parent edges as a map; nodes without parents are
+	 *         mapped to empty sets
+	 */
+	public HashMap<Long, Set<Long>> toParentsMap() {
+		return toMap(parentOffsets, parents);
+	}
+
+	/**
+	 * @return a copy of the child edges as a map; only nodes with children are
+	 *         keys
+	 */
+	public HashMap<Long, Set<Long>> toChildrenMap() {
+		HashMap<Long, Set<Long>> map = toMap(childOffsets, children);
+		map.values().removeIf(Set::isEmpty);
+		return map;
+	}
+
+	/**
+	 * Writes the arrays of the graph: the size, the ids, the parent offsets and
+	 * parents, and the child offsets and children. The table is not written;
+	 * {@link #read(ByteBuffer)} rebuilds it.
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(ids.length);
+		for (long id : ids)
+			out.writeLong(id);
+		writeEdges(out, parentOffsets, parents);
+		writeEdges(out, childOffsets, children);
+	}
+
+	private static void writeEdges(DataOutput out, int[] offsets, int[] edges) throws IOException {
+		for (int offset : offsets)
+			out.writeInt(offset);
+		out.writeInt(edges.length);
+		for (int edge : edges)
+			out.writeInt(edge);
+	}
+
+	/**
+	 * Reads a graph written by {@link #write(DataOutput)} from the position of
+	 * the buffer, e.g., a memory mapped file, and moves the position past it.
+	 * The arrays are copied out of the buffer in bulk.
+	 */
+	public static LongDag read(ByteBuffer buf) {
+		int size = buf.getInt();
+		long[] ids = new long[size];
+		buf.asLongBuffer().get(ids);
+		buf.position(buf.position() + Long.BYTES * size);
+		int[] parent_offsets = readInts(buf, size + 1);
+		int[] parents = readInts(buf, buf.getInt());
+		int[] child_offsets = readInts(buf, size + 1);
+		int[] children = readInts(buf, buf.getInt());
+		if (parent_offsets[size] != parents.length || child_offsets[size] != children.length
+				|| parents.length != children.length)
+			throw new IllegalArgumentException("Inconsistent edge counts");
+		return new LongDag(ids, parent_offsets, parents, child_offsets, children);
+	}
+
+	private static int[] readInts(ByteBuffer buf, int length) {
+		int[] values = new int[length];
+		buf.asIntBuffer().get(values);
+		buf.position(buf.position() + Integer.BYTES * length);
+		return values;
+	}
+
+	private HashMap<Long, Set<Long>> toMap(int[] offsets, int[] edges) {
+		HashMap<Long, Set<Long>> map = new HashMap<>(ids.length * 2);
+		for (int i = 0; i < ids.length; i++) {
+			HashSet<Long> set = new HashSet<>();
+			for (int j = offsets[i]; j < offsets[i + 1]; j++)
+				set.add(ids[edges[j]]);
+			map.put(ids[i], set);
+		}
+		return map;
+	}
+
+	private static final class Traversal {
+
+		private final int[] marks;
+		private int epoch = 0;
+		private int[] stack = new int[64];
+		private int size;
+
+		Traversal(int nodes) {
+			this.marks = new int[nodes];
+		}
+
+		Traversal start() {
+			if (++epoch == 0) {
+				Arrays.fill(marks, 0);
+				epoch = 1;
+			}
+			size = 0;
+			return this;
+		}
+
+		// true if not visited before
+		boolean visit(int index) {
+			if (marks[index] == epoch)
+				return false;
+			marks[index] = epoch;
+			return true;
+		}
+
+		void push(int index) {
+			if (size == stack.length)
+				stack = Arrays.copyOf(stack, size * 2);
+			stack[size++] = index;
+		}
+
+		int pop() {
+			return stack[--size];
+		}
+
+	}
+
+	private final class SliceSet extends AbstractSet<Long> {
+
+		private final int[] slice;
+		private final int from;
+		private final int to;
+
+		SliceSet(int[] slice, int from, int to) {
+			this.slice = slice;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof Long id && search(slice, from, to, id) >= 0;
+		}
+
+		@Override
+		public Iterator<Long> iterator() {
+			return new Iterator<Long>() {
+
+				private int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return next < to;
+				}
+
+				@Override
+				public Long next() {
+					if (next >= to)
+						throw new NoSuchElementException();
+					return ids[slice[next++]];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+
+	}
+
+	/**
+	 * Open addressing table from ids to indexes that does not box the ids
+	 */
+	private static final class IdTable {
+
+		// index + 1 for each key, 0 for an empty slot
+		private long[] keys;
+		private int[] values;
+		private int mask;
+		private int size;
+
+		IdTable(int expected) {
+			allocate(Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1);
+		}
+
+		private void allocate(int capacity) {
+			keys = new long[capacity];
+			values = new int[capacity];
+			mask = capacity - 1;
+		}
+
+		private int slot(long id) {
+			long h = id * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+
+		/**
+		 * @return the index of the id, or -1 if there is no such id
+		 */
+		int get(long id) {
+			int slot = slot(id);
+			int value;
+			while ((value = values[slot]) != 0) {
+				if (keys[slot] == id)
+					return value - 1;
+				slot = (slot + 1) & mask;
+			}
+			return NO_INDEX;
+		}
+
+		/**
+		 * @return the index of the id, or -1 if there was no such id and the given
+		 *         index was assigned to it
+		 */
+		int putIfAbsent(long id, int index) {
+			int slot = slot(id);
+			int value;
+			while ((value = values[slot]) != 0) {
+				if (keys[slot] == id)
+					return value - 1;
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = id;
+			values[slot] = index + 1;
+			if (++size * 2 > keys.length)
+				grow();
+			return NO_INDEX;
+		}
+
+		private void grow() {
+			long[] old_keys = keys;
+			int[] old_values = values;
+			allocate(keys.length * 2);
+			for (int i = 0; i < old_keys.length; i++) {
+				if (old_values[i] == 0)
+					continue;
+				int slot = slot(old_keys[i]);
+				while (values[slot] != 0)
+					slot = (slot + 1) & mask;
+				keys[slot] = old_keys[i];
+				values[slot] = old_values[i];
+			}
+		}
+
+	}
+
+	/**
+	 * Collects nodes and edges. Nodes are indexed in the order they are first
+	 * mentioned; duplicate edges are ignored.
+	 */
+	public static final class Builder {
+
+		private long[] nodes = new long[16];
+		private int nodeCount;
+
+		// child, parent pairs
+		private long[] edges = new long[32];
+		private int edgeCount;
+
+		private Builder() {
+		}
+
+		public Builder addNode(long id) {
+			if (nodeCount == nodes.length)
+				nodes = Arrays.copyOf(nodes, nodeCount * 2);
+			nodes[nodeCount++] = id;
+			return this;
+		}
+
+		public Builder addEdge(long child, long parent) {
+			if (2 * edgeCount + 2 > edges.length)
+				edges = Arrays.copyOf(edges, edges.length * 2);
+			edges[2 * edgeCount] = child;
+			edges[2 * edgeCount + 1] = parent;
+			edgeCount++;
+			return this;
+		}
+
+		public Builder addAll(Builder other) {
+			for (int i = 0; i < other.nodeCount; i++)
+				addNode(other.nodes[i]);
+			for (int i = 0; i < other.edgeCount; i++)
+				addEdge(other.edges[2 * i], other.edges[2 * i + 1]);
+			return this;
+		}
+
+		public LongDag build() {
+			// assign indexes
+			// usually every id is added as a node
+			IdTable index_map = new IdTable(nodeCount);
+			long[] ids = new long[nodeCount + 2 * edgeCount];
+			int size = 0;
+			for (int i = 0; i < nodeCount; i++) {
+				if (index_map.putIfAbsent(nodes[i], size) == NO_INDEX)
+					ids[size++] = nodes[i];
+			}
+			int[] edge_indexes = new int[2 * edgeCount];
+			for (int i = 0; i < 2 * edgeCount; i++) {
+				int index = index_map.putIfAbsent(edges[i], size);
+				if (index == NO_INDEX) {
+					index = size;
+					ids[size++] = edges[i];
+				}
+				edge_indexes[i] = index;
+			}
+			ids = Arrays.copyOf(ids, size);
+			int[] parent_offsets = new int[size + 1];
+			int[] parents = group(ids, index_map, edge_indexes, 0, parent_offsets);
+			int[] child_offsets = new int[size + 1];
+			int[] children = group(ids, index_map, edge_indexes, 1, child_offsets);
+			return new LongDag(ids, parent_offsets, parents, child_offsets, children);
+		}
+
+		// Groups the edges by their source (child if from == 0, parent if from ==
+		// 1), sorts each group by target id and removes duplicate targets
+		private static int[] group(long[] ids, IdTable index_map, int[] edge_indexes, int from, int[] offsets) {
+			int size = ids.length;
+			int edge_count = edge_indexes.length / 2;
+			int[] counts = new int[size + 1];
+			for (int i = 0; i < edge_count; i++)
+				counts[edge_indexes[2 * i + from] + 1]++;
+			for (int i = 0; i < size; i++)
+				counts[i + 1] += counts[i];
+			int[] targets = new int[edge_count];
+			int[] fill = Arrays.copyOf(counts, size);
+			for (int i = 0; i < edge_count; i++)
+				targets[fill[edge_indexes[2 * i + from]]++] = edge_indexes[2 * i + 1 - from];
+			// sort and compact each slice in place
+			int out = 0;
+			for (int i = 0; i < size; i++) {
+				int start = counts[i];
+				int end = counts[i + 1];
+				offsets[i] = out;
+				if (end - start > 1) {
+					int[] slice = Arrays.copyOfRange(targets, start, end);
+					sortById(ids, index_map, slice);
+					int prev = NO_INDEX;
+					for (int target : slice) {
+						if (target != prev)
+							targets[out++] = target;
+						prev = target;
+					}
+				} else {
+					for (int j = start; j < end; j++)
+						targets[out++] = targets[j];
+				}
+			}
+			offsets[size] = out;
+			return Arrays.copyOf(targets, out);
+		}
+
+		private static void sortById(long[] ids, IdTable index_map, int[] slice) {
+			// insertion sort for the usual short slices
+			if (slice.length <= 16) {
+				for (int i = 1; i < slice.length; i++) {
+					int cur = slice[i];
+					int j = i - 1;
+					while (j >= 0 && ids[slice[j]] > ids[cur]) {
+						slice[j + 1] = slice[j];
+						j--;
+					}
+					slice[j + 1] = cur;
+				}
+				return;
+			}
+			// sort the ids and map them back to their indexes
+			long[] keys = new long[slice.length];
+			for (int i = 0; i < slice.length; i++)
+				keys[i] = ids[slice[i]];
+			Arrays.sort(keys);
+			for (int i = 0; i < slice.length; i++)
+				slice[i] = index_map.get(keys[i]);
+		}
+
+	}
+
+}
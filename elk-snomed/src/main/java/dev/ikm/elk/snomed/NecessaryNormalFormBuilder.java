@@ -25,11 +25,16 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.semanticweb.elk.reasoner.Reasoner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,9 +55,9 @@ public class NecessaryNormalFormBuilder {
 
 	private List<Concept> concepts = new ArrayList<>();
 
-	private HashMap<Long, Set<Long>> superConcepts;
+	private LongDag superConcepts;
 
-	private HashMap<Long, Set<Long>> superRoles;
+	private LongDag superRoles;
 
 	private SnomedIsa isa;
 
@@ -60,6 +65,14 @@ public class NecessaryNormalFormBuilder {
 
 	private HashMap<Concept, Definition> necessaryNormalForm = new HashMap<>();
 
+	// The definitions computed so far; during parallel generation this is a
+	// concurrent map that is copied to necessaryNormalForm once all are done
+	private Map<Concept, Definition> generated = necessaryNormalForm;
+
+	// The concepts whose NNF must be computed before the NNF of a concept are
+	// its parents
+	private LongDag dependentOnConcepts;
+
 	public List<Concept> getConcepts() {
 		return concepts;
 	}
@@ -79,6 +92,11 @@ public Definition getNecessaryNormalForm(long id) {
 
 	public NecessaryNormalFormBuilder(SnomedOntology snomedOntology, HashMap<Long, Set<Long>> superConcepts,
 			HashMap<Long, Set<Long>> superObjectProperties) {
+		this(snomedOntology, LongDag.of(superConcepts), LongDag.of(superObjectProperties));
+	}
+
+	public NecessaryNormalFormBuilder(SnomedOntology snomedOntology, LongDag superConcepts,
+			LongDag superObjectProperties) {
 		super();
 		this.snomedOntology = snomedOntology;
 		this.superConcepts = superConcepts;
@@ -110,18 +128,22 @@ public void init() {
 
 	private void initConcepts() {
 //		HashMap<Long, Set<Long>> superConcepts = new HashMap<>();
-		HashMap<Long, Set<Long>> dependentOnConcepts = new HashMap<>();
+		LongDag.Builder builder = LongDag.builder();
 		for (Concept concept : snomedOntology.getConcepts()) {
 			long id = concept.getId();
 //			superConcepts.put(id, snomedOwlOntology.getSuperClasses(id));
-			dependentOnConcepts.put(id, getDependentOnConcepts(concept));
+			builder.addNode(id);
+			for (long dep : getDependentOnConcepts(concept)) {
+				builder.addEdge(id, dep);
+			}
 		}
+		dependentOnConcepts = builder.build();
 		isa = SnomedIsa.init(superConcepts);
 		sortConcepts(dependentOnConcepts);
 		LOG.info("Concepts: " + concepts.size());
 	}
 
-	private void sortConcepts(HashMap<Long, Set<Long>> dependentOnConcepts) {
+	private void sortConcepts(LongDag dependentOnConcepts) {
 		SnomedIsa deps = SnomedIsa.init(dependentOnConcepts);
 		deps.getConcepts().stream().map(id -> snomedOntology.getConcept(id)).forEach(clazz -> concepts.add(clazz));
 	}
@@ -132,7 +154,7 @@ private void initRoles() {
 		for (RoleType rt : snomedOntology.getRoleTypes()) {
 			superRolesTypes.put(rt, new HashSet<>());
 			superRolesTypes.get(rt).add(rt);
-			superRoles.get(rt.getId()).stream().map(x -> snomedOntology.getRoleType(x))
+			superRoles.getParents(rt.getId()).stream().map(x -> snomedOntology.getRoleType(x))
 					.forEach(x -> superRolesTypes.get(rt).add(x));
 		}
 		if (log_roles) {
@@ -153,7 +175,7 @@ private void initRoles() {
 	private HashSet<Long> getDependentOnConcepts(Concept concept) {
 		HashSet<Long> dependentOnConcepts = new HashSet<>();
 		long id = concept.getId();
-		dependentOnConcepts.addAll(superConcepts.get(id));
+		dependentOnConcepts.addAll(superConcepts.getParents(id));
 		for (Definition def : concept.getDefinitions()) {
 			List<RoleGroup> rgs = new ArrayList<>(def.getRoleGroups());
 			for (Role role : def.getUngroupedRoles()) {
@@ -184,7 +206,6 @@ public int getMisMatchCount() {
 	}
 
 	public void generate(SnomedRoles roles, SnomedConcreteRoles concrete_roles) {
-		Reasoner.processingNecessaryNormalForm = true;
 		int cnt = 0;
 		for (Concept concept : concepts) {
 			if (++cnt % 50000 == 0)
@@ -194,17 +215,211 @@ public void generate(SnomedRoles roles, SnomedConcreteRoles concrete_roles) {
 				compare(concept, roles, concrete_roles);
 		}
 		LOG.info("Generate: " + cnt);
-		Reasoner.processingNecessaryNormalForm = false;
+		if (roles != null)
+			logMisMatches();
+	}
+
+	public void generateParallel() {
+		generateParallel(Runtime.getRuntime().availableProcessors(), null, null);
+	}
+
+	/**
+	 * Same result as {@link #generate(SnomedRoles, SnomedConcreteRoles)}, but
+	 * computed with the given number of threads. A concept is scheduled as soon
+	 * as the NNFs of all the concepts it depends on (its super concepts and the
+	 * fillers of its roles) are available. The comparison against the SNOMED
+	 * roles, if requested, is done sequentially afterwards.
+	 */
+	public void generateParallel(int parallelism, SnomedRoles roles, SnomedConcreteRoles concrete_roles) {
+		// Pending dependencies by index in dependentOnConcepts, the dependents of
+		// a concept are its children there. Concepts that are not sorted keep 0
+		// and are never scheduled. Dependencies on concepts that are not
+		// generated are not counted, as in generate() they are not waited for.
+		LongDag deps = dependentOnConcepts;
+		boolean[] scheduled = new boolean[deps.size()];
+		for (Concept concept : concepts) {
+			scheduled[deps.indexOf(concept.getId())] = true;
+		}
+		AtomicIntegerArray pending = new AtomicIntegerArray(deps.size());
+		List<Concept> ready = new ArrayList<>();
+		for (Concept concept : concepts) {
+			int index = deps.indexOf(concept.getId());
+			int cnt = 0;
+			for (int i = 0; i < deps.getParentCount(index); i++) {
+				int dep = deps.getParent(index, i);
+				if (dep != index && scheduled[dep])
+					cnt++;
+			}
+			pending.set(index, cnt);
+			if (cnt == 0)
+				ready.add(concept);
+		}
+		// The workers test ancestors concurrently; the index answers without a
+		// traversal per test. It needs an acyclic is-a graph, generate() accepts a
+		// cyclic one, so then the workers traverse the graph as generate() does
+		if (isa.getReachabilityIndex() == null) {
+			if (ReachabilityIndex.isAcyclic(isa.getDag())) {
+				isa.initReachabilityIndex();
+			} else {
+				LOG.warn("Cycle in the is-a graph, ancestors are tested without a reachability index");
+			}
+		}
+		ConcurrentHashMap<Concept, Definition> nnfs = new ConcurrentHashMap<>(concepts.size());
+		generated = nnfs;
+		CountDownLatch done = new CountDownLatch(concepts.size());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		AtomicInteger generated_cnt = new AtomicInteger();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			class Generate implements Runnable {
+
+				private final Concept concept;
+
+				Generate(Concept concept) {
+					this.concept = concept;
+				}
+
+				@Override
+				public void run() {
+					if (failure.get() != null)
+						return;
+					try {
+						nnfs.put(concept, getNNF(concept));
+					} catch (Throwable ex) {
+						// Release the waiting thread, the dependents will never be scheduled
+						if (failure.compareAndSet(null, ex)) {
+							while (done.getCount() > 0)
+								done.countDown();
+						}
+						return;
+					}
+					if (generated_cnt.incrementAndGet() % 50000 == 0)
+						LOG.info("Generate: " + generated_cnt.get());
+					int index = deps.indexOf(concept.getId());
+					for (int i = 0; i < deps.getChildCount(index); i++) {
+						int dependent = deps.getChild(index, i);
+						if (dependent != index && scheduled[dependent] && pending.decrementAndGet(dependent) == 0)
+							pool.execute(new Generate(snomedOntology.getConcept(deps.getId(dependent))));
+					}
+					done.countDown();
+				}
+			}
+			ready.forEach(concept -> pool.execute(new Generate(concept)));
+			done.await();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ex);
+		} finally {
+			pool.shutdownNow();
+			generated = necessaryNormalForm;
+		}
+		if (failure.get() != null)
+			throw new RuntimeException(failure.get());
+		for (Concept concept : concepts) {
+			necessaryNormalForm.put(concept, nnfs.get(concept));
+		}
+		LOG.info("Generate: " + generated_cnt.get());
 		if (roles != null) {
-			LOG.info("Mis match: " + mis_match_cnt);
-			LOG.info("Mis match ungrouped: " + mis_match_sno_roles_ungrouped_cnt + " SNOMED roles "
-					+ mis_match_nnf_roles_ungrouped_cnt + " NNF roles");
-			LOG.info("Mis match grouped: " + mis_match_sno_roles_grouped_cnt + " SNOMED roles "
-					+ mis_match_nnf_roles_grouped_cnt + " NNF roles");
-			LOG.info("Mis match grouping issue: " + mis_match_grouping_issue_cnt);
+			for (Concept concept : concepts) {
+				compare(concept, roles, concrete_roles);
+			}
+			logMisMatches();
 		}
 	}
 
+	/**
+	 * Updates the NNFs after an incremental classification, e.g.,
+	 * {@link SnomedOntologyReasoner#apply(java.util.Collection, java.util.Collection)}.
+	 * Only the changed concepts and the concepts that depend on them, directly
+	 * or indirectly, are computed again: their descendants and the concepts
+	 * with roles to them. The NNFs of the other concepts are kept. The NNFs of
+	 * the concepts that are no longer classified, e.g., deleted concepts without
+	 * definitions, are removed. The role hierarchy must not have changed,
+	 * otherwise call {@link #init()} and {@link #generate()} again.
+	 *
+	 * @param superConcepts the direct super concepts of all the concepts after
+	 *                      the changes, e.g.,
+	 *                      {@link SnomedOntologyReasoner#getSuperConcepts()}
+	 * @param changed       the ids of the concepts whose definitions or inferred
+	 *                      parents changed, including the new concepts
+	 * @return the concepts whose NNF was computed again, in the order they were
+	 *         computed
+	 */
+	public List<Concept> update(LongDag superConcepts, Set<Long> changed) {
+		this.superConcepts = superConcepts;
+		updateDependentOnConcepts(changed);
+		isa = SnomedIsa.init(superConcepts);
+		concepts = new ArrayList<>();
+		sortConcepts(dependentOnConcepts);
+		// As in generate(), only the sorted concepts have an NNF
+		necessaryNormalForm.keySet().retainAll(new HashSet<>(concepts));
+		// The dependents of a concept are its children in dependentOnConcepts
+		LongDag deps = dependentOnConcepts;
+		boolean[] affected = new boolean[deps.size()];
+		int[] queue = new int[deps.size()];
+		int tail = 0;
+		for (long id : changed) {
+			int index = deps.indexOf(id);
+			if (index != -1 && !affected[index]) {
+				affected[index] = true;
+				queue[tail++] = index;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int index = queue[head];
+			for (int i = 0; i < deps.getChildCount(index); i++) {
+				int dependent = deps.getChild(index, i);
+				if (!affected[dependent]) {
+					affected[dependent] = true;
+					queue[tail++] = dependent;
+				}
+			}
+		}
+		List<Concept> updated = new ArrayList<>(tail);
+		for (Concept concept : concepts) {
+			if (affected[deps.indexOf(concept.getId())]) {
+				necessaryNormalForm.put(concept, getNNF(concept));
+				updated.add(concept);
+			}
+		}
+		LOG.info("Update: " + changed.size() + " changed " + updated.size() + " generated");
+		return updated;
+	}
+
+	// Copies the dependencies of the unchanged concepts and computes them for
+	// the changed ones
+	private void updateDependentOnConcepts(Set<Long> changed) {
+		LongDag.Builder builder = LongDag.builder();
+		for (int index = 0; index < dependentOnConcepts.size(); index++) {
+			long id = dependentOnConcepts.getId(index);
+			if (changed.contains(id))
+				continue;
+			builder.addNode(id);
+			for (int i = 0; i < dependentOnConcepts.getParentCount(index); i++) {
+				builder.addEdge(id, dependentOnConcepts.getId(dependentOnConcepts.getParent(index, i)));
+			}
+		}
+		for (long id : changed) {
+			Concept concept = snomedOntology.getConcept(id);
+			if (concept == null)
+				continue;
+			builder.addNode(id);
+			for (long dep : getDependentOnConcepts(concept)) {
+				builder.addEdge(id, dep);
+			}
+		}
+		dependentOnConcepts = builder.build();
+	}
+
+	private void logMisMatches() {
+		LOG.info("Mis match: " + mis_match_cnt);
+		LOG.info("Mis match ungrouped: " + mis_match_sno_roles_ungrouped_cnt + " SNOMED roles "
+				+ mis_match_nnf_roles_ungrouped_cnt + " NNF roles");
+		LOG.info("Mis match grouped: " + mis_match_sno_roles_grouped_cnt + " SNOMED roles "
+				+ mis_match_nnf_roles_grouped_cnt + " NNF roles");
+		LOG.info("Mis match grouping issue: " + mis_match_grouping_issue_cnt);
+	}
+
 	private Definition getNNF(Concept con) {
 		Definition def = new Definition();
 		if (con.getDefinitions().stream().map(Definition::getDefinitionType)
@@ -213,17 +428,24 @@ private Definition getNNF(Concept con) {
 		} else {
 			def.setDefinitionType(DefinitionType.SubConcept);
 		}
-		List<Concept> sups = superConcepts.get(con.getId()).stream().map(x -> snomedOntology.getConcept(x)).distinct()
-				.collect(Collectors.toCollection(ArrayList::new));
+		List<Concept> sups = new ArrayList<>();
+		int index = superConcepts.indexOf(con.getId());
+		int sup_cnt = (index == -1 ? 0 : superConcepts.getParentCount(index));
+		for (int i = 0; i < sup_cnt; i++) {
+			Concept sup = snomedOntology.getConcept(superConcepts.getId(superConcepts.getParent(index, i)));
+			if (!sups.contains(sup))
+				sups.add(sup);
+		}
 		sups.forEach(sup -> def.addSuperConcept(sup));
 		for (Concept sup : sups) {
-			for (Role role : necessaryNormalForm.get(sup).getUngroupedRoles()) {
+			Definition sup_def = generated.get(sup);
+			for (Role role : sup_def.getUngroupedRoles()) {
 				def.addUngroupedRole(role);
 			}
-			for (ConcreteRole role : necessaryNormalForm.get(sup).getUngroupedConcreteRoles()) {
+			for (ConcreteRole role : sup_def.getUngroupedConcreteRoles()) {
 				def.addUngroupedConcreteRole(role);
 			}
-			for (RoleGroup rg : necessaryNormalForm.get(sup).getRoleGroups()) {
+			for (RoleGroup rg : sup_def.getRoleGroups()) {
 				def.addRoleGroup(rg);
 			}
 		}
@@ -270,7 +492,7 @@ private List<Role> expandChain1(Role svf) {
 		}
 		if (svf.getRoleType().isTransitive())
 			chained_rts.add(svf.getRoleType());
-		List<Concept> chained_cons = necessaryNormalForm.get(svf.getConcept()).getUngroupedRoles().stream()
+		List<Concept> chained_cons = generated.get(svf.getConcept()).getUngroupedRoles().stream()
 				.filter(x -> chained_rts.contains(x.getRoleType())).map(x -> x.getConcept()).distinct().toList();
 		return chained_cons.stream().map(x -> new Role(svf.getRoleType(), x)).toList();
 	}
@@ -0,0 +1,242 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads lines as one document, with a line feed after each line, without
+ * joining them into one String.
+ * <p>
+ * {@link #open(Path)} reads the OWL expressions of an RF2 OWL refset file as a
+ * functional syntax ontology document, as {@code SnomedOwlOntology.readOntology}
+ * arranges them: the prefix declarations, the ontology declaration, the other
+ * active OWL expressions in file order, and the closing parenthesis. The
+ * expressions are read from the file while the document is read, so that the
+ * release is never held in memory as text. As in {@code readOntology}, every
+ * prefix declaration is moved to the front but only the first ontology
+ * declaration is; any other ontology declaration stays in place.
+ * <p>
+ * {@link #readLine()} reads the document line by line, for example to parse
+ * it a number of lines at a time.
+ */
+public class OwlRefsetReader extends Reader {
+
+	// id effectiveTime active moduleId refsetId referencedComponentId
+	// owlExpression
+	private static final int ACTIVE = 2;
+
+	private static final int OWL_EXPRESSION = 6;
+
+	private static final String PREFIX = "Prefix";
+
+	private static final String ONTOLOGY = "Ontology";
+
+	private final Iterator<String> lines;
+
+	private final Reader source;
+
+	private String line = "";
+
+	// the next char of line to read; line.length() is the line feed
+	private int pos = 1;
+
+	private OwlRefsetReader(Iterator<String> lines, Reader source) {
+		this.lines = lines;
+		this.source = source;
+	}
+
+	public OwlRefsetReader(Iterator<String> lines) {
+		this(lines, null);
+	}
+
+	public static OwlRefsetReader open(Path file) throws IOException {
+		// The declarations are few, they are collected first to move them
+		// to the front
+		List<ArrayList<String>> chunks = Rf2Reader.read(file, ArrayList<String>::new, (decls, row) -> {
+			if (row.isActive() && (row.startsWith(OWL_EXPRESSION, PREFIX) || row.startsWith(OWL_EXPRESSION, ONTOLOGY)))
+				decls.add(row.getString(OWL_EXPRESSION));
+		});
+		List<String> header = new ArrayList<>();
+		String ontology = null;
+		for (List<String> chunk : chunks) {
+			for (String decl : chunk) {
+				if (decl.startsWith(PREFIX)) {
+					header.add(decl);
+				} else if (ontology == null) {
+					ontology = decl;
+				}
+			}
+		}
+		if (ontology == null)
+			throw new IOException("No ontology declaration in " + file);
+		header.add(ontology.replace(")", ""));
+		BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+		try {
+			in.readLine(); // header
+		} catch (IOException ex) {
+			in.close();
+			throw ex;
+		}
+		return new OwlRefsetReader(new RefsetLines(header.iterator(), in), in);
+	}
+
+	/**
+	 * @return the rest of the current line of the document without the line
+	 *         feed, or null at the end of the document
+	 */
+	public String readLine() throws IOException {
+		if (pos > line.length()) {
+			if (!nextLine())
+				return null;
+		}
+		String ret = pos == 0 ? line : line.substring(pos);
+		pos = line.length() + 1;
+		return ret;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		int cnt = 0;
+		while (cnt < len) {
+			if (pos > line.length()) {
+				if (!nextLine())
+					break;
+			}
+			if (pos == line.length()) {
+				cbuf[off + cnt++] = '\n';
+				pos++;
+				continue;
+			}
+			int n = Math.min(len - cnt, line.length() - pos);
+			line.getChars(pos, pos + n, cbuf, off + cnt);
+			pos += n;
+			cnt += n;
+		}
+		return cnt == 0 ? -1 : cnt;
+	}
+
+	private boolean nextLine() throws IOException {
+		try {
+			if (!lines.hasNext())
+				return false;
+			line = lines.next();
+			pos = 0;
+			return true;
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (source != null)
+			source.close();
+	}
+
+	// The header, the other active OWL expressions of the file, and the
+	// closing parenthesis
+	private static class RefsetLines implements Iterator<String> {
+
+		private final Iterator<String> header;
+
+		private final BufferedReader in;
+
+		private String next;
+
+		private boolean done;
+
+		// the first ontology declaration is in the header
+		private boolean ontologySkipped;
+
+		RefsetLines(Iterator<String> header, BufferedReader in) {
+			this.header = header;
+			this.in = in;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !done)
+				next = computeNext();
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			String ret = next;
+			next = null;
+			return ret;
+		}
+
+		private String computeNext() {
+			if (header.hasNext())
+				return header.next();
+			try {
+				String row;
+				while ((row = in.readLine()) != null) {
+					String expr = getActiveExpression(row);
+					if (expr == null || expr.startsWith(PREFIX))
+						continue;
+					if (!ontologySkipped && expr.startsWith(ONTOLOGY)) {
+						ontologySkipped = true;
+						continue;
+					}
+					return expr;
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			done = true;
+			return ")";
+		}
+
+	}
+
+	// The OWL expression of an active row, or null
+	private static String getActiveExpression(String row) {
+		int start = 0;
+		for (int field = 0; field < OWL_EXPRESSION; field++) {
+			int tab = row.indexOf('\t', start);
+			if (tab == -1)
+				return null;
+			if (field == ACTIVE && !(tab - start == 1 && row.charAt(start) == '1'))
+				return null;
+			start = tab + 1;
+		}
+		int end = row.indexOf('\t', start);
+		return row.substring(start, end == -1 ? row.length() : end);
+	}
+
+}
@@ -0,0 +1,309 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Answers ancestor queries over a fixed {@link LongDag} without traversing it.
+ * <p>
+ * Each node is numbered in the post order of a spanning tree, and labelled
+ * with the intervals of post order numbers that cover its descendants
+ * (Agrawal, Borgida and Jagadish, 1989). The tree interval covers most
+ * descendants; the other descendants, reached over the remaining edges, add
+ * intervals that are merged when they are adjacent. A query is a binary search
+ * in the intervals of the ancestor and does not allocate.
+ * <p>
+ * The graph must be acyclic. The index is not updated if the graph changes.
+ */
+public final class ReachabilityIndex {
+
+	private final LongDag dag;
+
+	// post order number of each node
+	private final int[] post;
+
+	// the intervals of node i are [starts[j], ends[j]] for offsets[i] <= j <
+	// offsets[i + 1], sorted and disjoint
+	private final int[] offsets;
+	private final int[] starts;
+	private final int[] ends;
+
+	private ReachabilityIndex(LongDag dag, int[] post, int[] offsets, int[] starts, int[] ends) {
+		this.dag = dag;
+		this.post = post;
+		this.offsets = offsets;
+		this.starts = starts;
+		this.ends = ends;
+	}
+
+	public static ReachabilityIndex of(SnomedIsa isa) {
+		return of(isa.getDag());
+	}
+
+	/**
+	 * Builds the index over the direct super concepts of a computed taxonomy.
+	 * The top and bottom nodes are left out, and the members of a node are not
+	 * ancestors of each other.
+	 */
+	public static ReachabilityIndex of(Taxonomy<ElkClass> taxonomy) {
+		return of(SnomedTaxonomyExport.getSuperClasses(taxonomy, true));
+	}
+
+	/**
+	 * @return true if the graph has no cycle, so that {@link #of(LongDag)} can
+	 *         index it
+	 */
+	public static boolean isAcyclic(LongDag dag) {
+		return getTopologicalOrder(dag).length == dag.size();
+	}
+
+	// The nodes in topological order, parents first; the nodes on or below a
+	// cycle are left out
+	private static int[] getTopologicalOrder(LongDag dag) {
+		int size = dag.size();
+		int[] order = new int[size];
+		int[] pending = new int[size];
+		int cnt = 0;
+		for (int i = 0; i < size; i++) {
+			pending[i] = dag.getParentCount(i);
+			if (pending[i] == 0)
+				order[cnt++] = i;
+		}
+		for (int head = 0; head < cnt; head++) {
+			int node = order[head];
+			for (int i = 0; i < dag.getChildCount(node); i++) {
+				int child = dag.getChild(node, i);
+				if (--pending[child] == 0)
+					order[cnt++] = child;
+			}
+		}
+		return cnt == size ? order : Arrays.copyOf(order, cnt);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the graph has a cycle, see
+	 *                                  {@link #isAcyclic(LongDag)}
+	 */
+	public static ReachabilityIndex of(LongDag dag) {
+		int size = dag.size();
+		int[] order = getTopologicalOrder(dag);
+		if (order.length != size)
+			throw new IllegalArgumentException("Cycle in graph: " + (size - order.length) + " nodes not ordered");
+		// The spanning tree uses the deepest parent of each node, so that the
+		// tree intervals cover as many descendants as possible
+		int[] depth = new int[size];
+		int[] tree_parent = new int[size];
+		int[] tree_child_cnt = new int[size + 1];
+		for (int node : order) {
+			tree_parent[node] = -1;
+			for (int i = 0; i < dag.getParentCount(node); i++) {
+				int parent = dag.getParent(node, i);
+				if (tree_parent[node] == -1 || depth[parent] > depth[tree_parent[node]])
+					tree_parent[node] = parent;
+			}
+			if (tree_parent[node] != -1) {
+				depth[node] = depth[tree_parent[node]] + 1;
+				tree_child_cnt[tree_parent[node] + 1]++;
+			}
+		}
+		for (int i = 0; i < size; i++)
+			tree_child_cnt[i + 1] += tree_child_cnt[i];
+		int[] tree_offsets = tree_child_cnt;
+		int[] tree_children = new int[size];
+		int[] fill = Arrays.copyOf(tree_offsets, size);
+		for (int node : order) {
+			if (tree_parent[node] != -1)
+				tree_children[fill[tree_parent[node]]++] = node;
+		}
+		// post order numbers, and the first number in the tree below each node
+		int[] post = new int[size];
+		int[] low = new int[size];
+		int[] stack = new int[size];
+		int[] next_child = new int[size];
+		int counter = 0;
+		for (int root : order) {
+			if (tree_parent[root] != -1)
+				continue;
+			int top = 0;
+			stack[top++] = root;
+			low[root] = counter;
+			while (top > 0) {
+				int node = stack[top - 1];
+				if (next_child[node] < tree_offsets[node + 1] - tree_offsets[node]) {
+					int child = tree_children[tree_offsets[node] + next_child[node]++];
+					low[child] = counter;
+					stack[top++] = child;
+					continue;
+				}
+				top--;
+				post[node] = counter++;
+			}
+		}
+		// The intervals of a node are its tree interval merged with the
+		// intervals of its children; children are done before their parents
+		int[] from = new int[size];
+		int[] to = new int[size];
+		IntList starts = new IntList(size);
+		IntList ends = new IntList(size);
+		long[] merge = new long[16];
+		for (int k = size - 1; k >= 0; k--) {
+			int node = order[k];
+			int merge_cnt = 0;
+			merge[merge_cnt++] = pack(low[node], post[node]);
+			for (int i = 0; i < dag.getChildCount(node); i++) {
+				int child = dag.getChild(node, i);
+				// the intervals of a tree child are within the tree interval,
+				// except for those of its own non tree descendants
+				merge = grow(merge, merge_cnt + to[child] - from[child]);
+				for (int j = from[child]; j < to[child]; j++) {
+					if (starts.get(j) < low[node] || ends.get(j) > post[node])
+						merge[merge_cnt++] = pack(starts.get(j), ends.get(j));
+				}
+			}
+			Arrays.sort(merge, 0, merge_cnt);
+			from[node] = starts.size();
+			int cur_start = unpackStart(merge[0]);
+			int cur_end = unpackEnd(merge[0]);
+			for (int i = 1; i < merge_cnt; i++) {
+				int s = unpackStart(merge[i]);
+				int e = unpackEnd(merge[i]);
+				if (s <= cur_end + 1) {
+					cur_end = Math.max(cur_end, e);
+				} else {
+					starts.add(cur_start);
+					ends.add(cur_end);
+					cur_start = s;
+					cur_end = e;
+				}
+			}
+			starts.add(cur_start);
+			ends.add(cur_end);
+			to[node] = starts.size();
+		}
+		// copy in index order
+		int total = starts.size();
+		int[] offsets = new int[size + 1];
+		int[] index_starts = new int[total];
+		int[] index_ends = new int[total];
+		int pos = 0;
+		for (int i = 0; i < size; i++) {
+			offsets[i] = pos;
+			for (int j = from[i]; j < to[i]; j++) {
+				index_starts[pos] = starts.get(j);
+				index_ends[pos] = ends.get(j);
+				pos++;
+			}
+		}
+		offsets[size] = pos;
+		return new ReachabilityIndex(dag, post, offsets, index_starts, index_ends);
+	}
+
+	private static long[] grow(long[] array, int size) {
+		if (size <= array.length)
+			return array;
+		return Arrays.copyOf(array, Math.max(size, 2 * array.length));
+	}
+
+	private static long pack(int start, int end) {
+		return ((long) start << 32) | (end & 0xFFFFFFFFL);
+	}
+
+	private static int unpackStart(long interval) {
+		return (int) (interval >>> 32);
+	}
+
+	private static int unpackEnd(long interval) {
+		return (int) interval;
+	}
+
+	public LongDag getDag() {
+		return dag;
+	}
+
+	/**
+	 * @return true if ancestor is a proper ancestor of id; false if either is
+	 *         not in the graph
+	 */
+	public boolean hasAncestor(long id, long ancestor) {
+		int index = dag.indexOf(id);
+		int ancestor_index = dag.indexOf(ancestor);
+		if (index == -1 || ancestor_index == -1 || index == ancestor_index)
+			return false;
+		int p = post[index];
+		// the last interval starting at or before p
+		int lo = offsets[ancestor_index];
+		int hi = offsets[ancestor_index + 1] - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			if (starts[mid] <= p) {
+				lo = mid + 1;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return hi >= offsets[ancestor_index] && p <= ends[hi];
+	}
+
+	/**
+	 * @return the total number of intervals, at least the number of nodes
+	 */
+	public int getIntervalCount() {
+		return starts.length;
+	}
+
+	/**
+	 * @return the approximate size of the index in bytes, not counting the
+	 *         graph
+	 */
+	public long getSizeInBytes() {
+		return 4L * (post.length + offsets.length + starts.length + ends.length);
+	}
+
+	private static final class IntList {
+
+		private int[] values;
+		private int size;
+
+		IntList(int capacity) {
+			values = new int[Math.max(capacity, 16)];
+		}
+
+		void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, 2 * size);
+			values[size++] = value;
+		}
+
+		int get(int i) {
+			return values[i];
+		}
+
+		int size() {
+			return size;
+		}
+
+	}
+
+}
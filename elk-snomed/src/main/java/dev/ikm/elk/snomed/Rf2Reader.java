@@ -0,0 +1,245 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Reads tab separated RF2 release files without creating a String per line or
+ * per field. The file is memory mapped in chunks that end at line boundaries,
+ * and the chunks are parsed in parallel. Each chunk is passed row by row to
+ * its own accumulator, so the consumers do not need to synchronize. The
+ * accumulators are returned in file order.
+ * <p>
+ * The first line of the file is the header and is skipped.
+ */
+public class Rf2Reader {
+
+	// Upper bound on the size of one chunk, well below the 2GB mapping limit
+	private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+
+	private static final long MIN_CHUNK_SIZE = 1024L * 1024;
+
+	private static final int MAX_FIELDS = 16;
+
+	/**
+	 * A view of the current row of a chunk. The row is only valid inside the
+	 * consumer call; fields are parsed on request.
+	 */
+	public static final class Row {
+
+		private final ByteBuffer buf;
+
+		// start and end (exclusive) of each field in buf
+		private final int[] starts = new int[MAX_FIELDS];
+		private final int[] ends = new int[MAX_FIELDS];
+
+		private int fieldCount;
+
+		private Row(ByteBuffer buf) {
+			this.buf = buf;
+		}
+
+		public int getFieldCount() {
+			return fieldCount;
+		}
+
+		private void checkField(int field) {
+			if (field >= fieldCount)
+				throw new IllegalArgumentException("No field " + field + " in row with " + fieldCount + " fields");
+		}
+
+		/**
+		 * @return the field parsed as a non-negative decimal number
+		 * @throws NumberFormatException if the field is empty, is not a number
+		 *                               or does not fit in a long, as
+		 *                               {@link Long#parseLong(String)} does
+		 */
+		public long getLong(int field) {
+			checkField(field);
+			int end = ends[field];
+			int length = end - starts[field];
+			if (length == 0)
+				throw new NumberFormatException("Empty field " + field);
+			// up to 18 digits cannot overflow
+			if (length > 18)
+				return Long.parseLong(getString(field));
+			long value = 0;
+			for (int i = starts[field]; i < end; i++) {
+				int digit = buf.get(i) - '0';
+				if (digit < 0 || digit > 9)
+					throw new NumberFormatException("Not a number: " + getString(field));
+				value = value * 10 + digit;
+			}
+			return value;
+		}
+
+		public String getString(int field) {
+			checkField(field);
+			byte[] bytes = new byte[ends[field] - starts[field]];
+			buf.get(starts[field], bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * @return true if the field starts with the given ASCII prefix
+		 */
+		public boolean startsWith(int field, String prefix) {
+			checkField(field);
+			if (ends[field] - starts[field] < prefix.length())
+				return false;
+			for (int i = 0; i < prefix.length(); i++) {
+				if (buf.get(starts[field] + i) != prefix.charAt(i))
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @return true if the active field (the third field of every RF2 file)
+		 *         is 1
+		 */
+		public boolean isActive() {
+			checkField(2);
+			return ends[2] - starts[2] == 1 && buf.get(starts[2]) == '1';
+		}
+
+	}
+
+	/**
+	 * Reads the rows of the file in parallel chunks.
+	 *
+	 * @param <A>         the type of the accumulators
+	 * @param file        the RF2 file
+	 * @param accumulator creates the accumulator of one chunk
+	 * @param consumer    adds a row to the accumulator of its chunk
+	 * @return the accumulators of the chunks, in file order
+	 * @throws IOException if the file cannot be read
+	 */
+	public static <A> List<A> read(Path file, Supplier<A> accumulator, BiConsumer<A, Row> consumer)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long[] bounds = getChunkBounds(channel);
+			List<A> results = new ArrayList<>(bounds.length - 1);
+			for (int i = 0; i < bounds.length - 1; i++) {
+				results.add(accumulator.get());
+			}
+			try {
+				IntStream.range(0, bounds.length - 1).parallel().forEach(i -> {
+					try {
+						MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i],
+								bounds[i + 1] - bounds[i]);
+						readChunk(buf, results.get(i), consumer);
+					} catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+			} catch (UncheckedIOException ex) {
+				throw ex.getCause();
+			}
+			return results;
+		}
+	}
+
+	// The chunks start after the header line and end after a line feed or at
+	// the end of the file
+	private static long[] getChunkBounds(FileChannel channel) throws IOException {
+		long size = channel.size();
+		long start = nextLine(channel, 0, size);
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, (size - start) / (4L * parallelism)));
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(start);
+		long pos = start;
+		while (pos < size) {
+			pos = nextLine(channel, Math.min(pos + chunkSize, size), size);
+			bounds.add(pos);
+		}
+		return bounds.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	// The position after the first line feed at or after pos, or size
+	private static long nextLine(FileChannel channel, long pos, long size) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(8192);
+		while (pos < size) {
+			buf.clear();
+			int n = channel.read(buf, pos);
+			if (n <= 0)
+				break;
+			for (int i = 0; i < n; i++) {
+				if (buf.get(i) == '\n')
+					return pos + i + 1;
+			}
+			pos += n;
+		}
+		return size;
+	}
+
+	private static <A> void readChunk(ByteBuffer buf, A acc, BiConsumer<A, Row> consumer) {
+		Row row = new Row(buf);
+		int limit = buf.limit();
+		int pos = 0;
+		while (pos < limit) {
+			int field = 0;
+			int start = pos;
+			int end = pos;
+			for (; end < limit; end++) {
+				byte b = buf.get(end);
+				if (b == '\n')
+					break;
+				if (b == '\t') {
+					if (field < MAX_FIELDS) {
+						row.starts[field] = start;
+						row.ends[field] = end;
+					}
+					field++;
+					start = end + 1;
+				}
+			}
+			int next = end + 1;
+			if (end > start && buf.get(end - 1) == '\r')
+				end--;
+			if (field < MAX_FIELDS) {
+				row.starts[field] = start;
+				row.ends[field] = end;
+			}
+			field++;
+			row.fieldCount = Math.min(field, MAX_FIELDS);
+			// skip empty lines, e.g., at the end of the file
+			if (field > 1 || end > start)
+				consumer.accept(acc, row);
+			pos = next;
+		}
+	}
+
+}
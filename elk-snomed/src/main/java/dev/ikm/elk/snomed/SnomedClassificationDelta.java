@@ -0,0 +1,187 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChange;
+
+/**
+ * The concepts whose classification changed after a batch of changes, see
+ * {@link SnomedOntologyReasoner#apply(Collection, Collection)}, with their old
+ * and new direct super concepts and equivalent concepts. The ids follow
+ * {@link SnomedOntologyReasoner#getSuperConcepts(long)} and
+ * {@link SnomedOntologyReasoner#getEquivalentConcepts(long)}, except that an
+ * unsatisfiable concept has no super concepts.
+ */
+public final class SnomedClassificationDelta {
+
+	public static final class Change {
+
+		private final long id;
+
+		private final Set<Long> oldParents, oldEquivalents, newParents, newEquivalents;
+
+		private final boolean oldUnsatisfiable, newUnsatisfiable;
+
+		private Change(long id, TaxonomyChange<ElkClass> change) {
+			this.id = id;
+			this.oldParents = toIds(change.getOldDirectSupers());
+			this.oldEquivalents = toIds(change.getOldEquivalents());
+			this.oldUnsatisfiable = isUnsatisfiable(change.getOldEquivalents());
+			this.newParents = toIds(change.getNewDirectSupers());
+			this.newEquivalents = toIds(change.getNewEquivalents());
+			this.newUnsatisfiable = isUnsatisfiable(change.getNewEquivalents());
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		/**
+		 * @return the direct super concepts before the changes or null if the
+		 *         concept was not classified, e.g., it is new
+		 */
+		public Set<Long> getOldParents() {
+			return oldParents;
+		}
+
+		/**
+		 * @return the direct super concepts after the changes or null if the
+		 *         concept is not classified, e.g., it has no definitions anymore
+		 */
+		public Set<Long> getNewParents() {
+			return newParents;
+		}
+
+		/**
+		 * @return the equivalent concepts before the changes, including the
+		 *         concept, or null if the concept was not classified
+		 */
+		public Set<Long> getOldEquivalents() {
+			return oldEquivalents;
+		}
+
+		/**
+		 * @return the equivalent concepts after the changes, including the
+		 *         concept, or null if the concept is not classified
+		 */
+		public Set<Long> getNewEquivalents() {
+			return newEquivalents;
+		}
+
+		public boolean isOldUnsatisfiable() {
+			return oldUnsatisfiable;
+		}
+
+		public boolean isNewUnsatisfiable() {
+			return newUnsatisfiable;
+		}
+
+		private boolean isChanged() {
+			return !Objects.equals(oldParents, newParents) || !Objects.equals(oldEquivalents, newEquivalents)
+					|| oldUnsatisfiable != newUnsatisfiable;
+		}
+
+		@Override
+		public String toString() {
+			return "Change[" + id + ": " + oldParents + " " + oldEquivalents + " -> " + newParents + " "
+					+ newEquivalents + "]";
+		}
+
+	}
+
+	private final TreeMap<Long, Change> changes = new TreeMap<>();
+
+	private SnomedClassificationDelta() {
+	}
+
+	/**
+	 * @return the delta of the given changes of the class taxonomy, without
+	 *         owl:Thing and owl:Nothing
+	 */
+	public static SnomedClassificationDelta of(List<TaxonomyChange<ElkClass>> taxonomy_changes) {
+		SnomedClassificationDelta delta = new SnomedClassificationDelta();
+		for (TaxonomyChange<ElkClass> taxonomy_change : taxonomy_changes) {
+			if (isPredefined(taxonomy_change.getEntity()))
+				continue;
+			long id = SnomedTaxonomyExport.getId(taxonomy_change.getEntity());
+			Change change = new Change(id, taxonomy_change);
+			// e.g., only owl:Thing was added to the equivalents
+			if (change.isChanged())
+				delta.changes.put(id, change);
+		}
+		return delta;
+	}
+
+	private static boolean isPredefined(ElkClass clazz) {
+		return clazz.getIri().equals(PredefinedElkIris.OWL_THING)
+				|| clazz.getIri().equals(PredefinedElkIris.OWL_NOTHING);
+	}
+
+	private static Set<Long> toIds(Set<ElkClass> classes) {
+		if (classes == null)
+			return null;
+		return Collections.unmodifiableSet(classes.stream().filter(clazz -> !isPredefined(clazz))
+				.map(SnomedTaxonomyExport::getId).collect(Collectors.toSet()));
+	}
+
+	private static boolean isUnsatisfiable(Set<ElkClass> equivalents) {
+		return equivalents != null
+				&& equivalents.stream().anyMatch(clazz -> clazz.getIri().equals(PredefinedElkIris.OWL_NOTHING));
+	}
+
+	/**
+	 * @return the changes ordered by the ids of the concepts
+	 */
+	public Collection<Change> getChanges() {
+		return Collections.unmodifiableCollection(changes.values());
+	}
+
+	/**
+	 * @return the change of the concept or null if its classification did not
+	 *         change
+	 */
+	public Change getChange(long id) {
+		return changes.get(id);
+	}
+
+	public Set<Long> getChangedConcepts() {
+		return Collections.unmodifiableSet(changes.keySet());
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	public int size() {
+		return changes.size();
+	}
+
+}
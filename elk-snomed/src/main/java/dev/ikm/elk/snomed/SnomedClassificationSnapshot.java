@@ -0,0 +1,311 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.StreamSupport;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRole;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+/**
+ * The result of a classification saved to a file, so that a later run can
+ * answer taxonomy queries without classifying again, see
+ * {@link SnomedOntologyReasoner#create(SnomedOntology, SnomedClassificationSnapshot)}.
+ * <p>
+ * The snapshot holds the direct super concepts and the direct super role
+ * types, exported as in {@link SnomedTaxonomyExport}, the groups of equivalent
+ * concepts and the unsatisfiable concepts. It does not hold the internal state
+ * of the reasoner, which is rebuilt from the ontology when it is needed. The
+ * header holds a {@link #fingerprint(SnomedOntology) fingerprint} of the
+ * classified ontology, so that a snapshot is not used for a different one.
+ * <p>
+ * The file is read through a memory mapping; the arrays of the graphs are
+ * copied out of it in bulk, without parsing.
+ */
+public final class SnomedClassificationSnapshot {
+
+	// "ELKS"
+	private static final int MAGIC = 0x454c4b53;
+
+	private static final int VERSION = 2;
+
+	private final long fingerprint;
+
+	private final LongDag superConcepts;
+
+	private final LongDag superRoleTypes;
+
+	// the members of the nodes with more than one member, without top and bottom
+	private final List<long[]> equivalents;
+
+	private final long[] unsatisfiable;
+
+	// id -> the members of its node, for the ids in equivalents
+	private final HashMap<Long, Set<Long>> equivalentsMap = new HashMap<>();
+
+	private final Set<Long> unsatisfiableSet;
+
+	// the concepts without sub concepts, computed when first needed
+	private volatile Set<Long> leafConcepts;
+
+	private SnomedClassificationSnapshot(long fingerprint, LongDag superConcepts, LongDag superRoleTypes,
+			List<long[]> equivalents, long[] unsatisfiable) {
+		this.fingerprint = fingerprint;
+		this.superConcepts = superConcepts;
+		this.superRoleTypes = superRoleTypes;
+		this.equivalents = equivalents;
+		this.unsatisfiable = unsatisfiable;
+		for (long[] group : equivalents) {
+			Set<Long> set = toSet(group);
+			for (long id : group)
+				equivalentsMap.put(id, set);
+		}
+		this.unsatisfiableSet = toSet(unsatisfiable);
+	}
+
+	private static Set<Long> toSet(long[] ids) {
+		HashSet<Long> set = new HashSet<>();
+		for (long id : ids)
+			set.add(id);
+		return Collections.unmodifiableSet(set);
+	}
+
+	/**
+	 * @return the snapshot of the class and object property taxonomies computed
+	 *         for the ontology
+	 */
+	public static SnomedClassificationSnapshot of(SnomedOntology ontology, Taxonomy<ElkClass> classes,
+			Taxonomy<ElkObjectProperty> properties) {
+		LongDag super_concepts = SnomedTaxonomyExport.getSuperClasses(classes, true);
+		LongDag super_role_types = SnomedTaxonomyExport.getSuperObjectProperties(properties, true);
+		TaxonomyNode<ElkClass> bottom = classes.getBottomNode();
+		List<long[]> equivalents = new ArrayList<>();
+		for (TaxonomyNode<ElkClass> node : classes.getNodes()) {
+			if (node.equals(bottom) || node.size() < 2)
+				continue;
+			long[] group = getIds(node);
+			if (group.length > 1)
+				equivalents.add(group);
+		}
+		return new SnomedClassificationSnapshot(fingerprint(ontology), super_concepts, super_role_types, equivalents,
+				getIds(bottom));
+	}
+
+	// the ids of the members, without owl:Thing and owl:Nothing
+	private static long[] getIds(TaxonomyNode<ElkClass> node) {
+		return StreamSupport.stream(node.spliterator(), false)
+				.filter(clazz -> !clazz.getIri().equals(PredefinedElkIris.OWL_THING)
+						&& !clazz.getIri().equals(PredefinedElkIris.OWL_NOTHING))
+				.mapToLong(SnomedTaxonomyExport::getId).toArray();
+	}
+
+	public void write(Path file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(fingerprint);
+			superConcepts.write(out);
+			superRoleTypes.write(out);
+			out.writeInt(equivalents.size());
+			for (long[] group : equivalents)
+				writeIds(out, group);
+			writeIds(out, unsatisfiable);
+		}
+	}
+
+	private static void writeIds(DataOutputStream out, long[] ids) throws IOException {
+		out.writeInt(ids.length);
+		for (long id : ids)
+			out.writeLong(id);
+	}
+
+	public static SnomedClassificationSnapshot read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buf.remaining() < 2 * Integer.BYTES || buf.getInt() != MAGIC)
+				throw new IOException("Not a classification snapshot: " + file);
+			int version = buf.getInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported snapshot version " + version + ": " + file);
+			long fingerprint = buf.getLong();
+			LongDag super_concepts = LongDag.read(buf);
+			LongDag super_role_types = LongDag.read(buf);
+			int cnt = buf.getInt();
+			List<long[]> equivalents = new ArrayList<>(cnt);
+			for (int i = 0; i < cnt; i++)
+				equivalents.add(readIds(buf));
+			long[] unsatisfiable = readIds(buf);
+			return new SnomedClassificationSnapshot(fingerprint, super_concepts, super_role_types, equivalents,
+					unsatisfiable);
+		}
+	}
+
+	private static long[] readIds(ByteBuffer buf) {
+		long[] ids = new long[buf.getInt()];
+		buf.asLongBuffer().get(ids);
+		buf.position(buf.position() + Long.BYTES * ids.length);
+		return ids;
+	}
+
+	/**
+	 * A hash of the ontology content that determines the classification: the
+	 * ids of the concepts with their definitions and GCI definitions, and the
+	 * ids of the role types and concrete role types with their super types and
+	 * properties. The names are not included. The hash does not depend on the
+	 * order of the concepts, definitions or roles.
+	 */
+	public static long fingerprint(SnomedOntology ontology) {
+		long concepts = sum(ontology.getConcepts(), con -> combine(
+				combine(con.getId(), sum(con.getDefinitions(), SnomedClassificationSnapshot::hash)),
+				sum(con.getGciDefinitions(), SnomedClassificationSnapshot::hash)));
+		long role_types = sum(ontology.getRoleTypes(),
+				rt -> combine(combine(combine(combine(rt.getId(), sum(rt.getSuperRoleTypes(), RoleType::getId)),
+						rt.isTransitive() ? 1 : 0), rt.isReflexive() ? 1 : 0),
+						rt.getChained() == null ? 0 : rt.getChained().getId()));
+		long concrete_role_types = sum(ontology.getConcreteRoleTypes(),
+				crt -> combine(crt.getId(), sum(crt.getSuperConcreteRoleTypes(), ConcreteRoleType::getId)));
+		return combine(combine(concepts, role_types), concrete_role_types);
+	}
+
+	private static long hash(Definition def) {
+		long hash = String.valueOf(def.getDefinitionType()).hashCode();
+		hash = combine(hash, sum(def.getSuperConcepts(), Concept::getId));
+		hash = combine(hash, hash(def.getUngroupedRoles(), def.getUngroupedConcreteRoles()));
+		return combine(hash, sum(def.getRoleGroups(), group -> hash(group.getRoles(), group.getConcreteRoles())));
+	}
+
+	private static long hash(Set<Role> roles, Set<ConcreteRole> concreteRoles) {
+		return combine(sum(roles, role -> combine(role.getRoleType().getId(), role.getConcept().getId())),
+				sum(concreteRoles,
+						role -> combine(combine(role.getConcreteRoleType().getId(), role.getValue().hashCode()),
+								String.valueOf(role.getValueType()).hashCode())));
+	}
+
+	// the order of the items does not matter
+	private static <T> long sum(Collection<T> items, ToLongFunction<T> hash) {
+		long sum = 0;
+		for (T item : items)
+			sum += mix(hash.applyAsLong(item));
+		return sum;
+	}
+
+	private static long combine(long hash, long value) {
+		return mix(31 * hash + value);
+	}
+
+	// the finalizer of SplitMix64
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+
+	/**
+	 * @return the {@link #fingerprint(SnomedOntology)} of the classified
+	 *         ontology
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return the direct super concepts of the satisfiable concepts
+	 */
+	public LongDag getSuperConcepts() {
+		return superConcepts;
+	}
+
+	/**
+	 * @return the direct super role types of the role types
+	 */
+	public LongDag getSuperRoleTypes() {
+		return superRoleTypes;
+	}
+
+	/**
+	 * @return the concepts equivalent to the concept, including itself
+	 */
+	public Set<Long> getEquivalentConcepts(long id) {
+		if (isUnsatisfiable(id))
+			return unsatisfiableSet;
+		return equivalentsMap.getOrDefault(id, Set.of(id));
+	}
+
+	/**
+	 * @return the satisfiable concepts without satisfiable sub concepts, which
+	 *         are the direct super concepts of the unsatisfiable concepts
+	 */
+	public Set<Long> getLeafConcepts() {
+		Set<Long> leaves = leafConcepts;
+		if (leaves == null) {
+			HashSet<Long> set = new HashSet<>();
+			for (int i = 0; i < superConcepts.size(); i++) {
+				if (superConcepts.getChildCount(i) == 0)
+					set.add(superConcepts.getId(i));
+			}
+			leaves = Collections.unmodifiableSet(set);
+			leafConcepts = leaves;
+		}
+		return leaves;
+	}
+
+	public Set<Long> getUnsatisfiableConcepts() {
+		return unsatisfiableSet;
+	}
+
+	public boolean isUnsatisfiable(long id) {
+		return unsatisfiableSet.contains(id);
+	}
+
+	/**
+	 * @return true if the concept is in the snapshot, either satisfiable or not
+	 */
+	public boolean contains(long id) {
+		return superConcepts.contains(id) || isUnsatisfiable(id);
+	}
+
+}
@@ -21,33 +21,71 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map.Entry;
-import java.util.stream.Stream;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * The is-a hierarchy of SNOMED concepts, stored as a {@link LongDag}.
+ */
 public class SnomedIsa {
 
 	public static long root = SnomedIds.root;
 
 	public static long isa = SnomedIds.isa;
 
-	private HashMap<Long, Set<Long>> parentsMap = new HashMap<>();
-
-	private HashMap<Long, Set<Long>> childrenMap = new HashMap<>();
+	private LongDag dag = LongDag.builder().build();
 
 	private ArrayList<Long> concepts = new ArrayList<>();
 
+	// The nodes with an index below keyCount are keys of getParentsMap() even
+	// without parents: the keys of the map given to init(HashMap), which
+	// LongDag.of indexes first
+	private int keyCount = 0;
+
+	private ReachabilityIndex reachability;
+
+	public LongDag getDag() {
+		return dag;
+	}
+
+	/**
+	 * Builds a {@link ReachabilityIndex}, used by {@link #hasAncestor(long, long)}
+	 * from now on. Worth it when there are many ancestor queries against a fixed
+	 * hierarchy.
+	 */
+	public ReachabilityIndex initReachabilityIndex() {
+		reachability = ReachabilityIndex.of(dag);
+		return reachability;
+	}
+
+	public ReachabilityIndex getReachabilityIndex() {
+		return reachability;
+	}
+
+	/**
+	 * @return a copy of the parents of each concept with parents and of each key
+	 *         of the map given to {@link #init(HashMap)}; changing it does not
+	 *         change the hierarchy
+	 */
 	public HashMap<Long, Set<Long>> getParentsMap() {
-		return parentsMap;
+		HashMap<Long, Set<Long>> map = dag.toParentsMap();
+		for (int i = keyCount; i < dag.size(); i++) {
+			if (dag.getParentCount(i) == 0)
+				map.remove(dag.getId(i));
+		}
+		return map;
 	}
 
+	/**
+	 * @return a copy of the children of each concept with children; changing it
+	 *         does not change the hierarchy
+	 */
 	public HashMap<Long, Set<Long>> getChildrenMap() {
-		return childrenMap;
+		return dag.toChildrenMap();
 	}
 
 	public ArrayList<Long> getConcepts() {
@@ -57,48 +95,47 @@ public ArrayList<Long> getConcepts() {
 	public static SnomedIsa init(Path file) throws IOException {
 		SnomedIsa ret = new SnomedIsa();
 		ret.load(file);
-		ret.init();
+		ret.initConcepts();
 		return ret;
 	}
 
 	public static SnomedIsa init(HashMap<Long, Set<Long>> isas) {
-		SnomedIsa ret = new SnomedIsa();
-		ret.parentsMap = isas;
-		ret.init();
+		SnomedIsa ret = init(LongDag.of(isas));
+		ret.keyCount = isas.size();
 		return ret;
 	}
 
-	private void init() {
-		initChildren();
-		initConcepts();
-	}
-
-	private void initChildren() {
-		for (Entry<Long, Set<Long>> es : parentsMap.entrySet()) {
-			long con = es.getKey();
-			for (long parent : es.getValue()) {
-				childrenMap.computeIfAbsent(parent, x -> new HashSet<>());
-				childrenMap.get(parent).add(con);
-			}
-		}
+	public static SnomedIsa init(LongDag isas) {
+		SnomedIsa ret = new SnomedIsa();
+		ret.dag = isas;
+		ret.initConcepts();
+		return ret;
 	}
 
+	// The concepts under root in topological order: a concept follows all its
+	// parents
 	private void initConcepts() {
-		HashSet<Long> visited = new HashSet<>();
-		concepts.add(root);
-		visited.add(root);
-		initConcepts(root, visited);
-	}
-
-	private void initConcepts(long con, HashSet<Long> visited) {
-		for (long sub : getChildren(con)) {
-			boolean sups_visited = getParents(sub).stream().allMatch(x -> visited.contains(x));
-			if (sups_visited) {
-				if (!visited.contains(sub)) {
-					concepts.add(sub);
-					visited.add(sub);
-				}
-				initConcepts(sub, visited);
+		concepts = new ArrayList<>();
+		int root_index = dag.indexOf(root);
+		if (root_index == -1) {
+			concepts.add(root);
+			return;
+		}
+		int[] pending = new int[dag.size()];
+		for (int i = 0; i < pending.length; i++) {
+			pending[i] = dag.getParentCount(i);
+		}
+		int[] queue = new int[dag.size()];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = root_index;
+		while (head < tail) {
+			int con = queue[head++];
+			concepts.add(dag.getId(con));
+			for (int i = 0; i < dag.getChildCount(con); i++) {
+				int sub = dag.getChild(con, i);
+				if (--pending[sub] == 0)
+					queue[tail++] = sub;
 			}
 		}
 	}
@@ -108,65 +145,47 @@ public void load(Path file) throws IOException {
 		// typeId characteristicTypeId modifierId
 		//
 		// 116680003 |Is a (attribute)|
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) == isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						long par = Long.parseLong(fields[5]); // destinationId
-						parentsMap.computeIfAbsent(con, x -> new HashSet<>());
-						parentsMap.get(con).add(par);
-					});
+		List<LongDag.Builder> chunks = Rf2Reader.read(file, LongDag::builder, (edges, row) -> {
+			if (row.isActive() && row.getLong(7) == isa) { // typeId
+				long con = row.getLong(4); // sourceId
+				long par = row.getLong(5); // destinationId
+				edges.addEdge(con, par);
+			}
+		});
+		LongDag.Builder builder = dag.toBuilder();
+		for (LongDag.Builder chunk : chunks) {
+			builder.addAll(chunk);
 		}
+		dag = builder.build();
+		reachability = null;
 	}
 
 	public Set<Long> getParents(long con) {
-		return parentsMap.getOrDefault(con, Set.of());
+		return dag.getParents(con);
 	}
 
 	public boolean hasParent(long con, long parent) {
-		return getParents(con).contains(parent);
+		return dag.hasParent(con, parent);
 	}
 
 	public HashSet<Long> getAncestors(long con) {
-		HashSet<Long> visited = new HashSet<>();
-		this.getAncestors(con, visited);
-		return visited;
-	}
-
-	private void getAncestors(long con, HashSet<Long> visited) {
-		for (long parent : this.getParents(con)) {
-			if (visited.contains(parent))
-				continue;
-			visited.add(parent);
-			getAncestors(parent, visited);
-		}
+		HashSet<Long> ancestors = new HashSet<>();
+		dag.forEachAncestor(con, ancestors::add);
+		return ancestors;
 	}
 
 	public boolean hasAncestor(long con, long ancestor) {
-		return hasAncestor(con, ancestor, new HashSet<>());
-	}
-
-	private boolean hasAncestor(long con, long ancestor, HashSet<Long> visited) {
-		if (hasParent(con, ancestor))
-			return true;
-		for (long parent : getParents(con)) {
-			if (visited.contains(parent))
-				continue;
-			if (hasAncestor(parent, ancestor, visited))
-				return true;
-			visited.add(parent);
-		}
-		return false;
+		if (reachability != null)
+			return reachability.hasAncestor(con, ancestor);
+		return dag.hasAncestor(con, ancestor);
 	}
 
 	public Set<Long> getChildren(long con) {
-		return childrenMap.getOrDefault(con, Set.of());
+		return dag.getChildren(con);
 	}
 
 	public boolean hasChild(long con, long child) {
-		return getChildren(con).contains(child);
+		return dag.hasChild(con, child);
 	}
 
 }
@@ -24,6 +24,7 @@
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 import dev.ikm.elk.snomed.model.Concept;
 import dev.ikm.elk.snomed.model.ConcreteRoleType;
@@ -35,10 +36,14 @@ public class SnomedOntology {
 
 	private List<Concept> concepts;
 
+	private HashMap<Long, Integer> conceptIndexMap;
+
 	private HashMap<Long, RoleType> roleTypeIdMap;
 
 	private List<RoleType> roleTypes;
 
+	private HashMap<Long, Integer> roleTypeIndexMap;
+
 	private HashMap<Long, ConcreteRoleType> concreteRoleTypeIdMap;
 
 	private List<ConcreteRoleType> concreteRoleTypes;
@@ -67,18 +72,57 @@ public List<ConcreteRoleType> getConcreteRoleTypes() {
 		return concreteRoleTypes;
 	}
 
+	/**
+	 * Adds the concept or replaces the concept with the same id
+	 */
+	public void putConcept(Concept con) {
+		Concept old = conceptIdMap.put(con.getId(), con);
+		if (old == null) {
+			conceptIndexMap.put(con.getId(), concepts.size());
+			concepts.add(con);
+		} else if (old != con) {
+			concepts.set(conceptIndexMap.get(con.getId()), con);
+		}
+	}
+
+	/**
+	 * Adds the role type or replaces the role type with the same id
+	 */
+	public void putRoleType(RoleType rt) {
+		RoleType old = roleTypeIdMap.put(rt.getId(), rt);
+		if (old == null) {
+			roleTypeIndexMap.put(rt.getId(), roleTypes.size());
+			roleTypes.add(rt);
+		} else if (old != rt) {
+			roleTypes.set(roleTypeIndexMap.get(rt.getId()), rt);
+		}
+	}
+
 	public SnomedOntology(Collection<Concept> concepts, Collection<RoleType> roleTypes,
 			Collection<ConcreteRoleType> concreteRoleTypes) {
 		super();
 		this.conceptIdMap = new HashMap<>();
 		concepts.forEach(x -> conceptIdMap.put(x.getId(), x));
 		this.concepts = new ArrayList<>(conceptIdMap.values());
+		this.conceptIndexMap = indexMap(this.concepts, Concept::getId);
 		this.roleTypeIdMap = new HashMap<>();
 		roleTypes.forEach(x -> roleTypeIdMap.put(x.getId(), x));
 		this.roleTypes = new ArrayList<>(roleTypes);
+		this.roleTypeIndexMap = indexMap(this.roleTypes, RoleType::getId);
 		this.concreteRoleTypeIdMap = new HashMap<>();
 		concreteRoleTypes.forEach(x -> concreteRoleTypeIdMap.put(x.getId(), x));
 		this.concreteRoleTypes = new ArrayList<>(concreteRoleTypes);
 	}
 
+	/**
+	 * Maps the id of each element to its first position in the list
+	 */
+	private static <T> HashMap<Long, Integer> indexMap(List<T> list, ToLongFunction<T> id) {
+		HashMap<Long, Integer> index_map = new HashMap<>();
+		for (int i = 0; i < list.size(); i++) {
+			index_map.putIfAbsent(id.applyAsLong(list.get(i)), i);
+		}
+		return index_map;
+	}
+
 }
@@ -21,6 +21,7 @@
  */
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +39,8 @@
 import org.semanticweb.elk.owl.interfaces.ElkObjectSomeValuesFrom;
 import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +52,7 @@
 import dev.ikm.elk.snomed.model.Role;
 import dev.ikm.elk.snomed.model.RoleGroup;
 import dev.ikm.elk.snomed.model.RoleType;
+import dev.ikm.elk.snomed.owlapix.model.OWLOntologyChange;
 import dev.ikm.elk.snomed.owlapix.model.OwlxOntology;
 import dev.ikm.elk.snomed.owlapix.reasoner.InferenceType;
 import dev.ikm.elk.snomed.reasoner.ElkReasoner;
@@ -65,6 +69,12 @@ public class SnomedOntologyReasoner {
 
 	private HashMap<Long, List<ElkAxiom>> conceptIdAxiomMap;
 
+	private HashMap<Long, List<ElkAxiom>> roleTypeIdAxiomMap;
+
+	// Answers the queries by id until the ontology changes; the reasoner is
+	// null until it is needed
+	private SnomedClassificationSnapshot snapshot;
+
 	private SnomedOntologyReasoner() {
 		super();
 	}
@@ -75,19 +85,73 @@ public static SnomedOntologyReasoner create(SnomedOntology snomedOntology) {
 		return sor;
 	}
 
+	/**
+	 * Creates a reasoner that starts from a snapshot of an earlier
+	 * classification of the same ontology, see {@link #createSnapshot()}. The
+	 * queries by id or by concept are answered from the snapshot. The ontology
+	 * is classified only when it is needed: on the first change, or on the
+	 * first query by ELK entity.
+	 * 
+	 * @throws IllegalArgumentException if the snapshot was created for an
+	 *                                  ontology with a different content, see
+	 *                                  {@link SnomedClassificationSnapshot#fingerprint(SnomedOntology)}
+	 */
+	public static SnomedOntologyReasoner create(SnomedOntology snomedOntology,
+			SnomedClassificationSnapshot snapshot) {
+		if (snapshot.getFingerprint() != SnomedClassificationSnapshot.fingerprint(snomedOntology))
+			throw new IllegalArgumentException("The snapshot was created for a different ontology");
+		SnomedOntologyReasoner sor = new SnomedOntologyReasoner();
+		sor.snomedOntology = snomedOntology;
+		sor.snapshot = snapshot;
+		return sor;
+	}
+
+	private ElkReasoner getReasoner() {
+		if (reasoner == null) {
+			LOG.info("Classifying " + snomedOntology.getConcepts().size() + " concepts");
+			init(snomedOntology);
+		}
+		return reasoner;
+	}
+
+	/**
+	 * @return the current classification, to be written and given to
+	 *         {@link #create(SnomedOntology, SnomedClassificationSnapshot)}
+	 */
+	public SnomedClassificationSnapshot createSnapshot() {
+		if (snapshot != null)
+			return snapshot;
+		try {
+			return SnomedClassificationSnapshot.of(snomedOntology,
+					Incompleteness.getValue(reasoner.getInternalReasoner().getTaxonomy()),
+					Incompleteness.getValue(reasoner.getInternalReasoner().getObjectPropertyTaxonomy()));
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	private void init(SnomedOntology snomedOntology) {
 		this.snomedOntology = snomedOntology;
 		ontology = new OwlxOntology();
 		conceptIdAxiomMap = new HashMap<>();
+		roleTypeIdAxiomMap = new HashMap<>();
+		List<ElkAxiom> axioms = new ArrayList<>();
 		for (RoleType rt : this.snomedOntology.getRoleTypes()) {
-			process(rt);
+			List<ElkAxiom> rt_axioms = new ArrayList<>();
+			process(rt, rt_axioms);
+			roleTypeIdAxiomMap.put(rt.getId(), rt_axioms);
+			axioms.addAll(rt_axioms);
 		}
 		for (ConcreteRoleType dt : this.snomedOntology.getConcreteRoleTypes()) {
-			process(dt);
+			process(dt, axioms);
 		}
 		for (Concept con : this.snomedOntology.getConcepts()) {
-			process(con);
+			List<ElkAxiom> con_axioms = createAxioms(con);
+			conceptIdAxiomMap.put(con.getId(), con_axioms);
+			axioms.addAll(con_axioms);
 		}
+		ontology.addAxioms(axioms);
 		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory());
 		reasoner.flush();
 		try {
@@ -99,6 +163,9 @@ private void init(SnomedOntology snomedOntology) {
 	}
 
 	public void flush() {
+		// no changes since the snapshot
+		if (reasoner == null)
+			return;
 		reasoner.flush();
 		try {
 			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
@@ -120,42 +187,42 @@ public RoleType getRoleType(ElkObjectProperty clazz) {
 		return snomedOntology.getRoleType(getId(clazz));
 	}
 
-	private void process(RoleType rt) {
+	private void process(RoleType rt, List<ElkAxiom> axioms) {
 		String iri = getIri(rt);
 		ontology.getElkObjectProperty(iri);
 		HashSet<String> rt_axioms = new HashSet<>();
 		for (RoleType sup : rt.getSuperRoleTypes()) {
 			ElkAxiom axiom = ontology.getElkSubObjectPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
+			axioms.add(axiom);
 			rt_axioms.add(axiom.toString());
 		}
 		if (rt.isTransitive()) {
 			ElkTransitiveObjectPropertyAxiom axiom = ontology.getElkTransitiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			axioms.add(axiom);
 			LOG.info("Transitive: " + axiom);
 			rt_axioms.add(axiom.toString());
 		}
 		if (rt.getChained() != null) {
 			ElkAxiom axiom = ontology.getElkSubObjectPropertyChainOfAxiom(iri, getIri(rt.getChained()));
-			ontology.addAxiom(axiom);
+			axioms.add(axiom);
 			LOG.info("Chained: " + axiom);
 			rt_axioms.add(axiom.toString());
 		}
 		if (rt.isReflexive()) {
 			ElkReflexiveObjectPropertyAxiom axiom = ontology.getElkReflexiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			axioms.add(axiom);
 			LOG.info("Reflexive: " + axiom);
 			rt_axioms.add(axiom.toString());
 		}
 	}
 
-	private void process(ConcreteRoleType dt) {
+	private void process(ConcreteRoleType dt, List<ElkAxiom> axioms) {
 		String iri = getIri(dt);
 		ontology.getElkDataProperty(iri);
 		HashSet<String> dt_axioms = new HashSet<>();
 		for (ConcreteRoleType sup : dt.getSuperConcreteRoleTypes()) {
 			ElkAxiom axiom = ontology.getElkSubDataPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
+			axioms.add(axiom);
 			dt_axioms.add(axiom.toString());
 		}
 	}
@@ -177,19 +244,75 @@ public Concept getConcept(ElkClass clazz) {
 	}
 
 	public void process(Concept con) {
-		List<ElkAxiom> axioms = conceptIdAxiomMap.get(con.getId());
-		if (axioms != null)
-			axioms.forEach(ax -> ontology.removeAxiom(ax));
-		conceptIdAxiomMap.put(con.getId(), new ArrayList<>());
+		getReasoner();
+		snapshot = null;
+		List<ElkAxiom> axioms = createAxioms(con);
+		List<ElkAxiom> old_axioms = conceptIdAxiomMap.put(con.getId(), axioms);
+		// Replace the old axioms in one change so the reasoner is notified once
+		List<OWLOntologyChange> changes = new ArrayList<>();
+		addChanges(old_axioms, axioms, changes);
+		ontology.applyChanges(changes);
+	}
+
+	private void addChanges(List<ElkAxiom> old_axioms, List<ElkAxiom> axioms, List<OWLOntologyChange> changes) {
+		if (old_axioms != null)
+			old_axioms.forEach(ax -> changes.add(OWLOntologyChange.createRemoved(ontology, ax)));
+		axioms.forEach(ax -> changes.add(OWLOntologyChange.createAdded(ontology, ax)));
+	}
+
+	/**
+	 * Applies a batch of new or changed concepts and role types, e.g., of an
+	 * RF2 delta, and classifies incrementally. The axioms of all of them are
+	 * replaced in one change. A concept without definitions has no axioms.
+	 * <p>
+	 * Only the concepts whose classification may have changed are compared:
+	 * their old classification is recorded when the reasoner removes them from
+	 * the taxonomy. A change of the role types may need a complete
+	 * classification, in which case the whole taxonomy is compared.
+	 * 
+	 * @return the concepts whose direct super concepts or equivalent concepts
+	 *         changed
+	 */
+	public SnomedClassificationDelta apply(Collection<Concept> concepts, Collection<RoleType> roleTypes) {
+		Reasoner internal = getReasoner().getInternalReasoner();
+		snapshot = null;
+		internal.setRecordClassTaxonomyChanges(true);
+		try {
+			List<OWLOntologyChange> changes = new ArrayList<>();
+			for (RoleType rt : roleTypes) {
+				snomedOntology.putRoleType(rt);
+				List<ElkAxiom> axioms = new ArrayList<>();
+				process(rt, axioms);
+				addChanges(roleTypeIdAxiomMap.put(rt.getId(), axioms), axioms, changes);
+			}
+			for (Concept con : concepts) {
+				snomedOntology.putConcept(con);
+				List<ElkAxiom> axioms = createAxioms(con);
+				addChanges(conceptIdAxiomMap.put(con.getId(), axioms), axioms, changes);
+			}
+			ontology.applyChanges(changes);
+			reasoner.flush();
+			return SnomedClassificationDelta.of(internal.pollClassTaxonomyChanges());
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		} finally {
+			internal.setRecordClassTaxonomyChanges(false);
+		}
+	}
+
+	private List<ElkAxiom> createAxioms(Concept con) {
+		List<ElkAxiom> axioms = new ArrayList<>();
 		for (Definition def : con.getDefinitions()) {
-			process(con, def, false);
+			axioms.add(createAxiom(con, def, false));
 		}
 		for (Definition def : con.getGciDefinitions()) {
-			process(con, def, true);
+			axioms.add(createAxiom(con, def, true));
 		}
+		return axioms;
 	}
 
-	private void process(Concept con, Definition def, boolean isGci) {
+	private ElkAxiom createAxiom(Concept con, Definition def, boolean isGci) {
 		List<ElkClass> sups = def.getSuperConcepts().stream().map(sup -> ontology.getElkClass(getIri(sup))).toList();
 		List<ElkObjectSomeValuesFrom> roles = def.getUngroupedRoles().stream().map(x -> process(x)).toList();
 		List<ElkDataHasValue> props = def.getUngroupedConcreteRoles().stream().map(this::process).toList();
@@ -216,8 +339,7 @@ private void process(Concept con, Definition def, boolean isGci) {
 			}
 		}
 		}
-		ontology.addAxiom(axiom);
-		conceptIdAxiomMap.get(con.getId()).add(axiom);
+		return axiom;
 	}
 
 	private ElkObjectSomeValuesFrom process(Role role) {
@@ -267,7 +389,7 @@ private <T> Set<T> flatten(Set<? extends Node<T>> nodes) {
 
 	public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt) {
 		try {
-			Set<? extends Node<ElkObjectProperty>> sups = reasoner
+			Set<? extends Node<ElkObjectProperty>> sups = getReasoner()
 					.getSuperObjectProperties(ontology.getElkObjectProperty(getIri(rt)), true);
 			Set<ElkObjectProperty> ret = flatten(sups);
 			return ret;
@@ -278,13 +400,16 @@ public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt) {
 	}
 
 	public Set<RoleType> getSuperRoleTypes(RoleType con) {
+		if (snapshot != null)
+			return snapshot.getSuperRoleTypes().getParents(con.getId()).stream().map(snomedOntology::getRoleType)
+					.collect(Collectors.toCollection(HashSet::new));
 		return getSuperObjectProperties(con).stream().map(this::getRoleType)
 				.collect(Collectors.toCollection(HashSet::new));
 	}
 
 	public Set<ElkClass> getSuperClasses(Concept con) {
 		try {
-			Set<? extends Node<ElkClass>> sups = reasoner.getSuperClasses(ontology.getElkClass(getIri(con)), true);
+			Set<? extends Node<ElkClass>> sups = getReasoner().getSuperClasses(ontology.getElkClass(getIri(con)), true);
 			Set<ElkClass> flat = flatten(sups);
 			flat.remove(ontology.getOwlThing());
 			return flat; // TODO ElkException
@@ -294,6 +419,8 @@ public Set<ElkClass> getSuperClasses(Concept con) {
 	}
 
 	public Set<Concept> getSuperConcepts(Concept con) {
+		if (snapshot != null)
+			return toConcepts(getSnapshotSuperConcepts(con.getId()));
 		return getSuperClasses(con).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
@@ -301,12 +428,56 @@ public Set<Long> getSuperConcepts(long id) {
 		Concept con = snomedOntology.getConcept(id);
 		if (con == null)
 			return null;
-		return getSuperConcepts(con).stream().map(Concept::getId).collect(Collectors.toCollection(HashSet::new));
+		if (snapshot != null)
+			return new HashSet<>(getSnapshotSuperConcepts(id));
+		HashSet<Long> ret = new HashSet<>();
+		for (ElkClass sup : getSuperClasses(con)) {
+			ret.add(getId(sup));
+		}
+		return ret;
+	}
+
+	/**
+	 * @return the direct super concepts of all the concepts of the ontology,
+	 *         exported from the class taxonomy in one walk
+	 */
+	public LongDag getSuperConcepts() {
+		try {
+			LongDag dag = snapshot != null ? snapshot.getSuperConcepts()
+					: SnomedTaxonomyExport.getSuperClasses(
+							Incompleteness.getValue(reasoner.getInternalReasoner().getTaxonomy()), true);
+			if (snomedOntology.getConcepts().stream().allMatch(con -> dag.contains(con.getId())))
+				return dag;
+			// unsatisfiable concepts are not in the export
+			LongDag.Builder builder = dag.toBuilder();
+			for (Concept con : snomedOntology.getConcepts()) {
+				builder.addNode(con.getId());
+			}
+			return builder.build();
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return an index for ancestor queries over the current class taxonomy;
+	 *         it does not follow later changes
+	 */
+	public ReachabilityIndex createReachabilityIndex() {
+		if (snapshot != null)
+			return ReachabilityIndex.of(snapshot.getSuperConcepts());
+		try {
+			return ReachabilityIndex.of(Incompleteness.getValue(reasoner.getInternalReasoner().getTaxonomy()));
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	public Set<ElkClass> getSubClasses(Concept con) {
 		try {
-			Set<? extends Node<ElkClass>> subs = reasoner.getSubClasses(ontology.getElkClass(getIri(con)), true);
+			Set<? extends Node<ElkClass>> subs = getReasoner().getSubClasses(ontology.getElkClass(getIri(con)), true);
 			Set<ElkClass> flat = flatten(subs);
 			flat.remove(ontology.getOwlNothing());
 			return flat;
@@ -316,7 +487,17 @@ public Set<ElkClass> getSubClasses(Concept con) {
 		}
 	}
 
+	// The unsatisfiable concepts are equivalent to owl:Nothing, so their direct
+	// super concepts are the leaves, as in the taxonomy
+	private Set<Long> getSnapshotSuperConcepts(long id) {
+		if (snapshot.isUnsatisfiable(id))
+			return snapshot.getLeafConcepts();
+		return snapshot.getSuperConcepts().getParents(id);
+	}
+
 	public Set<Concept> getSubConcepts(Concept con) {
+		if (snapshot != null)
+			return toConcepts(getSnapshotSubConcepts(con.getId()));
 		return getSubClasses(con).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
@@ -324,12 +505,27 @@ public Set<Long> getSubConcepts(long id) {
 		Concept con = snomedOntology.getConcept(id);
 		if (con == null)
 			return null;
+		if (snapshot != null)
+			return new HashSet<>(getSnapshotSubConcepts(id));
 		return getSubConcepts(con).stream().map(Concept::getId).collect(Collectors.toCollection(HashSet::new));
 	}
 
+	// The leaves are the direct super concepts of the unsatisfiable concepts,
+	// which have no sub concepts
+	private Set<Long> getSnapshotSubConcepts(long id) {
+		if (snapshot.isUnsatisfiable(id))
+			return Set.of();
+		Set<Long> subs = snapshot.getSuperConcepts().getChildren(id);
+		return subs.isEmpty() ? snapshot.getUnsatisfiableConcepts() : subs;
+	}
+
+	private Set<Concept> toConcepts(Set<Long> ids) {
+		return ids.stream().map(snomedOntology::getConcept).collect(Collectors.toCollection(HashSet::new));
+	}
+
 	public Set<ElkClass> getEquivalentClasses(Concept con) {
 		try {
-			Node<ElkClass> eqs = reasoner.getEquivalentClasses(ontology.getElkClass(getIri(con)));
+			Node<ElkClass> eqs = getReasoner().getEquivalentClasses(ontology.getElkClass(getIri(con)));
 			Set<ElkClass> flat = new HashSet<>(flatten(eqs));
 			flat.remove(ontology.getOwlThing());
 			flat.remove(ontology.getOwlNothing());
@@ -341,6 +537,8 @@ public Set<ElkClass> getEquivalentClasses(Concept con) {
 	}
 
 	public Set<Concept> getEquivalentConcepts(Concept con) {
+		if (snapshot != null)
+			return toConcepts(snapshot.getEquivalentConcepts(con.getId()));
 		return getEquivalentClasses(con).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
@@ -348,6 +546,8 @@ public Set<Long> getEquivalentConcepts(long id) {
 		Concept con = snomedOntology.getConcept(id);
 		if (con == null)
 			return null;
+		if (snapshot != null)
+			return new HashSet<>(snapshot.getEquivalentConcepts(id));
 		return getEquivalentConcepts(con).stream().map(Concept::getId).collect(Collectors.toCollection(HashSet::new));
 	}
 
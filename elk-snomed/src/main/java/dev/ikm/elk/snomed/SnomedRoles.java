@@ -21,13 +21,11 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 public class SnomedRoles {
 
@@ -86,18 +84,21 @@ public static SnomedRoles init(Path file) throws IOException {
 	public void load(Path file) throws IOException {
 		// id effectiveTime active moduleId sourceId destinationId relationshipGroup
 		// typeId characteristicTypeId modifierId
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) != isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						long destination = Long.parseLong(fields[5]); // destinationId
-						long relationshipGroup = Long.parseLong(fields[6]); // relationshipGroup
-						long typeId = Long.parseLong(fields[7]); // typeId
-						roles.computeIfAbsent(con, x -> new HashSet<>());
-						roles.get(con).add(new SnomedRole(destination, relationshipGroup, typeId));
-					});
+		List<HashMap<Long, Set<SnomedRole>>> chunks = Rf2Reader.read(file, HashMap<Long, Set<SnomedRole>>::new,
+				(chunk_roles, row) -> {
+					if (!row.isActive())
+						return;
+					long typeId = row.getLong(7); // typeId
+					if (typeId == isa)
+						return;
+					long con = row.getLong(4); // sourceId
+					long destination = row.getLong(5); // destinationId
+					long relationshipGroup = row.getLong(6); // relationshipGroup
+					chunk_roles.computeIfAbsent(con, x -> new HashSet<>())
+							.add(new SnomedRole(destination, relationshipGroup, typeId));
+				});
+		for (HashMap<Long, Set<SnomedRole>> chunk : chunks) {
+			chunk.forEach((con, rs) -> roles.computeIfAbsent(con, x -> new HashSet<>()).addAll(rs));
 		}
 	}
 
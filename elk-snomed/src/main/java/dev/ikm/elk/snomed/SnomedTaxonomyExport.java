@@ -0,0 +1,88 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyExport;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Exports a computed ELK taxonomy as a {@link LongDag} of SNOMED ids in one
+ * walk, see {@link TaxonomyExport}. The parents of an entity are the members
+ * of its direct super nodes, without the top entity; entities of the same node
+ * (equivalent entities) are not parents of each other. The top and bottom
+ * entities and the unsatisfiable entities are left out.
+ */
+public class SnomedTaxonomyExport {
+
+	/**
+	 * @return the id at the end of the IRI of the entity, e.g., 123 for both
+	 *         {@code :123} and {@code http://snomed.info/id/123}
+	 */
+	public static long getId(ElkEntity entity) {
+		String iri = entity.getIri().getFullIriAsString();
+		int beg = iri.length();
+		while (beg > 0 && Character.isDigit(iri.charAt(beg - 1)))
+			beg--;
+		if (beg == iri.length())
+			throw new NumberFormatException("No id at the end of " + iri);
+		return Long.parseLong(iri, beg, iri.length(), 10);
+	}
+
+	public static LongDag getSuperClasses(Taxonomy<ElkClass> taxonomy, boolean parallel) {
+		return getParents(taxonomy, parallel);
+	}
+
+	public static LongDag getSuperObjectProperties(Taxonomy<ElkObjectProperty> taxonomy, boolean parallel) {
+		return getParents(taxonomy, parallel);
+	}
+
+	public static <T extends ElkEntity> LongDag getParents(Taxonomy<T> taxonomy, boolean parallel) {
+		TaxonomyNode<T> top = taxonomy.getTopNode();
+		// one builder per thread, merged at the end
+		ConcurrentHashMap<Thread, LongDag.Builder> builders = new ConcurrentHashMap<>();
+		TaxonomyExport.visitDirectSuperNodes(taxonomy, parallel, (node, sups) -> {
+			LongDag.Builder builder = builders.computeIfAbsent(Thread.currentThread(), x -> LongDag.builder());
+			for (T member : node) {
+				long id = getId(member);
+				builder.addNode(id);
+				for (TaxonomyNode<T> sup : sups) {
+					if (sup.equals(top))
+						continue;
+					for (T sup_member : sup) {
+						builder.addEdge(id, getId(sup_member));
+					}
+				}
+			}
+		});
+		LongDag.Builder ret = LongDag.builder();
+		for (LongDag.Builder builder : builders.values()) {
+			ret.addAll(builder);
+		}
+		return ret.build();
+	}
+
+}
@@ -86,8 +86,39 @@
 	 */
 	Iterator<E> addAndEvict(E element, Predicate<E> retain);
 
+	/**
+	 * Estimates how much memory is occupied by the data kept for an element,
+	 * e.g., by the number of cached objects.
+	 *
+	 * @param <E>
+	 *            The type of the elements.
+	 */
+	public static interface Weigher<E> {
+
+		/**
+		 * @param element
+		 *            The weighed element.
+		 * @return The weight of the element; should not be negative.
+		 */
+		long weigh(E element);
+
+	}
+
 	public static interface Builder {
 		<E> Evictor<E> build();
+
+		/**
+		 * Builds an evictor that can use the provided {@link Weigher} to
+		 * decide which elements to evict. Evictors that count elements ignore
+		 * the weigher.
+		 *
+		 * @param weigher
+		 *            Weighs the elements of the built evictor.
+		 * @return The built evictor.
+		 */
+		default <E> Evictor<E> build(final Weigher<? super E> weigher) {
+			return build();
+		}
 	}
 
 }
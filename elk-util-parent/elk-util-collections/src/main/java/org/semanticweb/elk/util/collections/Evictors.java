@@ -21,6 +21,11 @@
  */
 package org.semanticweb.elk.util.collections;
 
+import java.util.Iterator;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+
 public class Evictors {
 
 	private Evictors() {
@@ -53,4 +58,69 @@ static String[] parseArgs(final String value, final Class<?> clazz,
 		return args;
 	}
 
+	/**
+	 * Returns an {@link Evictor} backed by the provided one whose methods are
+	 * synchronized on the returned evictor, so that it can be used by several
+	 * threads. The evicted elements are collected before the lock is
+	 * released, so the returned iterators can be used without
+	 * synchronization.
+	 * 
+	 * @param evictor
+	 *            The backing evictor.
+	 * @return The synchronized evictor.
+	 */
+	public static <E> Evictor<E> synchronizedEvictor(
+			final Evictor<E> evictor) {
+		return new SynchronizedEvictor<E>(evictor);
+	}
+
+	private static class SynchronizedEvictor<E> implements Evictor<E> {
+
+		private final Evictor<E> evictor_;
+
+		SynchronizedEvictor(final Evictor<E> evictor) {
+			this.evictor_ = evictor;
+		}
+
+		private static <E> Iterator<E> copy(final Iterator<E> evicted) {
+			if (!evicted.hasNext()) {
+				return evicted;
+			}
+			// else
+			return Lists.newArrayList(evicted).iterator();
+		}
+
+		@Override
+		public synchronized Object getStats() {
+			return evictor_.getStats();
+		}
+
+		@Override
+		public synchronized void add(final E element) {
+			evictor_.add(element);
+		}
+
+		@Override
+		public synchronized Iterator<E> evict() {
+			return copy(evictor_.evict());
+		}
+
+		@Override
+		public synchronized Iterator<E> evict(final Predicate<E> retain) {
+			return copy(evictor_.evict(retain));
+		}
+
+		@Override
+		public synchronized Iterator<E> addAndEvict(final E element) {
+			return copy(evictor_.addAndEvict(element));
+		}
+
+		@Override
+		public synchronized Iterator<E> addAndEvict(final E element,
+				final Predicate<E> retain) {
+			return copy(evictor_.addAndEvict(element, retain));
+		}
+
+	}
+
 }
@@ -0,0 +1,522 @@
+package org.semanticweb.elk.util.collections;
+
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.elk.util.statistics.Stat;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+
+/**
+ * Evicts elements after their total <em>weight</em> exceeds the
+ * <em>capacity</em>. The weights are assigned by the {@link Evictor.Weigher}
+ * with which the evictor was built, or are all 1 if it was built without one.
+ * Eviction is trying to reduce the total weight of the elements to capacity
+ * times <em>load factor</em>, but it still does not evict the elements that
+ * should be retained.
+ * <p>
+ * The elements are chosen for eviction using the W-TinyLFU policy: new
+ * elements are added to a small recency <em>window</em>, whose size is the
+ * <em>window ratio</em> of the capacity. When evicting, the least recent
+ * elements of the window become candidates for the main part of the evictor,
+ * which is a segmented LRU queue. A candidate is admitted only if it was added
+ * more often than the least recent elements of the main part that would have
+ * to be evicted to make space for it. The frequencies are approximated by a
+ * count-min sketch that is periodically halved, so that elements that were
+ * added often long time ago are eventually evicted.
+ * <p>
+ * The weights of elements in the window are recomputed before each eviction,
+ * because elements are usually added before the data kept for them is
+ * computed. The weights of other elements are recomputed when they are added
+ * again.
+ *
+ * @param <E>
+ *            The type of the elements.
+ */
+public class WeightedEvictor<E> extends AbstractEvictor<E> {
+
+	private static final int DEFAULT_ELEMENTS_CAPACITY_ = 128;
+	private static final float DEFAULT_ELEMENTS_LOAD_FACTOR_ = 0.75f;
+
+	/**
+	 * The proportion of the main part that is reserved for the elements that
+	 * were added at least twice since they entered it.
+	 */
+	private static final double PROTECTED_RATIO_ = 0.8;
+
+	private final Evictor.Weigher<? super E> weigher_;
+	private final double loadFactor_;
+	private final double windowRatio_;
+
+	private final Segment window_ = new Segment();
+	private final Segment probation_ = new Segment();
+	private final Segment protected_ = new Segment();
+
+	private final FrequencySketch sketch_ = new FrequencySketch();
+
+	private long capacity_;
+
+	WeightedEvictor(final long capacity, final double loadFactor,
+			final double windowRatio, final Evictor.Weigher<? super E> weigher) {
+		this.capacity_ = capacity;
+		this.loadFactor_ = loadFactor;
+		this.windowRatio_ = windowRatio;
+		this.weigher_ = weigher;
+
+		this.stats = new Stats();
+	}
+
+	private long weigh(final E element) {
+		return weigher_ == null ? 1 : Math.max(0, weigher_.weigh(element));
+	}
+
+	@Override
+	public void add(final E element) {
+		sketch_.increment(element);
+		final long weight = weigh(element);
+		if (window_.touch(element, weight)
+				|| protected_.touch(element, weight)) {
+			return;
+		}
+		// else
+		if (probation_.remove(element) != null) {
+			protected_.put(element, weight);
+			return;
+		}
+		// else a new element
+		window_.put(element, weight);
+		sketch_.ensureCapacity(size());
+	}
+
+	@Override
+	public Iterator<E> evict(final Predicate<E> retain) {
+		Preconditions.checkNotNull(retain);
+
+		window_.reweigh();
+		if (getWeight() <= capacity_) {
+			// Evict nothing.
+			return Collections.<E> emptyList().iterator();
+		}
+		// else
+
+		final long goalWeight = (long) (capacity_ * loadFactor_);
+		final long goalWindowWeight = (long) (goalWeight * windowRatio_);
+		final long goalMainWeight = goalWeight - goalWindowWeight;
+		final List<E> evicted = new ArrayList<E>();
+
+		// Demote the least recent protected elements to probation.
+		Map.Entry<E, Long> entry;
+		while (protected_.weight > goalMainWeight * PROTECTED_RATIO_
+				&& (entry = protected_.pollFirst(null)) != null) {
+			probation_.put(entry.getKey(), entry.getValue());
+		}
+
+		// Move the least recent elements of the window to the main part.
+		while (window_.weight > goalWindowWeight
+				&& (entry = window_.pollFirst(null)) != null) {
+			admit(entry.getKey(), entry.getValue(), goalMainWeight, retain,
+					evicted);
+		}
+
+		/*
+		 * Retained elements may prevent the eviction from reaching the goal
+		 * weight in some segments; evict from other segments.
+		 */
+		evictLeastRecent(probation_, goalWeight, retain, evicted);
+		evictLeastRecent(protected_, goalWeight, retain, evicted);
+		evictLeastRecent(window_, goalWeight, retain, evicted);
+
+		return evicted.iterator();
+	}
+
+	private void evictLeastRecent(final Segment segment, final long goalWeight,
+			final Predicate<E> retain, final List<E> evicted) {
+		Map.Entry<E, Long> entry;
+		while (getWeight() > goalWeight
+				&& (entry = segment.pollFirst(retain)) != null) {
+			evicted.add(entry.getKey());
+		}
+	}
+
+	/**
+	 * Adds the candidate from the window to the probation segment, evicting
+	 * the least recent probation elements as long as the main part is too
+	 * heavy and they were added less often than the candidate. If some of
+	 * them was added at least as often, or the candidate is heavier than the
+	 * main part should be, the candidate is evicted instead.
+	 */
+	private void admit(final E candidate, final long weight,
+			final long goalMainWeight, final Predicate<E> retain,
+			final List<E> evicted) {
+		final boolean retainCandidate = retain.apply(candidate);
+		if (!retainCandidate && weight > goalMainWeight) {
+			// Would not fit even if the main part was empty.
+			evicted.add(candidate);
+			return;
+		}
+		// else
+		final int candidateFrequency = sketch_.frequency(candidate);
+		while (probation_.weight + protected_.weight + weight > goalMainWeight) {
+			final E victim = probation_.peekFirst(retain);
+			if (victim == null) {
+				break;
+			}
+			// else
+			if (!retainCandidate
+					&& sketch_.frequency(victim) >= candidateFrequency) {
+				evicted.add(candidate);
+				return;
+			}
+			// else
+			probation_.remove(victim);
+			evicted.add(victim);
+		}
+		probation_.put(candidate, weight);
+	}
+
+	public long getCapacity() {
+		return capacity_;
+	}
+
+	public void setCapacity(final long capacity) {
+		if (0 > capacity) {
+			throw new IllegalArgumentException("Capacity cannot be negative!");
+		}
+		this.capacity_ = capacity;
+	}
+
+	public int size() {
+		return window_.elements.size() + probation_.elements.size()
+				+ protected_.elements.size();
+	}
+
+	/**
+	 * @return The total weight of the elements as it was computed when they
+	 *         were added or during the last eviction.
+	 */
+	public long getWeight() {
+		return window_.weight + probation_.weight + protected_.weight;
+	}
+
+	/**
+	 * Elements in the order of recency with their weights.
+	 */
+	private class Segment {
+
+		final LinkedHashMap<E, Long> elements = new LinkedHashMap<E, Long>(
+				DEFAULT_ELEMENTS_CAPACITY_, DEFAULT_ELEMENTS_LOAD_FACTOR_, true);
+
+		long weight = 0;
+
+		void put(final E element, final long elementWeight) {
+			final Long previous = elements.put(element, elementWeight);
+			weight += previous == null ? elementWeight
+					: elementWeight - previous;
+		}
+
+		/**
+		 * Makes the element the most recent one and updates its weight if it
+		 * is in this segment.
+		 * 
+		 * @return {@code true} if the element is in this segment
+		 */
+		boolean touch(final E element, final long elementWeight) {
+			if (!elements.containsKey(element)) {
+				return false;
+			}
+			// else
+			put(element, elementWeight);
+			return true;
+		}
+
+		Long remove(final E element) {
+			final Long previous = elements.remove(element);
+			if (previous != null) {
+				weight -= previous;
+			}
+			return previous;
+		}
+
+		/**
+		 * @return The least recent element that should not be retained or
+		 *         {@code null} if there is no such element.
+		 */
+		E peekFirst(final Predicate<E> retain) {
+			for (final E element : elements.keySet()) {
+				if (retain == null || !retain.apply(element)) {
+					return element;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Removes the least recent element that should not be retained.
+		 * 
+		 * @return The removed element with its weight or {@code null} if
+		 *         there is no such element.
+		 */
+		Map.Entry<E, Long> pollFirst(final Predicate<E> retain) {
+			final Iterator<Map.Entry<E, Long>> iterator = elements.entrySet()
+					.iterator();
+			while (iterator.hasNext()) {
+				final Map.Entry<E, Long> entry = iterator.next();
+				if (retain == null || !retain.apply(entry.getKey())) {
+					iterator.remove();
+					weight -= entry.getValue();
+					return entry;
+				}
+			}
+			return null;
+		}
+
+		void reweigh() {
+			weight = 0;
+			for (final Map.Entry<E, Long> entry : elements.entrySet()) {
+				final long elementWeight = weigh(entry.getKey());
+				entry.setValue(elementWeight);
+				weight += elementWeight;
+			}
+		}
+
+	}
+
+	/**
+	 * A count-min sketch with four hash functions and counters saturating at
+	 * 15. The counters are halved after the number of increments reaches ten
+	 * times the number of counters.
+	 */
+	private static class FrequencySketch {
+
+		private static final int MAX_COUNT_ = 15;
+		private static final int[] SEEDS_ = { 0x97cb3127, 0x9e3779b9,
+				0xc2b2ae35, 0x85ebca6b };
+		private static final int MIN_LENGTH_ = 64;
+		private static final int MAX_LENGTH_ = 1 << 30;
+
+		private byte[] counters_ = new byte[MIN_LENGTH_];
+		private int increments_ = 0;
+
+		/**
+		 * Makes sure that there are at least four counters for each element.
+		 * When the counters are resized, the frequencies are forgotten.
+		 */
+		void ensureCapacity(final int size) {
+			if (size <= counters_.length / 4 || counters_.length >= MAX_LENGTH_) {
+				return;
+			}
+			// else
+			counters_ = new byte[(int) Math.min(MAX_LENGTH_,
+					Long.highestOneBit(4L * size - 1) << 1)];
+			increments_ = 0;
+		}
+
+		private int index(final Object element, final int i) {
+			int hash = element.hashCode() * SEEDS_[i];
+			hash ^= hash >>> 16;
+			return hash & (counters_.length - 1);
+		}
+
+		void increment(final Object element) {
+			for (int i = 0; i < SEEDS_.length; i++) {
+				final int index = index(element, i);
+				if (counters_[index] < MAX_COUNT_) {
+					counters_[index]++;
+				}
+			}
+			if (++increments_ >= 10 * counters_.length) {
+				for (int i = 0; i < counters_.length; i++) {
+					counters_[i] >>= 1;
+				}
+				increments_ /= 2;
+			}
+		}
+
+		int frequency(final Object element) {
+			int result = MAX_COUNT_;
+			for (int i = 0; i < SEEDS_.length; i++) {
+				result = Math.min(result, counters_[index(element, i)]);
+			}
+			return result;
+		}
+
+	}
+
+	protected static abstract class ProtectedBuilder<B extends ProtectedBuilder<B>> {
+
+		public static final long DEFAULT_CAPACITY = 1 << 20;
+		public static final double DEFAULT_LOAD_FACTOR = 0.75;
+		public static final double DEFAULT_WINDOW_RATIO = 0.01;
+
+		protected long capacity_ = DEFAULT_CAPACITY;
+		protected double loadFactor_ = DEFAULT_LOAD_FACTOR;
+		protected double windowRatio_ = DEFAULT_WINDOW_RATIO;
+
+		/**
+		 * When the total weight of the elements exceeds the provided capacity,
+		 * elements will be evicted. Capacity must not be negative!
+		 * <p>
+		 * If not called, capacity defaults to {@link #DEFAULT_CAPACITY}.
+		 * 
+		 * @param capacity
+		 *            The capacity of the evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is negative.
+		 */
+		public B capacity(final long capacity)
+				throws IllegalArgumentException {
+			if (0 > capacity) {
+				throw new IllegalArgumentException(
+						"Capacity cannot be negative!");
+			}
+			this.capacity_ = capacity;
+			return convertThis();
+		}
+
+		/**
+		 * Load factor is the proportion of the capacity that should be achieved
+		 * when evicting. Eviction is trying to reduce the total weight of the
+		 * elements in this evictor to capacity times load factor. Load factor
+		 * must be between 0 and 1 inclusive!
+		 * <p>
+		 * If not called, load factor defaults to {@link #DEFAULT_LOAD_FACTOR}.
+		 * 
+		 * @param loadFactor
+		 *            The load factor of this evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is not between 0 and 1 inclusive.
+		 */
+		public B loadFactor(final double loadFactor)
+				throws IllegalArgumentException {
+			if (0 > loadFactor || loadFactor > 1) {
+				throw new IllegalArgumentException(
+						"Load factor must be between 0 and 1 inclusive!");
+			}
+			this.loadFactor_ = loadFactor;
+			return convertThis();
+		}
+
+		/**
+		 * Window ratio is the proportion of the capacity reserved for the
+		 * recently added elements, which are not yet subject to the
+		 * frequency-based admission. Window ratio must be between 0 and 1
+		 * inclusive!
+		 * <p>
+		 * If not called, window ratio defaults to
+		 * {@link #DEFAULT_WINDOW_RATIO}.
+		 * 
+		 * @param windowRatio
+		 *            The window ratio of this evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is not between 0 and 1 inclusive.
+		 */
+		public B windowRatio(final double windowRatio)
+				throws IllegalArgumentException {
+			if (0 > windowRatio || windowRatio > 1) {
+				throw new IllegalArgumentException(
+						"Window ratio must be between 0 and 1 inclusive!");
+			}
+			this.windowRatio_ = windowRatio;
+			return convertThis();
+		}
+
+		public <E> Evictor<E> build() {
+			return build(null);
+		}
+
+		public <E> Evictor<E> build(final Evictor.Weigher<? super E> weigher) {
+			return new WeightedEvictor<E>(capacity_, loadFactor_, windowRatio_,
+					weigher);
+		}
+
+		protected abstract B convertThis();
+
+	}
+
+	public static class Builder extends ProtectedBuilder<Builder>
+			implements Evictor.Builder {
+
+		@Override
+		protected Builder convertThis() {
+			return this;
+		}
+
+		public static Builder valueOf(final String value) {
+			final String[] args = Evictors.parseArgs(value,
+					WeightedEvictor.class, 3);
+			final String capacityArg = args[0].trim();
+			final String loadFactorArg = args[1].trim();
+			final String windowRatioArg = args[2].trim();
+			final long capacity = capacityArg.isEmpty() ? DEFAULT_CAPACITY
+					: Long.valueOf(capacityArg);
+			final double loadFactor = loadFactorArg.isEmpty()
+					? DEFAULT_LOAD_FACTOR : Double.valueOf(loadFactorArg);
+			final double windowRatio = windowRatioArg.isEmpty()
+					? DEFAULT_WINDOW_RATIO : Double.valueOf(windowRatioArg);
+			return new Builder()
+					.capacity(capacity < 0 ? Long.MAX_VALUE : capacity)
+					.loadFactor(loadFactor).windowRatio(windowRatio);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s(%d,%f,%f)",
+					WeightedEvictor.class.getName(), capacity_, loadFactor_,
+					windowRatio_);
+		}
+
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	// Stats.
+	protected class Stats {
+
+		@Stat
+		public long capacity() {
+			return getCapacity();
+		}
+
+		@Stat
+		public int size() {
+			return WeightedEvictor.this.size();
+		}
+
+		@Stat
+		public long weight() {
+			return getWeight();
+		}
+
+	}
+
+}
@@ -0,0 +1,132 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.elk.util.collections.EvictorTestUtils.checkEvicted;
+import static org.semanticweb.elk.util.collections.EvictorTestUtils.checkNothingEvicted;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class WeightedEvictorTest {
+
+	/**
+	 * Weighs integers by their values.
+	 */
+	private static final Evictor.Weigher<Integer> VALUE_WEIGHER = new Evictor.Weigher<Integer>() {
+		@Override
+		public long weigh(final Integer element) {
+			return element;
+		}
+	};
+
+	@Test
+	public void testRetainment() {
+
+		EvictorTestUtils.testRecencyRetainment(new EvictorTestUtils.TestEvictorFactory<Integer>() {
+			@Override
+			public Evictor<Integer> newEvictor(final int capacity, final double loadFactor) {
+				final WeightedEvictor.Builder b = new WeightedEvictor.Builder();
+				return b.capacity(capacity).loadFactor(loadFactor).build();
+			}
+		});
+
+	}
+
+	@Test
+	public void testWeightedEviction() {
+
+		final WeightedEvictor.Builder b = new WeightedEvictor.Builder();
+		final Evictor<Integer> evictor = b.capacity(100).loadFactor(EvictorTestUtils.RETAIN_FULL_CAPACITY_LOAD_FACTOR)
+				.build(VALUE_WEIGHER);
+
+		Iterator<Integer> evicted;
+
+		// While the total weight does not exceed capacity, nothing is evicted.
+		evicted = evictor.addAndEvict(50);
+		checkNothingEvicted(evicted);
+		evicted = evictor.addAndEvict(40);
+		checkNothingEvicted(evicted);
+
+		// A new element is not admitted instead of equally frequent ones.
+		evicted = evictor.addAndEvict(30);
+		checkEvicted(Arrays.asList(30), evicted);
+
+		// A more frequent element is admitted instead of the least recent one.
+		evictor.add(30);
+		evictor.add(30);
+		evicted = evictor.addAndEvict(30);
+		checkEvicted(Arrays.asList(50), evicted);
+
+		// Light elements fit in the remaining capacity.
+		for (int element = 1; element <= 7; element++) {
+			evicted = evictor.addAndEvict(element);
+			checkNothingEvicted(evicted);
+		}
+
+	}
+
+	@Test
+	public void testReweighing() {
+
+		final Map<Integer, Long> weights = new HashMap<Integer, Long>();
+		final WeightedEvictor.Builder b = new WeightedEvictor.Builder();
+		final Evictor<Integer> evictor = b.capacity(100).loadFactor(EvictorTestUtils.RETAIN_FULL_CAPACITY_LOAD_FACTOR)
+				.build(new Evictor.Weigher<Integer>() {
+					@Override
+					public long weigh(final Integer element) {
+						final Long weight = weights.get(element);
+						return weight == null ? 1 : weight;
+					}
+				});
+
+		Iterator<Integer> evicted;
+
+		for (int element = 0; element < 10; element++) {
+			evicted = evictor.addAndEvict(element);
+			checkNothingEvicted(evicted);
+		}
+
+		// The data of an element became heavy after it was added.
+		weights.put(0, 200L);
+		evicted = evictor.evict();
+		checkEvicted(Arrays.asList(0), evicted);
+
+	}
+
+	@Test
+	public void testValueOf() {
+
+		final WeightedEvictor.Builder b = WeightedEvictor.Builder.valueOf("WeightedEvictor(1000, , 0.5)");
+		final WeightedEvictor<Integer> evictor = (WeightedEvictor<Integer>) b.<Integer>build();
+		assertEquals(1000, evictor.getCapacity());
+		assertEquals(WeightedEvictor.Builder.valueOf("WeightedEvictor(-1, 0.75, 0.5)").toString(),
+				WeightedEvictor.Builder.valueOf("WeightedEvictor(, , 0.5)").capacity(Long.MAX_VALUE).toString());
+
+	}
+
+}
@@ -19,6 +19,9 @@
  */
 open module org.semanticweb.elk.util.concurrent {
 
+	requires java.management;
+	requires jdk.management;
+
 	exports org.semanticweb.elk.util.concurrent.collections;
 	exports org.semanticweb.elk.util.concurrent.computation;
 
@@ -0,0 +1,292 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * An implementation of {@link ActivationStack} that stores elements in linked
+ * arrays of a fixed size, so that one object is allocated per chunk of
+ * elements instead of one node per element. Elements can be inserted by
+ * several threads concurrently without locking, but they can be taken only by
+ * one thread at a time: {@link #pop()} and {@link #peek()} should not be called
+ * concurrently. This is the case when the stack is used by the activation
+ * protocol, in which only the thread that has obtained {@code true} from
+ * {@link #push(Object)} (or the thread to which it has passed the stack) pops
+ * its elements until {@link #pop()} returns {@code null}.
+ * <p>
+ * The chunks are allocated by the first insertion after the stack is cleared
+ * and released when it is cleared, so an inactive stack holds no storage. A
+ * chunk is released as soon as its elements are taken.
+ * <p>
+ * Unlike the other {@link ActivationStack}s, the elements are taken in the
+ * order in which their insertion has started, not in the reverse order. The
+ * activation protocol does not depend on this order. For the saturation
+ * contexts, the order only changes the order in which the rules are applied:
+ * the closure under the rules is the same, and the inferences of a context
+ * already arrive in an arbitrary order from several threads. If an inserting
+ * thread has reserved a position but not written the element yet,
+ * {@link #pop()} waits for it.
+ * 
+ * @param <E>
+ *            the type of elements in the stack
+ */
+public class ChunkedArrayActivationStack<E> implements ActivationStack<E> {
+
+	/**
+	 * the number of elements stored in one chunk by default
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 16;
+
+	/**
+	 * the value of {@link #size_} when the stack is cleared
+	 */
+	private static final int CLEARED_ = -1;
+
+	/**
+	 * the value of {@link #size_} while the chunks are released
+	 */
+	private static final int RELEASING_ = -2;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<ChunkedArrayActivationStack> SIZE_ = AtomicIntegerFieldUpdater
+			.newUpdater(ChunkedArrayActivationStack.class, "size_");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ChunkedArrayActivationStack, Chunk> TAIL_ = AtomicReferenceFieldUpdater
+			.newUpdater(ChunkedArrayActivationStack.class, Chunk.class,
+					"tail_");
+
+	/**
+	 * the number of elements stored in one chunk of this stack
+	 */
+	private final int chunkSize_;
+
+	/**
+	 * the number of elements whose insertion has started and that are not yet
+	 * taken, {@link #CLEARED_} or {@link #RELEASING_}; an inserting thread
+	 * counts its element before it reserves a position for it
+	 */
+	private volatile int size_ = CLEARED_;
+
+	/**
+	 * the chunk in which the next element is inserted, {@code null} if no
+	 * chunk is allocated since the stack was cleared
+	 */
+	private volatile Chunk<E> tail_ = null;
+
+	/**
+	 * the first chunk allocated after the stack was cleared, until the taking
+	 * thread moves it to {@link #head_}; {@code null} after that, so that the
+	 * chunks whose elements are taken are not reachable from the stack
+	 */
+	private volatile Chunk<E> first_ = null;
+
+	/**
+	 * the chunk from which the next element is taken, {@code null} if it is
+	 * {@link #first_}; accessed only by the thread that takes the elements
+	 */
+	private Chunk<E> head_ = null;
+
+	/**
+	 * the position in {@link #head_} of the next element to take
+	 */
+	private int headIndex_ = 0;
+
+	public ChunkedArrayActivationStack(int chunkSize) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException(
+					"The chunk size must be positive: " + chunkSize);
+		this.chunkSize_ = chunkSize;
+	}
+
+	public ChunkedArrayActivationStack() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	@Override
+	public boolean push(E element) {
+		if (element == null)
+			throw new IllegalArgumentException(
+					"Elements in the stack cannot be null");
+		boolean activated;
+		for (;;) {
+			int size = size_;
+			if (size == RELEASING_) {
+				Thread.onSpinWait();
+				continue;
+			}
+			if (SIZE_.compareAndSet(this, size,
+					size == CLEARED_ ? 1 : size + 1)) {
+				activated = size == CLEARED_;
+				break;
+			}
+		}
+		// the stack cannot be cleared until the element is taken
+		Chunk<E> tail = tail_;
+		for (;;) {
+			if (tail == null) {
+				Chunk<E> chunk = new Chunk<E>(chunkSize_, element);
+				if (TAIL_.compareAndSet(this, null, chunk)) {
+					first_ = chunk;
+					break;
+				}
+				tail = tail_;
+				continue;
+			}
+			int index = tail.reserve();
+			if (index < chunkSize_) {
+				tail.elements.set(index, element);
+				break;
+			}
+			// the chunk is full
+			Chunk<E> next = tail.next;
+			if (next == null) {
+				Chunk<E> chunk = new Chunk<E>(chunkSize_, element);
+				if (tail.casNext(null, chunk)) {
+					TAIL_.compareAndSet(this, tail, chunk);
+					break;
+				}
+				next = tail.next;
+			}
+			TAIL_.compareAndSet(this, tail, next);
+			tail = tail_;
+		}
+		return activated;
+	}
+
+	@Override
+	public E pop() {
+		for (;;) {
+			int size = size_;
+			if (size == CLEARED_)
+				return null;
+			if (size == 0) {
+				if (SIZE_.compareAndSet(this, 0, RELEASING_)) {
+					// all counted elements are taken, so no thread inserts now
+					tail_ = null;
+					first_ = null;
+					head_ = null;
+					headIndex_ = 0;
+					size_ = CLEARED_;
+					return null;
+				}
+				continue;
+			}
+			if (SIZE_.compareAndSet(this, size, size - 1))
+				return take();
+		}
+	}
+
+	/**
+	 * Removes the next element; there must be such element, but it might be
+	 * not written yet
+	 */
+	private E take() {
+		if (head_ == null) {
+			Chunk<E> first;
+			while ((first = first_) == null)
+				Thread.onSpinWait();
+			head_ = first;
+			// written only once after the stack is cleared
+			first_ = null;
+			headIndex_ = 0;
+		} else if (headIndex_ == chunkSize_) {
+			Chunk<E> next;
+			while ((next = head_.next) == null)
+				Thread.onSpinWait();
+			head_ = next;
+			headIndex_ = 0;
+		}
+		E result;
+		while ((result = head_.elements.get(headIndex_)) == null)
+			Thread.onSpinWait();
+		// let the element be collected
+		head_.elements.lazySet(headIndex_++, null);
+		return result;
+	}
+
+	@Override
+	public E peek() {
+		if (size_ <= 0)
+			return null;
+		Chunk<E> head = head_;
+		int index = headIndex_;
+		if (head == null) {
+			head = first_;
+			index = 0;
+		} else if (index == chunkSize_) {
+			head = head.next;
+			index = 0;
+		}
+		if (head == null)
+			return null;
+		return head.elements.get(index);
+	}
+
+	private static class Chunk<T> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<Chunk> RESERVED_ = AtomicIntegerFieldUpdater
+				.newUpdater(Chunk.class, "reserved_");
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT_ = AtomicReferenceFieldUpdater
+				.newUpdater(Chunk.class, Chunk.class, "next");
+
+		final AtomicReferenceArray<T> elements;
+
+		/**
+		 * the number of positions in {@link #elements} given to the inserting
+		 * threads; can exceed the length when the chunk is full
+		 */
+		private volatile int reserved_;
+
+		volatile Chunk<T> next;
+
+		Chunk(int size) {
+			this.elements = new AtomicReferenceArray<T>(size);
+		}
+
+		/**
+		 * Creates a chunk with the given first element
+		 */
+		Chunk(int size, T first) {
+			this(size);
+			elements.lazySet(0, first);
+			reserved_ = 1;
+		}
+
+		int reserve() {
+			return RESERVED_.getAndIncrement(this);
+		}
+
+		boolean casNext(Chunk<T> expect, Chunk<T> update) {
+			return NEXT_.compareAndSet(this, expect, update);
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe {@link java.util.Queue} made of several deques to reduce
+ * contention between threads that insert and take elements concurrently. Every
+ * thread is assigned to one of the deques; it inserts elements at the head of
+ * its own deque and takes elements from there first, so that the elements it
+ * has just inserted are processed by the same thread. When its own deque is
+ * empty, the thread steals the oldest element from the tail of one of the other
+ * deques. Thus {@link #poll()} returns {@code null} only if all deques were
+ * found empty.
+ * <p>
+ * The elements are not taken in the order of insertion. The methods
+ * {@link #size()} and {@link #iterator()} are weakly consistent. This queue
+ * does not allow storing {@code null} values.
+ * 
+ * @param <E>
+ *            the type of elements in the queue
+ */
+public class WorkStealingQueue<E> extends AbstractQueue<E> {
+
+	/**
+	 * used to assign consecutive indexes to the threads using this queue
+	 */
+	private final AtomicInteger nextThreadIndex_ = new AtomicInteger(0);
+
+	/**
+	 * the index of the deque assigned to the current thread
+	 */
+	private final ThreadLocal<Integer> threadIndex_ = new ThreadLocal<Integer>() {
+		@Override
+		protected Integer initialValue() {
+			return (nextThreadIndex_.getAndIncrement() & Integer.MAX_VALUE)
+					% deques_.size();
+		}
+	};
+
+	private final List<ConcurrentLinkedDeque<E>> deques_;
+
+	/**
+	 * @param dequeCount
+	 *            the number of deques; should be at least the number of
+	 *            threads that use this queue concurrently
+	 */
+	public WorkStealingQueue(int dequeCount) {
+		if (dequeCount <= 0)
+			throw new IllegalArgumentException(
+					"The number of deques must be positive: " + dequeCount);
+		this.deques_ = new ArrayList<ConcurrentLinkedDeque<E>>(dequeCount);
+		for (int i = 0; i < dequeCount; i++) {
+			deques_.add(new ConcurrentLinkedDeque<E>());
+		}
+	}
+
+	/**
+	 * @return the index of the deque assigned to the current thread
+	 */
+	int getOwnIndex() {
+		return threadIndex_.get();
+	}
+
+	@Override
+	public boolean offer(E element) {
+		if (element == null)
+			throw new NullPointerException();
+		deques_.get(getOwnIndex()).offerFirst(element);
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		int own = getOwnIndex();
+		E result = deques_.get(own).pollFirst();
+		if (result != null)
+			return result;
+		// steal
+		for (int i = 1; i < deques_.size(); i++) {
+			result = deques_.get((own + i) % deques_.size()).pollLast();
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	@Override
+	public E peek() {
+		int own = getOwnIndex();
+		E result = deques_.get(own).peekFirst();
+		if (result != null)
+			return result;
+		for (int i = 1; i < deques_.size(); i++) {
+			result = deques_.get((own + i) % deques_.size()).peekLast();
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (int i = 0; i < deques_.size(); i++) {
+			if (!deques_.get(i).isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int size() {
+		int result = 0;
+		for (int i = 0; i < deques_.size(); i++) {
+			result += deques_.get(i).size();
+		}
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < deques_.size(); i++) {
+			deques_.get(i).clear();
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			private int next_ = 0;
+
+			private Iterator<E> current_ = deques_.get(0).iterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!current_.hasNext()) {
+					if (++next_ >= deques_.size())
+						return false;
+					current_ = deques_.get(next_).iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return current_.next();
+			}
+
+			@Override
+			public void remove() {
+				current_.remove();
+			}
+
+		};
+	}
+
+}
@@ -22,6 +22,10 @@
  */
 package org.semanticweb.elk.util.concurrent.computation;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A class for concurrent processing using the supplied {@link ProcessorFactory}
  * . Processing is performed concurrently by several workers, each using a
@@ -41,6 +45,10 @@
  */
 public class ConcurrentComputation<F extends ProcessorFactory<?>> implements
 		InterruptMonitor {
+
+	private static final ThreadMXBean THREADS_ = ManagementFactory
+			.getThreadMXBean();
+
 	/**
 	 * the factory for the input processor engines
 	 */
@@ -68,6 +76,26 @@
 	 */
 	protected JobMonitor jobMonitor;
 
+	/**
+	 * the CPU time used by the workers so far
+	 */
+	private final LongAdder workerCpuTime_ = new LongAdder();
+
+	/**
+	 * {@code true} if the CPU time of some worker could not be measured
+	 */
+	private volatile boolean workerCpuTimeUnknown_ = false;
+
+	/**
+	 * the bytes allocated by the workers so far
+	 */
+	private final LongAdder workerAllocatedBytes_ = new LongAdder();
+
+	/**
+	 * {@code true} if the allocated bytes of some worker could not be measured
+	 */
+	private volatile boolean workerAllocatedBytesUnknown_ = false;
+
 	/**
 	 * Creating a {@link ConcurrentComputation} instance.
 	 * 
@@ -128,6 +156,82 @@ public boolean isInterrupted() {
 		return processorFactory.isInterrupted();
 	}
 
+	/**
+	 * @return the CPU time in nanoseconds used by the workers of this
+	 *         computation since its creation, or {@code -1} if the JVM cannot
+	 *         measure the CPU time of some worker thread
+	 */
+	public long getWorkerCpuTime() {
+		if (workerCpuTimeUnknown_)
+			return -1;
+		return workerCpuTime_.sum();
+	}
+
+	/**
+	 * @return the CPU time used by the current thread, or {@code -1} if it
+	 *         cannot be measured
+	 */
+	static long getCurrentThreadCpuTime() {
+		try {
+			if (!THREADS_.isCurrentThreadCpuTimeSupported()
+					|| !THREADS_.isThreadCpuTimeEnabled())
+				return -1;
+			// -1 for virtual threads
+			return THREADS_.getCurrentThreadCpuTime();
+		} catch (UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * @return the bytes allocated by the workers of this computation since its
+	 *         creation, or {@code -1} if the JVM cannot measure the allocations
+	 *         of some worker thread
+	 */
+	public long getWorkerAllocatedBytes() {
+		if (workerAllocatedBytesUnknown_)
+			return -1;
+		return workerAllocatedBytes_.sum();
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread, or {@code -1} if they
+	 *         cannot be measured
+	 */
+	static long getCurrentThreadAllocatedBytes() {
+		if (!(THREADS_ instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		// else
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS_;
+		try {
+			if (!threads.isThreadAllocatedMemorySupported()
+					|| !threads.isThreadAllocatedMemoryEnabled())
+				return -1;
+			// the same as getThreadAllocatedBytes() of the current thread id
+			return threads.getCurrentThreadAllocatedBytes();
+		} catch (UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Adds the CPU time and the bytes allocated by the current worker thread
+	 * since the given values were measured at the start of its run
+	 */
+	void addWorkerUsage(long startCpuTime, long startAllocatedBytes) {
+		long endCpuTime = startCpuTime < 0 ? -1 : getCurrentThreadCpuTime();
+		if (endCpuTime < 0)
+			workerCpuTimeUnknown_ = true;
+		else
+			workerCpuTime_.add(endCpuTime - startCpuTime);
+		long endAllocatedBytes = startAllocatedBytes < 0 ? -1
+				: getCurrentThreadAllocatedBytes();
+		if (endAllocatedBytes < 0)
+			workerAllocatedBytesUnknown_ = true;
+		else
+			workerAllocatedBytes_.add(endAllocatedBytes - startAllocatedBytes);
+	}
+
 	Runnable getWorker() {
 		return new Worker();
 	}
@@ -147,6 +251,8 @@ private class Worker implements Runnable {
 
 		@Override
 		public final void run() {
+			long startCpuTime = getCurrentThreadCpuTime();
+			long startAllocatedBytes = getCurrentThreadAllocatedBytes();
 			// we use one engine per worker run
 			Processor inputProcessor = processorFactory.getEngine();
 
@@ -169,9 +275,12 @@ public final void run() {
 				workerException_ = new RuntimeException(
 						"Exception in worker thread: ", e);
 			} finally {
-				if (workerException_ != null)
+				if (workerException_ != null) {
+					addWorkerUsage(startCpuTime, startAllocatedBytes);
 					throw workerException_;
+				}
 				inputProcessor.finish();
+				addWorkerUsage(startCpuTime, startAllocatedBytes);
 			}
 		}
 	}
@@ -163,6 +163,8 @@ private class Worker implements Runnable {
 		@Override
 		public final void run() {			
 			// TODO: reuse the code from the superclass
+			long startCpuTime = getCurrentThreadCpuTime();
+			long startAllocatedBytes = getCurrentThreadAllocatedBytes();
 			// we use one engine per worker run
 			InputProcessor<I> inputProcessor = processorFactory.getEngine();
 
@@ -207,9 +209,12 @@ public final void run() {
 						"Exception in worker thread: ", e);
 			} finally {
 				wakeUpWorker(); // wake up workers one by one
-				if (workerException_ != null)
+				if (workerException_ != null) {
+					addWorkerUsage(startCpuTime, startAllocatedBytes);
 					throw workerException_;
+				}
 				inputProcessor.finish();
+				addWorkerUsage(startCpuTime, startAllocatedBytes);
 			}
 		}
 	}
@@ -22,15 +22,20 @@
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A simple implementation of {@link ConcurrentExecutor} that uses the standard
- * java {@link Executor} to run several copies of jobs.
+ * java {@link Executor} to run several copies of jobs. The {@link Executor} can
+ * be shared with other {@link ConcurrentExecutor}s and other tasks; waiting for
+ * the jobs does not take any of its threads.
  * 
  * @author Yevgeny Kazakov
  *
@@ -53,7 +58,7 @@ class ConcurrentExecutorImpl implements ConcurrentExecutor {
 	}
 
 	@Override
-	public synchronized JobMonitor submit(Runnable job, int noInstances) {
+	public JobMonitor submit(Runnable job, int noInstances) {
 		ThisJobMonitor result = new ThisJobMonitor(job, noInstances);
 		for (int i = 0; i < noInstances; i++) {
 			executor_.execute(result);
@@ -64,8 +69,16 @@ public synchronized JobMonitor submit(Runnable job, int noInstances) {
 	private static class ThisJobMonitor implements JobMonitor, Runnable {
 
 		private final Runnable job_;
-		private int runsNo_;
-		private Throwable exception_ = null;
+
+		/**
+		 * the number of copies of the job that are not finished yet
+		 */
+		private final AtomicInteger runsNo_;
+
+		/**
+		 * completed when all copies are finished or one has failed
+		 */
+		private final CompletableFuture<Void> done_ = new CompletableFuture<Void>();
 
 		ThisJobMonitor(Runnable job, int noInstances) {
 			this.job_ = job;
@@ -74,25 +87,15 @@ private static class ThisJobMonitor implements JobMonitor, Runnable {
 						"number of instances should be positive: "
 								+ noInstances);
 			}
-			this.runsNo_ = noInstances;
-		}
-
-		synchronized void setException(Throwable exception) {
-			this.exception_ = exception;
-			notifyAll();
+			this.runsNo_ = new AtomicInteger(noInstances);
 		}
 
 		@Override
-		public synchronized void waitDone() throws InterruptedException {
-			for (;;) {
-				if (runsNo_ == 0 || exception_ != null) {
-					break;
-				}
-				// else
-				wait();
-			}
-			if (exception_ != null) {
-				throw new ComputationRuntimeException(exception_);
+		public void waitDone() throws InterruptedException {
+			try {
+				done_.get();
+			} catch (ExecutionException e) {
+				throw new ComputationRuntimeException(e.getCause());
 			}
 		}
 
@@ -101,12 +104,10 @@ public void run() {
 			try {
 				job_.run();
 			} catch (Throwable e) {
-				setException(e);
+				done_.completeExceptionally(e);
 			}
-			synchronized (this) {
-				if (--runsNo_ == 0) {
-					notifyAll();
-				}
+			if (runsNo_.decrementAndGet() == 0) {
+				done_.complete(null);
 			}
 		}
 
@@ -22,6 +22,10 @@
  * #L%
  */
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -69,6 +73,41 @@ public static ConcurrentExecutor create(String name) {
 		return create(name, 1L, TimeUnit.SECONDS);
 	}
 
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs the jobs using the given
+	 * {@link Executor}, e.g., an {@link ExecutorService} or a
+	 * {@link ForkJoinPool} shared by several reasoners, so that the number of
+	 * threads does not grow with the number of reasoners. The
+	 * {@link Executor} is not shut down by the {@link ConcurrentExecutor}.
+	 * Since the copies of a job can wait for each other, the {@link Executor}
+	 * should not run them on the thread that submits them.
+	 * 
+	 * @param executor
+	 *            the {@link Executor} used for running the jobs
+	 * @return the {@link ConcurrentExecutor} running the jobs using the given
+	 *         {@link Executor}
+	 */
+	public static ConcurrentExecutor create(Executor executor) {
+		return new ConcurrentExecutorImpl(executor);
+	}
+
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs every copy of a job in a
+	 * new virtual thread with the given name prefix. This is suitable for jobs
+	 * that mostly wait, e.g., for input; computations that use the processors
+	 * are better run by a {@link ConcurrentExecutor} with a bounded number of
+	 * platform threads.
+	 * 
+	 * @param name
+	 *            the prefix of the names of the created threads
+	 * @return the {@link ConcurrentExecutor} associated with the given
+	 *         parameters
+	 */
+	public static ConcurrentExecutor createVirtual(String name) {
+		return create(Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name(name + "-thread-", 1).factory()));
+	}
+
 	/**
 	 * @return the default {@link ConcurrentExecutor} with the timeout of 1
 	 *         second for running threads.
@@ -0,0 +1,116 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedArrayActivationStackTest {
+
+	@Test
+	public void testActivation() {
+		ActivationStack<Integer> stack = new ChunkedArrayActivationStack<Integer>(
+				4);
+		assertNull(stack.pop());
+		assertTrue(stack.push(0));
+		for (int i = 1; i < 10; i++) {
+			assertFalse(stack.push(i));
+		}
+		assertEquals(Integer.valueOf(0), stack.peek());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(Integer.valueOf(i), stack.pop());
+		}
+		// empty but not cleared
+		assertFalse(stack.push(10));
+		assertEquals(Integer.valueOf(10), stack.pop());
+		assertNull(stack.peek());
+		assertNull(stack.pop());
+		// cleared
+		assertTrue(stack.push(11));
+		assertEquals(Integer.valueOf(11), stack.peek());
+		assertEquals(Integer.valueOf(11), stack.pop());
+		assertNull(stack.pop());
+		assertNull(stack.pop());
+	}
+
+	/**
+	 * Several threads insert elements while one thread takes them whenever the
+	 * stack is activated; every element must be taken exactly once
+	 */
+	@Test
+	public void testConcurrentPush() throws InterruptedException {
+		final int producers = 4;
+		final int elements = 100000;
+		final ActivationStack<Integer> stack = new ChunkedArrayActivationStack<Integer>(
+				8);
+		final ActivationStack<ActivationStack<Integer>> active = new ConcurrentLinkedActivationStack<ActivationStack<Integer>>();
+		final AtomicInteger finished = new AtomicInteger();
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			final int first = p * elements;
+			threads[p] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = first; i < first + elements; i++) {
+						if (stack.push(i))
+							active.push(stack);
+					}
+					finished.incrementAndGet();
+				}
+			});
+			threads[p].start();
+		}
+		boolean[] taken = new boolean[producers * elements];
+		int count = 0;
+		for (;;) {
+			boolean done = finished.get() == producers;
+			ActivationStack<Integer> next = active.pop();
+			if (next == null) {
+				if (done)
+					break;
+				Thread.yield();
+				continue;
+			}
+			for (;;) {
+				Integer element = next.pop();
+				if (element == null)
+					break;
+				assertFalse(taken[element]);
+				taken[element] = true;
+				count++;
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(producers * elements, count);
+		assertNull(stack.pop());
+	}
+
+}
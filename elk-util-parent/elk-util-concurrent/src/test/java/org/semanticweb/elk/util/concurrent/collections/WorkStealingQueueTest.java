@@ -0,0 +1,148 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkStealingQueueTest {
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		final WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>(
+				64);
+		assertTrue(queue.isEmpty());
+		queue.add(1);
+		queue.add(2);
+		queue.add(3);
+		assertEquals(3, queue.size());
+		// the own elements are taken last in first out
+		assertEquals(Integer.valueOf(3), queue.poll());
+		// the elements of other threads are stolen first in first out
+		final Integer[] stolen = new Integer[1];
+		final int[] thiefIndex = new int[1];
+		Thread thief = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				thiefIndex[0] = queue.getOwnIndex();
+				stolen[0] = queue.poll();
+			}
+		});
+		thief.start();
+		thief.join();
+		// unless both threads were assigned to the same deque
+		assertEquals(
+				Integer.valueOf(thiefIndex[0] == queue.getOwnIndex() ? 2 : 1),
+				stolen[0]);
+		assertEquals(Integer.valueOf(3 - stolen[0]), queue.poll());
+		assertNull(queue.poll());
+		queue.add(4);
+		queue.clear();
+		assertTrue(queue.isEmpty());
+		assertFalse(queue.iterator().hasNext());
+	}
+
+	/**
+	 * Every queue assigns its deques to the threads using it in turn,
+	 * independently of other queues
+	 */
+	@Test
+	public void testOwnIndex() throws InterruptedException {
+		// assign an index of another queue to the current thread first
+		new WorkStealingQueue<Integer>(3).getOwnIndex();
+		final WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>(
+				2);
+		assertEquals(0, queue.getOwnIndex());
+		final int[] otherIndex = new int[1];
+		Thread other = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				otherIndex[0] = queue.getOwnIndex();
+			}
+		});
+		other.start();
+		other.join();
+		assertEquals(1, otherIndex[0]);
+		assertEquals(0, queue.getOwnIndex());
+	}
+
+	/**
+	 * Every thread inserts elements and takes elements until the queue is
+	 * empty; every element must be taken exactly once
+	 */
+	@Test
+	public void testConcurrent() throws InterruptedException {
+		final int threadCount = 8;
+		final int elements = 100000;
+		final WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>(
+				threadCount / 2);
+		final AtomicIntegerArray taken = new AtomicIntegerArray(
+				threadCount * elements);
+		final AtomicInteger count = new AtomicInteger();
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			final int first = t * elements;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = first; i < first + elements; i++) {
+						queue.add(i);
+						// take about every other element
+						if ((i & 1) == 0)
+							take(queue.poll());
+					}
+					for (;;) {
+						Integer element = queue.poll();
+						if (element == null)
+							break;
+						take(element);
+					}
+				}
+
+				void take(Integer element) {
+					if (element == null)
+						return;
+					taken.incrementAndGet(element);
+					count.incrementAndGet();
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(threadCount * elements, count.get());
+		for (int i = 0; i < taken.length(); i++) {
+			assertEquals(1, taken.get(i));
+		}
+		assertTrue(queue.isEmpty());
+	}
+
+}
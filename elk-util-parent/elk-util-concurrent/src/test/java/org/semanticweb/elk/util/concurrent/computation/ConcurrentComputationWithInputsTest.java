@@ -22,9 +22,12 @@
 package org.semanticweb.elk.util.concurrent.computation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -45,7 +48,7 @@ public class ConcurrentComputationWithInputsTest {
 
 	private ConcurrentComputationWithInputs<Integer, ?> computation_;
 
-	private final ConcurrentExecutor executor = ConcurrentExecutors
+	private ConcurrentExecutor executor = ConcurrentExecutors
 			.create("test-worker");
 
 	void setup(int round, final InterruptMonitor interrupter) {
@@ -60,6 +63,27 @@ public void test() {
 		run(new TestInterrupter());
 	}
 
+	/**
+	 * The workers should finish even if the shared pool has fewer threads
+	 * than workers
+	 */
+	@Test
+	public void testSharedPool() {
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			executor = ConcurrentExecutors.create(pool);
+			run(new TestInterrupter());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testVirtualThreads() {
+		executor = ConcurrentExecutors.createVirtual("test-virtual");
+		run(new TestInterrupter());
+	}
+
 	public void run(final TestInterrupter interrupter) {
 
 		int jobs = 1;
@@ -105,6 +129,36 @@ public void run(final TestInterrupter interrupter) {
 
 	}
 
+	/**
+	 * The CPU time of the workers is summed up for platform threads and
+	 * unavailable for virtual threads
+	 */
+	@Test
+	public void testWorkerCpuTime() throws InterruptedException {
+		assertTrue(processAll().getWorkerCpuTime() >= 0);
+		executor = ConcurrentExecutors.createVirtual("test-virtual");
+		assertEquals(-1, processAll().getWorkerCpuTime());
+	}
+
+	/**
+	 * The bytes allocated by the workers are summed up for platform threads
+	 */
+	@Test
+	public void testWorkerAllocatedBytes() throws InterruptedException {
+		assertTrue(processAll().getWorkerAllocatedBytes() >= 0);
+	}
+
+	private ConcurrentComputation<?> processAll()
+			throws InterruptedException {
+		setup(1, new TestInterrupter());
+		if (!computation_.start())
+			fail();
+		for (int j = 0; j < MAX_JOBS; j++)
+			computation_.submit(j);
+		computation_.finish();
+		return computation_;
+	}
+
 	@Test
 	public void testWithInterrupts() {
 		run(new TestInterrupter(new RandomInterruptMonitor(random,